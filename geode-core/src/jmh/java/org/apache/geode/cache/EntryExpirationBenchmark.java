@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+/**
+ * This benchmark compares an ExpirationTimerWheel per region with an EntryExpiryTask per entry for
+ * a region whose entries have an idle timeout that is too long for them to expire during the
+ * benchmark. Creating an entry schedules its expiration, updating or reading it does not, and
+ * destroying it cancels its expiration. The retainedHeap benchmark fills a second region once and
+ * reports the heap retained by its entries, expiration included, in the bytesPerEntry counter. With
+ * an access epoch, reads of an entry within the same epoch do not write its last accessed time.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class EntryExpirationBenchmark {
+  private static final int ENTRIES = 1_000_000;
+
+  @Param({"task", "wheel"})
+  public String expiration;
+
+  @Param({"0", "1000"})
+  public int accessEpochMillis;
+
+  Cache cache;
+  Region<Integer, String> region;
+  Random random = new Random();
+  int nextKey = ENTRIES;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("geode." + SystemPropertyHelper.EXPIRATION_TIMER_WHEEL,
+        String.valueOf(expiration.equals("wheel")));
+    System.setProperty("geode." + SystemPropertyHelper.EXPIRATION_ACCESS_EPOCH_MILLIS,
+        String.valueOf(accessEpochMillis));
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    region = createRegion("testRegion");
+    fill(region);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class RetainedHeap {
+    public long bytesPerEntry;
+  }
+
+  @Benchmark
+  @Measurement(iterations = 1)
+  @Warmup(iterations = 0)
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void retainedHeap(RetainedHeap retainedHeap) {
+    Region<Integer, String> filledRegion = createRegion("filledRegion");
+    long usedBefore = getUsedHeap();
+    fill(filledRegion);
+    retainedHeap.bytesPerEntry = (getUsedHeap() - usedBefore) / ENTRIES;
+    filledRegion.localDestroyRegion();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getEntry() {
+    return region.get(random.nextInt(ENTRIES));
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String updateEntry() {
+    return region.put(random.nextInt(ENTRIES), "value");
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String createAndDestroyEntry() {
+    int key = nextKey++;
+    region.put(key, "value");
+    return region.destroy(key);
+  }
+
+  private Region<Integer, String> createRegion(String name) {
+    return cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setStatisticsEnabled(true)
+        .setEntryIdleTimeout(new ExpirationAttributes(3600, ExpirationAction.DESTROY))
+        .create(name);
+  }
+
+  private static void fill(Region<Integer, String> region) {
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value");
+    }
+  }
+
+  private static long getUsedHeap() {
+    MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      memoryMXBean.gc();
+    }
+    return memoryMXBean.getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark replays a trace of keys against a region with entry eviction, loading each key
+ * that is missing like a cache-aside client would. The hits and misses counters show the hit
+ * ratio of each eviction algorithm. The "zipf" trace draws keys from a Zipfian distribution; the
+ * "zipfWithScans" trace interrupts it with scans over keys that are only used once, like a query
+ * or export that visits every entry.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class EvictionHitRatioBenchmark {
+  private static final int MAX_ENTRIES = 10_000;
+
+  private static final int KEY_COUNT = 100_000;
+
+  private static final int TRACE_LENGTH = 2_000_000;
+
+  private static final double ZIPF_EXPONENT = 0.99;
+
+  private static final int SCAN_INTERVAL = 100_000;
+
+  private static final int SCAN_LENGTH = 20_000;
+
+  @Param({"lru-entry-count", "lfu-entry-count"})
+  public String algorithm;
+
+  @Param({"zipf", "zipfWithScans"})
+  public String trace;
+
+  Cache cache;
+  Region<Integer, String> region;
+  int[] keys;
+  int nextKey;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    keys = createTrace(trace.equals("zipfWithScans"));
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    region = cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setEvictionAttributes(createEvictionAttributes()).create("testRegion");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class HitCounters {
+    public long hits;
+    public long misses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getOrLoad(HitCounters counters) {
+    Integer key = keys[nextKey];
+    nextKey = (nextKey + 1) % keys.length;
+    String value = region.get(key);
+    if (value == null) {
+      counters.misses++;
+      value = "value";
+      region.put(key, value);
+    } else {
+      counters.hits++;
+    }
+    return value;
+  }
+
+  private EvictionAttributes createEvictionAttributes() {
+    if (EvictionAlgorithm.parseAction(algorithm) == EvictionAlgorithm.LFU_ENTRY) {
+      return EvictionAttributes.createLFUEntryAttributes(MAX_ENTRIES, EvictionAction.LOCAL_DESTROY);
+    }
+    return EvictionAttributes.createLRUEntryAttributes(MAX_ENTRIES, EvictionAction.LOCAL_DESTROY);
+  }
+
+  private static int[] createTrace(boolean withScans) {
+    double[] cumulativeProbabilities = new double[KEY_COUNT];
+    double sum = 0;
+    for (int i = 0; i < KEY_COUNT; i++) {
+      sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+      cumulativeProbabilities[i] = sum;
+    }
+
+    Random random = new Random(0);
+    int[] result = new int[TRACE_LENGTH];
+    int nextScanKey = KEY_COUNT;
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      if (withScans && i % SCAN_INTERVAL < SCAN_LENGTH) {
+        result[i] = nextScanKey++;
+      } else {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble() * sum);
+        result[i] = index >= 0 ? index : -index - 1;
+      }
+    }
+    return result;
+  }
+}
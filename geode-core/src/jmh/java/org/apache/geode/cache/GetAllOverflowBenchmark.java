@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares a getAll of keys whose values have been overflowed to disk, which faults
+ * in the values in batches, with getting the same keys one at a time. The "sequential" keys were
+ * put one after the other, so their values lie next to each other in the oplog. The "random" keys
+ * are spread over the whole oplog.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class GetAllOverflowBenchmark {
+  private static final int ENTRIES = 1_000_000;
+  private static final int ENTRIES_IN_MEMORY = 1_000;
+  private static final int VALUE_BYTES = 512;
+  private static final int KEYS_PER_GET_ALL = 100;
+
+  @Param({"sequential", "random"})
+  public String keys;
+
+  File diskDir;
+  Cache cache;
+  Region<Integer, byte[]> region;
+  Random random = new Random(0);
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    diskDir = Files.createTempDirectory("GetAllOverflowBenchmark").toFile();
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create("testDiskStore");
+    region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_OVERFLOW)
+        .setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(ENTRIES_IN_MEMORY,
+            EvictionAction.OVERFLOW_TO_DISK))
+        .setDiskStoreName("testDiskStore").create("testRegion");
+    byte[] value = new byte[VALUE_BYTES];
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    cache.close();
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Map<Integer, byte[]> getAll() {
+    return region.getAll(nextKeys());
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Map<Integer, byte[]> getEach() {
+    Map<Integer, byte[]> result = new HashMap<>();
+    for (Integer key : nextKeys()) {
+      result.put(key, region.get(key));
+    }
+    return result;
+  }
+
+  private List<Integer> nextKeys() {
+    List<Integer> result = new ArrayList<>(KEYS_PER_GET_ALL);
+    int first = random.nextInt(ENTRIES - KEYS_PER_GET_ALL);
+    for (int i = 0; i < KEYS_PER_GET_ALL; i++) {
+      result.add(keys.equals("sequential") ? first + i : random.nextInt(ENTRIES));
+    }
+    return result;
+  }
+}
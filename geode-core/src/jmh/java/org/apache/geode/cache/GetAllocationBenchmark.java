@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures gets that hit a heap value on a local or replicated region. Such a get
+ * must not allocate; run it with {@code -prof gc} to see the allocation rate. After the trial the
+ * benchmark also measures the bytes allocated per get on the benchmark thread and fails if they
+ * exceed {@link #MAX_BYTES_PER_GET}, so a change that adds allocation to the read path is caught
+ * even when the profiler is not used.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class GetAllocationBenchmark {
+  private static final int ENTRIES = 10_000;
+
+  private static final int CHECKED_GETS = 1_000_000;
+
+  /**
+   * Allowance for the occasional allocation made outside of the get path, for example by a stat
+   * sampler callback that happens to run on the benchmark thread.
+   */
+  private static final double MAX_BYTES_PER_GET = 1.0;
+
+  @Param({"LOCAL", "REPLICATE"})
+  public RegionShortcut regionShortcut;
+
+  Cache cache;
+  Region<String, String> region;
+  String[] keys;
+  int nextKey;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    region = cache.<String, String>createRegionFactory(regionShortcut).create("testRegion");
+    keys = new String[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = Integer.toString(i);
+      region.put(keys[i], "value");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    try {
+      assertGetDoesNotAllocate();
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String get() {
+    return region.get(nextKey());
+  }
+
+  private String nextKey() {
+    if (++nextKey == ENTRIES) {
+      nextKey = 0;
+    }
+    return keys[nextKey];
+  }
+
+  private void assertGetDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < CHECKED_GETS; i++) {
+      if (region.get(nextKey()) == null) {
+        throw new IllegalStateException("get missed an existing entry");
+      }
+    }
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    double bytesPerGet = (double) allocated / CHECKED_GETS;
+    if (bytesPerGet > MAX_BYTES_PER_GET) {
+      throw new IllegalStateException("get on a " + regionShortcut + " region allocated "
+          + bytesPerGet + " bytes per operation but at most " + MAX_BYTES_PER_GET + " is allowed");
+    }
+  }
+}
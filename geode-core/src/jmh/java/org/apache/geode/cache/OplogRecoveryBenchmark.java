@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.cache.DiskStoreImpl;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+/**
+ * This benchmark measures how long it takes to recover a persistent region from a disk store with
+ * many oplogs when the oplog files are read through buffered streams and when they are mapped
+ * into memory. Recovery reads the krf files of the oplogs, or their crf files if values are
+ * recovered synchronously. With a cold page cache the operating system's page cache is dropped
+ * before every recovery, which requires the benchmark to be able to write to
+ * /proc/sys/vm/drop_caches.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class OplogRecoveryBenchmark {
+  private static final int ENTRIES = 2_000_000;
+  private static final int VALUE_BYTES = 256;
+  private static final int MAX_OPLOG_MEGABYTES = 64;
+
+  @Param({"false", "true"})
+  public boolean mappedReads;
+
+  @Param({"krf", "crf"})
+  public String recoveryFile;
+
+  @Param({"warm", "cold"})
+  public String pageCache;
+
+  File diskDir;
+  Cache cache;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    System.setProperty("geode." + SystemPropertyHelper.DISK_STORE_MAPPED_READS,
+        String.valueOf(mappedReads));
+    System.setProperty(DiskStoreImpl.RECOVER_VALUES_SYNC_PROPERTY_NAME,
+        String.valueOf(recoveryFile.equals("crf")));
+    diskDir = Files.createTempDirectory("OplogRecoveryBenchmark").toFile();
+
+    Region<Integer, byte[]> region = createRegion();
+    byte[] value = new byte[VALUE_BYTES];
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, value);
+    }
+    cache.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Setup(Level.Invocation)
+  public void dropPageCache() throws IOException {
+    if (pageCache.equals("cold")) {
+      try (FileWriter writer = new FileWriter("/proc/sys/vm/drop_caches")) {
+        writer.write("1");
+      }
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void closeCache() {
+    cache.close();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int recover() {
+    return createRegion().size();
+  }
+
+  private Region<Integer, byte[]> createRegion() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir})
+        .setMaxOplogSize(MAX_OPLOG_MEGABYTES).setAutoCompact(false).create("testDiskStore");
+    return cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName("testDiskStore").create("testRegion");
+  }
+}
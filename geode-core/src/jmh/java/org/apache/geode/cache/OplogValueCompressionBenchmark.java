@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+/**
+ * This benchmark measures the tradeoff of compressing the values that a persistent overflow region
+ * writes to its oplogs. The values are maps with the same field names, like the objects of a
+ * domain class. Almost all of them are overflowed, so each get faults a value in from disk and,
+ * with a compressor, decompresses it. The crfBytes counter shows the size of the crf files that
+ * hold the values.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class OplogValueCompressionBenchmark {
+  private static final int ENTRIES = 500_000;
+  private static final int ENTRIES_IN_MEMORY = 1_000;
+  private static final int FIELDS = 20;
+
+  @Param({"", "org.apache.geode.compression.SnappyCompressor"})
+  public String compressor;
+
+  File diskDir;
+  Cache cache;
+  Region<Integer, HashMap<String, Object>> region;
+  Random random = new Random(0);
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    System.setProperty("geode." + SystemPropertyHelper.DISK_STORE_VALUE_COMPRESSOR, compressor);
+    diskDir = Files.createTempDirectory("OplogValueCompressionBenchmark").toFile();
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create("testDiskStore");
+    region = cache.<Integer, HashMap<String, Object>>createRegionFactory(
+        RegionShortcut.LOCAL_PERSISTENT_OVERFLOW)
+        .setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(ENTRIES_IN_MEMORY,
+            EvictionAction.OVERFLOW_TO_DISK))
+        .setDiskStoreName("testDiskStore").create("testRegion");
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, createValue(i));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    cache.close();
+    FileUtils.deleteDirectory(diskDir);
+    System.clearProperty("geode." + SystemPropertyHelper.DISK_STORE_VALUE_COMPRESSOR);
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class DiskCounters {
+    public long crfBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(OplogValueCompressionBenchmark benchmark) {
+      crfBytes = FileUtils.listFiles(benchmark.diskDir, new String[] {"crf"}, false).stream()
+          .mapToLong(File::length).sum();
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public HashMap<String, Object> faultIn(DiskCounters counters) {
+    return region.get(random.nextInt(ENTRIES));
+  }
+
+  private static HashMap<String, Object> createValue(int id) {
+    HashMap<String, Object> value = new HashMap<>();
+    for (int i = 0; i < FIELDS; i++) {
+      value.put("customerAccountField" + i, id * FIELDS + i);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.InternalRegionArguments;
+
+/**
+ * This benchmark compares the throughput of get and create actions on a region keyed by longs when
+ * its entries are stored in the primitive keyed map versus the general purpose map. The
+ * non-primitive case is equivalent to {@link GetOnRegionBenchmark} and
+ * {@link CreateOnRegionBenchmark} with {@link Long} keys.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class PrimitiveKeyRegionBenchmark {
+  private static final int ENTRIES = 1_000_000;
+
+  @Param({"true", "false"})
+  public boolean usePrimitiveKeyMap;
+
+  Cache cache;
+  Region<Long, String> getRegion;
+  Region<Long, String> createRegion;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    getRegion = createRegion(cache, "getRegion");
+    for (long i = 0; i < ENTRIES; i++) {
+      getRegion.put(i, "value");
+    }
+    createRegion = createRegion(cache, "createRegion");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+    Random random = new Random();
+    long nextKey;
+  }
+
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getEntry(MyState state) {
+    return getRegion.get((long) state.random.nextInt(ENTRIES));
+  }
+
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String createEntry(MyState state) {
+    return createRegion.put(state.nextKey++, "value");
+  }
+
+  private Region<Long, String> createRegion(Cache cache, String name) throws Exception {
+    AttributesFactory<Long, String> factory = new AttributesFactory<>();
+    factory.setScope(org.apache.geode.cache.Scope.LOCAL);
+    factory.setKeyConstraint(Long.class);
+    InternalRegionArguments internalRegionArgs = new InternalRegionArguments()
+        .setDestroyLockFlag(true).setRecreateFlag(false).setSnapshotInputStream(null)
+        .setImageTarget(null).setUsePrimitiveKeyMap(usePrimitiveKeyMap);
+    return ((InternalCache) cache).createVMRegion(name, factory.create(), internalRegionArgs);
+  }
+}
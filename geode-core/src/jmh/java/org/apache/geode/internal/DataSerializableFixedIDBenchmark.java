@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.distributed.internal.ReplyMessage;
+import org.apache.geode.distributed.internal.SerialAckedMessage;
+import org.apache.geode.internal.cache.EventID;
+
+/**
+ * This benchmark measures the throughput of encoding and decoding DataSerializableFixedIDs with
+ * DataSerializer.writeObject and readObject. Decoding looks up the constructor of the fixed ID in
+ * the DSFIDFactory dispatch table. The types are ones that can be serialized without a cache:
+ * reply messages, which are the most frequent messages between members, and the event IDs that
+ * the entry operation messages carry.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class DataSerializableFixedIDBenchmark {
+
+  @Param({"ReplyMessage", "SerialAckedMessage", "EventID"})
+  public String type;
+
+  DataSerializableFixedID value;
+  byte[] bytes;
+  HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+  ByteArrayDataInput in = new ByteArrayDataInput();
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    switch (type) {
+      case "ReplyMessage":
+        value = new ReplyMessage();
+        break;
+      case "SerialAckedMessage":
+        value = new SerialAckedMessage();
+        break;
+      case "EventID":
+        value = new EventID(new byte[32], 1L, 1L);
+        break;
+      default:
+        throw new IllegalArgumentException(type);
+    }
+    DataSerializer.writeObject(value, out);
+    bytes = out.toByteArray();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int encode() throws IOException {
+    out.reset();
+    DataSerializer.writeObject(value, out);
+    return out.size();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Object decode() throws IOException, ClassNotFoundException {
+    in.initialize(bytes, Version.CURRENT);
+    return DataSerializer.readObject(in);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.pdx.PdxReader;
+import org.apache.geode.pdx.PdxSerializable;
+import org.apache.geode.pdx.PdxWriter;
+
+/**
+ * This benchmark compares serializing DataSerializable and PDX objects with
+ * DataSerializer.writeObject into a HeapDataOutputStream, the way client messages serialize their
+ * parts by default, with serializing them into a DirectBufferDataOutputStream. Each invocation
+ * serializes one object and then returns the buffers of the stream, and includes getting the
+ * contents of the stream in the form that a message writes to its socket channel.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class DataSerializerWriteObjectBenchmark {
+  private static final int FIELD_BYTES = 1024;
+
+  @Param({"heap", "direct"})
+  public String stream;
+
+  @Param({"DataSerializable", "PDX"})
+  public String payload;
+
+  Cache cache;
+  Object value;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    value = payload.equals("PDX") ? new PdxValue(FIELD_BYTES)
+        : new DataSerializableValue(FIELD_BYTES);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int writeObject() throws IOException {
+    HeapDataOutputStream out =
+        stream.equals("direct") ? new DirectBufferDataOutputStream(Version.CURRENT)
+            : new HeapDataOutputStream(Version.CURRENT);
+    try {
+      DataSerializer.writeObject(value, out);
+      if (out.getDirectByteBuffers() == null) {
+        return out.toByteBuffer().remaining();
+      }
+      return out.size();
+    } finally {
+      out.close();
+    }
+  }
+
+  public static class DataSerializableValue implements DataSerializable {
+    private long id;
+    private String name;
+    private byte[] data;
+
+    public DataSerializableValue() {}
+
+    DataSerializableValue(int bytes) {
+      this.id = 1L;
+      this.name = "value";
+      this.data = new byte[bytes];
+    }
+
+    @Override
+    public void toData(DataOutput out) throws IOException {
+      out.writeLong(id);
+      DataSerializer.writeString(name, out);
+      DataSerializer.writeByteArray(data, out);
+    }
+
+    @Override
+    public void fromData(DataInput in) throws IOException {
+      id = in.readLong();
+      name = DataSerializer.readString(in);
+      data = DataSerializer.readByteArray(in);
+    }
+  }
+
+  public static class PdxValue implements PdxSerializable {
+    private long id;
+    private String name;
+    private byte[] data;
+
+    public PdxValue() {}
+
+    PdxValue(int bytes) {
+      this.id = 1L;
+      this.name = "value";
+      this.data = new byte[bytes];
+    }
+
+    @Override
+    public void toData(PdxWriter writer) {
+      writer.writeLong("id", id).writeString("name", name).writeByteArray("data", data);
+    }
+
+    @Override
+    public void fromData(PdxReader reader) {
+      id = reader.readLong("id");
+      name = reader.readString("name");
+      data = reader.readByteArray("data");
+    }
+  }
+}
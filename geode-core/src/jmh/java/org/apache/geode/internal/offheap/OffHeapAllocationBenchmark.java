@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.OutOfOffHeapMemoryException;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.statistics.LocalStatisticsFactory;
+
+/**
+ * This benchmark measures the throughput of 32 threads that each keep a window of small off-heap
+ * values alive, replacing the oldest one with a newly allocated value on every operation. Each
+ * operation frees one chunk and allocates another, which is the pattern of region updates. A chunk
+ * count of 0 disables the per thread allocation caches so that every allocation and free goes
+ * through the shared tiny free lists.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(32)
+public class OffHeapAllocationBenchmark {
+  private static final long OFF_HEAP_MEMORY_SIZE = 512L * 1024 * 1024;
+
+  private static final int LIVE_VALUES_PER_THREAD = 1024;
+
+  private static final int[] VALUE_SIZES = {8, 24, 40, 64, 100, 150, 200};
+
+  @Param({"32", "0"})
+  public String threadCacheChunkCount;
+
+  MemoryAllocator allocator;
+
+  @State(Scope.Thread)
+  public static class LiveValues {
+    final StoredObject[] values = new StoredObject[LIVE_VALUES_PER_THREAD];
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_CHUNK_COUNT",
+        threadCacheChunkCount);
+    allocator = OffHeapStorage.basicCreateOffHeapStorage(new LocalStatisticsFactory(null),
+        OFF_HEAP_MEMORY_SIZE, new OutOfOffHeapMemoryListener() {
+          @Override
+          public void outOfOffHeapMemory(OutOfOffHeapMemoryException cause) {
+            // the benchmark fails with the exception thrown by the allocation
+          }
+
+          @Override
+          public void close() {
+            // nothing to close
+          }
+        });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public StoredObject replaceValue(LiveValues live) {
+    int idx = live.next;
+    StoredObject oldValue = live.values[idx];
+    if (oldValue != null) {
+      oldValue.release();
+    }
+    StoredObject newValue = allocator.allocate(VALUE_SIZES[idx % VALUE_SIZES.length]);
+    live.values[idx] = newValue;
+    live.next = (idx + 1) % LIVE_VALUES_PER_THREAD;
+    return newValue;
+  }
+}
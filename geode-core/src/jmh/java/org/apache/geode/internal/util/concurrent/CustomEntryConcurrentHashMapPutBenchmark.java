@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the latency distribution of concurrent puts of new keys into a map that
+ * starts empty, so that every segment keeps growing while it is measured. The sample time mode
+ * reports the p99 and higher percentiles, which show how long writers are blocked by a segment
+ * rehash. The JDK ConcurrentHashMap is included as a reference.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+public class CustomEntryConcurrentHashMapPutBenchmark {
+
+  @Param({"CustomEntryConcurrentHashMap", "ConcurrentHashMap"})
+  public String mapType;
+
+  ConcurrentMap<Integer, Object> map;
+  AtomicInteger nextKey;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    if (mapType.equals("ConcurrentHashMap")) {
+      map = new ConcurrentHashMap<>(16, 0.75f, 16);
+    } else {
+      map = new CustomEntryConcurrentHashMap<>(16, 0.75f, 16);
+    }
+    nextKey = new AtomicInteger();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 20, time = 1)
+  @Warmup(iterations = 5, time = 1)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Object put() {
+    return map.put(nextKey.getAndIncrement(), Boolean.TRUE);
+  }
+}
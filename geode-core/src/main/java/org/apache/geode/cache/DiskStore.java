@@ -60,6 +60,17 @@ public interface DiskStore {
    */
   int getCompactionThreshold();
 
+  /**
+   * Returns the rate, in megabytes per second, at which compaction may copy live data forward. A
+   * value of <code>0</code> means compaction is not rate limited.
+   *
+   * @return the compaction rate limit in megabytes per second
+   * @since Geode 1.5.0
+   */
+  default int getCompactionRateLimit() {
+    return DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT;
+  }
+
   /**
    * Returns true if manual compaction of disk files is allowed on this region. Manual compaction is
    * done be calling {@link #forceCompaction}.
@@ -207,4 +218,19 @@ public interface DiskStore {
    * @param criticalPercent the critical percent
    */
   void setDiskUsageCriticalPercentage(float criticalPercent);
+
+  /**
+   * Sets the rate, in megabytes per second, at which compaction may copy live data forward. The
+   * new rate also applies to a compaction that is in progress.
+   *
+   * @param compactionRateLimit the maximum compaction rate in megabytes per second, or
+   *        <code>0</code> to not rate limit compaction
+   * @throws IllegalArgumentException if <code>compactionRateLimit</code> is negative
+   * @throws UnsupportedOperationException if this disk store does not support rate limiting
+   *         compaction
+   * @since Geode 1.5.0
+   */
+  default void setCompactionRateLimit(int compactionRateLimit) {
+    throw new UnsupportedOperationException();
+  }
 }
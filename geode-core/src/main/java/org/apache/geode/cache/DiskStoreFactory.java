@@ -55,6 +55,13 @@ public interface DiskStoreFactory {
    */
   boolean DEFAULT_ALLOW_FORCE_COMPACTION = false;
 
+  /**
+   * The default compaction rate limit in megabytes per second.
+   * <p>
+   * Current value: <code>0</code> which means compaction is not rate limited.
+   */
+  int DEFAULT_COMPACTION_RATE_LIMIT = 0;
+
   /**
    * The default maximum oplog file size in megabytes.
    * <p>
@@ -152,6 +159,24 @@ public interface DiskStoreFactory {
    */
   DiskStoreFactory setCompactionThreshold(int compactionThreshold);
 
+  /**
+   * Sets the rate, in megabytes per second, at which compaction may copy live data forward. The
+   * compactor copies live entries in small batches and pauses between batches so that it stays
+   * within this rate, which limits the disk bandwidth it takes from regular writes. Oplogs with
+   * the most garbage are compacted first. A value of <code>0</code> means compaction is not rate
+   * limited.
+   *
+   * @param compactionRateLimit the maximum compaction rate in megabytes per second
+   * @return a reference to <code>this</code>
+   * @throws IllegalArgumentException if <code>compactionRateLimit</code> is negative
+   * @throws UnsupportedOperationException if this factory does not support rate limiting
+   *         compaction
+   * @since Geode 1.5.0
+   */
+  default DiskStoreFactory setCompactionRateLimit(int compactionRateLimit) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Set to <code>true</code> to allow {@link DiskStore#forceCompaction} to be called on regions
    * using this disk store.
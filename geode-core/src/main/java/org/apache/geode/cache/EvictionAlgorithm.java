@@ -64,12 +64,32 @@ public final class EvictionAlgorithm extends EnumSyntax {
    */
   public static final EvictionAlgorithm LIFO_MEMORY = new EvictionAlgorithm(5);
 
+  /**
+   * An algorithm that considers the number of Entries in the Region before invoking its
+   * {@link EvictionAction}. Unlike {@link #LRU_ENTRY} it keeps an entry that has been used often
+   * in preference to one that has only been used recently, so a single pass over many entries does
+   * not evict the ones that are used all the time.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final EvictionAlgorithm LFU_ENTRY = new EvictionAlgorithm(6);
+
+  /**
+   * An algorithm that considers the amount of bytes consumed by the Region before invoking its
+   * {@link EvictionAction}. Unlike {@link #LRU_MEMORY} it keeps an entry that has been used often
+   * in preference to one that has only been used recently.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final EvictionAlgorithm LFU_MEMORY = new EvictionAlgorithm(7);
+
   private EvictionAlgorithm(int val) {
     super(val);
   }
 
   private static final String[] stringTable = {"none", "lru-entry-count", "lru-heap-percentage",
-      "lru-memory-size", "lifo-entry-count", "lifo-memory-size"};
+      "lru-memory-size", "lifo-entry-count", "lifo-memory-size", "lfu-entry-count",
+      "lfu-memory-size"};
 
   @Override
   protected String[] getStringTable() {
@@ -77,7 +97,7 @@ public final class EvictionAlgorithm extends EnumSyntax {
   }
 
   private static final EvictionAlgorithm[] enumValueTable =
-      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY,};
+      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY, LFU_ENTRY, LFU_MEMORY,};
 
   @Override
   protected EnumSyntax[] getEnumValueTable() {
@@ -128,6 +148,23 @@ public final class EvictionAlgorithm extends EnumSyntax {
     return this.isLRUEntry() || this.isLRUMemory() || this.isLRUHeap();
   }
 
+  public boolean isLFUEntry() {
+    return this == LFU_ENTRY;
+  }
+
+  public boolean isLFUMemory() {
+    return this == LFU_MEMORY;
+  }
+
+  /**
+   * returns true if this object uses a frequency aware algorithm
+   *
+   * @since Geode 1.5.0
+   */
+  public boolean isLFU() {
+    return this.isLFUEntry() || this.isLFUMemory();
+  }
+
   public boolean isNone() {
     return this == NONE;
   }
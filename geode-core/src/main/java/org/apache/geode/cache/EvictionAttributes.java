@@ -401,6 +401,48 @@ public abstract class EvictionAttributes implements DataSerializable {
         .setAction(evictionAction).setObjectSizer(sizer).setMaximum(DEFAULT_MEMORY_MAXIMUM);
   }
 
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#LFU_ENTRY entry LFU} eviction attributes with
+   * given <code>evictionAction</code> and given <code>maximumEntries</code>.
+   *
+   * @param maximumEntries the number of entries to keep in the Region
+   * @param evictionAction the action to perform when evicting an entry
+   * @return {@linkplain EvictionAlgorithm#LFU_ENTRY entry LFU} eviction attributes with given
+   *         <code>evictionAction</code> and given <code>maximumEntries</code>
+   * @see #createLRUEntryAttributes(int, EvictionAction)
+   * @since Geode 1.5.0
+   */
+  public static EvictionAttributes createLFUEntryAttributes(int maximumEntries,
+      EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.LFU_ENTRY)
+        .setAction(evictionAction).setMaximum(maximumEntries);
+  }
+
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#LFU_MEMORY memory LFU} eviction attributes
+   * with the given <code>evictionAction</code>, given <code>sizer</code>, and given
+   * <code>maximumMegabytes</code>.
+   * <p>
+   * For a region with {@link DataPolicy#PARTITION}, even if maximumMegabytes are supplied, the
+   * EvictionAttribute <code>maximum</code>, is always set to
+   * {@link PartitionAttributesFactory#setLocalMaxMemory(int) " local max memory "} specified for
+   * the {@link PartitionAttributes}.
+   *
+   * @param maximumMegabytes the maximum allowed bytes in the Region
+   * @param sizer calculates the size in bytes of the key and value for an entry.
+   * @param evictionAction the action to take when the maximum has been reached.
+   * @return {@linkplain EvictionAlgorithm#LFU_MEMORY memory LFU} eviction attributes with the given
+   *         <code>evictionAction</code>, given <code>sizer</code>, and given
+   *         <code>maximumMegabytes</code>
+   * @see #createLRUMemoryAttributes(int, ObjectSizer, EvictionAction)
+   * @since Geode 1.5.0
+   */
+  public static EvictionAttributes createLFUMemoryAttributes(int maximumMegabytes,
+      ObjectSizer sizer, EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.LFU_MEMORY)
+        .setAction(evictionAction).setMaximum(maximumMegabytes).setObjectSizer(sizer);
+  }
+
   /**
    * An {@link ObjectSizer} is used by the {@link EvictionAlgorithm#LRU_MEMORY} algorithm to measure
    * the size of each Entry as it is entered into a Region. A default implementation is provided,
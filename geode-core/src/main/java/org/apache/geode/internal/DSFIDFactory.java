@@ -17,8 +17,13 @@ package org.apache.geode.internal;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
@@ -445,7 +450,19 @@ public class DSFIDFactory implements DataSerializableFixedID {
     throw new UnsupportedOperationException();
   }
 
-  private static final Constructor<?>[] dsfidMap = new Constructor<?>[256];
+  /**
+   * Creates new instances of a fixed ID class with its default constructor. Instances of it are
+   * registered for each fixed ID and looked up by ID when an object is deserialized.
+   */
+  @FunctionalInterface
+  public interface FixedIDConstructor {
+    Object newInstance() throws Exception;
+  }
+
+  /**
+   * The constructors of the fixed IDs that fit in a byte, indexed by the ID plus 128.
+   */
+  private static final FixedIDConstructor[] dsfidMap = new FixedIDConstructor[256];
 
   private static final Int2ObjectOpenHashMap dsfidMap2 = new Int2ObjectOpenHashMap(800);
 
@@ -462,16 +479,49 @@ public class DSFIDFactory implements DataSerializableFixedID {
         throw new InternalGemFireError(
             "default constructor not accessible " + "for DSFID=" + dsfid + ": " + dsfidClass);
       }
+      FixedIDConstructor constructor = createConstructor(cons);
       if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
-        dsfidMap[dsfid + Byte.MAX_VALUE + 1] = cons;
+        dsfidMap[dsfid + Byte.MAX_VALUE + 1] = constructor;
       } else {
-        dsfidMap2.put(dsfid, cons);
+        dsfidMap2.put(dsfid, constructor);
       }
     } catch (NoSuchMethodException nsme) {
       throw new InternalGemFireError(nsme);
     }
   }
 
+  /**
+   * Returns a FixedIDConstructor that invokes the given constructor. For a public class this is a
+   * class generated with LambdaMetafactory that calls the constructor directly, the same as a
+   * constructor reference would, so deserializing an instance does not go through reflection.
+   * Other classes, and classes that are not visible to the class loader of this class, can not be
+   * instantiated from generated code and are instantiated reflectively.
+   */
+  static FixedIDConstructor createConstructor(Constructor<?> cons) {
+    Class<?> c = cons.getDeclaringClass();
+    if (Modifier.isPublic(c.getModifiers()) && isVisible(c)) {
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflectConstructor(cons);
+        return (FixedIDConstructor) LambdaMetafactory
+            .metafactory(lookup, "newInstance", MethodType.methodType(FixedIDConstructor.class),
+                MethodType.methodType(Object.class), handle, handle.type())
+            .getTarget().invoke();
+      } catch (Throwable ignore) {
+        // fall back to reflection
+      }
+    }
+    return cons::newInstance;
+  }
+
+  private static boolean isVisible(Class<?> c) {
+    try {
+      return Class.forName(c.getName(), false, DSFIDFactory.class.getClassLoader()) == c;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
   public static void registerTypes() {
     // nothing to do; static initializer will take care of the type registration
   }
@@ -982,31 +1032,11 @@ public class DSFIDFactory implements DataSerializableFixedID {
       case PR_DESTROY_ON_DATA_STORE_MESSAGE:
         return readDestroyOnDataStore(in);
       default:
-        final Constructor<?> cons;
-        if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
-          cons = dsfidMap[dsfid + Byte.MAX_VALUE + 1];
-        } else {
-          cons = (Constructor<?>) dsfidMap2.get(dsfid);
-        }
+        final FixedIDConstructor cons = getConstructor(dsfid);
         if (cons != null) {
-          try {
-            Object ds = cons.newInstance((Object[]) null);
-            InternalDataSerializer.invokeFromData(ds, in);
-            return ds;
-          } catch (InstantiationException ie) {
-            throw new IOException(ie.getMessage(), ie);
-          } catch (IllegalAccessException iae) {
-            throw new IOException(iae.getMessage(), iae);
-          } catch (InvocationTargetException ite) {
-            Throwable targetEx = ite.getTargetException();
-            if (targetEx instanceof IOException) {
-              throw (IOException) targetEx;
-            } else if (targetEx instanceof ClassNotFoundException) {
-              throw (ClassNotFoundException) targetEx;
-            } else {
-              throw new IOException(ite.getMessage(), targetEx);
-            }
-          }
+          Object ds = newInstance(cons);
+          InternalDataSerializer.invokeFromData(ds, in);
+          return ds;
         }
         throw new DSFIDNotFoundException("Unknown DataSerializableFixedID: " + dsfid, dsfid);
 
@@ -1014,6 +1044,35 @@ public class DSFIDFactory implements DataSerializableFixedID {
   }
 
 
+  /**
+   * Returns the registered constructor of the given fixed ID, or null if none is registered.
+   */
+  static FixedIDConstructor getConstructor(int dsfid) {
+    if (dsfid >= Byte.MIN_VALUE && dsfid <= Byte.MAX_VALUE) {
+      return dsfidMap[dsfid + Byte.MAX_VALUE + 1];
+    } else {
+      return (FixedIDConstructor) dsfidMap2.get(dsfid);
+    }
+  }
+
+  private static Object newInstance(FixedIDConstructor cons)
+      throws IOException, ClassNotFoundException {
+    try {
+      return cons.newInstance();
+    } catch (InvocationTargetException ite) {
+      Throwable targetEx = ite.getTargetException();
+      if (targetEx instanceof IOException) {
+        throw (IOException) targetEx;
+      } else if (targetEx instanceof ClassNotFoundException) {
+        throw (ClassNotFoundException) targetEx;
+      } else {
+        throw new IOException(ite.getMessage(), targetEx);
+      }
+    } catch (Exception e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
   ////////////////// Reading Internal Objects /////////////////
   /**
    * Reads an instance of <code>IpAddress</code> from a <code>DataInput</code>.
@@ -1073,7 +1132,7 @@ public class DSFIDFactory implements DataSerializableFixedID {
     return serializable;
   }
 
-  public static Constructor<?>[] getDsfidmap() {
+  public static FixedIDConstructor[] getDsfidmap() {
     return dsfidMap;
   }
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * A HeapDataOutputStream that writes into direct byte buffers taken from a pool instead of into
+ * heap buffers. The primitives and strings that are serialized to it are put straight into the
+ * direct buffers, and the buffers can then be written to a socket channel with a gathering write
+ * instead of being copied to a direct buffer first, which is what writing a heap buffer to a
+ * channel does. See {@link #getDirectByteBuffers()}.
+ * <p>
+ * The buffers are returned to the pool when the stream is closed, so the stream must not be closed
+ * while anything still reads its contents. A stream that is never closed leaves its buffers to be
+ * garbage collected.
+ */
+public class DirectBufferDataOutputStream extends HeapDataOutputStream {
+
+  /**
+   * The capacity of the pooled buffers. Larger buffers are allocated for writes that do not fit in
+   * a pooled buffer, but they are not pooled.
+   */
+  static final int BUFFER_SIZE = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "DirectBufferDataOutputStream.BUFFER_SIZE", 32 * 1024);
+
+  /**
+   * The maximum number of buffers that are kept in the pool.
+   */
+  static final int MAX_POOLED_BUFFERS = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "DirectBufferDataOutputStream.MAX_POOLED_BUFFERS", 256);
+
+  private static final BlockingQueue<ByteBuffer> pool =
+      new LinkedBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+  /**
+   * The pooled buffers that this stream has taken and not yet returned.
+   */
+  private final List<ByteBuffer> acquiredBuffers = new ArrayList<>();
+
+  public DirectBufferDataOutputStream(Version version) {
+    super(acquire(BUFFER_SIZE), version, false);
+    this.acquiredBuffers.add(this.buffer);
+  }
+
+  @Override
+  protected ByteBuffer allocateBuffer(int size) {
+    ByteBuffer result = acquire(size);
+    this.acquiredBuffers.add(result);
+    return result;
+  }
+
+  /**
+   * Empties this stream and returns its buffers to the pool. The stream takes new buffers from the
+   * pool if it is written to again.
+   */
+  @Override
+  public void close() {
+    super.close();
+    for (ByteBuffer bb : this.acquiredBuffers) {
+      release(bb);
+    }
+    this.acquiredBuffers.clear();
+    this.buffer = EMPTY_BUFFER;
+  }
+
+  /**
+   * Returns a direct buffer with a capacity of at least the given size.
+   */
+  static ByteBuffer acquire(int size) {
+    if (size <= BUFFER_SIZE) {
+      ByteBuffer result = pool.poll();
+      if (result != null) {
+        result.clear();
+        return result;
+      }
+      size = BUFFER_SIZE;
+    }
+    return ByteBuffer.allocateDirect(size);
+  }
+
+  static void release(ByteBuffer bb) {
+    if (bb.capacity() == BUFFER_SIZE) {
+      pool.offer(bb);
+    }
+  }
+
+  static int getPooledBufferCount() {
+    return pool.size();
+  }
+}
@@ -22,8 +22,10 @@ import java.io.UTFDataFormatException;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.logging.log4j.Logger;
 
@@ -219,7 +221,15 @@ public class HeapDataOutputStream extends OutputStream
     if (amount < MIN_CHUNK_SIZE) {
       amount = MIN_CHUNK_SIZE;
     }
-    this.buffer = ByteBuffer.allocate(amount);
+    this.buffer = allocateBuffer(amount);
+  }
+
+  /**
+   * Returns a new buffer, with a capacity of at least the given size, that this stream writes to
+   * once its current buffer is full.
+   */
+  protected ByteBuffer allocateBuffer(int size) {
+    return ByteBuffer.allocate(size);
   }
 
   private void checkIfWritable() {
@@ -292,6 +302,32 @@ public class HeapDataOutputStream extends OutputStream
     }
   }
 
+  /**
+   * Returns duplicates of the buffers that hold the contents of this stream, ready for reading, if
+   * all of them are direct buffers. Returns null if the stream is empty or if any of its buffers
+   * that is not empty is a heap buffer. The direct buffers can be written to a channel without
+   * copying them first.
+   */
+  public ByteBuffer[] getDirectByteBuffers() {
+    finishWriting();
+    if (size() == 0) {
+      return null;
+    }
+    ByteBuffer[] buffers = new ByteBuffer[getByteBufferCount()];
+    fillByteBufferArray(buffers, 0);
+    List<ByteBuffer> result = new ArrayList<>(buffers.length);
+    for (ByteBuffer bb : buffers) {
+      if (bb == null || bb.remaining() == 0) {
+        continue;
+      }
+      if (!bb.isDirect()) {
+        return null;
+      }
+      result.add(bb.duplicate());
+    }
+    return result.toArray(new ByteBuffer[result.size()]);
+  }
+
   private void moveBufferToChunks() {
     final ByteBuffer oldBuffer = this.buffer;
     if (this.chunks == null) {
@@ -308,7 +344,7 @@ public class HeapDataOutputStream extends OutputStream
     this.chunks.add(bufToAdd);
     int newPos = oldBuffer.limit();
     if ((oldBuffer.capacity() - newPos) <= 0) {
-      this.buffer = ByteBuffer.allocate(MIN_CHUNK_SIZE);
+      this.buffer = allocateBuffer(MIN_CHUNK_SIZE);
     } else {
       oldBuffer.limit(oldBuffer.capacity());
       oldBuffer.position(newPos);
@@ -1380,7 +1380,9 @@ public abstract class AbstractRegion implements InternalRegion, AttributesMutato
   }
 
   void setLastAccessedTime(long time, boolean hit) {
-    this.lastAccessedTime.set(time);
+    if (time > this.lastAccessedTime.get()) {
+      this.lastAccessedTime.set(time);
+    }
     if (hit) {
       if (trackHits) {
         this.hitCount.getAndIncrement();
@@ -1558,7 +1560,8 @@ public abstract class AbstractRegion implements InternalRegion, AttributesMutato
 
     this.evictionAttributes = new EvictionAttributesImpl(attrs.getEvictionAttributes());
     if (attrs.getPartitionAttributes() != null && this.evictionAttributes != null
-        && this.evictionAttributes.getAlgorithm().isLRUMemory()
+        && (this.evictionAttributes.getAlgorithm().isLRUMemory()
+            || this.evictionAttributes.getAlgorithm().isLFUMemory())
         && attrs.getPartitionAttributes().getLocalMaxMemory() != 0 && this.evictionAttributes
             .getMaximum() != attrs.getPartitionAttributes().getLocalMaxMemory()) {
       logger.warn(LocalizedMessage.create(LocalizedStrings.Mem_LRU_Eviction_Attribute_Reset,
@@ -89,6 +89,7 @@ import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
 import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
 import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+import org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap;
 
 /**
  * Abstract implementation of {@link RegionMap}that has all the common behavior.
@@ -123,8 +124,13 @@ public abstract class AbstractRegionMap
       InternalRegionArguments internalRegionArgs, boolean isLRU) {
     _setAttributes(attr);
     setOwner(owner);
-    setEntryMap(createConcurrentMapWithReusableEntries(attr.initialCapacity, attr.loadFactor,
-        attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator()));
+    if (attr.primitiveKeyClass != null) {
+      setEntryMap(new PrimitiveKeyConcurrentHashMap<>(attr.initialCapacity, attr.loadFactor,
+          attr.concurrencyLevel, attr.primitiveKeyClass == Integer.class));
+    } else {
+      setEntryMap(createConcurrentMapWithReusableEntries(attr.initialCapacity, attr.loadFactor,
+          attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator()));
+    }
 
     boolean isDisk;
     boolean withVersioning;
@@ -300,6 +306,16 @@ public abstract class AbstractRegionMap
     return oldRe;
   }
 
+  /**
+   * Releases an entry that was created to be put in the map but lost to an entry that was already
+   * there. Off-heap entries may have allocated their key off heap when they were created.
+   */
+  private void releaseUnusedEntry(RegionEntry newRe) {
+    if (newRe instanceof OffHeapRegionEntry) {
+      ((OffHeapRegionEntry) newRe).release();
+    }
+  }
+
   @Override
   public RegionEntry getOperationalEntryInVM(Object key) {
     RegionEntry re = (RegionEntry) getEntryMap().get(key);
@@ -893,13 +909,13 @@ public abstract class AbstractRegionMap
     try {
       RegionEntry newRe = getEntryFactory().createEntry(owner, key, Token.REMOVED_PHASE1);
       EntryEventImpl event = null;
+      RegionEntry oldRe = null;
 
       @Retained
       @Released
       Object oldValue = null;
 
       try {
-        RegionEntry oldRe = null;
         synchronized (newRe) {
           try {
             oldRe = putEntryIfAbsent(key, newRe);
@@ -1056,6 +1072,9 @@ public abstract class AbstractRegionMap
         if (event != null)
           event.release();
         OffHeapHelper.release(oldValue);
+        if (oldRe != null) {
+          releaseUnusedEntry(newRe);
+        }
       }
     } catch (RegionClearedException rce) {
       // Asif: do not issue any sort of callbacks
@@ -1214,9 +1233,10 @@ public abstract class AbstractRegionMap
           oqlIndexManager.waitForIndexInit();
         }
         EntryEventImpl cbEvent = null;
+        RegionEntry oldRe = null;
         try {
           synchronized (newRe) {
-            RegionEntry oldRe = putEntryIfAbsent(key, newRe);
+            oldRe = putEntryIfAbsent(key, newRe);
             while (!opCompleted && oldRe != null) {
               synchronized (oldRe) {
                 if (oldRe.isRemovedPhase2()) {
@@ -1343,6 +1363,9 @@ public abstract class AbstractRegionMap
           if (oqlIndexManager != null) {
             oqlIndexManager.countDownIndexUpdaters();
           }
+          if (oldRe != null) {
+            releaseUnusedEntry(newRe);
+          }
         }
       } else if (re == null) {
         // Fix bug#43594
@@ -1429,8 +1452,9 @@ public abstract class AbstractRegionMap
             RegionEntry newRe =
                 getEntryFactory().createEntry(owner, event.getKey(), Token.REMOVED_PHASE1);
             synchronized (newRe) {
+              RegionEntry oldRe = null;
               try {
-                RegionEntry oldRe = putEntryIfAbsent(event.getKey(), newRe);
+                oldRe = putEntryIfAbsent(event.getKey(), newRe);
 
                 while (!opCompleted && oldRe != null) {
                   synchronized (oldRe) {
@@ -1595,6 +1619,9 @@ public abstract class AbstractRegionMap
                 if (!opCompleted) {
                   removeEntry(event.getKey(), newRe, false);
                 }
+                if (oldRe != null) {
+                  releaseUnusedEntry(newRe);
+                }
               }
             } // synchronized newRe
           } // forceNewEntry
@@ -1631,6 +1658,8 @@ public abstract class AbstractRegionMap
                     re = putEntryIfAbsent(event.getKey(), newRe);
                     if (re == tombstone) {
                       re = null; // pretend we don't have an entry
+                    } else if (re != null && !haveTombstone) {
+                      releaseUnusedEntry(newRe);
                     }
                   }
                 } else if (owner.getServerProxy() != null) {
@@ -1913,8 +1942,9 @@ public abstract class AbstractRegionMap
         boolean opCompleted = false;
         RegionEntry newRe = getEntryFactory().createEntry(owner, key, Token.REMOVED_PHASE1);
         synchronized (newRe) {
+          RegionEntry oldRe = null;
           try {
-            RegionEntry oldRe = putEntryIfAbsent(key, newRe);
+            oldRe = putEntryIfAbsent(key, newRe);
             while (!opCompleted && oldRe != null) {
               synchronized (oldRe) {
                 if (oldRe.isRemovedPhase2()) {
@@ -2039,6 +2069,9 @@ public abstract class AbstractRegionMap
             if (!opCompleted) {
               removeEntry(key, newRe, false);
             }
+            if (oldRe != null) {
+              releaseUnusedEntry(newRe);
+            }
           }
         }
       } else { /* !forceNewEntry */
@@ -2754,8 +2787,9 @@ public abstract class AbstractRegionMap
         }
         RegionEntry newRe = getEntryFactory().createEntry(owner, key, Token.REMOVED_PHASE1);
         synchronized (newRe) {
+          RegionEntry oldRe = null;
           try {
-            RegionEntry oldRe = putEntryIfAbsent(key, newRe);
+            oldRe = putEntryIfAbsent(key, newRe);
             while (!opCompleted && oldRe != null) {
               synchronized (oldRe) {
                 if (oldRe.isRemovedPhase2()) {
@@ -2914,6 +2948,9 @@ public abstract class AbstractRegionMap
             if (!opCompleted) {
               removeEntry(key, newRe, false);
             }
+            if (oldRe != null) {
+              releaseUnusedEntry(newRe);
+            }
           }
         }
         if (owner.getConcurrencyChecksEnabled() && txEntryState != null && cbEvent != null) {
@@ -3431,6 +3468,11 @@ public abstract class AbstractRegionMap
     return 0;
   }
 
+  @Override
+  public long centralizedLruUpdateCallback(long bytesToEvict) {
+    return 0;
+  }
+
   @Override
   public void updateEvictionCounter() {}
 
@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -1060,6 +1061,27 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     }
   }
 
+  @Override
+  void expireInBatch(int size, Consumer<ExpirationDestroyBatch> expirations) {
+    // stay primary, or secondary, until the batch has been distributed
+    lockPrimaryStateReadLock(false);
+    try {
+      super.expireInBatch(size, expirations);
+    } finally {
+      doUnlockForPrimary();
+    }
+  }
+
+  @Override
+  ExpirationDestroyBatch createExpirationDestroyBatch(int size) {
+    // a secondary does not destroy expired entries, and with evict destroy every copy of the bucket
+    // destroys them without distributing the destroy
+    if (!getBucketAdvisor().isPrimary() || isEntryEvictDestroyEnabled()) {
+      return null;
+    }
+    return super.createExpirationDestroyBatch(size);
+  }
+
   protected boolean isEntryEvictDestroyEnabled() {
     return getEvictionAttributes() != null
         && EvictionAction.LOCAL_DESTROY.equals(getEvictionAttributes().getAction());
@@ -112,6 +112,12 @@ public interface CacheObserver {
    */
   void afterKrfCreated();
 
+  /**
+   * Callback given by the thread that leads a group commit of an oplog, before it writes and syncs
+   * the records that have been deferred to the group commit.
+   */
+  void beforeGroupCommit();
+
   /**
    * Callback given immediately before any thread invokes ComplexDiskRegion.OplogCompactor's
    * stopCompactor method. This method normally gets invoked by clear/destory/close methods of the
@@ -86,6 +86,8 @@ public class CacheObserverAdapter implements CacheObserver {
 
   }
 
+  public void beforeGroupCommit() {}
+
   /*
    * (non-Javadoc)
    *
@@ -33,4 +33,10 @@ public interface CompactableOplog {
   BytesAndBits getBytesAndBits(DiskRegionView dr, DiskId id, boolean faultIn, boolean bitOnly);
 
   BytesAndBits getNoBuffer(DiskRegion dr, DiskId id);
+
+  /**
+   * Reads the given number of bytes, starting at the given offset, with a single read. Used to
+   * fault in the values of several entries whose records lie close to each other.
+   */
+  byte[] getBytes(DiskRegionView dr, long offsetInOplog, int length);
 }
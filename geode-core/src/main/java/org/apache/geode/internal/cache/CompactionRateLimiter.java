@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * CompactionRateLimiter limits the rate at which the compactor of a disk store copies live data
+ * forward. The compactor copies live entries in batches of at most {@link #getBatchBytes} bytes
+ * and, after each batch, is paused until the bytes it has copied fit within the rate. Batches are
+ * sized so that a pause lasts about {@link #BATCH_MILLIS} milliseconds, because the compactor holds
+ * the compactor lock of the oplog it compacts while it is paused. Time that the compactor spends
+ * idle is not saved up, so a compaction never starts with a burst.
+ */
+class CompactionRateLimiter {
+
+  static final int BATCH_MILLIS = 50;
+
+  static final int MAX_BATCH_BYTES = 1024 * 1024;
+
+  private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final LongSupplier nanoClock;
+
+  private volatile int megabytesPerSecond;
+
+  /**
+   * The time at which the bytes reserved so far have been copied at the limited rate.
+   */
+  private long nextFreeNanos;
+
+  CompactionRateLimiter(int megabytesPerSecond) {
+    this(megabytesPerSecond, System::nanoTime);
+  }
+
+  CompactionRateLimiter(int megabytesPerSecond, LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    this.megabytesPerSecond = megabytesPerSecond;
+  }
+
+  /**
+   * Returns the rate limit in megabytes per second, or 0 if the rate is not limited.
+   */
+  int getRate() {
+    return this.megabytesPerSecond;
+  }
+
+  void setRate(int megabytesPerSecond) {
+    this.megabytesPerSecond = megabytesPerSecond;
+  }
+
+  /**
+   * Returns the number of bytes that the compactor copies forward between two pauses.
+   */
+  long getBatchBytes() {
+    int rate = this.megabytesPerSecond;
+    if (rate <= 0) {
+      return MAX_BATCH_BYTES;
+    }
+    return Math.min(MAX_BATCH_BYTES, rate * BYTES_PER_MEGABYTE * BATCH_MILLIS / 1000);
+  }
+
+  /**
+   * Reserves the given number of bytes and returns how many nanoseconds the caller has to pause
+   * before it has copied them at the limited rate.
+   */
+  synchronized long reserve(long bytes) {
+    long now = this.nanoClock.getAsLong();
+    int rate = this.megabytesPerSecond;
+    if (rate <= 0) {
+      this.nextFreeNanos = now;
+      return 0;
+    }
+    if (this.nextFreeNanos - now < 0) {
+      this.nextFreeNanos = now;
+    }
+    this.nextFreeNanos +=
+        (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / (rate * BYTES_PER_MEGABYTE));
+    return this.nextFreeNanos - now;
+  }
+}
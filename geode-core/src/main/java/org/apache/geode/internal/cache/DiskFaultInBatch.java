@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.entries.DiskEntry;
+import org.apache.geode.internal.cache.persistence.BytesAndBits;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * DiskFaultInBatch faults in the values of a batch of entries that are on disk, like the entries
+ * that a getAll reads, before they are read one at a time. Faulting in each value on its own takes
+ * a positional read per value. Instead, the values are sorted by oplog and offset, values whose
+ * records lie close to each other are read with a single read, and the reads of different ranges
+ * are issued in parallel. Each value is then set on its entry as if it had been faulted in on its
+ * own. An entry whose value moves or changes while the batch is being read is left alone, so the
+ * get that follows faults it in as usual.
+ */
+class DiskFaultInBatch {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The maximum number of entries faulted in as one batch. Larger getAlls fault in their entries
+   * in several batches so that a batch does not evict its own values.
+   */
+  static final int MAX_ENTRIES = 100;
+
+  /**
+   * Values whose records are at most this many bytes apart are read with a single read.
+   */
+  static final int MAX_GAP_BYTES = 4 * 1024;
+
+  /**
+   * The maximum number of bytes that a single read reads.
+   */
+  static final int MAX_READ_BYTES = 1024 * 1024;
+
+  private DiskFaultInBatch() {}
+
+  /**
+   * Faults in the values of the entries of the given keys that are on disk.
+   */
+  static void faultIn(LocalRegion region, Collection<?> keys) {
+    DiskRegion dr = region.getDiskRegion();
+    if (dr == null) {
+      return;
+    }
+    List<ValueLocation> locations = new ArrayList<>(keys.size());
+    for (Object key : keys) {
+      if (key == null) {
+        continue;
+      }
+      RegionEntry entry = region.getRegionMap().getEntry(key);
+      if (entry instanceof DiskEntry) {
+        ValueLocation location = ValueLocation.of((DiskEntry) entry);
+        if (location != null) {
+          locations.add(location);
+        }
+      }
+    }
+    if (locations.size() < 2) {
+      // nothing to gain over faulting in on get
+      return;
+    }
+    List<OplogRead> reads = createReads(locations, dr);
+    if (!read(dr.getDiskStore(), reads)) {
+      return;
+    }
+    for (OplogRead read : reads) {
+      if (read.bytes != null) {
+        for (ValueLocation location : read.locations) {
+          faultIn(region, dr.getDiskStore(), read, location);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the reads of the values at the given locations, coalescing values whose records lie
+   * close to each other in the same oplog.
+   */
+  static List<OplogRead> createReads(List<ValueLocation> locations, DiskRegion dr) {
+    locations.sort(Comparator.comparingLong((ValueLocation location) -> location.oplogId)
+        .thenComparingLong(location -> location.offsetInOplog));
+    List<OplogRead> reads = new ArrayList<>();
+    OplogRead read = null;
+    for (ValueLocation location : locations) {
+      if (read == null || !read.canAdd(location)) {
+        read = new OplogRead(dr, location);
+        reads.add(read);
+      } else {
+        read.add(location);
+      }
+    }
+    return reads;
+  }
+
+  /**
+   * Issues the given reads in parallel and waits for them. Returns false if interrupted.
+   */
+  private static boolean read(DiskStoreImpl diskStore, List<OplogRead> reads) {
+    List<Future<?>> futures = new ArrayList<>(reads.size());
+    for (int i = 1; i < reads.size(); i++) {
+      futures.add(diskStore.executeFaultInRead(reads.get(i)));
+    }
+    reads.get(0).run();
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } catch (ExecutionException e) {
+        // OplogRead does not throw
+      }
+    }
+    return true;
+  }
+
+  private static void faultIn(LocalRegion region, DiskStoreImpl diskStore, OplogRead read,
+      ValueLocation location) {
+    int start = (int) (location.offsetInOplog - read.offsetInOplog);
+    byte[] valueBytes = Arrays.copyOfRange(read.bytes, start, start + location.valueLength);
+    byte userBits = location.userBits;
+    if (EntryBits.isCompressed(userBits)) {
+      valueBytes = diskStore.getValueCompressor().decompress(valueBytes);
+      userBits = EntryBits.setCompressed(userBits, false);
+    }
+    DiskEntry.Helper.faultInValueReadAhead(location.entry, region, location.oplogId,
+        location.offsetInOplog, new BytesAndBits(valueBytes, userBits));
+  }
+
+  /**
+   * The location on disk of the value of an entry that is not in memory.
+   */
+  static class ValueLocation {
+    final DiskEntry entry;
+    final long oplogId;
+    final long offsetInOplog;
+    final int valueLength;
+    final byte userBits;
+
+    ValueLocation(DiskEntry entry, long oplogId, long offsetInOplog, int valueLength,
+        byte userBits) {
+      this.entry = entry;
+      this.oplogId = oplogId;
+      this.offsetInOplog = offsetInOplog;
+      this.valueLength = valueLength;
+      this.userBits = userBits;
+    }
+
+    /**
+     * Returns the location of the value of the given entry, or null if the value does not need to
+     * be read from an oplog.
+     */
+    static ValueLocation of(DiskEntry entry) {
+      DiskId did = entry.getDiskId();
+      if (did == null || !entry.isValueNull()) {
+        return null;
+      }
+      synchronized (did) {
+        byte userBits = did.getUserBits();
+        if (did.isPendingAsync() || !EntryBits.isNeedsValue(userBits)
+            || did.getOffsetInOplog() < 0 || did.getValueLength() <= 0) {
+          return null;
+        }
+        return new ValueLocation(entry, did.getOplogId(), did.getOffsetInOplog(),
+            did.getValueLength(), userBits);
+      }
+    }
+
+    long getEnd() {
+      return this.offsetInOplog + this.valueLength;
+    }
+  }
+
+  /**
+   * A single read of a range of an oplog that holds the values at one or more locations.
+   */
+  static class OplogRead implements Runnable {
+    private final DiskRegion dr;
+    final long oplogId;
+    final long offsetInOplog;
+    final List<ValueLocation> locations = new ArrayList<>();
+    private long end;
+    byte[] bytes;
+
+    OplogRead(DiskRegion dr, ValueLocation location) {
+      this.dr = dr;
+      this.oplogId = location.oplogId;
+      this.offsetInOplog = location.offsetInOplog;
+      this.end = location.getEnd();
+      this.locations.add(location);
+    }
+
+    boolean canAdd(ValueLocation location) {
+      return location.oplogId == this.oplogId && location.offsetInOplog - this.end <= MAX_GAP_BYTES
+          && Math.max(this.end, location.getEnd()) - this.offsetInOplog <= MAX_READ_BYTES;
+    }
+
+    void add(ValueLocation location) {
+      this.locations.add(location);
+      this.end = Math.max(this.end, location.getEnd());
+    }
+
+    int getLength() {
+      return (int) (this.end - this.offsetInOplog);
+    }
+
+    @Override
+    public void run() {
+      try {
+        this.bytes = this.dr.getDiskStore().getOplogBytes(this.dr, this.oplogId,
+            this.offsetInOplog, getLength());
+      } catch (RuntimeException e) {
+        // the values are faulted in one at a time instead, which reports the failure
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not read {} bytes at offset {} of oplog {} of {}", getLength(),
+              this.offsetInOplog, this.oplogId, this.dr.getName(), e);
+        }
+      }
+    }
+  }
+}
@@ -62,6 +62,7 @@ import org.apache.geode.cache.EvictionAlgorithm;
 import org.apache.geode.cache.RegionAttributes;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.compression.Compressor;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.InternalInstantiator;
@@ -326,6 +327,16 @@ public class DiskInitFile implements DiskInitFileInterpreter {
    */
   public static final byte IFREC_REGION_CONFIG_ID_90 = 90;
 
+  /**
+   * Written to IF. Records the class of the Compressor that values in this disk store's oplogs are
+   * compressed with. It is written before the first compressed value, so products that do not know
+   * compressed oplog values refuse the disk store instead of misreading them. Byte Format:
+   * variable: compressorClassName (utf) 1: EndOfRecordMarker
+   *
+   * @since Geode 1.5.0
+   */
+  public static final byte IFREC_VALUE_COMPRESSOR_ID = 91;
+
   private final DiskStoreImpl parent;
 
   private final File ifFile;
@@ -360,8 +371,11 @@ public class DiskInitFile implements DiskInitFileInterpreter {
   private int ifLiveRecordCount = 0;
   private int ifTotalRecordCount = 0;
   private boolean compactInProgress;
+  private boolean compactScheduled;
   // the recovered version
   private Version gfversion;
+  // the class of the Compressor oplog values are compressed with; null if none
+  private String valueCompressorClassName;
 
 
   /**
@@ -606,6 +620,32 @@ public class DiskInitFile implements DiskInitFileInterpreter {
     this.gfversion = version;
   }
 
+  public void cmnValueCompressor(String compressorClassName) {
+    this.valueCompressorClassName = compressorClassName;
+  }
+
+  /**
+   * Returns the class name of the Compressor that values in the oplogs of this disk store are
+   * compressed with, or null if no value has been compressed.
+   */
+  public String getValueCompressorClassName() {
+    return this.valueCompressorClassName;
+  }
+
+  /**
+   * Records the class name of the Compressor that values in the oplogs of this disk store will be
+   * compressed with. Must be called before the first compressed value is written.
+   */
+  public void setValueCompressorClassName(String compressorClassName) {
+    lock(true);
+    try {
+      this.valueCompressorClassName = compressorClassName;
+      writeValueCompressor(compressorClassName);
+    } finally {
+      unlock(true);
+    }
+  }
+
   public boolean cmnPRDestroy(String name) {
     if (this.prMap.remove(name) != null) {
       this.ifLiveRecordCount--;
@@ -1420,21 +1460,29 @@ public class DiskInitFile implements DiskInitFileInterpreter {
    * If the ratio of live vs. dead is not less than this constant then no need to compact.
    */
   private static final double COMPACT_RATIO = 0.5;
+  /**
+   * If the file has more than this many records that are no longer live then it is compacted even
+   * if the ratio of live vs. dead is not less than {@link #COMPACT_RATIO}. This bounds the number
+   * of dead records that recovery has to replay when the file has many live records.
+   */
+  private static final int MAX_DEAD_RECORDS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.MAX_IF_DEAD_RECORDS", 100000);
 
-  private void compactIfNeeded() {
+  /**
+   * Compacts the file if it has enough dead records. The compaction is done by a disk store task
+   * so that the operation that wrote the last record does not wait for it, unless the disk store
+   * is offline or the task cannot be scheduled.
+   */
+  void compactIfNeeded() {
     lock(true);
     try {
-      if (this.compactInProgress)
-        return;
-      if (this.ifTotalRecordCount == 0)
-        return;
-      if (this.ifTotalRecordCount == this.ifLiveRecordCount)
-        return;
-      if (this.ifRAF.length() <= MIN_SIZE_BEFORE_COMPACT)
+      if (this.compactInProgress || this.compactScheduled || this.closed)
         return;
-      if ((double) this.ifLiveRecordCount / (double) this.ifTotalRecordCount > COMPACT_RATIO)
+      if (!isCompactionNeeded())
         return;
-      compact();
+      if (this.parent.isOffline() || !scheduleCompaction()) {
+        compact();
+      }
     } catch (IOException ignore) {
       return;
     } finally {
@@ -1442,6 +1490,40 @@ public class DiskInitFile implements DiskInitFileInterpreter {
     }
   }
 
+  private boolean isCompactionNeeded() throws IOException {
+    if (this.ifTotalRecordCount == 0)
+      return false;
+    if (this.ifTotalRecordCount == this.ifLiveRecordCount)
+      return false;
+    if (this.ifRAF.length() <= MIN_SIZE_BEFORE_COMPACT)
+      return false;
+    if (this.ifTotalRecordCount - this.ifLiveRecordCount > MAX_DEAD_RECORDS)
+      return true;
+    return (double) this.ifLiveRecordCount / (double) this.ifTotalRecordCount <= COMPACT_RATIO;
+  }
+
+  private boolean scheduleCompaction() {
+    this.compactScheduled = true;
+    boolean scheduled = this.parent.executeDiskStoreTask(() -> {
+      lock(true);
+      try {
+        this.compactScheduled = false;
+        // the records written since the task was scheduled may have changed the counts
+        if (!this.closed && !this.compactInProgress && isCompactionNeeded()) {
+          compact();
+        }
+      } catch (IOException ignore) {
+        // try again when the next record is written
+      } finally {
+        unlock(true);
+      }
+    });
+    if (!scheduled) {
+      this.compactScheduled = false;
+    }
+    return scheduled;
+  }
+
   private File getTempFile() {
     return new File(this.ifFile.getAbsolutePath() + "tmp");
   }
@@ -1585,6 +1667,7 @@ public class DiskInitFile implements DiskInitFileInterpreter {
       this.ifTotalRecordCount = 0;
       writeDiskStoreId();
       saveGemfireVersion();
+      saveValueCompressor();
       saveInstantiators();
       saveDataSerializers();
       saveCrfIds();
@@ -1701,6 +1784,21 @@ public class DiskInitFile implements DiskInitFileInterpreter {
     }
   }
 
+  /**
+   * Products older than Geode 1.5.0 can not read the LFU algorithms, so an init file that they can
+   * still open records the LRU algorithm with the same measure instead.
+   */
+  private byte getLruAlgorithmToWrite(byte lruAlgorithm) {
+    if (this.gfversion == null || Version.GEODE_150.compareTo(this.gfversion) <= 0) {
+      return lruAlgorithm;
+    }
+    EvictionAlgorithm algorithm = EvictionAlgorithm.parseValue(lruAlgorithm);
+    if (algorithm == null) {
+      return lruAlgorithm;
+    }
+    return (byte) EvictionAttributesImpl.getLRUAlgorithm(algorithm).getValue();
+  }
+
   private void writeRegionConfig(DiskRegionView drv) {
     try {
       int len = estimateByteSize(drv.getPartitionName());
@@ -1710,7 +1808,7 @@ public class DiskInitFile implements DiskInitFileInterpreter {
           Version.CURRENT);
       bb.write(IFREC_REGION_CONFIG_ID_90);
       writeDiskRegionID(bb, drv.getId());
-      bb.write(drv.getLruAlgorithm());
+      bb.write(getLruAlgorithmToWrite(drv.getLruAlgorithm()));
       bb.write(drv.getLruAction());
       bb.writeInt(drv.getLruLimit());
       bb.writeInt(drv.getConcurrencyLevel());
@@ -2780,6 +2878,34 @@ public class DiskInitFile implements DiskInitFileInterpreter {
     return message;
   }
 
+  private void saveValueCompressor() {
+    if (this.valueCompressorClassName != null) {
+      writeValueCompressor(this.valueCompressorClassName);
+    }
+  }
+
+  private void writeValueCompressor(String compressorClassName) {
+    lock(true);
+    try {
+      HeapDataOutputStream hdos = new HeapDataOutputStream(
+          1 + estimateByteSize(compressorClassName) + 1, Version.CURRENT);
+      hdos.write(IFREC_VALUE_COMPRESSOR_ID);
+      hdos.writeUTF(compressorClassName);
+      hdos.write(END_OF_RECORD_ID);
+      writeIFRecord(hdos, false); // don't do stats for these small records
+    } catch (IOException ex) {
+      DiskAccessException dae = new DiskAccessException(
+          LocalizedStrings.DiskInitFile_FAILED_INIT_FILE_WRITE_BECAUSE_0.toLocalizedString(ex),
+          this.parent);
+      if (!this.compactInProgress) {
+        this.parent.handleDiskAccessException(dae);
+      }
+      throw dae;
+    } finally {
+      unlock(true);
+    }
+  }
+
   private void writeGemfireVersion(Version version) {
     lock(true);
     try {
@@ -23,6 +23,8 @@ import java.util.UUID;
 
 import org.apache.geode.cache.DiskStore;
 import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.internal.cache.xmlcache.CacheXml;
+import org.apache.geode.internal.i18n.LocalizedStrings;
 
 /**
  * Creates an attribute object for DiskStore.
@@ -52,6 +54,8 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
   private volatile float diskUsageWarningPct;
   private volatile float diskUsageCriticalPct;
 
+  private volatile int compactionRateLimit;
+
   public DiskStoreAttributes() {
     // set all to defaults
     this.autoCompact = DiskStoreFactory.DEFAULT_AUTO_COMPACT;
@@ -65,6 +69,7 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
     this.diskDirSizes = DiskStoreFactory.DEFAULT_DISK_DIR_SIZES;
     this.diskUsageWarningPct = DiskStoreFactory.DEFAULT_DISK_USAGE_WARNING_PERCENTAGE;
     this.diskUsageCriticalPct = DiskStoreFactory.DEFAULT_DISK_USAGE_CRITICAL_PERCENTAGE;
+    this.compactionRateLimit = DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT;
   }
 
   public UUID getDiskStoreUUID() {
@@ -211,4 +216,24 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
     DiskStoreMonitor.checkCritical(criticalPercent);
     diskUsageCriticalPct = criticalPercent;
   }
+
+  @Override
+  public int getCompactionRateLimit() {
+    return compactionRateLimit;
+  }
+
+  @Override
+  public void setCompactionRateLimit(int compactionRateLimit) {
+    checkCompactionRateLimit(compactionRateLimit);
+    this.compactionRateLimit = compactionRateLimit;
+  }
+
+  static void checkCompactionRateLimit(int compactionRateLimit) {
+    if (compactionRateLimit < 0) {
+      throw new IllegalArgumentException(
+          LocalizedStrings.DiskWriteAttributesImpl_0_HAS_TO_BE_POSITIVE_NUMBER_AND_THE_VALUE_GIVEN_1_IS_NOT_ACCEPTABLE
+              .toLocalizedString(
+                  new Object[] {CacheXml.COMPACTION_RATE_LIMIT, compactionRateLimit}));
+    }
+  }
 }
@@ -47,6 +47,7 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     setAutoCompact(attrs.getAutoCompact());
     setAllowForceCompaction(attrs.getAllowForceCompaction());
     setCompactionThreshold(attrs.getCompactionThreshold());
+    setCompactionRateLimit(attrs.getCompactionRateLimit());
     setMaxOplogSizeInBytes(attrs.getMaxOplogSizeInBytes());
     setTimeInterval(attrs.getTimeInterval());
     setWriteBufferSize(attrs.getWriteBufferSize());
@@ -102,6 +103,12 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     return this;
   }
 
+  @Override
+  public DiskStoreFactory setCompactionRateLimit(int compactionRateLimit) {
+    this.attrs.setCompactionRateLimit(compactionRateLimit);
+    return this;
+  }
+
   public DiskStoreFactory setTimeInterval(long timeInterval) {
     if (timeInterval < 0) {
       throw new IllegalArgumentException(
@@ -48,8 +48,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -112,6 +114,7 @@ import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.concurrent.ConcurrentHashSet;
 import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
@@ -227,6 +230,14 @@ public class DiskStoreImpl implements DiskStore {
   public static final int MAX_PENDING_TASKS =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.MAX_PENDING_TASKS", 6);
 
+  /**
+   * This system property sets the maximum number of threads that read the values of a batch of
+   * entries from disk in parallel to fault them in, for example for a getAll. The thread that
+   * faults in the batch reads too, so 0 disables parallel reads.
+   */
+  public static final int MAX_FAULT_IN_READ_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.MAX_FAULT_IN_READ_THREADS", 4);
+
   /**
    * This system property indicates that IF should also be preallocated. This property will be used
    * in conjunction with the PREALLOCATE_OPLOGS property. If PREALLOCATE_OPLOGS is ON the below will
@@ -290,6 +301,10 @@ public class DiskStoreImpl implements DiskStore {
 
   private final int compactionThreshold;
 
+  private final CompactionRateLimiter compactionRateLimiter;
+
+  private OplogValueCompressor valueCompressor;
+
   /**
    * The limit of how many items can be in the async queue before async starts blocking and a flush
    * is forced. If this value is 0 then no limit.
@@ -359,6 +374,8 @@ public class DiskStoreImpl implements DiskStore {
 
   private final ThreadPoolExecutor delayedWritePool;
 
+  private final ThreadPoolExecutor faultInReadPool;
+
   private volatile Future lastDelayedWrite;
 
   private static int calcCompactionThreshold(int ct) {
@@ -406,6 +423,7 @@ public class DiskStoreImpl implements DiskStore {
     this.autoCompact = props.getAutoCompact();
     this.allowForceCompaction = props.getAllowForceCompaction();
     this.compactionThreshold = calcCompactionThreshold(props.getCompactionThreshold());
+    this.compactionRateLimiter = new CompactionRateLimiter(props.getCompactionRateLimit());
     this.maxOplogSizeInBytes = props.getMaxOplogSizeInBytes();
     this.timeInterval = props.getTimeInterval();
     this.queueSize = props.getQueueSize();
@@ -414,10 +432,14 @@ public class DiskStoreImpl implements DiskStore {
     this.diskDirSizes = props.getDiskDirSizes();
     this.warningPercent = props.getDiskUsageWarningPercentage();
     this.criticalPercent = props.getDiskUsageCriticalPercentage();
+    this.groupCommit = SystemPropertyHelper
+        .getProductBooleanProperty(SystemPropertyHelper.DISK_STORE_GROUP_COMMIT).orElse(false);
 
     this.cache = cache;
     StatisticsFactory factory = cache.getDistributedSystem();
     this.stats = new DiskStoreStats(factory, getName());
+    // replaced by the compressor recorded in the init file once it has been loaded
+    this.valueCompressor = new OplogValueCompressor(null, this.stats);
 
     // start simple init
 
@@ -500,6 +522,18 @@ public class DiskStoreImpl implements DiskStore {
         new LinkedBlockingQueue(MAX_PENDING_TASKS), deleteThreadFactory,
         new ThreadPoolExecutor.CallerRunsPolicy());
     this.delayedWritePool.allowCoreThreadTimeOut(true);
+
+    if (MAX_FAULT_IN_READ_THREADS > 0) {
+      final ThreadGroup faultInThreadGroup =
+          LoggingThreadGroup.createThreadGroup("Oplog Fault In Thread Group", logger);
+      final ThreadFactory faultInThreadFactory =
+          GemfireCacheHelper.CreateThreadFactory(faultInThreadGroup, "Oplog Fault In Read");
+      this.faultInReadPool = new ThreadPoolExecutor(0, MAX_FAULT_IN_READ_THREADS, 10,
+          TimeUnit.SECONDS, new SynchronousQueue<>(), faultInThreadFactory,
+          new ThreadPoolExecutor.CallerRunsPolicy());
+    } else {
+      this.faultInReadPool = null;
+    }
   }
 
   // //////////////////// Instance Methods //////////////////////
@@ -1038,6 +1072,36 @@ public class DiskStoreImpl implements DiskStore {
     }
   }
 
+  /**
+   * Reads the given number of bytes of the given oplog of the given region, starting at the given
+   * offset, with a single read. Returns null if the oplog no longer exists.
+   */
+  byte[] getOplogBytes(DiskRegion dr, long oplogId, long offsetInOplog, int length) {
+    acquireReadLock(dr);
+    try {
+      CompactableOplog oplog = getOplogSet(dr).getChild(oplogId);
+      if (oplog == null) {
+        return null;
+      }
+      return oplog.getBytes(dr, offsetInOplog, length);
+    } finally {
+      releaseReadLock(dr);
+    }
+  }
+
+  /**
+   * Runs the given read of values that are faulted in as a batch on a fault in read thread, or in
+   * the calling thread if all of them are busy.
+   */
+  Future<?> executeFaultInRead(Runnable read) {
+    if (this.faultInReadPool == null) {
+      FutureTask<?> task = new FutureTask<>(read, null);
+      task.run();
+      return task;
+    }
+    return this.faultInReadPool.submit(read);
+  }
+
   void testHookCloseAllOverflowChannels() {
     overflowOplogs.testHookCloseAllOverflowChannels();
   }
@@ -1990,6 +2054,7 @@ public class DiskStoreImpl implements DiskStore {
                     .toLocalizedString(getRecoveredGFVersionName()));
           }
         }
+        this.valueCompressor = OplogValueCompressor.create(this.initFile, isOffline(), this.stats);
       }
 
       {
@@ -2003,6 +2068,12 @@ public class DiskStoreImpl implements DiskStore {
       getPersistentOplogs().createOplogs(needsOplogs, persistentBackupFiles);
       finished = true;
 
+      if (foundIfFile && !isOffline()) {
+        // Compact an init file that was recovered with many dead records now, instead of waiting
+        // for the next record to be written, so that the next recovery does not replay them.
+        getDiskInitFile().compactIfNeeded();
+      }
+
       // Log a message with the disk store id, indicating whether we recovered
       // or created thi disk store.
       if (foundIfFile) {
@@ -2119,6 +2190,21 @@ public class DiskStoreImpl implements DiskStore {
     return this.compactionThreshold;
   }
 
+  @Override
+  public int getCompactionRateLimit() {
+    return this.compactionRateLimiter.getRate();
+  }
+
+  @Override
+  public void setCompactionRateLimit(int compactionRateLimit) {
+    DiskStoreAttributes.checkCompactionRateLimit(compactionRateLimit);
+    this.compactionRateLimiter.setRate(compactionRateLimit);
+  }
+
+  OplogValueCompressor getValueCompressor() {
+    return this.valueCompressor;
+  }
+
   private final boolean isCompactionPossible;
 
   boolean isCompactionPossible() {
@@ -2829,6 +2915,35 @@ public class DiskStoreImpl implements DiskStore {
       }
     }
 
+    /**
+     * Returns the number of bytes that an oplog compact copies forward before it calls
+     * {@link #compacted}.
+     */
+    long getBatchBytes() {
+      return compactionRateLimiter.getBatchBytes();
+    }
+
+    /**
+     * Called by an oplog compact after it copied forward a batch of live entries. If compaction is
+     * rate limited this pauses the calling thread until the batch fits within the limit.
+     */
+    void compacted(int entries, long bytes) {
+      getStats().incCompactedBytes(bytes);
+      getStats().incCompactionEntriesRemaining(-entries);
+      long pauseNanos = compactionRateLimiter.reserve(bytes);
+      if (pauseNanos <= 0 || !keepCompactorRunning()) {
+        return;
+      }
+      long start = System.nanoTime();
+      try {
+        TimeUnit.NANOSECONDS.sleep(pauseNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        getStats().incCompactionThrottleTime(System.nanoTime() - start);
+      }
+    }
+
     /**
      * @return true if compaction done; false if it was not
      */
@@ -2875,7 +2990,15 @@ public class DiskStoreImpl implements DiskStore {
         for (int i = 0; i < oplogs.length && keepCompactorRunning() /*
                                                                      * @todo && !owner. isDestroyed
                                                                      */; i++) {
-          totalCount += oplogs[i].compact(this);
+          long oplogStart = System.nanoTime();
+          int count = oplogs[i].compact(this);
+          totalCount += count;
+          if (count > 0) {
+            logger.info(LocalizedMessage.create(
+                LocalizedStrings.DiskStoreImpl_COMPACTED_0_OF_1_OPLOGS_OF_DISK_STORE_2,
+                new Object[] {i + 1, oplogs.length, getName(), count, oplogs[i],
+                    (System.nanoTime() - oplogStart) / 1000000}));
+          }
         }
 
         // TODO:Asif : DiskRegion: How do we tackle
@@ -3386,6 +3509,12 @@ public class DiskStoreImpl implements DiskStore {
   private volatile float warningPercent;
   private volatile float criticalPercent;
 
+  /**
+   * Whether the records that synchronous creates, modifies and removes append to the oplogs of this
+   * disk store are flushed to disk in groups by {@link Oplog}.
+   */
+  private final boolean groupCommit;
+
   // DiskStore interface methods
   public String getName() {
     return this.name;
@@ -3399,6 +3528,10 @@ public class DiskStoreImpl implements DiskStore {
     return this.allowForceCompaction;
   }
 
+  boolean isGroupCommit() {
+    return this.groupCommit;
+  }
+
   public long getMaxOplogSize() {
     return this.maxOplogSizeInBytes / (1024 * 1024);
   }
@@ -51,9 +51,24 @@ public class DiskStoreStats {
   private static final int flushesInProgressId;
   private static final int compactTimeId;
   private static final int compactsId;
+  private static final int compactedBytesId;
+  private static final int compactionThrottleTimeId;
+  private static final int compactionEntriesRemainingId;
   private static final int oplogRecoveriesId;
   private static final int oplogRecoveryTimeId;
   private static final int oplogRecoveredBytesId;
+  private static final int oplogRecoveryThroughputId;
+  private static final int recoveryReadAheadsId;
+  private static final int recoveryReadAheadTimeId;
+  private static final int recoveryReadAheadBytesId;
+  private static final int recoveryReadAheadWaitTimeId;
+  private static final int groupCommitsId;
+  private static final int groupCommitWritesId;
+  private static final int groupCommitTimeId;
+  private static final int compressedValuesId;
+  private static final int compressedValueBytesSavedId;
+  private static final int valueDecompressionsId;
+  private static final int valueDecompressionTimeId;
   private static final int bytesReadId;
   private static final int removesId;
   private static final int removeTimeId;
@@ -100,6 +115,30 @@ public class DiskStoreStats {
     final String oplogRecoveryTimeDesc = "The total amount of time spent doing an oplog recovery";
     final String oplogRecoveredBytesDesc =
         "The total number of bytes that have been read from oplogs during a recovery";
+    final String oplogRecoveryThroughputDesc =
+        "The number of bytes per second that were read from oplogs by the most recent recovery";
+    final String recoveryReadAheadsDesc =
+        "The total number of oplog files that have been read into memory ahead of a recovery";
+    final String recoveryReadAheadTimeDesc =
+        "The total amount of time spent reading oplog files into memory ahead of a recovery";
+    final String recoveryReadAheadBytesDesc =
+        "The total number of bytes that have been read into memory ahead of a recovery";
+    final String recoveryReadAheadWaitTimeDesc =
+        "The total amount of time a recovery spent waiting for oplog files to be read ahead";
+    final String groupCommitsDesc =
+        "The total number of times the writes of synchronous operations have been flushed to disk as a group";
+    final String groupCommitWritesDesc =
+        "The total number of writes of synchronous operations that have been flushed to disk as part of a group";
+    final String groupCommitTimeDesc =
+        "The total amount of time spent flushing the writes of synchronous operations to disk as groups";
+    final String compressedValuesDesc =
+        "The total number of entry values that have been written to oplogs compressed";
+    final String compressedValueBytesSavedDesc =
+        "The total number of bytes by which compressing entry values made oplog records smaller";
+    final String valueDecompressionsDesc =
+        "The total number of compressed entry values that have been decompressed after being read from disk";
+    final String valueDecompressionTimeDesc =
+        "The total amount of time spent decompressing entry values read from disk";
     final String removesDesc =
         "The total number of region entries that have been removed from disk";
     final String removeTimeDesc = "The total amount of time spent removing from disk";
@@ -145,6 +184,22 @@ public class DiskStoreStats {
             f.createIntCounter("oplogRecoveries", oplogRecoveriesDesc, "ops"),
             f.createLongCounter("oplogRecoveryTime", oplogRecoveryTimeDesc, "nanoseconds"),
             f.createLongCounter("oplogRecoveredBytes", oplogRecoveredBytesDesc, "bytes"),
+            f.createLongGauge("oplogRecoveryThroughput", oplogRecoveryThroughputDesc,
+                "bytes/second"),
+            f.createIntCounter("recoveryReadAheads", recoveryReadAheadsDesc, "files"),
+            f.createLongCounter("recoveryReadAheadTime", recoveryReadAheadTimeDesc, "nanoseconds"),
+            f.createLongCounter("recoveryReadAheadBytes", recoveryReadAheadBytesDesc, "bytes"),
+            f.createLongCounter("recoveryReadAheadWaitTime", recoveryReadAheadWaitTimeDesc,
+                "nanoseconds"),
+            f.createLongCounter("groupCommits", groupCommitsDesc, "flushes"),
+            f.createLongCounter("groupCommitWrites", groupCommitWritesDesc, "writes"),
+            f.createLongCounter("groupCommitTime", groupCommitTimeDesc, "nanoseconds"),
+            f.createLongCounter("compressedValues", compressedValuesDesc, "values"),
+            f.createLongCounter("compressedValueBytesSaved", compressedValueBytesSavedDesc,
+                "bytes"),
+            f.createLongCounter("valueDecompressions", valueDecompressionsDesc, "values"),
+            f.createLongCounter("valueDecompressionTime", valueDecompressionTimeDesc,
+                "nanoseconds"),
             f.createLongCounter("removes", removesDesc, "ops"),
             f.createLongCounter("removeTime", removeTimeDesc, "nanoseconds"),
             f.createIntGauge("queueSize", queueSizeDesc, "entries"),
@@ -172,6 +227,14 @@ public class DiskStoreStats {
             f.createLongCounter("compactTime",
                 "Total amount of time, in nanoseconds, spent compacting oplogs", "nanoseconds"),
             f.createIntCounter("compacts", "Total number of completed oplog compacts", "compacts"),
+            f.createLongCounter("compactedBytes",
+                "Total number of bytes of live values that oplog compacts copied forward", "bytes"),
+            f.createLongCounter("compactionThrottleTime",
+                "Total amount of time, in nanoseconds, that oplog compacts were paused to stay within the compaction rate limit",
+                "nanoseconds"),
+            f.createLongGauge("compactionEntriesRemaining",
+                "Current number of live entries that the oplog compact in progress has yet to copy forward",
+                "entries"),
             f.createIntGauge("openOplogs", "Current number of oplogs this disk store has open",
                 "oplogs"),
             f.createIntGauge("compactableOplogs", "Current number of oplogs ready to be compacted",
@@ -211,9 +274,24 @@ public class DiskStoreStats {
     flushesInProgressId = type.nameToId("flushesInProgress");
     compactTimeId = type.nameToId("compactTime");
     compactsId = type.nameToId("compacts");
+    compactedBytesId = type.nameToId("compactedBytes");
+    compactionThrottleTimeId = type.nameToId("compactionThrottleTime");
+    compactionEntriesRemainingId = type.nameToId("compactionEntriesRemaining");
     oplogRecoveriesId = type.nameToId("oplogRecoveries");
     oplogRecoveryTimeId = type.nameToId("oplogRecoveryTime");
     oplogRecoveredBytesId = type.nameToId("oplogRecoveredBytes");
+    oplogRecoveryThroughputId = type.nameToId("oplogRecoveryThroughput");
+    recoveryReadAheadsId = type.nameToId("recoveryReadAheads");
+    recoveryReadAheadTimeId = type.nameToId("recoveryReadAheadTime");
+    recoveryReadAheadBytesId = type.nameToId("recoveryReadAheadBytes");
+    recoveryReadAheadWaitTimeId = type.nameToId("recoveryReadAheadWaitTime");
+    groupCommitsId = type.nameToId("groupCommits");
+    groupCommitWritesId = type.nameToId("groupCommitWrites");
+    groupCommitTimeId = type.nameToId("groupCommitTime");
+    compressedValuesId = type.nameToId("compressedValues");
+    compressedValueBytesSavedId = type.nameToId("compressedValueBytesSaved");
+    valueDecompressionsId = type.nameToId("valueDecompressions");
+    valueDecompressionTimeId = type.nameToId("valueDecompressionTime");
     removesId = type.nameToId("removes");
     removeTimeId = type.nameToId("removeTime");
     queueSizeId = type.nameToId("queueSize");
@@ -276,6 +354,20 @@ public class DiskStoreStats {
     return this.stats.getLong(bytesWrittenId);
   }
 
+  /**
+   * Returns the total number of group commits that have flushed deferred records to disk
+   */
+  public long getGroupCommits() {
+    return this.stats.getLong(groupCommitsId);
+  }
+
+  /**
+   * Returns the total number of deferred records that have been flushed by group commits
+   */
+  public long getGroupCommitWrites() {
+    return this.stats.getLong(groupCommitWritesId);
+  }
+
   /**
    * Returns the total number of region entries that have been read from disk.
    */
@@ -447,6 +539,76 @@ public class DiskStoreStats {
     this.stats.incLong(oplogRecoveredBytesId, bytesRead);
   }
 
+  /**
+   * Invoked after the oplogs of a recovery have been read
+   *
+   * @param millis The number of milliseconds it took to read the oplogs
+   * @param bytesRead The number of bytes that were read from the oplogs
+   */
+  public void setOplogRecoveryThroughput(long millis, long bytesRead) {
+    this.stats.setLong(oplogRecoveryThroughputId, bytesRead * 1000 / Math.max(millis, 1));
+  }
+
+  /**
+   * Invoked after an oplog file has been read into memory ahead of a recovery
+   *
+   * @param start The time at which the file started to be read
+   * @param bytesRead The number of bytes that were read
+   */
+  public void endRecoveryReadAhead(long start, long bytesRead) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incInt(recoveryReadAheadsId, 1);
+    this.stats.incLong(recoveryReadAheadTimeId, end - start);
+    this.stats.incLong(recoveryReadAheadBytesId, bytesRead);
+  }
+
+  /**
+   * Invoked after a recovery has waited for an oplog file to be read ahead
+   *
+   * @param start The time at which the recovery started to wait
+   */
+  public void endRecoveryReadAheadWait(long start) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(recoveryReadAheadWaitTimeId, end - start);
+  }
+
+  public long startGroupCommit() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after the writes of synchronous operations have been flushed to disk as a group
+   *
+   * @param start The time at which the flush started
+   * @param writes The number of writes that were flushed
+   */
+  public void endGroupCommit(long start, long writes) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(groupCommitsId, 1);
+    this.stats.incLong(groupCommitWritesId, writes);
+    this.stats.incLong(groupCommitTimeId, end - start);
+  }
+
+  /**
+   * Invoked after an entry value has been compressed to be written to an oplog
+   *
+   * @param bytesSaved The number of bytes by which the value got smaller
+   */
+  public void incCompressedValues(long bytesSaved) {
+    this.stats.incLong(compressedValuesId, 1);
+    this.stats.incLong(compressedValueBytesSavedId, bytesSaved);
+  }
+
+  public long startValueDecompression() {
+    return DistributionStats.getStatTime();
+  }
+
+  public void endValueDecompression(long start) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(valueDecompressionsId, 1);
+    this.stats.incLong(valueDecompressionTimeId, end - start);
+  }
+
   public void incRecoveredEntryCreates() {
     this.stats.incLong(recoveredEntryCreatesId, 1);
   }
@@ -521,6 +683,22 @@ public class DiskStoreStats {
     this.stats.incLong(compactUpdateTimeId, getStatTime() - start);
   }
 
+  public void incCompactedBytes(long bytes) {
+    this.stats.incLong(compactedBytesId, bytes);
+  }
+
+  public void incCompactionThrottleTime(long nanos) {
+    this.stats.incLong(compactionThrottleTimeId, nanos);
+  }
+
+  public void setCompactionEntriesRemaining(long entries) {
+    this.stats.setLong(compactionEntriesRemainingId, entries);
+  }
+
+  public void incCompactionEntriesRemaining(long delta) {
+    this.stats.incLong(compactionEntriesRemainingId, delta);
+  }
+
   public long getStatTime() {
     return DistributionStats.getStatTime();
   }
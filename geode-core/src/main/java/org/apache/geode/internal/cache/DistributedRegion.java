@@ -1646,6 +1646,24 @@ public class DistributedRegion extends LocalRegion implements InternalDistribute
     }
   }
 
+  @Override
+  ExpirationDestroyBatch createExpirationDestroyBatch(int size) {
+    if (size < 2 || !this.scope.isDistributed() || this.scope.isGlobal()
+        || !getDataPolicy().withReplication() || hasServerProxy()
+        || EntryExpiryTask.expireSendsEntryAsCallback) {
+      // a removeAll has one callback argument for all of its entries
+      return null;
+    }
+    // the base event only identifies the removeAll message; each destroy has its own event
+    final EntryEventImpl event = EntryEventImpl.create(this, Operation.REMOVEALL_DESTROY, null,
+        null, null, false, getMyId());
+    event.disallowOffHeapValues();
+    if (generateEventID()) {
+      event.setNewEventId(getCache().getDistributedSystem());
+    }
+    return new ExpirationDestroyBatch(this, new DistributedRemoveAllOperation(event, size, false));
+  }
+
   @Override
   boolean evictDestroy(EvictableEntry entry) {
     boolean evictDestroyWasDone = super.evictDestroy(entry);
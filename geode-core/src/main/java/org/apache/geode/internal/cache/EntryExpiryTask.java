@@ -47,9 +47,42 @@ public class EntryExpiryTask extends ExpiryTask {
   public static boolean expireSendsEntryAsCallback =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "EXPIRE_SENDS_ENTRY_AS_CALLBACK");
 
+  /**
+   * If not null, the destroy done by this task is distributed together with the other destroys of
+   * the batch
+   */
+  private final ExpirationDestroyBatch destroyBatch;
+
+  /**
+   * True if the other members have already been asked about later accesses of the entry, see
+   * {@link #checkExpired()}
+   */
+  private final boolean checkedOnOthers;
+
   protected EntryExpiryTask(LocalRegion region, RegionEntry re) {
+    this(region, re, null, false);
+  }
+
+  EntryExpiryTask(LocalRegion region, RegionEntry re, ExpirationDestroyBatch destroyBatch,
+      boolean checkedOnOthers) {
     super(region);
     this.re = re;
+    this.destroyBatch = destroyBatch;
+    this.checkedOnOthers = checkedOnOthers;
+  }
+
+  /**
+   * Returns true if the entry has expired, asking the other members about later accesses of it if
+   * its idle expiration needs that. A task created afterwards for the entry with checkedOnOthers
+   * set does not ask them again, so it can run while locks are held that no message should wait
+   * for.
+   */
+  boolean checkExpired() {
+    try {
+      return isExpirationPossible();
+    } catch (EntryNotFoundException ignore) {
+      return false;
+    }
   }
 
   @Override
@@ -118,6 +151,9 @@ public class EntryExpiryTask extends ExpiryTask {
       if (lr.generateEventID()) {
         event.setNewEventId(lr.getCache().getDistributedSystem());
       }
+      if (this.destroyBatch != null) {
+        this.destroyBatch.add(event);
+      }
       lr.expireDestroy(event, true); // expectedOldValue
       return true;
     } finally {
@@ -257,6 +293,9 @@ public class EntryExpiryTask extends ExpiryTask {
 
   @Override
   protected boolean isIdleExpiredOnOthers() throws EntryNotFoundException {
+    if (this.checkedOnOthers) {
+      return true;
+    }
     if (getIdleAttributes().getTimeout() <= 0L) {
       // idle expiration is not being used
       return true;
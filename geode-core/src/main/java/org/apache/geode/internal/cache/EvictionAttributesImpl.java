@@ -25,6 +25,7 @@ import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.EvictionAttributesMutator;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.Version;
 
 /**
  * Defines the attributes for configuring the eviction controller associated with a
@@ -125,7 +126,12 @@ public class EvictionAttributesImpl extends EvictionAttributes {
   public void toData(DataOutput out) throws IOException {
     out.writeInt(this.maximum);
     DataSerializer.writeObject(this.action, out);
-    DataSerializer.writeObject(this.algorithm, out);
+    EvictionAlgorithm algorithm = this.algorithm;
+    if (InternalDataSerializer.getVersionForDataStream(out).compareTo(Version.GEODE_150) < 0) {
+      // older members can not deserialize the LFU algorithms
+      algorithm = getLRUAlgorithm(algorithm);
+    }
+    DataSerializer.writeObject(algorithm, out);
   }
 
   @Override
@@ -135,6 +141,22 @@ public class EvictionAttributesImpl extends EvictionAttributes {
     this.algorithm = DataSerializer.readObject(in);
   }
 
+  /**
+   * Returns the LRU algorithm that evicts by the same measure as the given LFU algorithm, or the
+   * given algorithm if it is not an LFU one. Used when eviction attributes are written for a
+   * member or disk store that predates the LFU algorithms.
+   *
+   * @since Geode 1.5.0
+   */
+  public static EvictionAlgorithm getLRUAlgorithm(EvictionAlgorithm algorithm) {
+    if (algorithm.isLFUEntry()) {
+      return EvictionAlgorithm.LRU_ENTRY;
+    } else if (algorithm.isLFUMemory()) {
+      return EvictionAlgorithm.LRU_MEMORY;
+    }
+    return algorithm;
+  }
+
   public static EvictionAttributesImpl createFromData(DataInput in)
       throws IOException, ClassNotFoundException {
     EvictionAttributesImpl result = new EvictionAttributesImpl();
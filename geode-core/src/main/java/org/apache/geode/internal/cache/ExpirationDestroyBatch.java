@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.DistributedRemoveAllOperation.RemoveAllEntryData;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * ExpirationDestroyBatch distributes the entries that expiration destroys in one region, or in one
+ * bucket of a partitioned region, during one tick of its {@link ExpirationTimerWheel} with a
+ * single removeAll message instead of a destroy message per entry. The destroys are done as the
+ * parts of a removeAll operation: each expiration event is added to the operation, which skips
+ * its own distribution and defers its listener callbacks, and the operation is distributed and
+ * the callbacks invoked once all of the entries have been expired. Every entry keeps the event id
+ * and the {@link org.apache.geode.cache.Operation#EXPIRE_DESTROY} operation of its expiration.
+ * <p>
+ * Eviction destroys are not batched. A local destroy eviction is not distributed, every member
+ * evicts its own copy, so there is no message to combine.
+ */
+class ExpirationDestroyBatch {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private final LocalRegion region;
+
+  private final DistributedRemoveAllOperation removeAllOperation;
+
+  ExpirationDestroyBatch(LocalRegion region, DistributedRemoveAllOperation removeAllOperation) {
+    this.region = region;
+    this.removeAllOperation = removeAllOperation;
+  }
+
+  /**
+   * Makes the destroy of the given expiration event part of this batch. Must be called before the
+   * event is used to destroy its entry.
+   */
+  void add(EntryEventImpl event) {
+    event.setRemoveAllOperation(this.removeAllOperation);
+  }
+
+  /**
+   * Returns the number of entries that have been destroyed as part of this batch.
+   */
+  int size() {
+    return this.removeAllOperation.removeAllDataSize;
+  }
+
+  /**
+   * Sends the destroys of this batch to the other members and invokes their listener callbacks.
+   */
+  void distribute() {
+    try {
+      int size = size();
+      if (logger.isDebugEnabled()) {
+        logger.debug("Distributing {} expiration destroys of {} in one removeAll", size,
+            this.region.getFullPath());
+      }
+      VersionedObjectList succeeded =
+          new VersionedObjectList(size, true, this.region.getConcurrencyChecksEnabled());
+      RemoveAllEntryData[] removeAllData = this.removeAllOperation.getRemoveAllEntryData();
+      for (int i = 0; i < size; i++) {
+        succeeded.addKeyAndVersion(removeAllData[i].getKey(), removeAllData[i].versionTag);
+      }
+      // each destroy has the event id of its own expiration rather than one derived from the id of
+      // the batch
+      this.removeAllOperation.setUseFakeEventId(true);
+      this.region.getDataView().postRemoveAll(this.removeAllOperation, succeeded, this.region);
+    } finally {
+      this.removeAllOperation.getBaseEvent().release();
+      this.removeAllOperation.freeOffHeapResources();
+    }
+  }
+}
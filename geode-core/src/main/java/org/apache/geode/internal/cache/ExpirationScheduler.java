@@ -97,6 +97,24 @@ public class ExpirationScheduler {
     return addExpiryTask(task) != null;
   }
 
+  /**
+   * creates the expiration timer wheel of the given region and schedules it to advance every tick;
+   * the wheel is returned already cancelled if the scheduler has been cancelled
+   */
+  public ExpirationTimerWheel addExpirationTimerWheel(LocalRegion region) {
+    long tickMillis = ExpirationTimerWheel.getConfiguredTickMillis();
+    ExpirationTimerWheel wheel = new ExpirationTimerWheel(region, tickMillis,
+        ExpirationTimerWheel.getConfiguredSweepMillis(tickMillis),
+        ExpiryTask.calculateNow(region.getCache()));
+    try {
+      timer.schedule(wheel, tickMillis, tickMillis);
+    } catch (IllegalStateException e) {
+      // the timer has been cancelled
+      wheel.cancel();
+    }
+    return wheel;
+  }
+
   /** @see java.util.Timer#cancel() */
   public void cancel() {
     timer.cancel();
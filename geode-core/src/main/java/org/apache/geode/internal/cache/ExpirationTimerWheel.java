@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.InternalStatisticsDisabledException;
+import org.apache.geode.internal.SystemTimer;
+import org.apache.geode.internal.cache.entries.AbstractRegionEntry;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * ExpirationTimerWheel expires the entries of one region, or of one bucket of a partitioned
+ * region, without a timer task per entry. Entries are kept in the slots of a hierarchical hashed
+ * timer wheel: four levels of 64 slots, where a slot of the first level spans one tick and a slot
+ * of each following level spans all the slots of the level below it. The wheel itself is a single
+ * periodic task on the {@link ExpirationScheduler} that advances one tick at a time. Whenever a
+ * slot of a higher level is reached its entries are spread over the lower levels, and the entries
+ * in the current slot of the first level are expired together.
+ * <p>
+ * The wheel does not remember when an entry expires. A slot only holds the entry itself and the
+ * expiration time is computed again from the last modified and last accessed times of the entry
+ * whenever its slot is reached. So reading or updating an entry never touches the wheel; an entry
+ * that has been used since it was added is simply moved to a later slot when its slot comes up. A
+ * bit in the entry records that it is on the wheel, so that it is added only once. Destroyed
+ * entries are not taken off the wheel right away either; they are dropped when their slot is
+ * reached, or all at once on the next tick after many of them have been destroyed.
+ * <p>
+ * Entries are expired at most one tick, see
+ * {@link SystemPropertyHelper#EXPIRATION_TIMER_WHEEL_TICK_MILLIS}, after their expiration time and
+ * never before it. Entries with custom expiration are not put on the wheel.
+ * <p>
+ * One tick spends at most {@link SystemPropertyHelper#EXPIRATION_TIMER_WHEEL_SWEEP_MILLIS} expiring
+ * entries. When more entries expire at once, the rest are put back into the slot of the next tick,
+ * so a burst of expirations is spread over several ticks instead of holding up the expiration
+ * thread.
+ * <p>
+ * The entries that expire in a replicated region, or in a primary bucket, during one tick are
+ * destroyed as an {@link ExpirationDestroyBatch} that is distributed with a single removeAll
+ * message.
+ */
+public class ExpirationTimerWheel extends SystemTimer.SystemTimerTask {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int DEFAULT_TICK_MILLIS = 100;
+
+  private static final int SLOT_BITS = 6;
+
+  private static final int SLOTS = 1 << SLOT_BITS;
+
+  private static final int SLOT_MASK = SLOTS - 1;
+
+  private static final int LEVELS = 4;
+
+  /**
+   * Entries that expire further away than this many ticks are put into the last slot of the wheel
+   * and looked at again when it is reached.
+   */
+  private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+  /**
+   * The wheel is purged of destroyed entries once more than this many, and more than half of its
+   * entries, have been destroyed.
+   */
+  private static final int PURGE_THRESHOLD = 10000;
+
+  private static final AbstractRegionEntry[] NO_ENTRIES = new AbstractRegionEntry[0];
+
+  private static final boolean BATCH_DESTROYS = SystemPropertyHelper
+      .getProductBooleanProperty(SystemPropertyHelper.EXPIRATION_TIMER_WHEEL_BATCH_DESTROYS)
+      .orElse(true);
+
+  private final LocalRegion region;
+
+  private final long tickMillis;
+
+  private final long sweepNanos;
+
+  /** The slots of each level. Guarded by this. */
+  private final Slot[][] levels = new Slot[LEVELS][SLOTS];
+
+  /** The last tick whose entries have been expired. Guarded by this. */
+  private long currentTick;
+
+  /** The number of entries on the wheel. Guarded by this. */
+  private int size;
+
+  private final AtomicInteger destroyedEntries = new AtomicInteger();
+
+  private volatile boolean cancelled;
+
+  /** Set while the entries of a tick are being expired. */
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+
+  ExpirationTimerWheel(LocalRegion region, long tickMillis, long sweepMillis, long now) {
+    this.region = region;
+    this.tickMillis = tickMillis;
+    this.sweepNanos = TimeUnit.MILLISECONDS.toNanos(sweepMillis);
+    this.currentTick = now / tickMillis;
+    for (Slot[] level : this.levels) {
+      for (int i = 0; i < SLOTS; i++) {
+        level[i] = new Slot();
+      }
+    }
+  }
+
+  static long getConfiguredTickMillis() {
+    Optional<Integer> tickMillis = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.EXPIRATION_TIMER_WHEEL_TICK_MILLIS);
+    int result = tickMillis.orElse(DEFAULT_TICK_MILLIS);
+    return result > 0 ? result : DEFAULT_TICK_MILLIS;
+  }
+
+  static long getConfiguredSweepMillis(long tickMillis) {
+    Optional<Integer> sweepMillis = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.EXPIRATION_TIMER_WHEEL_SWEEP_MILLIS);
+    long result = sweepMillis.orElse(0);
+    return result > 0 ? result : Math.max(tickMillis / 2, 1);
+  }
+
+  long getTickMillis() {
+    return this.tickMillis;
+  }
+
+  /**
+   * Adds the given entry to the wheel unless it is already on it or does not expire.
+   */
+  void add(AbstractRegionEntry entry) {
+    if (!entry.setExpirationScheduled()) {
+      // it will be looked at when its slot is reached
+      return;
+    }
+    long expirationTime = getExpirationTime(entry);
+    synchronized (this) {
+      if (expirationTime == 0L || this.cancelled) {
+        entry.clearExpirationScheduled();
+        return;
+      }
+      insert(entry, expirationTime, this.currentTick + 1);
+      this.size++;
+    }
+  }
+
+  /**
+   * Called when an entry of the region is destroyed.
+   */
+  void entryDestroyed(RegionEntry entry) {
+    if (entry instanceof AbstractRegionEntry
+        && ((AbstractRegionEntry) entry).isExpirationScheduled()) {
+      this.destroyedEntries.incrementAndGet();
+    }
+  }
+
+  synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the time at which the given entry expires, due to either time-to-live or idle-timeout
+   * whichever occurs first, or 0 if it does not expire. This is the same time that an
+   * {@link EntryExpiryTask} for the entry would compute.
+   */
+  long getExpirationTime(AbstractRegionEntry entry) {
+    if (entry.isDestroyedOrRemoved()) {
+      return 0L;
+    }
+    long ttl = this.region.entryTimeToLive;
+    long idle = this.region.entryIdleTimeout;
+    if (!this.region.EXPIRY_UNITS_MS) {
+      ttl *= 1000;
+      idle *= 1000;
+    }
+    long ttlExpirationTime = 0L;
+    if (ttl > 0) {
+      ttlExpirationTime = entry.getLastModified() + ttl;
+    }
+    long idleExpirationTime = 0L;
+    if (idle > 0) {
+      long lastAccessed;
+      try {
+        lastAccessed = entry.getLastAccessed();
+      } catch (InternalStatisticsDisabledException e) {
+        lastAccessed = 0L;
+      }
+      // gets may record the start of the access epoch they read the entry in
+      idleExpirationTime = lastAccessed + idle + this.region.getAccessEpochMillis();
+    }
+    if (ttlExpirationTime == 0L) {
+      return idleExpirationTime;
+    } else if (idleExpirationTime == 0L) {
+      return ttlExpirationTime;
+    }
+    return Math.min(ttlExpirationTime, idleExpirationTime);
+  }
+
+  /**
+   * Puts the entry into the slot for its expiration time, or for the given tick if it expires
+   * before that tick.
+   */
+  private void insert(AbstractRegionEntry entry, long expirationTime, long earliestTick) {
+    // round up so that entries are never expired early
+    long tick = Math.max((expirationTime + this.tickMillis - 1) / this.tickMillis, earliestTick);
+    long delta = Math.min(tick - this.currentTick, MAX_TICKS);
+    tick = this.currentTick + delta;
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+      level++;
+    }
+    this.levels[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK].add(entry);
+  }
+
+  @Override
+  public void run2() {
+    if (this.cancelled || !this.sweeping.compareAndSet(false, true)) {
+      // entries that are due while the previous sweep is still running are left to the next tick
+      return;
+    }
+    List<AbstractRegionEntry> expiredEntries = Collections.emptyList();
+    boolean sweepStarted = false;
+    try {
+      expiredEntries = advanceTo(ExpiryTask.calculateNow(this.region.getCache()));
+      if (expiredEntries.isEmpty()) {
+        return;
+      }
+      if (logger.isTraceEnabled()) {
+        logger.trace("Expiring {} entries of {}", expiredEntries.size(),
+            this.region.getFullPath());
+      }
+      // the whole sweep is one task so that its sweep time bounds the expirations themselves
+      List<AbstractRegionEntry> sweptEntries = expiredEntries;
+      ExpiryTask.execute(() -> sweep(sweptEntries));
+      sweepStarted = true;
+    } catch (RejectedExecutionException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Rejected execution of the expiration of {} entries of {}",
+            expiredEntries.size(), this.region.getFullPath(), e);
+      }
+      for (AbstractRegionEntry entry : expiredEntries) {
+        add(entry);
+      }
+    } finally {
+      if (!sweepStarted) {
+        this.sweeping.set(false);
+      }
+    }
+  }
+
+  private void sweep(List<AbstractRegionEntry> expiredEntries) {
+    long start = System.nanoTime();
+    try {
+      // the task takes care of distributed idle checks, bucket primaries and locking, and adds the
+      // entry back to the wheel if it turns out that it has not expired. It runs in this thread so
+      // that the sweep time covers it and so that its destroy can be distributed with the batch.
+      ExpiryTask.doWithNowSet(this.region, () -> {
+        if (BATCH_DESTROYS) {
+          List<AbstractRegionEntry> candidates = checkExpired(expiredEntries, start);
+          if (!candidates.isEmpty()) {
+            this.region.expireInBatch(candidates.size(),
+                destroyBatch -> expire(candidates, start,
+                    entry -> new EntryExpiryTask(this.region, entry, destroyBatch, true)
+                        .runInThreadPool()));
+          }
+        } else {
+          expire(expiredEntries, start,
+              entry -> new EntryExpiryTask(this.region, entry).runInThreadPool());
+        }
+      });
+    } finally {
+      this.sweeping.set(false);
+    }
+  }
+
+  /**
+   * Returns the given entries that have expired. The other members are asked about later accesses
+   * of the entries here, before a batch locks the region's version vector, so that no message is
+   * sent while it is held. The entries that have not expired are rescheduled.
+   */
+  private List<AbstractRegionEntry> checkExpired(List<AbstractRegionEntry> expiredEntries,
+      long start) {
+    List<AbstractRegionEntry> candidates = new ArrayList<>(expiredEntries.size());
+    expire(expiredEntries, start, entry -> {
+      EntryExpiryTask task = new EntryExpiryTask(this.region, entry);
+      if (task.checkExpired()) {
+        candidates.add(entry);
+      } else {
+        task.runInThreadPool();
+      }
+    });
+    return candidates;
+  }
+
+  /**
+   * Expires the given entries until the sweep time of a tick is used up and puts the entries that
+   * are left back on the wheel, to be expired on the next tick. Returns the number of entries that
+   * were expired.
+   */
+  int expire(List<AbstractRegionEntry> expiredEntries, Consumer<AbstractRegionEntry> expiry) {
+    return expire(expiredEntries, System.nanoTime(), expiry);
+  }
+
+  private int expire(List<AbstractRegionEntry> expiredEntries, long start,
+      Consumer<AbstractRegionEntry> expiry) {
+    int expired = 0;
+    while (expired < expiredEntries.size()) {
+      if (this.cancelled) {
+        return expired;
+      }
+      // always make some progress
+      if (expired > 0 && System.nanoTime() - start >= this.sweepNanos) {
+        break;
+      }
+      expiry.accept(expiredEntries.get(expired++));
+    }
+    if (expired < expiredEntries.size()) {
+      if (logger.isTraceEnabled()) {
+        logger.trace("Deferring expiration of {} entries of {} to the next tick",
+            expiredEntries.size() - expired, this.region.getFullPath());
+      }
+      for (int i = expired; i < expiredEntries.size(); i++) {
+        add(expiredEntries.get(i));
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * Advances the wheel to the given time and returns the entries that have expired by then. The
+   * returned entries are no longer on the wheel.
+   */
+  synchronized List<AbstractRegionEntry> advanceTo(long now) {
+    long targetTick = now / this.tickMillis;
+    if (this.size == 0 || this.cancelled) {
+      this.currentTick = Math.max(this.currentTick, targetTick);
+      return Collections.emptyList();
+    }
+    int destroyed = this.destroyedEntries.get();
+    if (destroyed > PURGE_THRESHOLD && destroyed > this.size / 2) {
+      purgeDestroyedEntries();
+    }
+    List<AbstractRegionEntry> expiredEntries = null;
+    while (this.currentTick < targetTick) {
+      long tick = ++this.currentTick;
+      // move the entries of the higher levels whose slot has been reached down first
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+          Slot slot = this.levels[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK];
+          AbstractRegionEntry[] entries = slot.entries;
+          int count = slot.clear();
+          for (int i = 0; i < count; i++) {
+            reinsert(entries[i], tick);
+          }
+        }
+      }
+      Slot slot = this.levels[0][(int) tick & SLOT_MASK];
+      AbstractRegionEntry[] entries = slot.entries;
+      int count = slot.clear();
+      for (int i = 0; i < count; i++) {
+        AbstractRegionEntry entry = entries[i];
+        long expirationTime = getExpirationTime(entry);
+        if (expirationTime == 0L) {
+          drop(entry);
+        } else if (expirationTime > tick * this.tickMillis) {
+          // the entry has been used since it was added
+          insert(entry, expirationTime, tick + 1);
+        } else {
+          if (expiredEntries == null) {
+            expiredEntries = new ArrayList<>();
+          }
+          entry.clearExpirationScheduled();
+          this.size--;
+          expiredEntries.add(entry);
+        }
+      }
+    }
+    return expiredEntries == null ? Collections.emptyList() : expiredEntries;
+  }
+
+  private void reinsert(AbstractRegionEntry entry, long tick) {
+    long expirationTime = getExpirationTime(entry);
+    if (expirationTime == 0L) {
+      drop(entry);
+    } else {
+      insert(entry, expirationTime, tick);
+    }
+  }
+
+  /**
+   * Takes an entry that was destroyed or no longer expires off the wheel.
+   */
+  private void drop(AbstractRegionEntry entry) {
+    entry.clearExpirationScheduled();
+    this.size--;
+    if (!entry.isDestroyedOrRemoved() && getExpirationTime(entry) != 0L) {
+      // the entry was recreated after we looked at it and may have missed being added
+      if (entry.setExpirationScheduled()) {
+        insert(entry, getExpirationTime(entry), this.currentTick + 1);
+        this.size++;
+      }
+    }
+  }
+
+  private void purgeDestroyedEntries() {
+    this.destroyedEntries.set(0);
+    for (Slot[] level : this.levels) {
+      for (Slot slot : level) {
+        int kept = 0;
+        for (int i = 0; i < slot.count; i++) {
+          AbstractRegionEntry entry = slot.entries[i];
+          if (entry.isDestroyedOrRemoved()) {
+            entry.clearExpirationScheduled();
+            if (entry.isDestroyedOrRemoved() || !entry.setExpirationScheduled()) {
+              this.size--;
+              continue;
+            }
+            // the entry was recreated after we looked at it, so keep it
+          }
+          slot.entries[kept++] = entry;
+        }
+        Arrays.fill(slot.entries, kept, slot.count, null);
+        slot.count = kept;
+      }
+    }
+  }
+
+  /**
+   * Stops the wheel and takes all entries off it. A cancelled wheel can not be used again.
+   */
+  @Override
+  public boolean cancel() {
+    boolean result = super.cancel();
+    synchronized (this) {
+      this.cancelled = true;
+      for (Slot[] level : this.levels) {
+        for (Slot slot : level) {
+          AbstractRegionEntry[] entries = slot.entries;
+          int count = slot.clear();
+          for (int i = 0; i < count; i++) {
+            entries[i].clearExpirationScheduled();
+          }
+        }
+      }
+      this.size = 0;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return super.toString() + " for " + this.region + ", tick: " + this.tickMillis + "ms";
+  }
+
+  /**
+   * The entries in one slot of the wheel. Only used while holding the lock of the wheel.
+   */
+  private static class Slot {
+    AbstractRegionEntry[] entries = NO_ENTRIES;
+
+    int count;
+
+    void add(AbstractRegionEntry entry) {
+      if (this.count == this.entries.length) {
+        AbstractRegionEntry[] newEntries =
+            new AbstractRegionEntry[Math.max(this.entries.length * 2, 8)];
+        System.arraycopy(this.entries, 0, newEntries, 0, this.count);
+        this.entries = newEntries;
+      }
+      this.entries[this.count++] = entry;
+    }
+
+    /**
+     * Empties the slot and returns the number of entries it held. The entries stay in the array
+     * the slot used up to now, so they can be read after they have been put into other slots.
+     */
+    int clear() {
+      int result = this.count;
+      this.entries = NO_ENTRIES;
+      this.count = 0;
+      return result;
+    }
+  }
+}
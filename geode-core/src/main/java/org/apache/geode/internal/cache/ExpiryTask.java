@@ -123,11 +123,20 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
   public long getIdleExpirationTime() throws EntryNotFoundException {
     long idle = getIdleTimeoutInMillis();
     if (idle > 0) {
-      return getLastAccessedTime() + idle;
+      return getLastAccessedTime() + idle + getAccessEpochMillis();
     }
     return 0L;
   }
 
+  /**
+   * Returns the length of the access epochs of the region. Gets may record the start of the epoch
+   * they access in, so the idle expiration time allows for one more epoch.
+   */
+  private long getAccessEpochMillis() {
+    LocalRegion localRegion = getLocalRegion();
+    return localRegion != null ? localRegion.getAccessEpochMillis() : 0L;
+  }
+
   protected long getIdleTimeoutInMillis() {
     long idle = getIdleAttributes().getTimeout();
     if (idle > 0) {
@@ -486,6 +495,20 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
    * To reduce the number of times we need to call calculateNow, you can call this method to set now
    * in a thread local. When the run returns the thread local is cleared.
    */
+  /**
+   * Runs the given expiration work in the expiration thread pool, or in this thread if expiration
+   * is done inline.
+   *
+   * @throws RejectedExecutionException if the thread pool does not accept the work
+   */
+  static void execute(Runnable command) {
+    if (executor != null) {
+      executor.execute(command);
+    } else {
+      command.run();
+    }
+  }
+
   static void doWithNowSet(LocalRegion lr, Runnable runnable) {
     now.set(calculateNow(lr.getCache()));
     try {
@@ -70,6 +70,8 @@ public class InternalRegionArguments {
 
   private Set<String> internalAsyncEventQueueIds;
 
+  private boolean usePrimitiveKeyMap;
+
   /* methods that set and retrieve internal state used to configure a Region */
 
   public InternalRegionArguments setIsUsedForPartitionedRegionAdmin(boolean adminFlag) {
@@ -328,4 +330,17 @@ public class InternalRegionArguments {
     isInternalRegion = internalRegion;
     return this;
   }
+
+  /**
+   * Requests that the region store its entries in a map keyed by primitive longs. This is only
+   * honored for heap regions whose key constraint is {@link Long} or {@link Integer}.
+   */
+  public InternalRegionArguments setUsePrimitiveKeyMap(boolean usePrimitiveKeyMap) {
+    this.usePrimitiveKeyMap = usePrimitiveKeyMap;
+    return this;
+  }
+
+  public boolean getUsePrimitiveKeyMap() {
+    return this.usePrimitiveKeyMap;
+  }
 }
@@ -46,6 +46,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -158,6 +159,7 @@ import org.apache.geode.i18n.StringId;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.ClassLoadUtil;
 import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.InternalStatisticsDisabledException;
 import org.apache.geode.internal.NanoTimer;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.AbstractRegionMap.ARMLockTestHook;
@@ -171,6 +173,7 @@ import org.apache.geode.internal.cache.control.InternalResourceManager.ResourceT
 import org.apache.geode.internal.cache.control.MemoryEvent;
 import org.apache.geode.internal.cache.control.MemoryThresholds;
 import org.apache.geode.internal.cache.control.ResourceListener;
+import org.apache.geode.internal.cache.entries.AbstractRegionEntry;
 import org.apache.geode.internal.cache.entries.DiskEntry;
 import org.apache.geode.internal.cache.event.EventTracker;
 import org.apache.geode.internal.cache.event.NonDistributedEventTracker;
@@ -319,6 +322,25 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
   private final ConcurrentHashMap<RegionEntry, EntryExpiryTask> entryExpiryTasks =
       new ConcurrentHashMap<>();
 
+  /**
+   * If true then entries without custom expiration are expired by an {@link ExpirationTimerWheel}
+   * instead of an {@link EntryExpiryTask} each.
+   */
+  private final boolean useExpirationTimerWheel = SystemPropertyHelper
+      .getProductBooleanProperty(SystemPropertyHelper.EXPIRATION_TIMER_WHEEL).orElse(false);
+
+  /**
+   * Created when the first entry is added to it. GuardedBy entryExpiryTasks for creation.
+   */
+  private volatile ExpirationTimerWheel expirationTimerWheel;
+
+  /**
+   * If greater than 0 then gets record their access time rounded down to the start of an epoch of
+   * this many milliseconds.
+   */
+  private final long accessEpochMillis = SystemPropertyHelper
+      .getProductIntegerProperty(SystemPropertyHelper.EXPIRATION_ACCESS_EPOCH_MILLIS).orElse(0);
+
   /**
    * Set to true after an invalidate region expiration so we don't get multiple expirations
    */
@@ -348,6 +370,14 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
   public static final String EXPIRY_MS_PROPERTY =
       DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_UNITS_MS";
 
+  /**
+   * If true then every heap region whose key constraint is {@link Long} or {@link Integer} stores
+   * its entries in a map keyed by primitive longs. A single region can also opt in with
+   * {@link InternalRegionArguments#setUsePrimitiveKeyMap(boolean)}.
+   */
+  private static final boolean PRIMITIVE_KEY_REGION_MAP =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "PRIMITIVE_KEY_REGION_MAP");
+
   /**
    * Used by unit tests to set expiry to milliseconds instead of the default seconds. Used in
    * ExpiryTask.
@@ -678,11 +708,31 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       ma.loadFactor = this.loadFactor;
       ma.initialCapacity = this.initialCapacity;
       ma.concurrencyLevel = this.concurrencyLevel;
+      ma.primitiveKeyClass = getPrimitiveKeyClass(internalRegionArgs);
       result = RegionMapFactory.createVM(this, ma, internalRegionArgs);
     }
     return result;
   }
 
+  /**
+   * Returns the key class to use for a primitive keyed region map, or null if this region should
+   * use the general purpose map. Off-heap regions always use the general purpose map because it
+   * knows how to release off-heap entries when it is cleared.
+   */
+  private Class<?> getPrimitiveKeyClass(InternalRegionArguments internalRegionArgs) {
+    if (!PRIMITIVE_KEY_REGION_MAP && !internalRegionArgs.getUsePrimitiveKeyMap()) {
+      return null;
+    }
+    if (getOffHeap()) {
+      return null;
+    }
+    Class<?> keyClass = getKeyConstraint();
+    if (keyClass == Long.class || keyClass == Integer.class) {
+      return keyClass;
+    }
+    return null;
+  }
+
   protected InternalDataView buildDataView() {
     return new LocalRegionDataView();
   }
@@ -1349,6 +1399,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     long start = stats.startGet();
     boolean isMiss = true;
     try {
+      if (clientEvent == null && isLocalGetFastPathEnabled() && !isTX()) {
+        Object value = getLocalValueWithoutKeyInfo(key, disableCopyOnRead, preferCD, retainResult);
+        if (value != null) {
+          isMiss = false;
+          return value;
+        }
+      }
       KeyInfo keyInfo = getKeyInfo(key, aCallbackArgument);
       Object value = getDataView().getDeserializedValue(keyInfo, this, true, disableCopyOnRead,
           preferCD, clientEvent, returnTombstones, retainResult);
@@ -1384,6 +1441,48 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  /**
+   * Returns true if a non-transactional get that needs no version tag may read the local entry map
+   * directly. Regions whose gets are not answered from their own entry map must return false.
+   */
+  protected boolean isLocalGetFastPathEnabled() {
+    return true;
+  }
+
+  /**
+   * Fast path for a get that hits a value held by this member. It reads the entry straight from
+   * the region map instead of building a {@link KeyInfo} and dispatching through the data view, so
+   * no objects are allocated for a heap value that does not need to be copied or deserialized.
+   *
+   * @return the value, or null if there is no entry or its value is a token (invalid, destroyed or
+   *         tombstone). In that case no stats have been updated and the caller must take the
+   *         general path, which also handles loaders, net search and misses.
+   */
+  @Retained
+  private Object getLocalValueWithoutKeyInfo(Object key, boolean disableCopyOnRead,
+      boolean preferCD, boolean retainResult) {
+    if (this.diskRegion != null) {
+      this.diskRegion.setClearCountReference();
+    }
+    try {
+      RegionEntry regionEntry = this.entries.getEntry(key);
+      if (regionEntry == null) {
+        return null;
+      }
+      @Retained
+      Object value = getDeserialized(regionEntry, false, disableCopyOnRead, preferCD, retainResult);
+      if (value == null || value instanceof Token) {
+        return null;
+      }
+      updateStatsForGet(regionEntry, true);
+      return value;
+    } finally {
+      if (this.diskRegion != null) {
+        this.diskRegion.removeClearCountReference();
+      }
+    }
+  }
+
   /**
    * Update region and potentially entry stats for the miss case
    *
@@ -7182,10 +7281,19 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       return;
     }
 
-    final long now = cacheTimeMillis();
+    final long now = getAccessTime();
     if (regionEntry != null) {
-      regionEntry.updateStatsForGet(hit, now);
-      if (isEntryIdleExpiryPossible()) {
+      long accessTime = now;
+      boolean accessedInEpoch = false;
+      if (this.accessEpochMillis > 0) {
+        long lastAccessed = getLastAccessedTime(regionEntry);
+        // an entry that was already read in this access epoch has had its expiration scheduled
+        accessedInEpoch = lastAccessed == now;
+        // an entry written later in this epoch keeps its exact time instead of going back
+        accessTime = Math.max(lastAccessed, now);
+      }
+      regionEntry.updateStatsForGet(hit, accessTime);
+      if (!accessedInEpoch && isEntryIdleExpiryPossible()) {
         addExpiryTaskIfAbsent(regionEntry);
       }
     }
@@ -7194,6 +7302,38 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     setLastAccessedTime(now, hit);
   }
 
+  /**
+   * Returns the time a get records as the last accessed time. With access epochs this is the start
+   * of the current epoch, so that the entries and region read within one epoch all record the same
+   * time and it is never in the future. Idle expiration allows for one more epoch, see
+   * {@link #getAccessEpochMillis()}.
+   */
+  private long getAccessTime() {
+    long now = cacheTimeMillis();
+    long epochMillis = this.accessEpochMillis;
+    if (epochMillis <= 0) {
+      return now;
+    }
+    return now / epochMillis * epochMillis;
+  }
+
+  /**
+   * Returns the length of the access epochs of this region, or 0 if gets record exact access
+   * times. An entry read at the end of an epoch records the start of that epoch, so idle expiration
+   * adds this to the last accessed time to never expire an entry early.
+   */
+  long getAccessEpochMillis() {
+    return this.accessEpochMillis;
+  }
+
+  private static long getLastAccessedTime(RegionEntry regionEntry) {
+    try {
+      return regionEntry.getLastAccessed();
+    } catch (InternalStatisticsDisabledException ignore) {
+      return 0L;
+    }
+  }
+
   private void sendPendingRegionDestroyEvents(Set regionEvents) {
     for (Object regionEvent : regionEvents) {
       RegionEventImpl regionEventImpl = (RegionEventImpl) regionEvent;
@@ -7808,6 +7948,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     if (!isEntryExpiryPossible()) {
       return;
     }
+    // the expiration times may have changed, so take all entries off the timer wheel first
+    cancelExpirationTimerWheel();
     // OK to ignore transaction since Expiry only done non-tran
     Iterator<RegionEntry> it = this.entries.regionEntries().iterator();
     if (it.hasNext()) {
@@ -8081,6 +8223,12 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       return;
     }
     if (isEntryExpiryPossible()) {
+      if (isOnExpirationTimerWheel(regionEntry)) {
+        // the wheel looks at the entry's current expiration time when its slot is reached, so it
+        // is only added once whether or not ifAbsent is set
+        getOrCreateExpirationTimerWheel().add((AbstractRegionEntry) regionEntry);
+        return;
+      }
       EntryExpiryTask newTask = null;
       EntryExpiryTask oldTask;
       if (ifAbsent) {
@@ -8141,6 +8289,44 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  private boolean isOnExpirationTimerWheel(RegionEntry regionEntry) {
+    return this.useExpirationTimerWheel && this.customEntryIdleTimeout == null
+        && this.customEntryTimeToLive == null && regionEntry instanceof AbstractRegionEntry;
+  }
+
+  private ExpirationTimerWheel getOrCreateExpirationTimerWheel() {
+    ExpirationTimerWheel wheel = this.expirationTimerWheel;
+    if (wheel == null) {
+      synchronized (this.entryExpiryTasks) {
+        wheel = this.expirationTimerWheel;
+        if (wheel == null) {
+          wheel = this.cache.getExpirationScheduler().addExpirationTimerWheel(this);
+          this.expirationTimerWheel = wheel;
+        }
+      }
+    }
+    return wheel;
+  }
+
+  /**
+   * Used by unit tests to get access to the ExpirationTimerWheel of this region. Returns null if
+   * the region has no wheel.
+   */
+  public ExpirationTimerWheel getExpirationTimerWheel() {
+    return this.expirationTimerWheel;
+  }
+
+  private void cancelExpirationTimerWheel() {
+    ExpirationTimerWheel wheel;
+    synchronized (this.entryExpiryTasks) {
+      wheel = this.expirationTimerWheel;
+      this.expirationTimerWheel = null;
+    }
+    if (wheel != null && wheel.cancel()) {
+      this.cache.getExpirationScheduler().incCancels();
+    }
+  }
+
   @Override
   public void cancelExpiryTask(RegionEntry regionEntry) {
     cancelExpiryTask(regionEntry, null);
@@ -8159,6 +8345,10 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           this.cache.getExpirationScheduler().incCancels();
         }
       }
+      ExpirationTimerWheel wheel = this.expirationTimerWheel;
+      if (wheel != null) {
+        wheel.entryDestroyed(regionEntry);
+      }
     }
   }
 
@@ -8167,6 +8357,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     // in which case the final entryExpiryTasks field can still be null
     if (this.entryExpiryTasks == null)
       return;
+    cancelExpirationTimerWheel();
     if (this.entryExpiryTasks.isEmpty())
       return;
     boolean doPurge = false;
@@ -9286,19 +9477,38 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     } else {
       // This implementation for a P2P VM is a stop-gap to provide the
       // functionality. It needs to be rewritten more efficiently.
-      for (Object key : keys) {
-        try {
-          allResults.put(key, get(key, callback));
-        } catch (Exception e) {
-          logger.warn(LocalizedMessage.create(
-              LocalizedStrings.LocalRegion_THE_FOLLOWING_EXCEPTION_OCCURRED_ATTEMPTING_TO_GET_KEY_0,
-              key), e);
+      List batch = new ArrayList(Math.min(keys.size(), DiskFaultInBatch.MAX_ENTRIES));
+      for (Iterator iterator = keys.iterator(); iterator.hasNext();) {
+        batch.clear();
+        while (iterator.hasNext() && batch.size() < DiskFaultInBatch.MAX_ENTRIES) {
+          batch.add(iterator.next());
+        }
+        faultInValues(batch);
+        for (Object key : batch) {
+          try {
+            allResults.put(key, get(key, callback));
+          } catch (Exception e) {
+            logger.warn(LocalizedMessage.create(
+                LocalizedStrings.LocalRegion_THE_FOLLOWING_EXCEPTION_OCCURRED_ATTEMPTING_TO_GET_KEY_0,
+                key), e);
+          }
         }
       }
     }
     return allResults;
   }
 
+  /**
+   * Faults in the values of the entries of the given keys that are on disk with as few reads as
+   * possible, so that getting the keys one at a time afterwards does not read each value on its
+   * own.
+   */
+  public void faultInValues(Collection keys) {
+    if (getDiskRegion() != null) {
+      DiskFaultInBatch.faultIn(this, keys);
+    }
+  }
+
   /**
    * Return false if it will never store entry ekys and values locally; otherwise return true.
    */
@@ -9919,6 +10129,37 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return succeeded;
   }
 
+  /**
+   * Runs the given expirations of entries of this region. If the destroys done by the expirations
+   * can be distributed together they are given an {@link ExpirationDestroyBatch} to add their
+   * events to, which is distributed once they are all done. Otherwise they are given null.
+   */
+  void expireInBatch(int size, Consumer<ExpirationDestroyBatch> expirations) {
+    ExpirationDestroyBatch batch = createExpirationDestroyBatch(size);
+    if (batch == null) {
+      expirations.accept(null);
+      return;
+    }
+    lockRVVForBulkOp();
+    try {
+      try {
+        expirations.accept(batch);
+      } finally {
+        batch.distribute();
+      }
+    } finally {
+      unlockRVVForBulkOp();
+    }
+  }
+
+  /**
+   * Returns a batch to distribute the given number of expiration destroys together, or null if
+   * each of them is distributed on its own. A local region does not distribute them at all.
+   */
+  ExpirationDestroyBatch createExpirationDestroyBatch(int size) {
+    return null;
+  }
+
   /**
    * bug #46924 - putAll can be partially applied when a clear() occurs, leaving the cache in an
    * inconsistent state. Set the RVV to "cache op in progress" so clear() will block until the
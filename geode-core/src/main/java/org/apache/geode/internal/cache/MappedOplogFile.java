@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.lang.SystemUtils;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * MappedOplogFile maps an oplog file that is no longer written to into memory so that the recovery
+ * and compaction scans can read its records without a read system call, or a copy into a stream
+ * buffer, per record. Records that a scan skips are not read at all. The file is mapped in regions
+ * of at most {@link #REGION_BYTES} so that files larger than 2GB can be mapped. The mapping is
+ * released by {@link #close()}, so a closed file can be deleted right away.
+ */
+class MappedOplogFile {
+
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * Whether oplog files are mapped into memory for scans. Mapped files can not be deleted on
+   * Windows until they have been unmapped, which waits for garbage collection if the JVM does not
+   * allow unmapping them on close, so they are not mapped there by default.
+   */
+  static final boolean ENABLED = SystemPropertyHelper
+      .getProductBooleanProperty(SystemPropertyHelper.DISK_STORE_MAPPED_READS)
+      .orElse(!SystemUtils.isWindows());
+
+  static final int REGION_BYTES = 1 << 30;
+
+  /**
+   * Unmaps a mapped buffer without waiting for it to be garbage collected. Null if the JVM provides
+   * no way to do that.
+   */
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private final long length;
+
+  private final int regionBytes;
+
+  private ByteBuffer[] regions;
+
+  private MappedOplogFile(long length, int regionBytes, ByteBuffer[] regions) {
+    this.length = length;
+    this.regionBytes = regionBytes;
+    this.regions = regions;
+  }
+
+  /**
+   * Maps the given file into memory for reading.
+   */
+  static MappedOplogFile map(File file) throws IOException {
+    return map(file, REGION_BYTES);
+  }
+
+  static MappedOplogFile map(File file, int regionBytes) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel()) {
+      long length = channel.size();
+      ByteBuffer[] regions = new ByteBuffer[(int) ((length + regionBytes - 1) / regionBytes)];
+      for (int i = 0; i < regions.length; i++) {
+        long position = (long) i * regionBytes;
+        regions[i] =
+            channel.map(MapMode.READ_ONLY, position, Math.min(regionBytes, length - position));
+      }
+      return new MappedOplogFile(length, regionBytes, regions);
+    }
+  }
+
+  /**
+   * Returns a stream of the given file that reads it through a mapping if mapped reads are enabled
+   * and reads it from disk otherwise.
+   */
+  static InputStream openInputStream(File file) throws FileNotFoundException {
+    if (ENABLED) {
+      try {
+        return map(file).newInputStream();
+      } catch (FileNotFoundException e) {
+        throw e;
+      } catch (IOException ignore) {
+        // read the file from disk
+      }
+    }
+    return new FileInputStream(file);
+  }
+
+  long length() {
+    return this.length;
+  }
+
+  /**
+   * Copies the given number of bytes of the file, starting at the given position, into the given
+   * array.
+   */
+  void get(long position, byte[] bytes, int offset, int length) {
+    if (position < 0 || position + length > this.length) {
+      throw new IndexOutOfBoundsException(
+          "position=" + position + " length=" + length + " fileLength=" + this.length);
+    }
+    ByteBuffer[] regions = regions();
+    while (length > 0) {
+      ByteBuffer region = regions[(int) (position / this.regionBytes)].duplicate();
+      region.position((int) (position % this.regionBytes));
+      int count = Math.min(length, region.remaining());
+      region.get(bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Returns a stream of the file that starts at its beginning.
+   */
+  InputStream newInputStream() {
+    return new MappedInputStream();
+  }
+
+  /**
+   * Releases the mapping of the file. The file is unmapped right away if the JVM allows it and
+   * otherwise once the mapping has been garbage collected. The file can not be read after it has
+   * been closed.
+   */
+  void close() {
+    ByteBuffer[] regions = this.regions;
+    if (regions == null) {
+      return;
+    }
+    this.regions = null;
+    if (UNMAPPER == null) {
+      return;
+    }
+    try {
+      for (ByteBuffer region : regions) {
+        UNMAPPER.unmap(region);
+      }
+    } catch (Exception e) {
+      // the rest of the file is unmapped once it has been garbage collected
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not unmap oplog file", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the mapped regions of the file. A closed file may have been unmapped, so reading it
+   * must fail here rather than touch memory that is no longer mapped.
+   */
+  private ByteBuffer[] regions() {
+    ByteBuffer[] regions = this.regions;
+    if (regions == null) {
+      throw new IllegalStateException("The mapped oplog file has been closed");
+    }
+    return regions;
+  }
+
+  private interface Unmapper {
+    void unmap(ByteBuffer buffer) throws Exception;
+  }
+
+  /**
+   * Looks up Unsafe.invokeCleaner, which Java 9 and later provide, and otherwise the cleaner of the
+   * Java 8 direct buffer.
+   */
+  private static Unmapper createUnmapper() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (Exception | LinkageError ignore) {
+      // not Java 9 or later
+    }
+    try {
+      Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        Object bufferCleaner = cleaner.invoke(buffer);
+        if (bufferCleaner != null) {
+          clean.invoke(bufferCleaner);
+        }
+      };
+    } catch (Exception | LinkageError e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Mapped oplog files are unmapped when they are garbage collected", e);
+      }
+      return null;
+    }
+  }
+
+  private class MappedInputStream extends InputStream {
+
+    private long position;
+
+    @Override
+    public int read() {
+      if (this.position >= length) {
+        return -1;
+      }
+      ByteBuffer region = regions()[(int) (this.position / regionBytes)];
+      int b = region.get((int) (this.position % regionBytes)) & 0xff;
+      this.position++;
+      return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      int count = (int) Math.min(length, available());
+      if (count == 0) {
+        return -1;
+      }
+      get(this.position, bytes, offset, count);
+      this.position += count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      long count = Math.max(0, Math.min(n, length - this.position));
+      this.position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(Integer.MAX_VALUE, length - this.position);
+    }
+
+    @Override
+    public void close() {
+      MappedOplogFile.this.close();
+    }
+  }
+}
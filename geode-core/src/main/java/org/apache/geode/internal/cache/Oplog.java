@@ -26,6 +26,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -1359,6 +1360,17 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  @Override
+  public byte[] getBytes(DiskRegionView dr, long offsetInOplog, int length) {
+    long start = this.stats.startRead();
+    BytesAndBits bb = basicGet(dr, offsetInOplog, false, length, (byte) 0);
+    if (bb == null) {
+      return null;
+    }
+    dr.endRead(start, this.stats.endRead(start, length), length);
+    return bb.getBytes();
+  }
+
   void close(DiskRegion dr) {
     // while a krf is being created can not close a region
     lockCompactor();
@@ -1529,10 +1541,10 @@ public class Oplog implements CompactableOplog, Flushable {
       try {
         int recordCount = 0;
         boolean foundDiskStoreRecord = false;
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-          fis = new FileInputStream(drfFile);
-          dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
+          fis = getOplogSet().openForRecovery(drfFile);
+          dis = new CountingDataInputStream(bufferForRecovery(fis, 32 * 1024),
               drfFile.length());
           boolean endOfLog = false;
           while (!endOfLog) {
@@ -1694,9 +1706,9 @@ public class Oplog implements CompactableOplog, Flushable {
       return false;
     }
 
-    FileInputStream fis;
+    InputStream fis;
     try {
-      fis = new FileInputStream(f);
+      fis = getOplogSet().openForRecovery(f);
     } catch (FileNotFoundException ignore) {
       return false;
     }
@@ -1711,7 +1723,7 @@ public class Oplog implements CompactableOplog, Flushable {
       this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
       long oplogKeyIdHWM = DiskStoreImpl.INVALID_ID;
       int krfEntryCount = 0;
-      DataInputStream dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+      DataInputStream dis = new DataInputStream(bufferForRecovery(fis, 1024 * 1024));
       final Version version = getProductVersionIfOld();
       final ByteArrayDataInput in = new ByteArrayDataInput();
       try {
@@ -1875,6 +1887,17 @@ public class Oplog implements CompactableOplog, Flushable {
     return true;
   }
 
+  /**
+   * Buffers a stream that recovery reads from an oplog file. Streams of files that have been read
+   * or mapped into memory are not buffered again.
+   */
+  private static InputStream bufferForRecovery(InputStream is, int size) {
+    if (is instanceof FileInputStream) {
+      return new BufferedInputStream(is, size);
+    }
+    return is;
+  }
+
   private void validateOpcode(DataInputStream dis, byte expect) throws IOException {
     byte opCode = dis.readByte();
     if (opCode != expect) {
@@ -1901,10 +1924,10 @@ public class Oplog implements CompactableOplog, Flushable {
       final HeapDataOutputStream hdos = new HeapDataOutputStream(Version.CURRENT);
       int recordCount = 0;
       boolean foundDiskStoreRecord = false;
-      FileInputStream fis = null;
+      InputStream fis = null;
       try {
-        fis = new FileInputStream(this.crf.f);
-        dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
+        fis = getOplogSet().openForRecovery(this.crf.f);
+        dis = new CountingDataInputStream(bufferForRecovery(fis, 1024 * 1024),
             this.crf.f.length());
         boolean endOfLog = false;
         while (!endOfLog) {
@@ -2349,6 +2372,9 @@ public class Oplog implements CompactableOplog, Flushable {
     DiskEntry.RecoveredEntry re = null;
     if (recoverValue || EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
       Object value;
+      if (EntryBits.isCompressed(userBits)) {
+        valueBytes = getParent().getValueCompressor().decompress(valueBytes);
+      }
       if (EntryBits.isLocalInvalid(userBits)) {
         value = Token.LOCAL_INVALID;
         valueLength = 0;
@@ -2855,6 +2881,9 @@ public class Oplog implements CompactableOplog, Flushable {
   private void validateValue(byte[] valueBytes, byte userBits, Version version,
       ByteArrayDataInput in) {
     if (getParent().isValidating()) {
+      if (EntryBits.isCompressed(userBits)) {
+        valueBytes = getParent().getValueCompressor().decompress(valueBytes);
+      }
       if (EntryBits.isSerialized(userBits)) {
         // make sure values are deserializable
         if (!PdxWriterImpl.isPdx(valueBytes)) { // fix bug 43011
@@ -3483,6 +3512,40 @@ public class Oplog implements CompactableOplog, Flushable {
     return vw.getUserBits();
   }
 
+  /**
+   * Returns the given value compressed if the disk store compresses the values it writes and the
+   * value is worth compressing. Otherwise returns the value itself.
+   */
+  private ValueWrapper compressValue(ValueWrapper value) {
+    OplogValueCompressor valueCompressor = getParent().getValueCompressor();
+    if (!valueCompressor.isEnabled() || !(value instanceof DiskEntry.Helper.ByteArrayValueWrapper)
+        || value instanceof DiskEntry.Helper.CompactorValueWrapper) {
+      return value;
+    }
+    byte userBits = value.getUserBits();
+    if (!EntryBits.isNeedsValue(userBits) || EntryBits.isCompressed(userBits)) {
+      return value;
+    }
+    byte[] bytes = ((DiskEntry.Helper.ByteArrayValueWrapper) value).bytes;
+    byte[] compressedBytes = valueCompressor.compress(bytes, bytes.length);
+    if (compressedBytes == null) {
+      return value;
+    }
+    return new DiskEntry.Helper.CompressedValueWrapper(value.isSerialized(), compressedBytes);
+  }
+
+  /**
+   * Returns the given bytes and bits, read from a record with the compressed bit set, with the
+   * value decompressed.
+   */
+  private BytesAndBits decompressValue(BytesAndBits bb) {
+    BytesAndBits decompressed =
+        new BytesAndBits(getParent().getValueCompressor().decompress(bb.getBytes()),
+            EntryBits.setCompressed(bb.getBits(), false));
+    decompressed.setVersion(bb.getVersion());
+    return decompressed;
+  }
+
   /**
    * Returns true if the given entry has not yet been written to this oplog.
    */
@@ -3516,7 +3579,9 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      DeferredCommit deferredCommit = DeferredCommit.start(this, async);
       try {
+        value = compressValue(value);
         // It is ok to do this outside of "lock" because
         // create records do not need to change.
         byte userBits = calcUserBits(value);
@@ -3531,6 +3596,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicCreate(region.getDiskRegion(), entry, value, userBits, async);
+        DeferredCommit.commit(deferredCommit);
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -3549,7 +3615,7 @@ public class Oplog implements CompactableOplog, Flushable {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
         }
-
+        DeferredCommit.clear(deferredCommit);
       }
 
     }
@@ -3643,7 +3709,7 @@ public class Oplog implements CompactableOplog, Flushable {
           id.setOplogId(getOplogId());
           // do the io while holding lock so that switch can set doneAppending
           // Write the data to the opLog for the synch mode
-          startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+          startPosForSynchOp = writeOpLogBytes(this.crf, async, true, true);
           // if (this.crf.currSize != startPosForSynchOp) {
           // assert false;
           // }
@@ -4238,6 +4304,18 @@ public class Oplog implements CompactableOplog, Flushable {
     return new File(this.diskFile.getPath() + KRF_FILE_EXT);
   }
 
+  /**
+   * Returns the krf file that recovery will read instead of the crf file of this oplog, or null if
+   * it has none.
+   */
+  File getRecoveryKrfFile() {
+    if (this.crf.f == null || !getParent().getDiskInitFile().hasKrf(this.oplogId)) {
+      return null;
+    }
+    return new File(this.drf.f.getParentFile(),
+        oplogSet.getPrefix() + getParent().getName() + "_" + this.oplogId + KRF_FILE_EXT);
+  }
+
   public List<KRFEntry> getSortedLiveEntries(Collection<DiskRegionInfo> targetRegions) {
     int tlc = (int) this.totalLiveCount.get();
     if (tlc <= 0) {
@@ -4439,7 +4517,9 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      DeferredCommit deferredCommit = DeferredCommit.start(this, async);
       try {
+        value = compressValue(value);
         byte userBits = calcUserBits(value);
         // save versions for creates and updates even if value is bytearrary in
         // 7.0
@@ -4452,6 +4532,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicModify(region.getDiskRegion(), entry, value, userBits, async, false);
+        DeferredCommit.commit(deferredCommit);
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -4470,6 +4551,7 @@ public class Oplog implements CompactableOplog, Flushable {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
         }
+        DeferredCommit.clear(deferredCommit);
       }
     }
   }
@@ -4477,7 +4559,8 @@ public class Oplog implements CompactableOplog, Flushable {
   public void offlineModify(DiskRegionView drv, DiskEntry entry, byte[] value,
       boolean isSerializedObject) {
     try {
-      ValueWrapper vw = new DiskEntry.Helper.ByteArrayValueWrapper(isSerializedObject, value);
+      ValueWrapper vw =
+          compressValue(new DiskEntry.Helper.ByteArrayValueWrapper(isSerializedObject, value));
       byte userBits = calcUserBits(vw);
       // save versions for creates and updates even if value is bytearrary in 7.0
       VersionStamp vs = entry.getVersionStamp();
@@ -4560,8 +4643,19 @@ public class Oplog implements CompactableOplog, Flushable {
         // TODO: compaction needs to get version?
         byte userBits = wrapper.getBits();
         ValueWrapper vw;
+        byte[] compressedBytes = null;
+        if (wrapper.getOffHeapData() == null && EntryBits.isNeedsValue(userBits)
+            && !EntryBits.isCompressed(userBits)) {
+          // a value the compactor found in memory has not been compressed yet
+          compressedBytes = getParent().getValueCompressor().compress(wrapper.getBytes(),
+              wrapper.getValidLength());
+        }
         if (wrapper.getOffHeapData() != null) {
           vw = new DiskEntry.Helper.OffHeapValueWrapper(wrapper.getOffHeapData());
+        } else if (compressedBytes != null) {
+          vw = new DiskEntry.Helper.ByteArrayValueWrapper(EntryBits.isSerialized(userBits),
+              compressedBytes);
+          userBits = EntryBits.setCompressed(userBits, true);
         } else {
           vw = new DiskEntry.Helper.CompactorValueWrapper(wrapper.getBytes(),
               wrapper.getValidLength());
@@ -4639,7 +4733,7 @@ public class Oplog implements CompactableOplog, Flushable {
             long oldOplogId;
             // do the io while holding lock so that switch can set doneAppending
             // Write the data to the opLog for the synch mode
-            startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.crf, async, true, true);
             this.crf.currSize = temp;
             startPosForSynchOp += getOpStateValueOffset();
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES)) {
@@ -4925,8 +5019,10 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean exceptionOccurred = false;
       byte prevUsrBit = did.getUserBits();
       int len = did.getValueLength();
+      DeferredCommit deferredCommit = DeferredCommit.start(this, async);
       try {
         basicRemove(dr, entry, async, isClear);
+        DeferredCommit.commit(deferredCommit);
       } catch (IOException ex) {
         exceptionOccurred = true;
         getParent().getCancelCriterion().checkCancelInProgress(ex);
@@ -4945,6 +5041,7 @@ public class Oplog implements CompactableOplog, Flushable {
           did.setValueLength(len);
           did.setUserBits(prevUsrBit);
         }
+        DeferredCommit.clear(deferredCommit);
       }
     }
   }
@@ -5109,7 +5206,7 @@ public class Oplog implements CompactableOplog, Flushable {
             // before we flush the crf.
             // However we can't have removes by async if we are doing a sync write
             // because we might be killed right after we do this write.
-            startPosForSynchOp = writeOpLogBytes(this.drf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.drf, async, true, true);
             setHasDeletes(true);
             if (logger.isDebugEnabled(LogMarker.PERSIST_WRITES)) {
               logger.debug("basicRemove: id=<{}> key=<{}> drId={} oplog#{}", abs(id.getKeyId()),
@@ -5321,6 +5418,14 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private long writeOpLogBytes(OplogFile olf, boolean async, boolean doFlushIfSync)
       throws IOException {
+    return writeOpLogBytes(olf, async, doFlushIfSync, false);
+  }
+
+  /**
+   * @param deferrable whether the flush of a synchronous write can be deferred to a group commit
+   */
+  private long writeOpLogBytes(OplogFile olf, boolean async, boolean doFlushIfSync,
+      boolean deferrable) throws IOException {
     long startPos = -1L;
     getParent().getBackupLock().lock();
     try {
@@ -5344,7 +5449,7 @@ public class Oplog implements CompactableOplog, Flushable {
         // "startPos=" + startPos +
         // " was not > lastWritePos=" + lastWritePos);
         long bytesWritten = this.opState.write(olf);
-        if (!async && doFlushIfSync) {
+        if (!async && doFlushIfSync && !(deferrable && DeferredCommit.defer(this))) {
           flushAndSync(olf);
         }
         getStats().incWrittenBytes(bytesWritten, async);
@@ -5360,6 +5465,179 @@ public class Oplog implements CompactableOplog, Flushable {
     return startPos;
   }
 
+  /**
+   * The number of records written to this oplog whose flush has been deferred to a group commit.
+   * Guarded by lock.
+   */
+  private long deferredWrites;
+
+  private final Object groupCommitLock = new Object();
+
+  /**
+   * The number of deferred records that have been flushed. Guarded by groupCommitLock.
+   */
+  private long committedWrites;
+
+  /**
+   * Whether a thread is flushing deferred records. Guarded by groupCommitLock.
+   */
+  private boolean committing;
+
+  /**
+   * Waits until the given number of deferred records of this oplog have been flushed to disk. If no
+   * other thread is flushing records then this thread writes and syncs all of the records that
+   * have been deferred so far, including the ones of the threads that are waiting for it. Writers
+   * keep appending records while it syncs, so those records are flushed by the next group.
+   */
+  private void groupCommit(long writes) {
+    boolean interrupted = false;
+    try {
+      synchronized (this.groupCommitLock) {
+        while (this.committedWrites < writes && this.committing) {
+          try {
+            this.groupCommitLock.wait();
+          } catch (InterruptedException ignore) {
+            interrupted = true;
+          }
+        }
+        if (this.committedWrites >= writes) {
+          return;
+        }
+        this.committing = true;
+      }
+      long committed = -1;
+      try {
+        committed = flushDeferredWrites();
+      } finally {
+        synchronized (this.groupCommitLock) {
+          this.committing = false;
+          if (committed > this.committedWrites) {
+            this.committedWrites = committed;
+          }
+          this.groupCommitLock.notifyAll();
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Writes the buffered records of this oplog and then syncs its files without holding lock.
+   *
+   * @return the number of deferred records that have been flushed
+   */
+  private long flushDeferredWrites() {
+    if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
+      CacheObserverHolder.getInstance().beforeGroupCommit();
+    }
+    long start = getStats().startGroupCommit();
+    long writes;
+    UninterruptibleFileChannel drfChannel;
+    UninterruptibleFileChannel crfChannel;
+    synchronized (this.lock) {
+      writes = this.deferredWrites;
+      flushAllNoSync(false);
+      drfChannel = this.drf.RAFClosed ? null : this.drf.channel;
+      crfChannel = this.crf.RAFClosed ? null : this.crf.channel;
+    }
+    if (SYNC_WRITES) {
+      try {
+        if (drfChannel != null) {
+          drfChannel.force(true);
+        }
+        if (crfChannel != null) {
+          crfChannel.force(true);
+        }
+      } catch (ClosedChannelException ignore) {
+        // the oplog has been switched or closed since its records were written above. Both call
+        // flushAll, which syncs, before closing a channel, so the records are already on disk.
+      } catch (IOException ex) {
+        getParent().getCancelCriterion().checkCancelInProgress(ex);
+        throw new DiskAccessException(LocalizedStrings.Oplog_FAILED_WRITING_KEY_TO_0
+            .toLocalizedString(this.diskFile.getPath()), ex, getParent());
+      }
+    }
+    synchronized (this.groupCommitLock) {
+      getStats().endGroupCommit(start, writes - this.committedWrites);
+    }
+    return writes;
+  }
+
+  /**
+   * Tracks the record that a thread doing a synchronous create, modify or remove has written to an
+   * oplog without flushing it, so that the thread can flush it with a group commit once it no
+   * longer holds the oplog's lock.
+   */
+  private static class DeferredCommit {
+
+    private static final ThreadLocal<DeferredCommit> deferredCommit =
+        ThreadLocal.withInitial(DeferredCommit::new);
+
+    private boolean deferring;
+
+    private Oplog oplog;
+
+    private long writes;
+
+    /**
+     * Starts deferring the flushes of the current thread if it does a synchronous operation and
+     * group commit is enabled for the disk store of the given oplog.
+     *
+     * @return the deferred commit of the current thread or null if it does not defer flushes
+     */
+    static DeferredCommit start(Oplog oplog, boolean async) {
+      if (async || !oplog.getParent().isGroupCommit()) {
+        return null;
+      }
+      DeferredCommit commit = deferredCommit.get();
+      commit.deferring = true;
+      return commit;
+    }
+
+    /**
+     * Defers the flush of the create, modify or remove record that the current thread has just
+     * written to the given oplog, if it is deferring flushes. A thread only defers the flushes of
+     * one oplog. Must be called while holding the oplog's lock.
+     *
+     * @return true if the flush has been deferred
+     */
+    static boolean defer(Oplog oplog) {
+      if (!oplog.getParent().isGroupCommit()) {
+        return false;
+      }
+      DeferredCommit commit = deferredCommit.get();
+      if (!commit.deferring || (commit.oplog != null && commit.oplog != oplog)) {
+        return false;
+      }
+      commit.oplog = oplog;
+      commit.writes = ++oplog.deferredWrites;
+      return true;
+    }
+
+    /**
+     * Waits until the records whose flushes the given deferred commit has deferred are on disk.
+     */
+    static void commit(DeferredCommit commit) {
+      if (commit != null && commit.oplog != null) {
+        Oplog oplog = commit.oplog;
+        long writes = commit.writes;
+        clear(commit);
+        oplog.groupCommit(writes);
+      }
+    }
+
+    static void clear(DeferredCommit commit) {
+      if (commit != null) {
+        commit.deferring = false;
+        commit.oplog = null;
+        commit.writes = 0;
+      }
+    }
+  }
+
   boolean isRAFOpen() {
     return !this.crf.RAFClosed; // volatile read
   }
@@ -5552,6 +5830,9 @@ public class Oplog implements CompactableOplog, Flushable {
             }
           }
         } // for
+        if (EntryBits.isCompressed(userBits)) {
+          bb = decompressValue(bb);
+        }
       } catch (IOException ex) {
         getParent().getCancelCriterion().checkCancelInProgress(ex);
         throw new DiskAccessException(
@@ -5605,6 +5886,17 @@ public class Oplog implements CompactableOplog, Flushable {
         // No need to get the backup lock prior to synchronizing (correct lock order) since the
         // synchronized block does not attempt to get the backup lock (incorrect lock order)
         synchronized (this.lock/* crf */) {
+          if (this.mappedCrf != null && offsetInOplog >= 0
+              && offsetInOplog + valueLength <= this.mappedCrf.length()) {
+            byte[] valueBytes = wrapper.getBytes();
+            if (valueBytes.length < valueLength) {
+              valueBytes = new byte[valueLength];
+            }
+            this.mappedCrf.get(offsetInOplog, valueBytes, 0, valueLength);
+            this.stats.incOplogReads();
+            wrapper.setData(valueBytes, userBits, valueLength, true);
+            return true;
+          }
           if (/*
                * !getParent().isSync() since compactor groups writes &&
                */(offsetInOplog + valueLength) > this.crf.bytesFlushed && !this.closed) {
@@ -5671,6 +5963,29 @@ public class Oplog implements CompactableOplog, Flushable {
 
   private final AtomicBoolean deleted = new AtomicBoolean();
 
+  /**
+   * The crf file of this oplog mapped into memory while the compactor copies its live values
+   * forward. Only accessed by the compactor thread while it holds the compactor lock.
+   */
+  private MappedOplogFile mappedCrf;
+
+  /**
+   * Maps the crf file into memory for compaction if nothing is appended to it anymore.
+   */
+  private MappedOplogFile mapCrfForCompaction() {
+    if (!MappedOplogFile.ENABLED || !this.doneAppending || this.crf.f == null) {
+      return null;
+    }
+    try {
+      return MappedOplogFile.map(this.crf.f);
+    } catch (IOException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not map {} for compaction", this.crf.f, e);
+      }
+      return null;
+    }
+  }
+
   /**
    * deletes the oplog's file(s)
    */
@@ -5912,6 +6227,18 @@ public class Oplog implements CompactableOplog, Flushable {
     return false;
   }
 
+  /**
+   * Returns the fraction of the entries written to this oplog that are still live. Compaction
+   * frees the most space per byte it copies forward from the oplogs with the lowest live ratio.
+   */
+  double getLiveRatio() {
+    long total = this.totalCount.get();
+    if (total <= 0) {
+      return 0;
+    }
+    return Math.max(0, this.totalLiveCount.get()) / (double) total;
+  }
+
   public boolean hadLiveEntries() {
     return this.totalCount.get() != 0;
   }
@@ -6085,6 +6412,7 @@ public class Oplog implements CompactableOplog, Flushable {
           handleNoLiveValues();
           return 0; // do this while holding compactorLock
         }
+        this.mappedCrf = mapCrfForCompaction();
 
         // Start with a fresh wrapper on every compaction so that
         // if previous run used some high memory byte array which was
@@ -6098,6 +6426,12 @@ public class Oplog implements CompactableOplog, Flushable {
                                  * getParent().getOwner().isDestroyed ||
                                  */!compactor.keepCompactorRunning();
         int totalCount = 0;
+        // live entries are copied forward in batches so that the compactor
+        // can pause between them to stay within the compaction rate limit
+        final long batchBytes = compactor.getBatchBytes();
+        int batchCount = 0;
+        long batchSize = 0;
+        getStats().setCompactionEntriesRemaining(this.totalLiveCount.get());
         for (DiskRegionInfo dri : this.regionMap.values()) {
           final DiskRegionView dr = dri.getDiskRegion();
           if (dr == null)
@@ -6138,6 +6472,8 @@ public class Oplog implements CompactableOplog, Flushable {
                     }
                     continue;
                   }
+                  batchSize += wrapper.getOffHeapData() != null
+                      ? wrapper.getOffHeapData().getDataSize() : wrapper.getValidLength();
                   // write it to the current oplog
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
@@ -6148,7 +6484,6 @@ public class Oplog implements CompactableOplog, Flushable {
             if (didCompact) {
               totalCount++;
               getStats().endCompactionUpdate(opStart);
-              opStart = getStats().getStatTime();
               // Check if the value byte array happens to be any of the
               // constant
               // static byte arrays or references the value byte array of
@@ -6159,9 +6494,19 @@ public class Oplog implements CompactableOplog, Flushable {
               if (!wrapper.isReusable()) {
                 wrapper = new BytesAndBitsForCompactor();
               }
+              batchCount++;
+              if (batchSize >= batchBytes) {
+                compactor.compacted(batchCount, batchSize);
+                batchCount = 0;
+                batchSize = 0;
+              }
+              opStart = getStats().getStatTime();
             }
           }
         }
+        if (batchCount > 0) {
+          compactor.compacted(batchCount, batchSize);
+        }
 
         if (!compactFailed) {
           // Need to still remove the oplog even if it had nothing to compact.
@@ -6173,6 +6518,11 @@ public class Oplog implements CompactableOplog, Flushable {
         }
         return totalCount;
       } finally {
+        if (this.mappedCrf != null) {
+          this.mappedCrf.close();
+          this.mappedCrf = null;
+        }
+        getStats().setCompactionEntriesRemaining(0);
         unlockCompactor();
       }
     } finally {
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * OplogRecoveryReadAhead reads the drf and krf files of the oplogs of a disk store into memory on
+ * several threads while recovery processes the files that come before them. The records of the
+ * files are still applied to the recovered regions one oplog at a time, in the same order as
+ * without read ahead, so conflicts between oplogs are resolved exactly as before. The files read
+ * ahead that recovery has not opened yet take up at most the bytes of the read ahead window, and
+ * files larger than the window are read from disk by recovery itself. Recovery opens the files in
+ * order, so opening a file also discards the files before it that recovery skipped.
+ */
+class OplogRecoveryReadAhead {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private final ExecutorService executor;
+
+  private final DiskStoreStats stats;
+
+  private final long windowBytes;
+
+  /** The files that have not been submitted yet, in the order recovery opens them */
+  private final Deque<File> pending;
+
+  /** The files that have been submitted and not opened, in the order recovery opens them */
+  private final Map<File, Future<byte[]>> submitted = new LinkedHashMap<>();
+
+  /** The sizes of the submitted files */
+  private final Map<File, Long> submittedLengths = new LinkedHashMap<>();
+
+  /** The total size of the submitted files */
+  private long submittedBytes;
+
+  /**
+   * @param files the files to read ahead in the order recovery opens them
+   * @param windowBytes the number of bytes to read ahead of recovery
+   */
+  OplogRecoveryReadAhead(List<File> files, ExecutorService executor, long windowBytes,
+      DiskStoreStats stats) {
+    this.executor = executor;
+    this.stats = stats;
+    this.windowBytes = windowBytes;
+    this.pending = new ArrayDeque<>(files);
+    fillWindow();
+  }
+
+  /**
+   * Returns a stream of the contents of the given file, from memory if it has been read ahead and
+   * from disk otherwise. A file that has been read ahead is only returned from memory once.
+   *
+   * @see MappedOplogFile#openInputStream(File)
+   */
+  synchronized InputStream open(File file) throws FileNotFoundException {
+    Future<byte[]> future = null;
+    if (this.submitted.containsKey(file)) {
+      future = discardSubmittedUpTo(file);
+    } else if (this.pending.contains(file)) {
+      // recovery got ahead of the window
+      discardSubmittedUpTo(null);
+      while (!this.pending.poll().equals(file)) {
+        // recovery skipped these files
+      }
+    }
+    fillWindow();
+    if (future != null) {
+      byte[] bytes = getReadAhead(file, future);
+      if (bytes != null) {
+        return new ByteArrayInputStream(bytes);
+      }
+    }
+    return MappedOplogFile.openInputStream(file);
+  }
+
+  /**
+   * Discards the files that have not been opened and stops reading ahead.
+   */
+  synchronized void close() {
+    this.pending.clear();
+    for (Future<byte[]> future : this.submitted.values()) {
+      future.cancel(true);
+    }
+    this.submitted.clear();
+    this.submittedLengths.clear();
+    this.submittedBytes = 0;
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Takes the submitted files up to the given file out of the window and returns the read of the
+   * given file. The files before it were skipped by recovery, so their reads are cancelled. Takes
+   * all of the submitted files out of the window if the given file is null.
+   */
+  private Future<byte[]> discardSubmittedUpTo(File file) {
+    Iterator<Map.Entry<File, Future<byte[]>>> iterator = this.submitted.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<File, Future<byte[]>> entry = iterator.next();
+      iterator.remove();
+      this.submittedBytes -= this.submittedLengths.remove(entry.getKey());
+      if (entry.getKey().equals(file)) {
+        return entry.getValue();
+      }
+      entry.getValue().cancel(true);
+    }
+    return null;
+  }
+
+  private void fillWindow() {
+    while (!this.pending.isEmpty()) {
+      File file = this.pending.peek();
+      long length = file.length();
+      if (length == 0 || length > this.windowBytes) {
+        // recovery reads it from disk
+        this.pending.poll();
+        continue;
+      }
+      if (this.submittedBytes + length > this.windowBytes) {
+        return;
+      }
+      this.pending.poll();
+      this.submitted.put(file, this.executor.submit(() -> readAhead(file)));
+      this.submittedLengths.put(file, length);
+      this.submittedBytes += length;
+    }
+  }
+
+  private byte[] readAhead(File file) throws IOException {
+    long start = DistributionStats.getStatTime();
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    this.stats.endRecoveryReadAhead(start, bytes.length);
+    return bytes;
+  }
+
+  private byte[] getReadAhead(File file, Future<byte[]> future) {
+    long start = DistributionStats.getStatTime();
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } catch (ExecutionException e) {
+      // recovery reads the file itself and reports the failure if it fails again
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not read {} ahead of recovery", file, e.getCause());
+      }
+      return null;
+    } finally {
+      this.stats.endRecoveryReadAheadWait(start);
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.StringUtils;
+
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.internal.ClassPathLoader;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+/**
+ * OplogValueCompressor compresses the entry values that a disk store writes to its oplogs and
+ * decompresses them when they are read back. It compresses with the {@link Compressor} named by
+ * {@link SystemPropertyHelper#DISK_STORE_VALUE_COMPRESSOR}. That class is recorded in the disk
+ * store's init file before the first value is compressed and values are always decompressed with
+ * the recorded class, so a disk store can be recovered, validated or compacted without the system
+ * property and can not be opened with a different compressor. Each value is compressed on its own
+ * so that faulting it in still takes a single read of its record. A value is only written
+ * compressed if it is at least {@link #MIN_VALUE_BYTES} long and compressing it saves at least an
+ * eighth of its length, because every read of a compressed value also has to decompress it. The
+ * oplog record of a compressed value has the {@link EntryBits#isCompressed compressed} bit set.
+ */
+class OplogValueCompressor {
+
+  static final int MIN_VALUE_BYTES = 64;
+
+  /**
+   * Compresses the values that are written; null if values are written as they are.
+   */
+  private final Compressor compressor;
+
+  /**
+   * Decompresses the values that are read; null if the disk store has no compressed values.
+   */
+  private final Compressor decompressor;
+
+  private final DiskStoreStats stats;
+
+  OplogValueCompressor(Compressor compressor, DiskStoreStats stats) {
+    this(compressor, compressor, stats);
+  }
+
+  OplogValueCompressor(Compressor compressor, Compressor decompressor, DiskStoreStats stats) {
+    this.compressor = compressor;
+    this.decompressor = decompressor;
+    this.stats = stats;
+  }
+
+  /**
+   * Creates the value compressor of a disk store whose init file has just been recovered or
+   * created. If the system property names a compressor and the init file does not record one yet it
+   * is recorded now. An offline disk store only decompresses with the recorded compressor.
+   *
+   * @throws IllegalStateException if the system property names a different compressor than the one
+   *         recorded in the init file
+   */
+  static OplogValueCompressor create(DiskInitFile initFile, boolean offline,
+      DiskStoreStats stats) {
+    String recordedClassName = initFile.getValueCompressorClassName();
+    String configuredClassName = null;
+    if (!offline) {
+      configuredClassName = SystemPropertyHelper
+          .getProductStringProperty(SystemPropertyHelper.DISK_STORE_VALUE_COMPRESSOR)
+          .filter(StringUtils::isNotBlank).map(String::trim).orElse(null);
+    }
+    if (configuredClassName != null && recordedClassName != null
+        && !configuredClassName.equals(recordedClassName)) {
+      throw new IllegalStateException("The oplog values of disk store "
+          + initFile.getNameForError() + " are compressed with " + recordedClassName
+          + " but the system property " + SystemPropertyHelper.DISK_STORE_VALUE_COMPRESSOR
+          + " names " + configuredClassName);
+    }
+    Compressor decompressor = createCompressor(recordedClassName);
+    if (configuredClassName == null) {
+      return new OplogValueCompressor(null, decompressor, stats);
+    }
+    if (decompressor == null) {
+      decompressor = createCompressor(configuredClassName);
+      initFile.setValueCompressorClassName(configuredClassName);
+    }
+    return new OplogValueCompressor(decompressor, decompressor, stats);
+  }
+
+  private static Compressor createCompressor(String compressorClassName) {
+    if (StringUtils.isBlank(compressorClassName)) {
+      return null;
+    }
+    try {
+      return (Compressor) ClassPathLoader.getLatest().forName(compressorClassName.trim())
+          .newInstance();
+    } catch (ClassNotFoundException | InstantiationException | IllegalAccessException
+        | ClassCastException e) {
+      throw new IllegalArgumentException(LocalizedStrings.DiskInitFile_UNKNOWN_COMPRESSOR_0_FOUND
+          .toLocalizedString(compressorClassName), e);
+    }
+  }
+
+  boolean isEnabled() {
+    return this.compressor != null;
+  }
+
+  /**
+   * Returns the first length bytes of the given value compressed, or null if the value should be
+   * written as it is.
+   */
+  byte[] compress(byte[] bytes, int length) {
+    if (this.compressor == null || length < MIN_VALUE_BYTES) {
+      return null;
+    }
+    byte[] value = bytes.length == length ? bytes : Arrays.copyOf(bytes, length);
+    byte[] compressed = this.compressor.compress(value);
+    int saved = length - compressed.length;
+    if (saved < length / 8) {
+      return null;
+    }
+    this.stats.incCompressedValues(saved);
+    return compressed;
+  }
+
+  /**
+   * Returns the value that the given bytes, read from a record with the compressed bit set, were
+   * compressed from.
+   */
+  byte[] decompress(byte[] bytes) {
+    if (this.decompressor == null) {
+      throw new IllegalStateException(
+          "Found a compressed oplog value but the init file does not record a compressor");
+    }
+    long start = this.stats.startValueDecompression();
+    byte[] value = this.decompressor.decompress(bytes);
+    this.stats.endValueDecompression(start);
+    return value;
+  }
+}
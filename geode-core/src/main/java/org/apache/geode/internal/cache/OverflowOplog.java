@@ -334,6 +334,17 @@ class OverflowOplog implements CompactableOplog, Flushable {
     }
   }
 
+  @Override
+  public byte[] getBytes(DiskRegionView dr, long offsetInOplog, int length) {
+    long start = this.stats.startRead();
+    BytesAndBits bb = basicGet(dr, offsetInOplog, false, length, (byte) 0);
+    if (bb == null) {
+      return null;
+    }
+    dr.endRead(start, this.stats.endRead(start, length), length);
+    return bb.getBytes();
+  }
+
   void freeEntry(DiskEntry de) {
     rmLive(de);
   }
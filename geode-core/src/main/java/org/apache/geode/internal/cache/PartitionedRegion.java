@@ -3107,6 +3107,14 @@ public class PartitionedRegion extends LocalRegion
     }
   }
 
+  /**
+   * Gets on a partitioned region are always routed to the bucket that owns the key.
+   */
+  @Override
+  protected boolean isLocalGetFastPathEnabled() {
+    return false;
+  }
+
   public InternalDistributedMember getOrCreateNodeForBucketRead(int bucketId) {
     InternalDistributedMember targetNode = getNodeForBucketRead(bucketId);
     if (targetNode != null) {
@@ -15,8 +15,11 @@
 package org.apache.geode.internal.cache;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,6 +29,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -43,7 +48,9 @@ import org.apache.geode.internal.cache.persistence.DiskStoreFilter;
 import org.apache.geode.internal.cache.persistence.OplogType;
 import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.sequencelog.EntryLogger;
@@ -51,6 +58,12 @@ import org.apache.geode.internal.sequencelog.EntryLogger;
 public class PersistentOplogSet implements OplogSet {
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The number of bytes of drf and krf files that are read into memory ahead of recovery. Larger
+   * files are read from disk.
+   */
+  private static final long RECOVERY_READ_AHEAD_WINDOW_BYTES = 256L * 1024 * 1024;
+
   /** The active oplog * */
   protected volatile Oplog child;
 
@@ -86,6 +99,11 @@ public class PersistentOplogSet implements OplogSet {
    */
   private volatile long maxRecoveredOplogId = 0;
 
+  /**
+   * Reads the drf and krf files of the oplogs ahead of their first recovery
+   */
+  private volatile OplogRecoveryReadAhead recoveryReadAhead;
+
 
   public PersistentOplogSet(DiskStoreImpl parent) {
     this.parent = parent;
@@ -420,6 +438,7 @@ public class PersistentOplogSet implements OplogSet {
                 + prBuckets.get(me.getKey()));
           }
         }
+        closeRecoveryReadAhead();
         parent.getStats().endRecovery(start, byteCount);
         this.alreadyRecoveredOnce.set(true);
         this.currentRecoveryMap.clear();
@@ -443,6 +462,9 @@ public class PersistentOplogSet implements OplogSet {
     }
     if (oplogSet.size() > 0) {
       long startOpLogRecovery = System.currentTimeMillis();
+      if (!this.alreadyRecoveredOnce.get()) {
+        this.recoveryReadAhead = createRecoveryReadAhead(oplogSet);
+      }
       // first figure out all entries that have been destroyed
       boolean latestOplog = true;
       for (Oplog oplog : oplogSet) {
@@ -477,6 +499,8 @@ public class PersistentOplogSet implements OplogSet {
       long endOpLogRecovery = System.currentTimeMillis();
       long elapsed = endOpLogRecovery - startOpLogRecovery;
       logger.info(LocalizedMessage.create(LocalizedStrings.DiskRegion_OPLOG_LOAD_TIME, elapsed));
+      parent.getStats().setOplogRecoveryThroughput(elapsed, byteCount);
+      closeRecoveryReadAhead();
     }
     if (!parent.isOfflineCompacting()) {
       long startRegionInit = System.currentTimeMillis();
@@ -524,6 +548,60 @@ public class PersistentOplogSet implements OplogSet {
     return byteCount;
   }
 
+  /**
+   * Returns a stream of the given oplog file for recovery to read.
+   */
+  InputStream openForRecovery(File file) throws FileNotFoundException {
+    OplogRecoveryReadAhead readAhead = this.recoveryReadAhead;
+    if (readAhead != null) {
+      return readAhead.open(file);
+    }
+    return MappedOplogFile.openInputStream(file);
+  }
+
+  /**
+   * Starts reading the drf files, and the krf files recovery will read, of the given oplogs in the
+   * order that recovery reads them. Recovery itself still applies the oplogs one at a time, so this
+   * only overlaps reading the files of the next oplogs with rebuilding the regions from the current
+   * one.
+   */
+  private OplogRecoveryReadAhead createRecoveryReadAhead(Collection<Oplog> oplogs) {
+    int threads = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.DISK_STORE_RECOVERY_READ_AHEAD_THREADS)
+        .orElse(Math.min(Runtime.getRuntime().availableProcessors(), 4));
+    if (threads <= 0 || oplogs.size() < 2) {
+      return null;
+    }
+    List<File> files = new ArrayList<File>();
+    for (Oplog oplog : oplogs) {
+      if (oplog.getDrfFile() != null) {
+        files.add(oplog.getDrfFile());
+      }
+    }
+    if (!recoverValuesSync() && (!parent.isOffline() || parent.FORCE_KRF_RECOVERY)) {
+      for (Oplog oplog : oplogs) {
+        File krfFile = oplog.getRecoveryKrfFile();
+        if (krfFile != null) {
+          files.add(krfFile);
+        }
+      }
+    }
+    final ThreadGroup readAheadThreadGroup =
+        LoggingThreadGroup.createThreadGroup("Oplog Recovery Read Ahead Thread Group", logger);
+    ExecutorService executor = Executors.newFixedThreadPool(threads,
+        GemfireCacheHelper.CreateThreadFactory(readAheadThreadGroup, "Oplog Recovery Read Ahead"));
+    return new OplogRecoveryReadAhead(files, executor, RECOVERY_READ_AHEAD_WINDOW_BYTES,
+        parent.getStats());
+  }
+
+  private void closeRecoveryReadAhead() {
+    OplogRecoveryReadAhead readAhead = this.recoveryReadAhead;
+    if (readAhead != null) {
+      this.recoveryReadAhead = null;
+      readAhead.close();
+    }
+  }
+
   protected boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
@@ -1035,27 +1113,25 @@ public class PersistentOplogSet implements OplogSet {
   }
 
   /**
-   * Add compactable oplogs to the list, up to the maximum size.
+   * Adds up to max of the oplogs that need compaction to the given list, the oplogs with the most
+   * garbage first. Oplogs with the same amount of garbage are added oldest first.
    */
   public void getCompactableOplogs(List<CompactableOplog> l, int max) {
+    List<Oplog> compactable = new ArrayList<>();
+    // the live ratios keep changing, so sort by a snapshot of them
+    Map<Oplog, Double> liveRatios = new HashMap<>();
     synchronized (this.oplogIdToOplog) {
-      // Sort this list so we compact the oldest first instead of the one
-      // that was
-      // compactable first.
-      // ArrayList<CompactableOplog> l = new
-      // ArrayList<CompactableOplog>(this.oplogIdToOplog.values());
-      // Collections.sort(l);
-      // Iterator<Oplog> itr = l.iterator();
-      {
-        Iterator<Oplog> itr = this.oplogIdToOplog.values().iterator();
-        while (itr.hasNext() && l.size() < max) {
-          Oplog oplog = itr.next();
-          if (oplog.needsCompaction()) {
-            l.add(oplog);
-          }
+      for (Oplog oplog : this.oplogIdToOplog.values()) {
+        if (oplog.needsCompaction()) {
+          compactable.add(oplog);
+          liveRatios.put(oplog, oplog.getLiveRatio());
         }
       }
     }
+    compactable.sort(Comparator.comparingDouble(liveRatios::get));
+    for (int i = 0; i < compactable.size() && l.size() < max; i++) {
+      l.add(compactable.get(i));
+    }
   }
 
   public void scheduleForRecovery(DiskRecoveryStore drs) {
@@ -914,6 +914,11 @@ class ProxyRegionMap implements RegionMap {
     return 0;
   }
 
+  @Override
+  public long centralizedLruUpdateCallback(long bytesToEvict) {
+    return 0;
+  }
+
   @Override
   public void updateEvictionCounter() {}
 
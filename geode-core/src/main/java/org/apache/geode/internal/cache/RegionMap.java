@@ -66,6 +66,12 @@ public interface RegionMap extends EvictableMap {
 
     /** whether "api" statistics are enabled */
     boolean statisticsEnabled = false;
+
+    /**
+     * {@link Long} or {@link Integer} if the entries should be stored in a map keyed by primitive
+     * longs; null to use the general purpose map.
+     */
+    Class<?> primitiveKeyClass = null;
   }
 
   RegionEntryFactory getEntryFactory();
@@ -366,6 +372,14 @@ public interface RegionMap extends EvictableMap {
 
   int centralizedLruUpdateCallback();
 
+  /**
+   * Evicts entries until at least the given number of bytes have been evicted, the heap is no
+   * longer above its eviction threshold, or there is nothing left to evict.
+   *
+   * @return the number of bytes evicted
+   */
+  long centralizedLruUpdateCallback(long bytesToEvict);
+
   void updateEvictionCounter();
 
   ConcurrentMapWithReusableEntries<Object, Object> getCustomEntryConcurrentHashMap();
@@ -59,7 +59,7 @@ public class RegionStatus implements Serializable {
     setNumberOfEntries(region.size());
 
     EvictionAttributes ea = region.getAttributes().getEvictionAttributes();
-    if (ea != null && ea.getAlgorithm().isLRUMemory()) {
+    if (ea != null && (ea.getAlgorithm().isLRUMemory() || ea.getAlgorithm().isLFUMemory())) {
       setHeapSize(((InternalRegion) region).getEvictionCounter());
     } else {
       setHeapSize(-1);
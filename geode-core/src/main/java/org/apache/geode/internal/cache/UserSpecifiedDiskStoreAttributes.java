@@ -32,6 +32,7 @@ import org.apache.geode.internal.Assert;
 public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
   private boolean hasAutoCompact = false;
   private boolean hasCompactionThreshold = false;
+  private boolean hasCompactionRateLimit = false;
   private boolean hasAllowForceCompaction = false;
   private boolean hasMaxOplogSize = false;
   private boolean hasTimeInterval = false;
@@ -41,7 +42,7 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
   private boolean hasDiskDirSizes = false;
   private boolean hasDiskUsageWarningPercentage = false;
   private boolean hasDiskUsageCriticalPercentage = false;
-  private static final int HAS_COUNT = 11;
+  private static final int HAS_COUNT = 12;
 
   public boolean hasAutoCompact() {
     return hasAutoCompact;
@@ -51,6 +52,10 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
     return hasCompactionThreshold;
   }
 
+  public boolean hasCompactionRateLimit() {
+    return hasCompactionRateLimit;
+  }
+
   public boolean hasAllowForceCompaction() {
     return hasAllowForceCompaction;
   }
@@ -95,6 +100,10 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
     this.hasCompactionThreshold = hasCompactionThreshold;
   }
 
+  public void setHasCompactionRateLimit(boolean hasCompactionRateLimit) {
+    this.hasCompactionRateLimit = hasCompactionRateLimit;
+  }
+
   public void setHasAllowForceCompaction(boolean hasAllowForceCompaction) {
     this.hasAllowForceCompaction = hasAllowForceCompaction;
   }
@@ -162,7 +162,8 @@ public class VMLRURegionMap extends AbstractRegionMap {
   public boolean beginChangeValueForm(EvictableEntry le, CachedDeserializable cd, Object v) {
     // make sure this cached deserializable is still in the entry
     {
-      if (getEvictionController().getEvictionAlgorithm().isLRUEntry()) {
+      EvictionAlgorithm algorithm = getEvictionController().getEvictionAlgorithm();
+      if (algorithm.isLRUEntry() || algorithm.isLFUEntry()) {
         // no need to worry about the value changing form with entry LRU.
         return false;
       }
@@ -525,9 +526,14 @@ public class VMLRURegionMap extends AbstractRegionMap {
 
   @Override
   public int centralizedLruUpdateCallback() {
+    return (int) centralizedLruUpdateCallback(1);
+  }
+
+  @Override
+  public long centralizedLruUpdateCallback(long bytesToEvict) {
     final boolean isDebugEnabled_LRU = logger.isTraceEnabled(LogMarker.LRU);
 
-    int evictedBytes = 0;
+    long evictedBytes = 0;
     if (getCallbackDisabled()) {
       return evictedBytes;
     }
@@ -539,11 +545,12 @@ public class VMLRURegionMap extends AbstractRegionMap {
     }
     EvictionCounters stats = getEvictionList().getStatistics();
     try {
-      while (mustEvict() && evictedBytes == 0) {
+      while (mustEvict() && evictedBytes < bytesToEvict) {
         EvictableEntry removalEntry = getEvictionList().getEvictableEntry();
         if (removalEntry != null) {
-          evictedBytes = evictEntry(removalEntry, stats);
-          if (evictedBytes != 0) {
+          int entryBytes = evictEntry(removalEntry, stats);
+          if (entryBytes != 0) {
+            evictedBytes += entryBytes;
             _getOwner().incBucketEvictions();
             stats.incEvictions();
             if (isDebugEnabled_LRU) {
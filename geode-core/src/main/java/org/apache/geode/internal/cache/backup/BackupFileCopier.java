@@ -153,15 +153,20 @@ public class BackupFileCopier {
     backupDefinition.addDiskInitFile(diskStore, subDir.resolve(diskInitFile.getName()));
   }
 
-  void copyOplog(DiskStore diskStore, Oplog oplog) throws IOException {
+  /**
+   * Copies the files of the given oplog and returns the ones that were copied.
+   */
+  Set<File> copyOplog(DiskStore diskStore, Oplog oplog) throws IOException {
+    Set<File> oplogFilesBackedUp = new HashSet<>();
     DirectoryHolder dirHolder = oplog.getDirectoryHolder();
-    copyOplogFile(diskStore, dirHolder, oplog.getCrfFile());
-    copyOplogFile(diskStore, dirHolder, oplog.getDrfFile());
-    copyOplogFile(diskStore, dirHolder, oplog.getKrfFile());
+    copyOplogFile(diskStore, dirHolder, oplog.getCrfFile(), oplogFilesBackedUp);
+    copyOplogFile(diskStore, dirHolder, oplog.getDrfFile(), oplogFilesBackedUp);
+    copyOplogFile(diskStore, dirHolder, oplog.getKrfFile(), oplogFilesBackedUp);
+    return oplogFilesBackedUp;
   }
 
-  private void copyOplogFile(DiskStore diskStore, DirectoryHolder dirHolder, File file)
-      throws IOException {
+  private void copyOplogFile(DiskStore diskStore, DirectoryHolder dirHolder, File file,
+      Set<File> oplogFilesBackedUp) throws IOException {
     if (file == null || !file.exists()) {
       return;
     }
@@ -175,6 +180,7 @@ public class BackupFileCopier {
       FileUtils.copyFileToDirectory(file, tempDiskDir.toFile());
     }
     backupDefinition.addOplogFileToBackup(diskStore, tempDiskDir.resolve(file.getName()));
+    oplogFilesBackedUp.add(file);
   }
 
   // package access for testing purposes only
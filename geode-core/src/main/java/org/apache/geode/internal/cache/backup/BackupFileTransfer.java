@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.backup;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.GemfireCacheHelper;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
+
+/**
+ * BackupFileTransfer moves the files of a backup from their temporary location to the backup
+ * directory. A file that can be renamed into the backup directory is renamed. Otherwise, usually
+ * because the backup directory is on another file system, the file is copied in chunks of
+ * {@link #CHUNK_BYTES} bytes and then deleted. Several files are copied in parallel, and all of
+ * the copies together are limited to the configured rate, so that a backup does not take all of
+ * the bandwidth of the disks that the member writes its oplogs to. The throughput of each copied
+ * file is logged.
+ */
+class BackupFileTransfer {
+  private static final Logger logger = LogService.getLogger();
+
+  static final int DEFAULT_THREADS = 4;
+
+  static final int CHUNK_BYTES = 1024 * 1024;
+
+  private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final int threads;
+
+  private final int megabytesPerSecond;
+
+  /**
+   * The time at which the bytes copied so far have been copied at the limited rate.
+   */
+  private long nextFreeNanos = System.nanoTime();
+
+  private final AtomicLong bytesCopied = new AtomicLong();
+
+  BackupFileTransfer(int threads, int megabytesPerSecond) {
+    this.threads = Math.max(1, threads);
+    this.megabytesPerSecond = megabytesPerSecond;
+  }
+
+  /**
+   * Returns a BackupFileTransfer with the number of threads and rate limit configured with system
+   * properties.
+   */
+  static BackupFileTransfer create() {
+    int threads = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.BACKUP_COPY_THREADS)
+        .orElse(DEFAULT_THREADS);
+    int megabytesPerSecond = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.BACKUP_COPY_RATE_LIMIT).orElse(0);
+    return new BackupFileTransfer(threads, megabytesPerSecond);
+  }
+
+  int getThreads() {
+    return threads;
+  }
+
+  int getRate() {
+    return megabytesPerSecond;
+  }
+
+  /**
+   * Returns the number of bytes that have been copied, as opposed to renamed.
+   */
+  long getBytesCopied() {
+    return bytesCopied.get();
+  }
+
+  /**
+   * Moves each of the given files or directories to its target, in parallel, and waits until all
+   * of them have been moved.
+   *
+   * @param moves the targets keyed by the files or directories to move
+   * @throws IOException if one of the files could not be moved
+   */
+  void moveAll(Map<Path, Path> moves) throws IOException {
+    if (threads == 1 || moves.size() < 2) {
+      for (Map.Entry<Path, Path> move : moves.entrySet()) {
+        move(move.getKey(), move.getValue());
+      }
+      return;
+    }
+    ExecutorService executor = createExecutor(Math.min(threads, moves.size()));
+    try {
+      List<Future<Void>> futures = new ArrayList<>(moves.size());
+      for (Map.Entry<Path, Path> move : moves.entrySet()) {
+        futures.add(executor.submit(() -> {
+          move(move.getKey(), move.getValue());
+          return null;
+        }));
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while copying backup files");
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw new IOException("Unable to copy backup files", e.getCause());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ExecutorService createExecutor(int threads) {
+    ThreadGroup group = LoggingThreadGroup.createThreadGroup("Backup Copy Thread Group", logger);
+    ThreadFactory threadFactory = GemfireCacheHelper.CreateThreadFactory(group, "Backup Copy");
+    return Executors.newFixedThreadPool(threads, threadFactory);
+  }
+
+  /**
+   * Moves the given file or directory to the given target. Fails if the target already exists.
+   */
+  void move(Path source, Path target) throws IOException {
+    if (Files.isDirectory(source)) {
+      FileUtils.moveDirectory(source.toFile(), target.toFile());
+      return;
+    }
+    // an atomic move may replace an existing target
+    if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+      throw new FileAlreadyExistsException(target.toString());
+    }
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      copy(source, target);
+      Files.delete(source);
+    }
+  }
+
+  /**
+   * Copies the given file to the given target at the limited rate.
+   */
+  void copy(Path source, Path target) throws IOException {
+    long start = System.nanoTime();
+    long size;
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel out =
+            FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      long position = 0;
+      while (position < in.size()) {
+        long transferred =
+            in.transferTo(position, Math.min(CHUNK_BYTES, in.size() - position), out);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+        pause(reserve(transferred));
+      }
+      size = position;
+    }
+    Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+    bytesCopied.addAndGet(size);
+    logThroughput(source, size, System.nanoTime() - start);
+  }
+
+  /**
+   * Reserves the given number of bytes and returns how many nanoseconds the caller has to pause
+   * before it has copied them at the limited rate.
+   */
+  synchronized long reserve(long bytes) {
+    long now = System.nanoTime();
+    if (megabytesPerSecond <= 0) {
+      return 0;
+    }
+    if (nextFreeNanos - now < 0) {
+      nextFreeNanos = now;
+    }
+    nextFreeNanos += (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1)
+        / (megabytesPerSecond * BYTES_PER_MEGABYTE));
+    return nextFreeNanos - now;
+  }
+
+  private void pause(long nanos) throws InterruptedIOException {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while copying backup files");
+    }
+  }
+
+  private void logThroughput(Path file, long bytes, long nanos) {
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    double seconds = Math.max(nanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+    logger.debug("Copied {} ({} bytes) to the backup in {} ms at {} MB/s", file.getFileName(),
+        bytes, TimeUnit.NANOSECONDS.toMillis(nanos),
+        String.format("%.1f", (double) bytes / BYTES_PER_MEGABYTE / seconds));
+  }
+}
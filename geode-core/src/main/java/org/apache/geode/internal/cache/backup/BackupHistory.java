@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.backup;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.geode.internal.cache.persistence.DiskStoreID;
+
+/**
+ * BackupHistory remembers, for each disk store, the oplog files that the last completed backup of
+ * this member holds or refers to. Oplogs are never written to again once they have been rolled, so
+ * an oplog that is in a backup stays unchanged until it is deleted. An incremental backup whose
+ * baseline is the last completed backup gets the oplogs that are already backed up from here,
+ * instead of listing the files of the baseline and reading the restore scripts of its baselines.
+ * Only the oplogs created since the baseline are then copied. The remembered files are only used
+ * while all of them still exist, since a backup can be pruned or moved after it completed.
+ */
+class BackupHistory {
+  private final Map<DiskStoreID, CompletedBackup> lastBackups = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the oplog files of the given disk store that are in the given backup, or null if the
+   * given backup is not the last completed backup of the disk store or if any of its oplog files no
+   * longer exists.
+   *
+   * @param backupDir the directory of this member in the backup
+   */
+  Collection<File> getBackedUpOplogFiles(DiskStoreID diskStoreId, File backupDir) {
+    CompletedBackup lastBackup = lastBackups.get(diskStoreId);
+    if (lastBackup == null || !lastBackup.backupDir.equals(normalize(backupDir))) {
+      return null;
+    }
+    for (File file : lastBackup.oplogFiles.values()) {
+      if (!file.exists()) {
+        lastBackups.remove(diskStoreId, lastBackup);
+        return null;
+      }
+    }
+    return lastBackup.oplogFiles.values();
+  }
+
+  /**
+   * Records a completed backup of the given disk store.
+   *
+   * @param backupDir the directory of this member in the backup
+   * @param oplogFiles the oplog files in the backup, or in its baselines, of all the oplogs of the
+   *        disk store that were backed up
+   */
+  void backupCompleted(DiskStoreID diskStoreId, File backupDir, Collection<File> oplogFiles) {
+    Map<String, File> filesByName = new HashMap<>();
+    for (File file : oplogFiles) {
+      filesByName.put(file.getName(), file);
+    }
+    lastBackups.put(diskStoreId,
+        new CompletedBackup(normalize(backupDir), Collections.unmodifiableMap(filesByName)));
+  }
+
+  private static Path normalize(File dir) {
+    return dir.toPath().toAbsolutePath().normalize();
+  }
+
+  private static class CompletedBackup {
+    private final Path backupDir;
+    private final Map<String, File> oplogFiles;
+
+    CompletedBackup(Path backupDir, Map<String, File> oplogFiles) {
+      this.backupDir = backupDir;
+      this.oplogFiles = oplogFiles;
+    }
+  }
+}
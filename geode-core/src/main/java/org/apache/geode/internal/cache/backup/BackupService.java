@@ -46,6 +46,7 @@ public class BackupService {
   private final ExecutorService executor;
   private final MembershipListener membershipListener = new BackupMembershipListener();
   private final InternalCache cache;
+  private final BackupHistory backupHistory = new BackupHistory();
 
   private transient Future<HashSet<PersistentID>> taskFuture;
 
@@ -74,7 +75,7 @@ public class BackupService {
   public HashSet<PersistentID> prepareBackup(InternalDistributedMember sender, File targetDir,
       File baselineDir) throws IOException, InterruptedException {
     validateRequestingAdmin(sender);
-    BackupTask backupTask = new BackupTask(cache, targetDir, baselineDir);
+    BackupTask backupTask = new BackupTask(cache, targetDir, baselineDir, backupHistory);
     if (!currentTask.compareAndSet(null, backupTask)) {
       throw new IOException("Another backup already in progress");
     }
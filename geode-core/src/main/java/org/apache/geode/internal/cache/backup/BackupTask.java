@@ -53,6 +53,7 @@ public class BackupTask {
   private static final String USER_FILES = "user";
 
   private final Map<DiskStoreImpl, DiskStoreBackup> backupByDiskStore = new HashMap<>();
+  private final Map<DiskStoreImpl, Set<File>> oplogFilesByDiskStore = new HashMap<>();
   private final RestoreScript restoreScript = new RestoreScript();
   private final InternalCache cache;
   private final CountDownLatch allowDestroys = new CountDownLatch(1);
@@ -62,16 +63,19 @@ public class BackupTask {
   private final HashSet<PersistentID> diskStoresWithData = new HashSet<>();
   private final File targetDir;
   private final File baselineDir;
+  private final BackupHistory backupHistory;
 
   private volatile boolean isCancelled = false;
 
   private TemporaryBackupFiles temporaryFiles;
   private BackupFileCopier fileCopier;
 
-  BackupTask(InternalCache gemFireCache, File targetDir, File baselineDir) {
+  BackupTask(InternalCache gemFireCache, File targetDir, File baselineDir,
+      BackupHistory backupHistory) {
     this.cache = gemFireCache;
     this.targetDir = targetDir;
     this.baselineDir = baselineDir;
+    this.backupHistory = backupHistory;
     memberId = getCleanedMemberId();
   }
 
@@ -144,6 +148,7 @@ public class BackupTask {
         BackupDestination backupDestination =
             new FileSystemBackupDestination(memberBackupDir.toPath());
         backupDestination.backupFiles(backupDefinition);
+        recordCompletedBackups(memberBackupDir);
       }
 
       return persistentIds;
@@ -152,6 +157,20 @@ public class BackupTask {
     }
   }
 
+  /**
+   * Remembers the oplog files of this backup so that the next incremental backup, whose baseline
+   * is this backup, does not have to compare its oplogs with the files in this backup.
+   */
+  private void recordCompletedBackups(File memberBackupDir) {
+    if (isCancelled()) {
+      return;
+    }
+    for (Map.Entry<DiskStoreImpl, Set<File>> entry : oplogFilesByDiskStore.entrySet()) {
+      backupHistory.backupCompleted(entry.getKey().getDiskStoreID(), memberBackupDir,
+          entry.getValue());
+    }
+  }
+
   private HashSet<PersistentID> finishDiskStoreBackups(
       Map<DiskStoreImpl, DiskStoreBackup> backupByDiskStores) throws IOException {
     HashSet<PersistentID> persistentIds = new HashSet<>();
@@ -307,7 +326,8 @@ public class BackupTask {
           break;
         }
         oplog.finishKrf();
-        fileCopier.copyOplog(diskStore, oplog);
+        Set<File> oplogFiles = fileCopier.copyOplog(diskStore, oplog);
+        addBackedUpOplogFiles(diskStore, oplogFiles, backup.getTargetDir());
 
         // Allow the oplog to be deleted, and process any pending delete
         backup.backupFinished(oplog);
@@ -317,6 +337,25 @@ public class BackupTask {
     }
   }
 
+  /**
+   * Adds the locations in this backup of the given oplog files of the disk store.
+   */
+  private void addBackedUpOplogFiles(DiskStoreImpl diskStore, Set<File> oplogFiles,
+      File diskStoreBackupDir) {
+    // the backup destination puts all of the oplogs of a disk store in the directory of its init
+    // file
+    File oplogBackupDir =
+        getBackupDirForCurrentMember(diskStoreBackupDir, diskStore.getInforFileDirIndex());
+    Set<File> backedUpFiles = getBackedUpOplogFiles(diskStore);
+    for (File file : oplogFiles) {
+      backedUpFiles.add(new File(oplogBackupDir, file.getName()));
+    }
+  }
+
+  private Set<File> getBackedUpOplogFiles(DiskStoreImpl diskStore) {
+    return oplogFilesByDiskStore.computeIfAbsent(diskStore, k -> new HashSet<>());
+  }
+
   /**
    * Returns the dir name used to back up this DiskStore's directories under. The name is a
    * concatenation of the disk store name and id.
@@ -422,13 +461,20 @@ public class BackupTask {
    * @return an array of Oplogs to be copied for an incremental backup.
    */
   private Oplog[] filterBaselineOplogs(DiskStoreImpl diskStore, BackupInspector baselineInspector) {
-    File baselineDir = new File(baselineInspector.getBackupDir(), DATA_STORES_DIRECTORY);
-    baselineDir = new File(baselineDir, getBackupDirName(diskStore));
-
-    // Find all of the member's diskstore oplogs in the member's baseline
-    // diskstore directory structure (*.crf,*.krf,*.drf)
-    Collection<File> baselineOplogFiles =
-        FileUtils.listFiles(baselineDir, new String[] {"krf", "drf", "crf"}, true);
+    // If the baseline is the last backup of this disk store, and its files are all still there,
+    // we already know its oplog files, including the ones it only refers to in its own baselines
+    Collection<File> baselineOplogFiles = backupHistory
+        .getBackedUpOplogFiles(diskStore.getDiskStoreID(), baselineInspector.getBackupDir());
+    boolean knownBaseline = baselineOplogFiles != null;
+    if (!knownBaseline) {
+      File baselineDir = new File(baselineInspector.getBackupDir(), DATA_STORES_DIRECTORY);
+      baselineDir = new File(baselineDir, getBackupDirName(diskStore));
+
+      // Find all of the member's diskstore oplogs in the member's baseline
+      // diskstore directory structure (*.crf,*.krf,*.drf)
+      baselineOplogFiles =
+          FileUtils.listFiles(baselineDir, new String[] {"krf", "drf", "crf"}, true);
+    }
     // Our list of oplogs to copy (those not already in the baseline)
     List<Oplog> oplogList = new LinkedList<>();
 
@@ -441,7 +487,7 @@ public class BackupTask {
       Map<File, File> oplogMap = log.mapBaseline(baselineOplogFiles);
 
       // No? Then see if they were backed up in previous baselines
-      if (oplogMap.isEmpty() && baselineInspector.isIncremental()) {
+      if (oplogMap.isEmpty() && !knownBaseline && baselineInspector.isIncremental()) {
         oplogMap = addBaselineOplogToRestoreScript(baselineInspector, log);
       }
 
@@ -454,6 +500,7 @@ public class BackupTask {
          * or restore script into the current one.
          */
         restoreScript.addBaselineFiles(oplogMap);
+        getBackedUpOplogFiles(diskStore).addAll(oplogMap.keySet());
       }
     }
 
@@ -20,10 +20,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
-
 import org.apache.geode.cache.DiskStore;
 import org.apache.geode.internal.cache.DiskStoreImpl;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
@@ -33,9 +32,15 @@ public class FileSystemBackupDestination implements BackupDestination {
   static final String INCOMPLETE_BACKUP_FILE = "INCOMPLETE_BACKUP_FILE";
 
   private final Path backupDir;
+  private final BackupFileTransfer fileTransfer;
 
   FileSystemBackupDestination(Path backupDir) {
+    this(backupDir, BackupFileTransfer.create());
+  }
+
+  FileSystemBackupDestination(Path backupDir, BackupFileTransfer fileTransfer) {
     this.backupDir = backupDir;
+    this.fileTransfer = fileTransfer;
   }
 
   @Override
@@ -47,10 +52,13 @@ public class FileSystemBackupDestination implements BackupDestination {
   }
 
   private void backupAllFilesets(BackupDefinition backupDefinition) throws IOException {
-    backupUserFiles(backupDefinition.getUserFiles());
-    backupDeployedJars(backupDefinition.getDeployedJars());
-    backupConfigFiles(backupDefinition.getConfigFiles());
-    backupOplogs(backupDefinition.getOplogFilesByDiskStore());
+    // the files are moved all at once so that they are copied in parallel
+    Map<Path, Path> moves = new LinkedHashMap<>();
+    backupUserFiles(backupDefinition.getUserFiles(), moves);
+    backupDeployedJars(backupDefinition.getDeployedJars(), moves);
+    backupConfigFiles(backupDefinition.getConfigFiles(), moves);
+    backupOplogs(backupDefinition.getOplogFilesByDiskStore(), moves);
+    fileTransfer.moveAll(moves);
     backupDiskInitFiles(backupDefinition.getDiskInitFiles());
     RestoreScript script = backupDefinition.getRestoreScript();
     if (script != null) {
@@ -79,30 +87,34 @@ public class FileSystemBackupDestination implements BackupDestination {
     }
   }
 
-  private void backupUserFiles(Collection<Path> userFiles) throws IOException {
+  private void backupUserFiles(Collection<Path> userFiles, Map<Path, Path> moves)
+      throws IOException {
     Path userDirectory = backupDir.resolve(USER_FILES_DIRECTORY);
     Files.createDirectories(userDirectory);
-    moveFilesOrDirectories(userFiles, userDirectory);
+    moveFilesOrDirectories(userFiles, userDirectory, moves);
   }
 
-  private void backupDeployedJars(Collection<Path> jarFiles) throws IOException {
+  private void backupDeployedJars(Collection<Path> jarFiles, Map<Path, Path> moves)
+      throws IOException {
     Path jarsDirectory = backupDir.resolve(DEPLOYED_JARS_DIRECTORY);
     Files.createDirectories(jarsDirectory);
-    moveFilesOrDirectories(jarFiles, jarsDirectory);
+    moveFilesOrDirectories(jarFiles, jarsDirectory, moves);
   }
 
-  private void backupConfigFiles(Collection<Path> configFiles) throws IOException {
+  private void backupConfigFiles(Collection<Path> configFiles, Map<Path, Path> moves)
+      throws IOException {
     Path configDirectory = backupDir.resolve(CONFIG_DIRECTORY);
     Files.createDirectories(configDirectory);
-    moveFilesOrDirectories(configFiles, configDirectory);
+    moveFilesOrDirectories(configFiles, configDirectory, moves);
   }
 
-  private void backupOplogs(Map<DiskStore, Collection<Path>> oplogFiles) throws IOException {
+  private void backupOplogs(Map<DiskStore, Collection<Path>> oplogFiles, Map<Path, Path> moves)
+      throws IOException {
     for (Map.Entry<DiskStore, Collection<Path>> entry : oplogFiles.entrySet()) {
       for (Path path : entry.getValue()) {
         int index = ((DiskStoreImpl) entry.getKey()).getInforFileDirIndex();
         Path backupDir = createOplogBackupDir(entry.getKey(), index);
-        backupOplog(backupDir, path);
+        moves.put(path, backupDir.resolve(path.getFileName()));
       }
     }
   }
@@ -123,23 +135,10 @@ public class FileSystemBackupDestination implements BackupDestination {
     return oplogBackupDir;
   }
 
-  private void backupOplog(Path targetDir, Path path) throws IOException {
-    backupFile(targetDir, path.toFile());
-  }
-
-  private void backupFile(Path targetDir, File file) throws IOException {
-    Files.move(file.toPath(), targetDir.resolve(file.getName()));
-  }
-
-  private void moveFilesOrDirectories(Collection<Path> paths, Path targetDirectory)
-      throws IOException {
+  private void moveFilesOrDirectories(Collection<Path> paths, Path targetDirectory,
+      Map<Path, Path> moves) {
     for (Path userFile : paths) {
-      Path destination = targetDirectory.resolve(userFile.getFileName());
-      if (Files.isDirectory(userFile)) {
-        FileUtils.moveDirectory(userFile.toFile(), destination.toFile());
-      } else {
-        Files.move(userFile, destination);
-      }
+      moves.put(userFile, targetDirectory.resolve(userFile.getFileName()));
     }
   }
 }
@@ -122,6 +122,9 @@ public abstract class AbstractRegionEntry implements HashRegionEntry<Object, Obj
 
   private static final long UPDATE_IN_PROGRESS = 0x02L << 56;
 
+  /** Set while the entry is on the expiration timer wheel of its region. */
+  private static final long EXPIRATION_SCHEDULED = 0x04L << 56;
+
   private static final long LISTENER_INVOCATION_IN_PROGRESS = 0x08L << 56;
 
   /** used for LRUEntry instances. */
@@ -1253,6 +1256,12 @@ public abstract class AbstractRegionEntry implements HashRegionEntry<Object, Obj
 
   private static final long LAST_MODIFIED_MASK = 0x00FFFFFFFFFFFFFFL;
 
+  /**
+   * Versioned entries that keep statistics only use the low 48 bits of their last accessed field
+   * for the time. The high bits hold part of the entry's version.
+   */
+  protected static final long LAST_ACCESSED_TIME_MASK = 0x0000FFFFFFFFFFFFL;
+
   protected void _setLastModified(long lastModifiedTime) {
     if (lastModifiedTime < 0 || lastModifiedTime > LAST_MODIFIED_MASK) {
       throw new IllegalStateException("Expected lastModifiedTime " + lastModifiedTime
@@ -1308,6 +1317,30 @@ public abstract class AbstractRegionEntry implements HashRegionEntry<Object, Obj
     } while (!done);
   }
 
+  /**
+   * Marks this entry as being on the expiration timer wheel of its region. Returns false if it
+   * already was, in which case the caller must not add it to the wheel again.
+   */
+  public boolean setExpirationScheduled() {
+    boolean done;
+    do {
+      long bits = getLastModifiedField();
+      if ((bits & EXPIRATION_SCHEDULED) != 0L) {
+        return false;
+      }
+      done = compareAndSetLastModifiedField(bits, bits | EXPIRATION_SCHEDULED);
+    } while (!done);
+    return true;
+  }
+
+  public void clearExpirationScheduled() {
+    clearBits(~EXPIRATION_SCHEDULED);
+  }
+
+  public boolean isExpirationScheduled() {
+    return areAnyBitsSet(EXPIRATION_SCHEDULED);
+  }
+
   @Override
   @Retained(ABSTRACT_REGION_ENTRY_PREPARE_VALUE_FOR_CACHE)
   public Object prepareValueForCache(RegionEntryContext r,
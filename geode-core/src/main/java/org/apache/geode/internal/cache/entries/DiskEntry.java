@@ -589,6 +589,22 @@ public interface DiskEntry extends RegionEntry {
       }
     }
 
+    /**
+     * Wraps the bytes of a value that an oplog writes compressed. Its user bits have the compressed
+     * bit set so that the value is decompressed when it is read back.
+     */
+    public static class CompressedValueWrapper extends ByteArrayValueWrapper {
+
+      public CompressedValueWrapper(boolean isSerializedObject, byte[] compressedBytes) {
+        super(isSerializedObject, compressedBytes);
+      }
+
+      @Override
+      public byte getUserBits() {
+        return EntryBits.setCompressed(super.getUserBits(), true);
+      }
+    }
+
     /**
      * This class is a bit of a hack used by the compactor. For the compactor always copies to a
      * byte[] so this class is just a simple wrapper. It is possible that the length of the byte
@@ -1158,23 +1174,72 @@ public interface DiskEntry extends RegionEntry {
         // if a bucket region then create a CachedDeserializable here instead of object
         value = dr.getRaw(did); // fix bug 40192
         if (value instanceof BytesAndBits) {
-          BytesAndBits bb = (BytesAndBits) value;
-          if (EntryBits.isInvalid(bb.getBits())) {
-            value = Token.INVALID;
-          } else if (EntryBits.isLocalInvalid(bb.getBits())) {
-            value = Token.LOCAL_INVALID;
-          } else if (EntryBits.isTombstone(bb.getBits())) {
-            value = Token.TOMBSTONE;
-          } else if (EntryBits.isSerialized(bb.getBits())) {
-            value = readSerializedValue(bb.getBytes(), bb.getVersion(), in, false, cache);
-          } else {
-            value = readRawValue(bb.getBytes(), bb.getVersion(), in);
-          }
+          value = getValueFromBytesAndBits((BytesAndBits) value, in, cache);
         }
       }
       return value;
     }
 
+    private static Object getValueFromBytesAndBits(BytesAndBits bb, ByteArrayDataInput in,
+        InternalCache cache) {
+      if (EntryBits.isInvalid(bb.getBits())) {
+        return Token.INVALID;
+      } else if (EntryBits.isLocalInvalid(bb.getBits())) {
+        return Token.LOCAL_INVALID;
+      } else if (EntryBits.isTombstone(bb.getBits())) {
+        return Token.TOMBSTONE;
+      } else if (EntryBits.isSerialized(bb.getBits())) {
+        return readSerializedValue(bb.getBytes(), bb.getVersion(), in, false, cache);
+      } else {
+        return readRawValue(bb.getBytes(), bb.getVersion(), in);
+      }
+    }
+
+    /**
+     * Faults in the value of the given entry from bytes and bits that were read ahead of time from
+     * the given location on disk, as part of a batch of values. Does nothing if the value of the
+     * entry is no longer at that location or has already been faulted in.
+     *
+     * @return true if the value was faulted in
+     */
+    public static boolean faultInValueReadAhead(DiskEntry entry, InternalRegion region,
+        long oplogId, long offsetInOplog, BytesAndBits bb) {
+      DiskRecoveryStore recoveryStore = (DiskRecoveryStore) region;
+      boolean faultedIn = false;
+      boolean lruFaultedIn = false;
+      synchronized (entry) {
+        DiskId did = entry.getDiskId();
+        if (did == null || !entry.isValueNull()) {
+          return false;
+        }
+        Object value = null;
+        DiskRegionView dr = recoveryStore.getDiskRegionView();
+        dr.acquireReadLock();
+        try {
+          synchronized (did) {
+            if (did.getOplogId() == oplogId && did.getOffsetInOplog() == offsetInOplog
+                && !did.isPendingAsync()) {
+              value = getValueFromBytesAndBits(bb, null, dr.getCache());
+              setValueOnFaultIn(value, did, entry, dr, recoveryStore);
+              faultedIn = true;
+            }
+          }
+        } finally {
+          dr.releaseReadLock();
+        }
+        if (entry instanceof EvictableEntry) {
+          if (value != null && !Token.isInvalid(value)) {
+            lruEntryFaultIn((EvictableEntry) entry, recoveryStore);
+            lruFaultedIn = true;
+          }
+        }
+      }
+      if (lruFaultedIn) {
+        lruUpdateCallback(recoveryStore);
+      }
+      return faultedIn;
+    }
+
     private static void lruUpdateCallback(DiskRecoveryStore recoveryStore) {
       /*
        * Used conditional check to see if if its a LIFO Enabled, yes then disable
@@ -25,6 +25,9 @@ package org.apache.geode.internal.cache.entries;
 #define KEY_TYPE UUID
 #elif defined(KEY_STRING1) || defined(KEY_STRING2)
 #define KEY_TYPE String
+#elif defined(KEY_OFFHEAP)
+// the serialized key which will be stored off heap; requires OFFHEAP
+#define KEY_TYPE byte[]
 #else
 #error the KEY_TYPE macro must be defined    
 #endif
@@ -96,7 +99,11 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
+#ifdef KEY_OFFHEAP
+public class LEAF_CLASS extends PARENT_CLASS implements OffHeapKeyRegionEntry {
+#else
 public class LEAF_CLASS extends PARENT_CLASS {
+#endif
 
   // --------------------------------------- common fields ----------------------------------------
 
@@ -148,6 +155,12 @@ public class LEAF_CLASS extends PARENT_CLASS {
 
   // --------------------------------------- stats fields -----------------------------------------
 
+#ifdef VERSIONED
+  /**
+   * The last accessed time is in the low 48 bits. The high 16 bits hold the high byte of the entry
+   * version and the distributed system id so that they do not need fields of their own.
+   */
+#endif
   private volatile long lastAccessed;
   private volatile int hitCount;
   private volatile int missCount;
@@ -157,6 +170,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
 
   private static final AtomicIntegerFieldUpdater<LEAF_CLASS> MISS_COUNT_UPDATER
     = AtomicIntegerFieldUpdater.newUpdater(LEAF_CLASS.class, "missCount");
+#ifdef VERSIONED
+
+  private static final AtomicLongFieldUpdater<LEAF_CLASS> LAST_ACCESSED_UPDATER
+    = AtomicLongFieldUpdater.newUpdater(LEAF_CLASS.class, "lastAccessed");
+#endif
 #endif
 #ifdef VERSIONED
 
@@ -164,11 +182,19 @@ public class LEAF_CLASS extends PARENT_CLASS {
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 
   private VersionSource memberId;
+#ifdef STATS
+  /**
+   * The region version is in the low 48 bits and the low 16 bits of the entry version are in the
+   * high 16 bits. The rest of the version is kept in lastAccessed.
+   */
+  private long versionBits;
+#else
   private short entryVersionLowBytes;
   private short regionVersionHighBytes;
   private int regionVersionLowBytes;
   private byte entryVersionHighByte;
   private byte distributedSystemId;
+#endif
 #endif
 
   // --------------------------------------- key fields -------------------------------------------
@@ -199,6 +225,20 @@ public class LEAF_CLASS extends PARENT_CLASS {
    * bits2 encodes character data
    */
   private final long bits2;
+#elif defined(KEY_OFFHEAP)
+  /**
+   * The off-heap address of the serialized key. All access is done using KEY_ADDRESS_UPDATER.
+   */
+  @SuppressWarnings("unused")
+  @Retained @Released private volatile long keyAddress;
+
+  /**
+   * The key on the heap. Only set once the off-heap key has been released.
+   */
+  private volatile Object releasedKey;
+
+  private static final AtomicLongFieldUpdater<LEAF_CLASS> KEY_ADDRESS_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(LEAF_CLASS.class, "keyAddress");
 #endif
 
   public LEAF_CLASS (final RegionEntryContext context, final KEY_TYPE key,
@@ -280,6 +320,8 @@ public class LEAF_CLASS extends PARENT_CLASS {
     tempBits1 |= key.length();
     this.bits1 = tempBits1;
     this.bits2 = tempBits2;
+#elif defined(KEY_OFFHEAP)
+    this.keyAddress = OffHeapRegionEntryHelper.allocateKey(key);
 #endif
   }
 
@@ -306,6 +348,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
   protected void setValueField(final Object value) {
 #endif
     OffHeapRegionEntryHelper.setValue(this, value);
+#ifdef KEY_OFFHEAP
+    if (value == Token.REMOVED_PHASE2) {
+      OffHeapRegionEntryHelper.releaseRemovedKey(this);
+    }
+#endif
   }
 
   @Override
@@ -332,6 +379,9 @@ public class LEAF_CLASS extends PARENT_CLASS {
 #endif
   public void release() {
     OffHeapRegionEntryHelper.releaseEntry(this);
+#ifdef KEY_OFFHEAP
+    OffHeapRegionEntryHelper.releaseKey(this);
+#endif
   }
 
   @Override
@@ -579,11 +629,29 @@ public class LEAF_CLASS extends PARENT_CLASS {
 
   @Override
   public long getLastAccessed() throws InternalStatisticsDisabledException {
+#ifdef VERSIONED
+    return this.lastAccessed & LAST_ACCESSED_TIME_MASK;
+#else
     return this.lastAccessed;
+#endif
   }
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+#ifdef VERSIONED
+    long storedValue;
+    long newValue;
+    do {
+      storedValue = this.lastAccessed;
+      newValue = (storedValue & ~LAST_ACCESSED_TIME_MASK) | (lastAccessed & LAST_ACCESSED_TIME_MASK);
+      if (storedValue == newValue) {
+        return;
+      }
+    } while (!LAST_ACCESSED_UPDATER.compareAndSet(this, storedValue, newValue));
+#else
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
+#endif
   }
 
   @Override
@@ -630,6 +698,41 @@ public class LEAF_CLASS extends PARENT_CLASS {
   // -------------------------------------- versioned code ----------------------------------------
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 
+#ifdef STATS
+  @Override
+  public int getEntryVersion() {
+    return ((getEntryVersionHighByte() << 16) & 0xFF0000) | (int) (this.versionBits >>> 48);
+  }
+
+  @Override
+  public long getRegionVersion() {
+    return (((long) getRegionVersionHighBytes()) << 32)
+        | (getRegionVersionLowBytes() & 0x00000000FFFFFFFFL);
+  }
+
+  private byte getEntryVersionHighByte() {
+    return (byte) (this.lastAccessed >>> 48);
+  }
+
+  /**
+   * Stores the high byte of the entry version and the distributed system id in the high bits of
+   * lastAccessed without disturbing the last accessed time.
+   */
+  private void setLastAccessedVersionBits(final byte entryVersionHighByte,
+      final byte distributedSystemId) {
+    long versionHighBits = ((distributedSystemId & 0xFFL) << 56)
+        | ((entryVersionHighByte & 0xFFL) << 48);
+    long storedValue;
+    long newValue;
+    do {
+      storedValue = this.lastAccessed;
+      newValue = (storedValue & LAST_ACCESSED_TIME_MASK) | versionHighBits;
+      if (storedValue == newValue) {
+        return;
+      }
+    } while (!LAST_ACCESSED_UPDATER.compareAndSet(this, storedValue, newValue));
+  }
+#else
   @Override
   public int getEntryVersion() {
     return ((entryVersionHighByte << 16) & 0xFF0000) | (entryVersionLowBytes & 0xFFFF);
@@ -639,6 +742,7 @@ public class LEAF_CLASS extends PARENT_CLASS {
   public long getRegionVersion() {
     return (((long)regionVersionHighBytes) << 32) | (regionVersionLowBytes & 0x00000000FFFFFFFFL);  
   }
+#endif
 
   @Override
   public long getVersionTimeStamp() {
@@ -657,7 +761,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
 
   @Override
   public int getDistributedSystemId() {
+#ifdef STATS
+    return (byte) (this.lastAccessed >>> 56);
+#else
     return this.distributedSystemId;
+#endif
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -666,12 +774,21 @@ public class LEAF_CLASS extends PARENT_CLASS {
   public void setVersions(final VersionTag versionTag) {
     this.memberId = versionTag.getMemberID();
     int eVersion = versionTag.getEntryVersion();
+#ifdef STATS
+    this.versionBits = ((eVersion & 0xffffL) << 48)
+        | ((versionTag.getRegionVersionHighBytes() & 0xffffL) << 32)
+        | (versionTag.getRegionVersionLowBytes() & 0xffffffffL);
+    byte entryVersionHighByte = (byte) ((eVersion & 0xff0000) >> 16);
+
+    if (!versionTag.isGatewayTag() && getDistributedSystemId() == versionTag.getDistributedSystemId()) {
+#else
     this.entryVersionLowBytes = (short) (eVersion & 0xffff);
     this.entryVersionHighByte = (byte) ((eVersion & 0xff0000) >> 16);
     this.regionVersionHighBytes = versionTag.getRegionVersionHighBytes();
     this.regionVersionLowBytes = versionTag.getRegionVersionLowBytes();
 
     if (!versionTag.isGatewayTag() && this.distributedSystemId == versionTag.getDistributedSystemId()) {
+#endif
       if (getVersionTimeStamp() <= versionTag.getVersionTimeStamp()) {
         setVersionTimeStamp(versionTag.getVersionTimeStamp());
       } else {
@@ -681,7 +798,12 @@ public class LEAF_CLASS extends PARENT_CLASS {
       setVersionTimeStamp(versionTag.getVersionTimeStamp());
     }
 
+#ifdef STATS
+    setLastAccessedVersionBits(entryVersionHighByte,
+        (byte) (versionTag.getDistributedSystemId() & 0xff));
+#else
     this.distributedSystemId = (byte) (versionTag.getDistributedSystemId() & 0xff);
+#endif
   }
 
   @Override
@@ -700,9 +822,15 @@ public class LEAF_CLASS extends PARENT_CLASS {
   public VersionTag asVersionTag() {
     VersionTag tag = VersionTag.create(memberId);
     tag.setEntryVersion(getEntryVersion());
+#ifdef STATS
+    tag.setRegionVersion(getRegionVersionHighBytes(), getRegionVersionLowBytes());
+    tag.setVersionTimeStamp(getVersionTimeStamp());
+    tag.setDistributedSystemId(getDistributedSystemId());
+#else
     tag.setRegionVersion(this.regionVersionHighBytes, this.regionVersionLowBytes);
     tag.setVersionTimeStamp(getVersionTimeStamp());
     tag.setDistributedSystemId(this.distributedSystemId);
+#endif
     return tag;
   }
 
@@ -722,13 +850,21 @@ public class LEAF_CLASS extends PARENT_CLASS {
   /** get rvv internal high byte. Used by region entries for transferring to storage */
   @Override
   public short getRegionVersionHighBytes() {
+#ifdef STATS
+    return (short) (this.versionBits >>> 32);
+#else
     return this.regionVersionHighBytes;
+#endif
   }
   
   /** get rvv internal low bytes. Used by region entries for transferring to storage */
   @Override
   public int getRegionVersionLowBytes() {
+#ifdef STATS
+    return (int) this.versionBits;
+#else
     return this.regionVersionLowBytes;
+#endif
   }
 #endif
   
@@ -942,6 +1078,37 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+
+#elif defined(KEY_OFFHEAP)
+  @Override
+  public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+
+  @Override
+  public boolean isKeyEqual(final Object key) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, key);
+  }
+
+  @Override
+  public long getKeyAddress() {
+    return KEY_ADDRESS_UPDATER.get(this);
+  }
+
+  @Override
+  public boolean setKeyAddress(final long expectedAddress, final long newAddress) {
+    return KEY_ADDRESS_UPDATER.compareAndSet(this, expectedAddress, newAddress);
+  }
+
+  @Override
+  public Object getReleasedKey() {
+    return this.releasedKey;
+  }
+
+  @Override
+  public void setReleasedKey(final Object key) {
+    this.releasedKey = key;
+  }
 #endif
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.entries;
+
+/**
+ * An off heap RegionEntry that also stores its key off heap, in serialized form. The key is
+ * deserialized each time it is read; key comparisons compare the serialized forms first. Once the
+ * entry is removed its off heap key is released and a heap copy of the key is kept instead so that
+ * the entry can still be found and removed from its map. An entry that is released after it left
+ * its map keeps no copy of its key.
+ *
+ * @see org.apache.geode.internal.offheap.OffHeapRegionEntryHelper#getKey(OffHeapKeyRegionEntry)
+ */
+public interface OffHeapKeyRegionEntry extends OffHeapRegionEntry {
+  /**
+   * OFF_HEAP_FIELD_READER
+   *
+   * @return OFF_HEAP_ADDRESS of the serialized key
+   */
+  long getKeyAddress();
+
+  /**
+   * OFF_HEAP_FIELD_WRITER
+   *
+   * @param expectedAddress OFF_HEAP_ADDRESS
+   * @param newAddress OFF_HEAP_ADDRESS
+   * @return true if the key address was changed
+   */
+  boolean setKeyAddress(long expectedAddress, long newAddress);
+
+  /**
+   * Returns the heap form of the key once the off heap key has been released; otherwise null.
+   */
+  Object getReleasedKey();
+
+  void setReleasedKey(Object key);
+}
@@ -294,7 +294,9 @@ public class VMStatsDiskLRURegionEntryHeapIntKey extends VMStatsDiskLRURegionEnt
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
@@ -294,7 +294,9 @@ public class VMStatsDiskLRURegionEntryHeapLongKey extends VMStatsDiskLRURegionEn
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
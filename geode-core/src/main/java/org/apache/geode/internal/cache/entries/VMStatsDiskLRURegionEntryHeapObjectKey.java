@@ -297,7 +297,9 @@ public class VMStatsDiskLRURegionEntryHeapObjectKey extends VMStatsDiskLRURegion
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
@@ -314,7 +314,9 @@ public class VMStatsDiskLRURegionEntryHeapStringKey1 extends VMStatsDiskLRURegio
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
@@ -134,7 +134,9 @@ public class VMStatsRegionEntryHeapObjectKey extends VMStatsRegionEntryHeap {
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
@@ -151,7 +151,9 @@ public class VMStatsRegionEntryHeapStringKey1 extends VMStatsRegionEntryHeap {
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    if (this.lastAccessed != lastAccessed) {
+      this.lastAccessed = lastAccessed;
+    }
   }
 
   @Override
@@ -68,6 +68,10 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
    */
   protected DiskId id;
   // --------------------------------------- stats fields -----------------------------------------
+  /**
+   * The last accessed time is in the low 48 bits. The high 16 bits hold the high byte of the entry
+   * version and the distributed system id so that they do not need fields of their own.
+   */
   private volatile long lastAccessed;
   private volatile int hitCount;
   private volatile int missCount;
@@ -77,14 +81,17 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
   private static final AtomicIntegerFieldUpdater<VersionedStatsDiskLRURegionEntryHeapLongKey> MISS_COUNT_UPDATER =
       AtomicIntegerFieldUpdater.newUpdater(VersionedStatsDiskLRURegionEntryHeapLongKey.class,
           "missCount");
+  private static final AtomicLongFieldUpdater<VersionedStatsDiskLRURegionEntryHeapLongKey> LAST_ACCESSED_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(VersionedStatsDiskLRURegionEntryHeapLongKey.class,
+          "lastAccessed");
   // ------------------------------------- versioned fields ---------------------------------------
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
   private VersionSource memberId;
-  private short entryVersionLowBytes;
-  private short regionVersionHighBytes;
-  private int regionVersionLowBytes;
-  private byte entryVersionHighByte;
-  private byte distributedSystemId;
+  /**
+   * The region version is in the low 48 bits and the low 16 bits of the entry version are in the
+   * high 16 bits. The rest of the version is kept in lastAccessed.
+   */
+  private long versionBits;
   // --------------------------------------- key fields -------------------------------------------
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
   private final long key;
@@ -306,12 +313,21 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
 
   @Override
   public long getLastAccessed() throws InternalStatisticsDisabledException {
-    return this.lastAccessed;
+    return this.lastAccessed & LAST_ACCESSED_TIME_MASK;
   }
 
   @Override
   public void setLastAccessed(final long lastAccessed) {
-    this.lastAccessed = lastAccessed;
+    long storedValue;
+    long newValue;
+    do {
+      storedValue = this.lastAccessed;
+      newValue =
+          (storedValue & ~LAST_ACCESSED_TIME_MASK) | (lastAccessed & LAST_ACCESSED_TIME_MASK);
+      if (storedValue == newValue) {
+        return;
+      }
+    } while (!LAST_ACCESSED_UPDATER.compareAndSet(this, storedValue, newValue));
   }
 
   @Override
@@ -356,12 +372,36 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
   @Override
   public int getEntryVersion() {
-    return ((entryVersionHighByte << 16) & 0xFF0000) | (entryVersionLowBytes & 0xFFFF);
+    return ((getEntryVersionHighByte() << 16) & 0xFF0000) | (int) (this.versionBits >>> 48);
   }
 
   @Override
   public long getRegionVersion() {
-    return (((long) regionVersionHighBytes) << 32) | (regionVersionLowBytes & 0x00000000FFFFFFFFL);
+    return (((long) getRegionVersionHighBytes()) << 32)
+        | (getRegionVersionLowBytes() & 0x00000000FFFFFFFFL);
+  }
+
+  private byte getEntryVersionHighByte() {
+    return (byte) (this.lastAccessed >>> 48);
+  }
+
+  /**
+   * Stores the high byte of the entry version and the distributed system id in the high bits of
+   * lastAccessed without disturbing the last accessed time.
+   */
+  private void setLastAccessedVersionBits(final byte entryVersionHighByte,
+      final byte distributedSystemId) {
+    long versionHighBits =
+        ((distributedSystemId & 0xFFL) << 56) | ((entryVersionHighByte & 0xFFL) << 48);
+    long storedValue;
+    long newValue;
+    do {
+      storedValue = this.lastAccessed;
+      newValue = (storedValue & LAST_ACCESSED_TIME_MASK) | versionHighBits;
+      if (storedValue == newValue) {
+        return;
+      }
+    } while (!LAST_ACCESSED_UPDATER.compareAndSet(this, storedValue, newValue));
   }
 
   @Override
@@ -381,7 +421,7 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
 
   @Override
   public int getDistributedSystemId() {
-    return this.distributedSystemId;
+    return (byte) (this.lastAccessed >>> 56);
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -389,12 +429,12 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
   public void setVersions(final VersionTag versionTag) {
     this.memberId = versionTag.getMemberID();
     int eVersion = versionTag.getEntryVersion();
-    this.entryVersionLowBytes = (short) (eVersion & 0xffff);
-    this.entryVersionHighByte = (byte) ((eVersion & 0xff0000) >> 16);
-    this.regionVersionHighBytes = versionTag.getRegionVersionHighBytes();
-    this.regionVersionLowBytes = versionTag.getRegionVersionLowBytes();
+    this.versionBits = ((eVersion & 0xffffL) << 48)
+        | ((versionTag.getRegionVersionHighBytes() & 0xffffL) << 32)
+        | (versionTag.getRegionVersionLowBytes() & 0xffffffffL);
+    byte entryVersionHighByte = (byte) ((eVersion & 0xff0000) >> 16);
     if (!versionTag.isGatewayTag()
-        && this.distributedSystemId == versionTag.getDistributedSystemId()) {
+        && getDistributedSystemId() == versionTag.getDistributedSystemId()) {
       if (getVersionTimeStamp() <= versionTag.getVersionTimeStamp()) {
         setVersionTimeStamp(versionTag.getVersionTimeStamp());
       } else {
@@ -403,7 +443,8 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
     } else {
       setVersionTimeStamp(versionTag.getVersionTimeStamp());
     }
-    this.distributedSystemId = (byte) (versionTag.getDistributedSystemId() & 0xff);
+    setLastAccessedVersionBits(entryVersionHighByte,
+        (byte) (versionTag.getDistributedSystemId() & 0xff));
   }
 
   @Override
@@ -421,9 +462,9 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
   public VersionTag asVersionTag() {
     VersionTag tag = VersionTag.create(memberId);
     tag.setEntryVersion(getEntryVersion());
-    tag.setRegionVersion(this.regionVersionHighBytes, this.regionVersionLowBytes);
+    tag.setRegionVersion(getRegionVersionHighBytes(), getRegionVersionLowBytes());
     tag.setVersionTimeStamp(getVersionTimeStamp());
-    tag.setDistributedSystemId(this.distributedSystemId);
+    tag.setDistributedSystemId(getDistributedSystemId());
     return tag;
   }
 
@@ -444,13 +485,13 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
   /** get rvv internal high byte. Used by region entries for transferring to storage */
   @Override
   public short getRegionVersionHighBytes() {
-    return this.regionVersionHighBytes;
+    return (short) (this.versionBits >>> 32);
   }
 
   /** get rvv internal low bytes. Used by region entries for transferring to storage */
   @Override
   public int getRegionVersionLowBytes() {
-    return this.regionVersionLowBytes;
+    return (int) this.versionBits;
   }
 
   // ----------------------------------------- key code -------------------------------------------
@@ -86,7 +86,7 @@ abstract class AbstractEvictionList implements EvictionList {
     }
   }
 
-  private synchronized void initEmptyList() {
+  synchronized void initEmptyList() {
     size.set(0);
     head.setNext(tail);
     tail.setPrevious(head);
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+
+/**
+ * ClockEvictionList approximates LRU with a CLOCK (second chance) algorithm over a number of
+ * independent segments instead of one list. Each segment is a small eviction list with its own
+ * lock, and an entry always lives in the segment selected by its identity hash code, so adds and
+ * removes of different entries rarely contend with each other and there is no lock that all of
+ * them share. Reads only set the recently used bit of the entry and never touch a list.
+ * <p>
+ * Evicts pick the next segment in round robin order and sweep its clock hand from the head: a
+ * recently used entry has its bit cleared and is moved to the tail, and the first entry that has
+ * not been used since the hand last passed it is evicted. At most
+ * {@link SystemPropertyHelper#EVICTION_SEARCH_MAX_ENTRIES} entries are sampled per evict, after
+ * which the next evictable entry is returned greedily. If the selected segment is empty the
+ * following segments are tried in turn.
+ */
+public class ClockEvictionList implements EvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int DEFAULT_MAX_EVICTION_ATTEMPTS = 10;
+
+  private static final int MAX_SEGMENTS = 64;
+
+  private final EvictionController controller;
+
+  private final Segment[] segments;
+
+  private final int segmentMask;
+
+  private final int maxEvictionAttempts;
+
+  /** The next segment that an evict starts in */
+  private final AtomicInteger evictionHand = new AtomicInteger();
+
+  ClockEvictionList(EvictionController controller) {
+    this(controller, defaultSegmentCount(), readMaxEvictionAttempts());
+  }
+
+  ClockEvictionList(EvictionController controller, int segmentCount, int maxEvictionAttempts) {
+    if (segmentCount < 1 || Integer.bitCount(segmentCount) != 1) {
+      throw new IllegalArgumentException(
+          "segmentCount must be a positive power of two but was " + segmentCount);
+    }
+    this.controller = controller;
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      this.segments[i] = new Segment(controller);
+    }
+    this.segmentMask = segmentCount - 1;
+    this.maxEvictionAttempts = maxEvictionAttempts;
+  }
+
+  private static int defaultSegmentCount() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    return Math.min(Integer.highestOneBit(processors * 2 - 1) << 1, MAX_SEGMENTS);
+  }
+
+  private static int readMaxEvictionAttempts() {
+    Optional<Integer> configuredMaxEntries = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.EVICTION_SEARCH_MAX_ENTRIES);
+    int maxEntries = configuredMaxEntries.orElse(DEFAULT_MAX_EVICTION_ATTEMPTS);
+    return maxEntries > 0 ? maxEntries : DEFAULT_MAX_EVICTION_ATTEMPTS;
+  }
+
+  int getSegmentCount() {
+    return this.segments.length;
+  }
+
+  private Segment getSegment(EvictionNode evictionNode) {
+    int hash = System.identityHashCode(evictionNode);
+    return this.segments[(hash ^ (hash >>> 16)) & this.segmentMask];
+  }
+
+  @Override
+  public void closeStats() {
+    getStatistics().close();
+  }
+
+  @Override
+  public EvictionCounters getStatistics() {
+    return this.controller.getCounters();
+  }
+
+  @Override
+  public void appendEntry(EvictionNode evictionNode) {
+    getSegment(evictionNode).appendEntry(evictionNode);
+  }
+
+  @Override
+  public void destroyEntry(EvictionNode evictionNode) {
+    getSegment(evictionNode).destroyEntry(evictionNode);
+  }
+
+  /**
+   * Remove and return an Entry that has not been used since the clock hand of its segment last
+   * passed it.
+   */
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    int start = this.evictionHand.getAndIncrement();
+    for (int i = 0; i < this.segments.length; i++) {
+      EvictableEntry result =
+          this.segments[(start + i) & this.segmentMask].getEvictableEntry(maxEvictionAttempts);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    if (regionVersionVector != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+
+    synchronized (this) {
+      if (bucketRegion != null) {
+        getStatistics().decrementCounter(bucketRegion.getCounter());
+        bucketRegion.resetCounter();
+      } else {
+        getStatistics().resetCounter();
+      }
+      for (Segment segment : this.segments) {
+        segment.initEmptyList();
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    int result = 0;
+    for (Segment segment : this.segments) {
+      result += segment.size();
+    }
+    return result;
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed; the clock hands find recently used entries when they pass them
+  }
+
+  /**
+   * One segment of a ClockEvictionList. The head of the list is the position of its clock hand.
+   */
+  static class Segment extends AbstractEvictionList {
+
+    Segment(EvictionController controller) {
+      super(controller);
+    }
+
+    @Override
+    public EvictableEntry getEvictableEntry() {
+      return getEvictableEntry(DEFAULT_MAX_EVICTION_ATTEMPTS);
+    }
+
+    EvictableEntry getEvictableEntry(int maxEvictionAttempts) {
+      long numEvals = 0;
+      for (;;) {
+        EvictionNode evictionNode = unlinkHeadEntry();
+
+        if (evictionNode == null) {
+          // this segment is empty
+          getStatistics().incEvaluations(numEvals);
+          return null;
+        }
+
+        if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+          logger.trace(LogMarker.LRU_CLOCK, "lru considering {}", evictionNode);
+        }
+
+        numEvals++;
+
+        if (!isEvictable(evictionNode)) {
+          continue;
+        }
+
+        if (evictionNode.isRecentlyUsed()) {
+          if (numEvals <= maxEvictionAttempts) {
+            evictionNode.unsetRecentlyUsed();
+            appendEntry(evictionNode);
+            continue;
+          }
+          if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+            logger.trace(LogMarker.LRU_CLOCK, LocalizedMessage
+                .create(LocalizedStrings.NewLRUClockHand_GREEDILY_PICKING_AN_AVAILABLE_ENTRY));
+          }
+          getStatistics().incGreedyReturns(1);
+        } else if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+          logger.trace(LogMarker.LRU_CLOCK, LocalizedMessage
+              .create(LocalizedStrings.NewLRUClockHand_RETURNING_UNUSED_ENTRY, evictionNode));
+        }
+
+        getStatistics().incEvaluations(numEvals);
+        return (EvictableEntry) evictionNode;
+      }
+    }
+
+    @Override
+    public void incrementRecentlyUsed() {
+      // nothing needed
+    }
+  }
+}
@@ -53,6 +53,16 @@ class DisabledEvictionCounters implements EvictionCounters {
     // nothing
   }
 
+  @Override
+  public void incEvictionBatches() {
+    // nothing
+  }
+
+  @Override
+  public void incEvictionLagTime(long lagTime) {
+    // nothing
+  }
+
   @Override
   public void incEvictions() {
     // nothing
@@ -42,6 +42,10 @@ public interface EvictionCounters {
 
   void incGreedyReturns(long greedyReturns);
 
+  void incEvictionBatches();
+
+  void incEvictionLagTime(long lagTime);
+
   Statistics getStatistics();
 
   void close();
@@ -121,4 +121,14 @@ class EvictionCountersImpl implements EvictionCounters {
   public void incGreedyReturns(long greedyReturns) {
     this.stats.incGreedyReturns(greedyReturns);
   }
+
+  @Override
+  public void incEvictionBatches() {
+    this.stats.incEvictionBatches();
+  }
+
+  @Override
+  public void incEvictionLagTime(long lagTime) {
+    this.stats.incEvictionLagTime(lagTime);
+  }
 }
@@ -22,6 +22,8 @@ public class EvictionListBuilder {
 
   private final boolean evictionScanAsync;
 
+  private final boolean evictionClock;
+
   private final EvictionController controller;
 
   public EvictionListBuilder(EvictionController evictionController) {
@@ -29,11 +31,17 @@ public class EvictionListBuilder {
     Optional<Boolean> asyncScan =
         SystemPropertyHelper.getProductBooleanProperty(SystemPropertyHelper.EVICTION_SCAN_ASYNC);
     evictionScanAsync = asyncScan.orElse(true);
+    evictionClock = SystemPropertyHelper
+        .getProductBooleanProperty(SystemPropertyHelper.EVICTION_CLOCK).orElse(false);
   }
 
   public EvictionList create() {
     if (this.controller.getEvictionAlgorithm().isLIFO()) {
       return new LIFOList(this.controller);
+    } else if (this.controller.getEvictionAlgorithm().isLFU()) {
+      return new WindowTinyLFUList(this.controller);
+    } else if (evictionClock) {
+      return new ClockEvictionList(this.controller);
     } else {
       if (evictionScanAsync) {
         return new LRUListWithAsyncSorting(this.controller);
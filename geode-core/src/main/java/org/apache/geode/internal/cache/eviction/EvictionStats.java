@@ -36,4 +36,8 @@ public interface EvictionStats {
 
   void incGreedyReturns(long greedyReturns);
 
+  void incEvictionBatches();
+
+  void incEvictionLagTime(long lagTime);
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+/**
+ * A count-min sketch that estimates how often a key has been used. Each key has four 4-bit
+ * counters, one per hash function, and its frequency is the smallest of them, so estimates can
+ * only be too high and never exceed 15. Once the number of increments reaches ten times the
+ * capacity all counters are halved, so old uses count for less than new ones and keys that are no
+ * longer used are eventually forgotten.
+ * <p>
+ * This class is not thread safe. The counters are packed sixteen to a long and the table grows in
+ * powers of two, so a key's counters are found with shifts and masks only.
+ */
+class FrequencySketch {
+  private static final long[] SEEDS =
+      {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private static final int MINIMUM_CAPACITY = 16;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private long[] table;
+
+  private int tableMask;
+
+  private int sampleSize;
+
+  private int size;
+
+  FrequencySketch() {
+    ensureCapacity(MINIMUM_CAPACITY);
+  }
+
+  /**
+   * Grows the sketch so that it can tell apart the frequencies of at least the given number of
+   * keys. Growing forgets all frequencies recorded so far.
+   */
+  void ensureCapacity(long capacity) {
+    int maximum = (int) Math.min(Math.max(capacity, MINIMUM_CAPACITY), MAXIMUM_CAPACITY);
+    if (this.table != null && this.table.length >= maximum) {
+      return;
+    }
+    this.table = new long[Integer.highestOneBit(maximum - 1) << 1];
+    this.tableMask = this.table.length - 1;
+    this.sampleSize = 10 * this.table.length;
+    this.size = 0;
+  }
+
+  int getCapacity() {
+    return this.table.length;
+  }
+
+  /**
+   * Returns the estimated number of times the key with the given hash code has been used. The
+   * estimate never exceeds 15.
+   */
+  int frequency(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records a use of the key with the given hash code.
+   */
+  void increment(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++this.size >= this.sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((this.table[index] & mask) != mask) {
+      this.table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves every counter.
+   */
+  void reset() {
+    int oddCounters = 0;
+    for (int i = 0; i < this.table.length; i++) {
+      oddCounters += Long.bitCount(this.table[i] & ONE_MASK);
+      this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+    }
+    this.size = (this.size >>> 1) - (oddCounters >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long result = (hash + SEEDS[i]) * SEEDS[i];
+    result += result >>> 32;
+    return ((int) result) & this.tableMask;
+  }
+
+  private static int spread(int hashCode) {
+    int result = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+    result = ((result >>> 16) ^ result) * 0x45d9f3b;
+    return (result >>> 16) ^ result;
+  }
+}
@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.cache.eviction;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.geode.distributed.internal.DistributionConfig.GEMFIRE_PREFIX;
 
@@ -31,6 +33,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.apache.logging.log4j.Logger;
@@ -74,6 +77,13 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
   public static final int BUCKET_SORTING_INTERVAL = Integer.getInteger(
       GEMFIRE_PREFIX + "HeapLRUCapacityController.higherEntryCountBucketCalculationInterval", 100);
 
+  /**
+   * The most bytes that an evictor thread evicts from one region or bucket before it moves on to
+   * the next region of its task.
+   */
+  public static final long EVICTION_BATCH_BYTES =
+      Long.getLong(GEMFIRE_PREFIX + "HeapLRUCapacityController.evictionBatchBytes", 1024 * 1024);
+
   private static final boolean DISABLE_HEAP_EVICTOR_THREAD_POOL = Boolean
       .getBoolean(GEMFIRE_PREFIX + "HeapLRUCapacityController.DISABLE_HEAP_EVICTOR_THREAD_POOL");
 
@@ -97,6 +107,23 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   private volatile int testAbortAfterLoopCount = Integer.MAX_VALUE;
 
+  /*
+   * The bytes evicted by evictor threads, and the time they spent evicting them, since eviction
+   * last started. Together they give the rate at which a single evictor thread evicts.
+   */
+  private final AtomicLong bytesEvicted = new AtomicLong();
+  private final AtomicLong evictionTime = new AtomicLong();
+
+  /*
+   * The bytes allocated per millisecond between the last two eviction events. The bytes evicted
+   * in between are added to the growth of the heap, since the heap would have grown by that much
+   * more without them. Guarded by evictionLock.
+   */
+  private volatile long allocationRate;
+  private long lastEventTime;
+  private long lastBytesUsed;
+  private long lastBytesEvicted;
+
   /*
    * Since the amount of memory used is to a large degree dependent upon when garbage collection is
    * run, it's difficult to determine when to stop evicting. So, an initial calculation is done to
@@ -189,32 +216,6 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     return allRegionsList;
   }
 
-  private List<LocalRegion> getAllSortedRegionList() {
-    List<LocalRegion> allRegionList = getAllRegionList();
-
-    // Capture the sizes so that they do not change while sorting
-    final Object2LongOpenHashMap<LocalRegion> sizes =
-        new Object2LongOpenHashMap<>(allRegionList.size());
-    for (LocalRegion region : allRegionList) {
-      long size = region instanceof BucketRegion ? ((BucketRegion) region).getSizeForEviction()
-          : region.size();
-      sizes.put(region, size);
-    }
-
-    // Sort with respect to other PR buckets also in case of multiple PRs
-    allRegionList.sort((region1, region2) -> {
-      long numEntries1 = sizes.get(region1);
-      long numEntries2 = sizes.get(region2);
-      if (numEntries1 > numEntries2) {
-        return -1;
-      } else if (numEntries1 < numEntries2) {
-        return 1;
-      }
-      return 0;
-    });
-    return allRegionList;
-  }
-
   private void executeInThreadPool(Runnable task) {
     try {
       evictorThreadPool.execute(task);
@@ -233,38 +234,146 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     return null;
   }
 
+  /**
+   * Submits the evictor tasks of one eviction loop. The regions with the most evictable bytes are
+   * evicted from first, and the bytes to evict in this loop are split between the regions by their
+   * share of the evictable bytes. The regions are dealt out to as many tasks as are needed to keep
+   * up with the allocation rate, see {@link #getEvictorTaskCount}.
+   */
   private void createAndSubmitWeightedRegionEvictionTasks() {
-    List<LocalRegion> allRegionList = getAllSortedRegionList();
-    float numEntriesInVM = 0;
+    List<LocalRegion> allRegionList = getAllRegionList();
+
+    // Capture the weights so that they do not change while sorting
+    final Object2LongOpenHashMap<LocalRegion> weights =
+        new Object2LongOpenHashMap<>(allRegionList.size());
+    long totalWeight = 0;
     for (LocalRegion region : allRegionList) {
-      if (region instanceof BucketRegion) {
-        numEntriesInVM += ((BucketRegion) region).getSizeForEviction();
-      } else {
-        numEntriesInVM += region.getRegionMap().sizeInVM();
+      long evictableBytes = Math.max(getEvictableBytes(region), 0);
+      weights.put(region, evictableBytes);
+      totalWeight += evictableBytes;
+    }
+    if (totalWeight == 0) {
+      // no region has counted its entry sizes; weigh them by their entry counts instead
+      for (LocalRegion region : allRegionList) {
+        long numEntries = region instanceof BucketRegion
+            ? ((BucketRegion) region).getSizeForEviction() : region.getRegionMap().sizeInVM();
+        weights.put(region, numEntries);
+        totalWeight += numEntries;
       }
     }
+    allRegionList.removeIf(region -> weights.getLong(region) == 0);
+    if (allRegionList.isEmpty()) {
+      return;
+    }
 
-    for (LocalRegion region : allRegionList) {
-      float regionEntryCount;
-      if (region instanceof BucketRegion) {
-        regionEntryCount = ((BucketRegion) region).getSizeForEviction();
-      } else {
-        regionEntryCount = region.getRegionMap().sizeInVM();
+    // Sort with respect to other PR buckets also in case of multiple PRs
+    allRegionList.sort((region1, region2) -> {
+      long weight1 = weights.getLong(region1);
+      long weight2 = weights.getLong(region2);
+      if (weight1 > weight2) {
+        return -1;
+      } else if (weight1 < weight2) {
+        return 1;
       }
+      return 0;
+    });
+
+    long loopTime = getEvictionLoopDelayTime();
+    long bytesToEvict = getTotalBytesToEvict() + this.allocationRate * loopTime;
+    int taskCount = getEvictorTaskCount(bytesToEvict, loopTime, allRegionList.size());
 
-      float percentage = regionEntryCount / numEntriesInVM;
-      long bytesToEvictPerTask = (long) (getTotalBytesToEvict() * percentage);
-      List<LocalRegion> regionsForSingleTask = new ArrayList<>(1);
-      regionsForSingleTask.add(region);
+    List<List<LocalRegion>> taskRegions = new ArrayList<>(taskCount);
+    List<Object2LongOpenHashMap<LocalRegion>> taskBytesToEvict = new ArrayList<>(taskCount);
+    long[] taskTotals = new long[taskCount];
+    for (int i = 0; i < taskCount; i++) {
+      taskRegions.add(new ArrayList<>());
+      taskBytesToEvict.add(new Object2LongOpenHashMap<>());
+    }
+    for (int i = 0; i < allRegionList.size(); i++) {
+      LocalRegion region = allRegionList.get(i);
+      double percentage = (double) weights.getLong(region) / totalWeight;
+      long regionBytesToEvict = Math.max((long) (bytesToEvict * percentage), 1);
+      int task = i % taskCount;
+      taskRegions.get(task).add(region);
+      taskBytesToEvict.get(task).put(region, regionBytesToEvict);
+      taskTotals[task] += regionBytesToEvict;
+    }
+
+    for (int i = 0; i < taskCount; i++) {
       if (mustEvict()) {
-        executeInThreadPool(new RegionEvictorTask(cache.getCachePerfStats(), regionsForSingleTask,
-            this, bytesToEvictPerTask));
+        executeInThreadPool(new RegionEvictorTask(cache.getCachePerfStats(), taskRegions.get(i),
+            taskBytesToEvict.get(i), this, taskTotals[i], EVICTION_BATCH_BYTES));
       } else {
         break;
       }
     }
   }
 
+  private long getEvictableBytes(LocalRegion region) {
+    if (region instanceof BucketRegion) {
+      // a bucket shares the eviction counter of its partitioned region, so use its own counter
+      return ((BucketRegion) region).getCounter();
+    }
+    return region.getEvictionCounter();
+  }
+
+  /**
+   * Returns how many evictor tasks are needed to evict the given number of bytes within one
+   * eviction loop, given how fast a single evictor thread has evicted since eviction started. Until
+   * that is known, as many tasks as possible are used.
+   */
+  int getEvictorTaskCount(long bytesToEvict, long loopTime, int regionCount) {
+    int maximumTaskCount = Math.max(Math.min(MAX_EVICTOR_THREADS - 1, regionCount), 1);
+    long time = this.evictionTime.get();
+    long bytes = this.bytesEvicted.get();
+    if (time <= 0 || bytes <= 0 || loopTime <= 0) {
+      return maximumTaskCount;
+    }
+    double bytesPerTaskAndLoop = (double) bytes / time * MILLISECONDS.toNanos(loopTime);
+    double taskCount = Math.ceil(bytesToEvict / bytesPerTaskAndLoop);
+    return (int) Math.max(Math.min(taskCount, maximumTaskCount), 1);
+  }
+
+  /**
+   * Called by evictor tasks after each batch so that the evictor knows how fast they evict.
+   */
+  void recordBatch(long bytesEvicted, long time) {
+    if (bytesEvicted > 0) {
+      this.bytesEvicted.addAndGet(bytesEvicted);
+      this.evictionTime.addAndGet(time);
+    }
+  }
+
+  long getAllocationRate() {
+    return this.allocationRate;
+  }
+
+  /**
+   * Updates the allocation rate from the bytes used reported by an eviction event.
+   */
+  void recordEvictionEvent(long bytesUsed, long eventTime) {
+    synchronized (evictionLock) {
+      long bytesEvicted = this.bytesEvicted.get();
+      if (this.lastEventTime != 0 && eventTime > this.lastEventTime) {
+        long allocated = bytesUsed - this.lastBytesUsed + bytesEvicted - this.lastBytesEvicted;
+        this.allocationRate = Math.max(allocated, 0)
+            / Math.max(NANOSECONDS.toMillis(eventTime - this.lastEventTime), 1);
+      }
+      this.lastEventTime = eventTime;
+      this.lastBytesUsed = bytesUsed;
+      this.lastBytesEvicted = bytesEvicted;
+    }
+  }
+
+  private void resetEvictionRates() {
+    synchronized (evictionLock) {
+      this.allocationRate = 0;
+      this.lastEventTime = 0;
+      this.bytesEvicted.set(0);
+      this.evictionTime.set(0);
+    }
+  }
+
   private Set<RegionEvictorTask> createRegionEvictionTasks() {
     ThreadPoolExecutor pool = getEvictorThreadPool();
     if (pool == null) {
@@ -335,6 +444,7 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
       if (event.getState().isEviction()) {
         // Have we previously received an eviction event and already started eviction ...
         if (this.mustEvict.get()) {
+          recordEvictionEvent(event.getBytesUsed(), System.nanoTime());
           if (logger.isDebugEnabled()) {
             logger.debug("Updating eviction in response to memory event: {}", event);
           }
@@ -359,6 +469,8 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
           // Another thread just started evicting.
           return;
         }
+        resetEvictionRates();
+        recordEvictionEvent(event.getBytesUsed(), System.nanoTime());
 
         numEvictionLoopsCompleted = 0;
         numFastLoops =
@@ -28,6 +28,8 @@ public class HeapLRUStatistics implements EvictionStats {
   private static final int destroysId;
   private static final int evaluationsId;
   private static final int greedyReturnsId;
+  private static final int evictionBatchesId;
+  private static final int evictionLagTimeId;
 
   static {
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
@@ -39,19 +41,27 @@ public class HeapLRUStatistics implements EvictionStats {
         "Number of entries destroyed in the region through both destroy cache operations and eviction.";
     final String lruEvaluationsDesc = "Number of entries evaluated during LRU operations.";
     final String lruGreedyReturnsDesc = "Number of non-LRU entries evicted during LRU operations";
+    final String evictionBatchesDesc =
+        "Number of batches of entries evicted by evictor threads because the heap was above the eviction threshold.";
+    final String evictionLagTimeDesc =
+        "Total time between the heap evictor scheduling eviction from a region and an evictor thread starting to evict from it.";
 
     statType = f.createType("HeapLRUStatistics", "Statistics related to heap based eviction",
         new StatisticDescriptor[] {f.createLongGauge("entryBytes", entryBytesDesc, "bytes"),
             f.createLongCounter("lruEvictions", lruEvictionsDesc, "entries"),
             f.createLongCounter("lruDestroys", lruDestroysDesc, "entries"),
             f.createLongCounter("lruEvaluations", lruEvaluationsDesc, "entries"),
-            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries")});
+            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries"),
+            f.createLongCounter("evictionBatches", evictionBatchesDesc, "operations"),
+            f.createLongCounter("evictionLagTime", evictionLagTimeDesc, "nanoseconds", false)});
 
     counterId = statType.nameToId("entryBytes");
     evictionsId = statType.nameToId("lruEvictions");
     destroysId = statType.nameToId("lruDestroys");
     evaluationsId = statType.nameToId("lruEvaluations");
     greedyReturnsId = statType.nameToId("lruGreedyReturns");
+    evictionBatchesId = statType.nameToId("evictionBatches");
+    evictionLagTimeId = statType.nameToId("evictionLagTime");
   }
 
   private final Statistics stats;
@@ -105,4 +115,14 @@ public class HeapLRUStatistics implements EvictionStats {
     this.stats.incLong(greedyReturnsId, delta);
   }
 
+  @Override
+  public void incEvictionBatches() {
+    this.stats.incLong(evictionBatchesId, 1);
+  }
+
+  @Override
+  public void incEvictionLagTime(long lagTime) {
+    this.stats.incLong(evictionLagTimeId, lagTime);
+  }
+
 }
@@ -108,4 +108,14 @@ public class MemoryLRUStatistics implements EvictionStats {
     this.stats.incLong(greedyReturnsId, delta);
   }
 
+  @Override
+  public void incEvictionBatches() {
+    // nothing needed; only heap eviction runs in batches
+  }
+
+  @Override
+  public void incEvictionLagTime(long lagTime) {
+    // nothing needed; only heap eviction runs in batches
+  }
+
 }
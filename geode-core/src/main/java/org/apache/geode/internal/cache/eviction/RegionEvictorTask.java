@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache.eviction;
 import java.util.Iterator;
 import java.util.List;
 
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.RegionDestroyedException;
@@ -29,6 +30,10 @@ import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 /**
  * Takes delta to be evicted and tries to evict the least no of LRU entry which would make
  * evictedBytes more than or equal to the delta
+ * <p>
+ * The regions of a task are visited in turn, evicting a batch of up to {@code batchBytes} from
+ * each region per visit. If the task was given the number of bytes to evict from each region, a
+ * region is dropped from the task once that many bytes have been evicted from it.
  *
  * @since GemFire 6.0
  */
@@ -40,16 +45,32 @@ public class RegionEvictorTask implements Runnable {
 
   private final List<LocalRegion> regions;
 
+  private final Object2LongMap<LocalRegion> bytesToEvictPerRegion;
+
   private final HeapEvictor evictor;
 
   private final long bytesToEvictPerTask;
 
+  private final long batchBytes;
+
+  /** When this task was scheduled, used to measure the eviction lag of its regions */
+  private final long scheduledTime;
+
   RegionEvictorTask(final CachePerfStats stats, final List<LocalRegion> regions,
       final HeapEvictor evictor, final long bytesToEvictPerTask) {
+    this(stats, regions, null, evictor, bytesToEvictPerTask, 1);
+  }
+
+  RegionEvictorTask(final CachePerfStats stats, final List<LocalRegion> regions,
+      final Object2LongMap<LocalRegion> bytesToEvictPerRegion, final HeapEvictor evictor,
+      final long bytesToEvictPerTask, final long batchBytes) {
     this.stats = stats;
     this.evictor = evictor;
     this.regions = regions;
+    this.bytesToEvictPerRegion = bytesToEvictPerRegion;
     this.bytesToEvictPerTask = bytesToEvictPerTask;
+    this.batchBytes = batchBytes;
+    this.scheduledTime = System.nanoTime();
   }
 
   List<LocalRegion> getRegionList() {
@@ -67,6 +88,7 @@ public class RegionEvictorTask implements Runnable {
     this.stats.incEvictorJobsStarted();
     try {
       long totalBytesEvicted = 0;
+      boolean firstVisit = true;
       while (true) {
         final long start = CachePerfStats.getStatTime();
         synchronized (this.regions) {
@@ -77,8 +99,18 @@ public class RegionEvictorTask implements Runnable {
           for (Iterator<LocalRegion> iterator = regions.iterator(); iterator.hasNext();) {
             LocalRegion region = iterator.next();
             try {
-              long bytesEvicted = region.getRegionMap().centralizedLruUpdateCallback();
-              if (bytesEvicted == 0) {
+              long batchStart = System.nanoTime();
+              EvictionCounters counters = getEvictionCounters(region);
+              if (firstVisit && counters != null) {
+                counters.incEvictionLagTime(batchStart - this.scheduledTime);
+              }
+              long bytesEvicted =
+                  region.getRegionMap().centralizedLruUpdateCallback(getBatchBytes(region));
+              if (counters != null) {
+                counters.incEvictionBatches();
+              }
+              getHeapEvictor().recordBatch(bytesEvicted, System.nanoTime() - batchStart);
+              if (bytesEvicted == 0 || !hasBytesLeftToEvict(region, bytesEvicted)) {
                 iterator.remove();
               }
               totalBytesEvicted += bytesEvicted;
@@ -97,10 +129,36 @@ public class RegionEvictorTask implements Runnable {
               this.stats.incEvictWorkTime(end - start);
             }
           }
+          firstVisit = false;
         }
       }
     } finally {
       this.stats.incEvictorJobsCompleted();
     }
   }
+
+  private EvictionCounters getEvictionCounters(LocalRegion region) {
+    EvictionController evictionController = region.getEvictionController();
+    return evictionController == null ? null : evictionController.getCounters();
+  }
+
+  private long getBatchBytes(LocalRegion region) {
+    if (this.bytesToEvictPerRegion == null) {
+      return this.batchBytes;
+    }
+    return Math.min(this.batchBytes, this.bytesToEvictPerRegion.getLong(region));
+  }
+
+  /**
+   * Subtracts the bytes just evicted from the bytes left to evict from the region and returns
+   * whether there are any left.
+   */
+  private boolean hasBytesLeftToEvict(LocalRegion region, long bytesEvicted) {
+    if (this.bytesToEvictPerRegion == null) {
+      return true;
+    }
+    long bytesLeft = this.bytesToEvictPerRegion.getLong(region) - bytesEvicted;
+    this.bytesToEvictPerRegion.put(region, bytesLeft);
+    return bytesLeft > 0;
+  }
 }
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+
+/**
+ * WindowTinyLFUList holds the eviction list of the LFU eviction algorithms. New entries are added
+ * to a small window list. When an entry must be evicted while the window holds more than one
+ * percent of the entries, the oldest entry of the window is a candidate for the main list. The
+ * candidate is only admitted if its key has been used more often than the key of the entry the
+ * main list would evict next, otherwise the candidate itself is evicted. So entries that are used
+ * once, for example by a query or export that scans the region, do not push out the entries that
+ * are used all the time.
+ * <p>
+ * How often a key has been used is estimated by a {@link FrequencySketch} that also remembers keys
+ * that are no longer in the region. A use is counted when an entry is added and each time a clock
+ * hand finds the recently used bit of the entry set. The main list is swept by a clock hand like
+ * {@link LRUListWithSyncSorting}.
+ */
+public class WindowTinyLFUList implements EvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int DEFAULT_WINDOW_PERCENT = 1;
+
+  private static final int DEFAULT_MAX_EVICTION_ATTEMPTS = 10;
+
+  private final EvictionController controller;
+
+  private final Queue window;
+
+  private final Queue main;
+
+  /** The entries in the window; the others are in the main list */
+  private final Set<EvictionNode> windowNodes =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final FrequencySketch sketch = new FrequencySketch();
+
+  private final int windowPercent;
+
+  private final int maxEvictionAttempts;
+
+  WindowTinyLFUList(EvictionController controller) {
+    this(controller, DEFAULT_WINDOW_PERCENT, DEFAULT_MAX_EVICTION_ATTEMPTS);
+  }
+
+  WindowTinyLFUList(EvictionController controller, int windowPercent, int maxEvictionAttempts) {
+    this.controller = controller;
+    this.window = new Queue(controller);
+    this.main = new Queue(controller);
+    this.windowPercent = windowPercent;
+    this.maxEvictionAttempts = maxEvictionAttempts;
+  }
+
+  @Override
+  public void closeStats() {
+    getStatistics().close();
+  }
+
+  @Override
+  public EvictionCounters getStatistics() {
+    return this.controller.getCounters();
+  }
+
+  @Override
+  public synchronized void appendEntry(EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the window or the main list
+      return;
+    }
+    this.window.appendEntry(evictionNode);
+    this.windowNodes.add(evictionNode);
+    this.sketch.ensureCapacity(size());
+    // this use is counted now, so a use only counts again once the entry is read
+    this.sketch.increment(hash(evictionNode));
+    evictionNode.unsetRecentlyUsed();
+  }
+
+  @Override
+  public synchronized void destroyEntry(EvictionNode evictionNode) {
+    if (this.windowNodes.remove(evictionNode)) {
+      this.window.destroyEntry(evictionNode);
+    } else {
+      this.main.destroyEntry(evictionNode);
+    }
+  }
+
+  /**
+   * Remove and return either the oldest entry of the window or the next entry of the main list,
+   * whichever of them has been used less often.
+   */
+  @Override
+  public synchronized EvictableEntry getEvictableEntry() {
+    long numEvals = 0;
+    for (;;) {
+      int maximumWindowSize = getMaximumWindowSize();
+      if (this.window.size() > maximumWindowSize) {
+        EvictionNode candidate = this.window.unlinkHeadEntry();
+        this.windowNodes.remove(candidate);
+        numEvals++;
+
+        if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+          logger.trace(LogMarker.LRU_CLOCK, "lfu considering candidate {}", candidate);
+        }
+
+        if (!this.window.isEvictable(candidate)) {
+          continue;
+        }
+        recordRecentUse(candidate);
+
+        EvictionNode victim = null;
+        if (this.window.size() <= maximumWindowSize) {
+          victim = advanceMainHand();
+        }
+        if (victim == null) {
+          // the window is still too large or the main list is empty, so admit the candidate
+          this.main.appendEntry(candidate);
+          continue;
+        }
+        numEvals++;
+        if (this.sketch.frequency(hash(candidate)) > this.sketch.frequency(hash(victim))) {
+          this.main.unlinkEntry(victim);
+          this.main.appendEntry(candidate);
+          return evict(victim, numEvals);
+        }
+        return evict(candidate, numEvals);
+      }
+
+      EvictionNode victim = advanceMainHand();
+      if (victim != null) {
+        numEvals++;
+        this.main.unlinkEntry(victim);
+        return evict(victim, numEvals);
+      }
+
+      // the main list is empty
+      EvictionNode evictionNode = this.window.unlinkHeadEntry();
+      if (evictionNode == null) {
+        getStatistics().incEvaluations(numEvals);
+        return null;
+      }
+      this.windowNodes.remove(evictionNode);
+      numEvals++;
+      if (this.window.isEvictable(evictionNode)) {
+        return evict(evictionNode, numEvals);
+      }
+    }
+  }
+
+  private EvictableEntry evict(EvictionNode evictionNode, long numEvals) {
+    if (evictionNode.isRecentlyUsed()) {
+      if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+        logger.trace(LogMarker.LRU_CLOCK, LocalizedMessage
+            .create(LocalizedStrings.NewLRUClockHand_GREEDILY_PICKING_AN_AVAILABLE_ENTRY));
+      }
+      getStatistics().incGreedyReturns(1);
+    } else if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+      logger.trace(LogMarker.LRU_CLOCK, LocalizedMessage
+          .create(LocalizedStrings.NewLRUClockHand_RETURNING_UNUSED_ENTRY, evictionNode));
+    }
+    getStatistics().incEvaluations(numEvals);
+    return (EvictableEntry) evictionNode;
+  }
+
+  /**
+   * Moves the recently used entries at the head of the main list to its tail, dropping the entries
+   * that can not be evicted, and returns the entry left at the head without unlinking it. Returns
+   * null if the main list is empty.
+   */
+  private EvictionNode advanceMainHand() {
+    int evictionAttempts = 0;
+    for (;;) {
+      EvictionNode evictionNode = this.main.head.next();
+      if (evictionNode == this.main.tail) {
+        return null;
+      }
+      if (!this.main.isEvictable(evictionNode)) {
+        this.main.unlinkEntry(evictionNode);
+        continue;
+      }
+      if (evictionNode.isRecentlyUsed() && evictionAttempts < this.maxEvictionAttempts) {
+        evictionAttempts++;
+        recordRecentUse(evictionNode);
+        this.main.unlinkEntry(evictionNode);
+        this.main.appendEntry(evictionNode);
+        continue;
+      }
+      return evictionNode;
+    }
+  }
+
+  private void recordRecentUse(EvictionNode evictionNode) {
+    if (evictionNode.isRecentlyUsed()) {
+      this.sketch.increment(hash(evictionNode));
+      evictionNode.unsetRecentlyUsed();
+    }
+  }
+
+  private int getMaximumWindowSize() {
+    return Math.max(1, (int) ((long) size() * this.windowPercent / 100));
+  }
+
+  private static int hash(EvictionNode evictionNode) {
+    Object key = evictionNode instanceof RegionEntry ? ((RegionEntry) evictionNode).getKey() : null;
+    return key != null ? key.hashCode() : System.identityHashCode(evictionNode);
+  }
+
+  int getFrequency(EvictionNode evictionNode) {
+    return this.sketch.frequency(hash(evictionNode));
+  }
+
+  int getWindowSize() {
+    return this.window.size();
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    if (regionVersionVector != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+
+    synchronized (this) {
+      if (bucketRegion != null) {
+        getStatistics().decrementCounter(bucketRegion.getCounter());
+        bucketRegion.resetCounter();
+      } else {
+        getStatistics().resetCounter();
+      }
+      this.window.initEmptyList();
+      this.main.initEmptyList();
+      this.windowNodes.clear();
+    }
+  }
+
+  @Override
+  public int size() {
+    return this.window.size() + this.main.size();
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed; uses are counted when a clock hand finds the recently used bit set
+  }
+
+  /**
+   * The window or the main list of a WindowTinyLFUList. Only used while holding the lock of the
+   * WindowTinyLFUList.
+   */
+  private static class Queue extends AbstractEvictionList {
+
+    Queue(EvictionController controller) {
+      super(controller);
+    }
+
+    @Override
+    public EvictableEntry getEvictableEntry() {
+      return (EvictableEntry) unlinkHeadEntry();
+    }
+
+    @Override
+    public void incrementRecentlyUsed() {
+      // nothing needed
+    }
+  }
+}
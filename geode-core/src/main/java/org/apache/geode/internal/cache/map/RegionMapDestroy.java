@@ -27,6 +27,7 @@ import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.RegionClearedException;
 import org.apache.geode.internal.cache.RegionEntry;
 import org.apache.geode.internal.cache.Token;
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
 import org.apache.geode.internal.cache.versions.ConcurrentCacheModificationException;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
@@ -358,6 +359,9 @@ public class RegionMapDestroy {
             newRegionEntry);
         if (regionEntry != null && regionEntry != tombstone) {
           // concurrent change - try again
+          if (!haveTombstone) {
+            releaseUnusedEntry(newRegionEntry);
+          }
           retry = true;
           doContinue = true;
           return;
@@ -627,6 +631,19 @@ public class RegionMapDestroy {
       if (oqlIndexManager != null) {
         oqlIndexManager.countDownIndexUpdaters();
       }
+      if (oldRegionEntry != null) {
+        releaseUnusedEntry(newRegionEntry);
+      }
+    }
+  }
+
+  /**
+   * Releases an entry that was created to be put in the map but lost to an entry that was already
+   * there. Off-heap entries may have allocated their key off heap when they were created.
+   */
+  private void releaseUnusedEntry(RegionEntry unusedRegionEntry) {
+    if (unusedRegionEntry instanceof OffHeapRegionEntry) {
+      ((OffHeapRegionEntry) unusedRegionEntry).release();
     }
   }
 
@@ -145,4 +145,6 @@ public interface DiskInitFileInterpreter {
   boolean cmnRevokeDiskStoreId(PersistentMemberPattern id);
 
   void cmnGemfireVersion(Version version);
+
+  void cmnValueCompressor(String compressorClassName);
 }
@@ -433,6 +433,16 @@ public class DiskInitFileParser {
           interpreter.cmnGemfireVersion(gfversion);
           break;
         }
+        case DiskInitFile.IFREC_VALUE_COMPRESSOR_ID: {
+          String compressorClassName = dis.readUTF();
+          readEndOfRecord(dis);
+          if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
+            logger.trace(LogMarker.PERSIST_RECOVERY, "IFREC_VALUE_COMPRESSOR_ID compressor={}",
+                compressorClassName);
+          }
+          interpreter.cmnValueCompressor(compressorClassName);
+          break;
+        }
         case DiskInitFile.IFREC_PR_DESTROY: {
           String name = dis.readUTF();
           readEndOfRecord(dis);
@@ -31,11 +31,13 @@ import org.apache.logging.log4j.Logger;
 import org.apache.geode.SerializationException;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.Assert;
+import org.apache.geode.internal.DirectBufferDataOutputStream;
 import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.offheap.StoredObject;
@@ -106,6 +108,22 @@ public class Message {
 
   private static final int DEFAULT_CHUNK_SIZE = 1024;
 
+  /**
+   * Off-heap parts at least this large are written to a socket channel straight from off-heap
+   * memory instead of being copied to the comm buffer. Smaller parts are cheaper to copy.
+   */
+  private static final int MIN_DIRECT_WRITE_PART_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Message.MIN_DIRECT_WRITE_PART_SIZE",
+          8 * 1024);
+
+  /**
+   * If true, objects are serialized into pooled direct buffers that are sent without being copied
+   * to the comm buffer.
+   */
+  private static final boolean DIRECT_BUFFER_SERIALIZATION = SystemPropertyHelper
+      .getProductBooleanProperty(SystemPropertyHelper.MESSAGE_DIRECT_BUFFER_SERIALIZATION)
+      .orElse(false);
+
   private static final byte[] TRUE = defineTrue();
   private static final byte[] FALSE = defineFalse();
 
@@ -394,7 +412,8 @@ public class Message {
     }
 
     // do NOT close the HeapDataOutputStream
-    HeapDataOutputStream hdos = new HeapDataOutputStream(this.chunkSize, v);
+    HeapDataOutputStream hdos = DIRECT_BUFFER_SERIALIZATION ? new DirectBufferDataOutputStream(v)
+        : new HeapDataOutputStream(this.chunkSize, v);
     try {
       BlobHelper.serializeTo(o, hdos);
     } catch (IOException ex) {
@@ -604,7 +623,13 @@ public class Message {
           int partLen = part.getLength();
           commBuffer.putInt(partLen);
           commBuffer.put(part.getTypeCode());
-          if (partLen <= commBuffer.remaining()) {
+          ByteBuffer[] directPart = null;
+          if (this.socketChannel != null && partLen >= MIN_DIRECT_WRITE_PART_SIZE) {
+            directPart = part.getDirectByteBuffers();
+          }
+          if (directPart != null) {
+            flushBuffer(directPart);
+          } else if (partLen <= commBuffer.remaining()) {
             part.writeTo(commBuffer);
           } else {
             flushBuffer();
@@ -649,6 +674,31 @@ public class Message {
     cb.clear();
   }
 
+  /**
+   * Writes the comm buffer followed by the given buffers to the socket channel with gathering
+   * writes. This sends the bytes of a part that is held in direct memory without copying them to
+   * the comm buffer and without a separate write for the header bytes that precede them.
+   */
+  private void flushBuffer(ByteBuffer[] directPart) throws IOException {
+    final ByteBuffer cb = getCommBuffer();
+    cb.flip();
+    final ByteBuffer[] buffers = new ByteBuffer[directPart.length + 1];
+    buffers[0] = cb;
+    System.arraycopy(directPart, 0, buffers, 1, directPart.length);
+    long bytesToSend = 0;
+    for (ByteBuffer bb : buffers) {
+      bytesToSend += bb.remaining();
+    }
+    long bytesSent = 0;
+    do {
+      bytesSent += this.socketChannel.write(buffers);
+    } while (bytesSent < bytesToSend);
+    if (this.messageStats != null) {
+      this.messageStats.incSentBytes(bytesToSend);
+    }
+    cb.clear();
+  }
+
   private void readHeaderAndBody(int headerReadTimeoutMillis) throws IOException {
     clearParts();
     // TODO: for server changes make sure sc is not null as this class also used by client
@@ -52,8 +52,8 @@ public class Part {
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
   /**
-   * The payload of this part. Could be null, a byte[] or a HeapDataOutputStream on the send side.
-   * Could be null, or a byte[] on the receiver side.
+   * The payload of this part. Could be null, a byte[], a retained StoredObject or a
+   * HeapDataOutputStream on the send side. Could be null, or a byte[] on the receiver side.
    */
   private Object part;
 
@@ -73,6 +73,8 @@ public class Part {
     if (this.part != null) {
       if (this.part instanceof HeapDataOutputStream) {
         ((HeapDataOutputStream) this.part).close();
+      } else if (this.part instanceof StoredObject) {
+        ((StoredObject) this.part).release();
       }
       this.part = null;
     }
@@ -125,7 +127,12 @@ public class Part {
     }
   }
 
+  /**
+   * Sets the payload of this part to an off-heap object. The object is retained by this part, and
+   * its bytes are written to the socket straight from off-heap memory, until this part is cleared.
+   */
   public void setPartState(StoredObject so, boolean isObject) {
+    clear();
     if (isObject) {
       this.typeCode = OBJECT_CODE;
     } else if (so.getDataSize() == 0) {
@@ -135,7 +142,7 @@ public class Part {
     } else {
       this.typeCode = BYTE_CODE;
     }
-    if (so.hasRefCount()) {
+    if (so.hasRefCount() && so.retain()) {
       this.part = so;
     } else {
       this.part = so.getValueAsHeapByteArray();
@@ -307,9 +314,10 @@ public class Part {
             if (buf.remaining() == 0) {
               HeapDataOutputStream.flushStream(out, buf);
             }
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
+            int bytesThisTime = Math.min(bytesToSend, buf.remaining());
+            copyToBuffer(addr, bytesThisTime, buf);
+            addr += bytesThisTime;
+            bytesToSend -= bytesThisTime;
           }
         }
       } else {
@@ -336,11 +344,7 @@ public class Part {
         } else {
           int bytesToSend = c.getDataSize();
           long addr = c.getAddressForReadingData(0, bytesToSend);
-          while (bytesToSend > 0) {
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
-          }
+          copyToBuffer(addr, bytesToSend, buf);
         }
       } else {
         HeapDataOutputStream hdos = (HeapDataOutputStream) this.part;
@@ -395,12 +399,9 @@ public class Part {
             if (bytesThisTime > BUF_MAX) {
               bytesThisTime = BUF_MAX;
             }
+            copyToBuffer(addr, bytesThisTime, buf);
+            addr += bytesThisTime;
             len -= bytesThisTime;
-            while (bytesThisTime > 0) {
-              buf.put(AddressableMemoryManager.readByte(addr));
-              addr++;
-              bytesThisTime--;
-            }
             buf.flip();
             while (buf.remaining() > 0) {
               sc.write(buf);
@@ -416,6 +417,45 @@ public class Part {
     }
   }
 
+  /**
+   * Returns direct ByteBuffers that hold this part's payload, or null if the payload is not held in
+   * direct memory. That is the case if the payload is off-heap and its memory can be wrapped, or if
+   * the payload was serialized to a {@link org.apache.geode.internal.DirectBufferDataOutputStream}.
+   * The returned buffers can be written to a socket channel without copying their bytes, but only
+   * while this part retains its payload.
+   */
+  ByteBuffer[] getDirectByteBuffers() {
+    if (this.part instanceof StoredObject) {
+      ByteBuffer bb = ((StoredObject) this.part).createDirectByteBuffer();
+      return bb == null ? null : new ByteBuffer[] {bb};
+    }
+    if (this.part instanceof HeapDataOutputStream) {
+      return ((HeapDataOutputStream) this.part).getDirectByteBuffers();
+    }
+    return null;
+  }
+
+  /**
+   * Copies size bytes of off-heap memory, starting at addr, to buf with a single bulk copy instead
+   * of one byte at a time. Precondition: buf has at least size bytes remaining.
+   */
+  private static void copyToBuffer(long addr, int size, ByteBuffer buf) {
+    int position = buf.position();
+    if (buf.hasArray()) {
+      AddressableMemoryManager.readBytes(addr, buf.array(), buf.arrayOffset() + position, size);
+    } else {
+      long bufAddr = AddressableMemoryManager.getDirectByteBufferAddress(buf);
+      if (bufAddr == 0L) {
+        for (int i = 0; i < size; i++) {
+          buf.put(AddressableMemoryManager.readByte(addr + i));
+        }
+        return;
+      }
+      AddressableMemoryManager.copyMemory(addr, bufAddr + position, size);
+    }
+    buf.position(position + size);
+  }
+
   private static String typeCodeToString(byte c) {
     switch (c) {
       case BYTE_CODE:
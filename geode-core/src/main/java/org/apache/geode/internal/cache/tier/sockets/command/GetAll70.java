@@ -15,6 +15,7 @@
 package org.apache.geode.internal.cache.tier.sockets.command;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -184,6 +185,12 @@ public class GetAll70 extends BaseCommand {
           values.clear();
         }
 
+        // Fault in the values of the next keys that are on disk with batched reads
+        if (keys != null && i % MAXIMUM_CHUNK_SIZE == 0 && region instanceof LocalRegion) {
+          ((LocalRegion) region).faultInValues(
+              Arrays.asList(keys).subList(i, Math.min(i + MAXIMUM_CHUNK_SIZE, numKeys)));
+        }
+
         Object key;
         boolean keyNotPresent = false;
         if (keys != null) {
@@ -594,6 +594,8 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   public static final String AUTO_COMPACT = "auto-compact";
   public static final String ALLOW_FORCE_COMPACTION = "allow-force-compaction";
   public static final String COMPACTION_THRESHOLD = "compaction-threshold";
+  /** Name of disk store property specifying the compaction rate limit in megabytes per second **/
+  public static final String COMPACTION_RATE_LIMIT = "compaction-rate-limit";
   /** Name of disk region property specifying the max oplog size in megabytes **/
   public static final String MAX_OPLOG_SIZE = "max-oplog-size";
 
@@ -666,6 +668,10 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   protected static final String LRU_MEMORY_SIZE = "lru-memory-size";
   /** Eviction Controller eviction based on used heap */
   protected static final String LRU_HEAP_PERCENTAGE = "lru-heap-percentage";
+  /** Frequency aware eviction controller eviction on a per Entry basis */
+  protected static final String LFU_ENTRY_COUNT = "lfu-entry-count";
+  /** Frequency aware eviction controller eviction on a per Entry size basis */
+  protected static final String LFU_MEMORY_SIZE = "lfu-memory-size";
   /** Eviction Controller maximum allowed value for the enclosing Eviction Controller */
   protected static final String MAXIMUM = "maximum";
 
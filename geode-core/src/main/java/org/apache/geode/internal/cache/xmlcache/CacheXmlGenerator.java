@@ -42,6 +42,7 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 
+import org.apache.logging.log4j.Logger;
 import org.xml.sax.Attributes;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.DTDHandler;
@@ -124,6 +125,7 @@ import org.apache.geode.internal.cache.control.MemoryThresholds;
 import org.apache.geode.internal.cache.extension.Extensible;
 import org.apache.geode.internal.cache.extension.Extension;
 import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.size.SizeClassOnceObjectSizer;
 import org.apache.geode.management.internal.configuration.utils.XmlConstants;
 import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
@@ -138,6 +140,8 @@ import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
 @SuppressWarnings("deprecation")
 public class CacheXmlGenerator extends CacheXml implements XMLReader {
 
+  private static final Logger logger = LogService.getLogger();
+
   /** An empty <code>Attributes</code> */
   private static final Attributes EMPTY = new AttributesImpl();
 
@@ -1083,6 +1087,16 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
               String.valueOf(ds.getCompactionThreshold()));
       }
 
+      if (this.version.compareTo(CacheXmlVersion.GEODE_1_0) >= 0) {
+        if ((!(ds instanceof DiskStoreAttributesCreation)
+            || ((DiskStoreAttributesCreation) ds).hasCompactionRateLimit())) {
+          if (generateDefaults()
+              || ds.getCompactionRateLimit() != DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT)
+            atts.addAttribute("", "", COMPACTION_RATE_LIMIT, "",
+                String.valueOf(ds.getCompactionRateLimit()));
+        }
+      }
+
       if ((!(ds instanceof DiskStoreAttributesCreation)
           || ((DiskStoreAttributesCreation) ds).hasMaxOplogSize())) {
         if (generateDefaults() || ds.getMaxOplogSize() != DiskStoreFactory.DEFAULT_MAX_OPLOG_SIZE)
@@ -2234,6 +2248,12 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
     if (eAction.isNone()) {
       return;
     }
+    if (ea.getAlgorithm().isLFU() && this.version.compareTo(CacheXmlVersion.GEODE_1_0) < 0) {
+      // older schemas have no element for the LFU algorithms and eviction-attributes requires one
+      logger.warn("Eviction algorithm {} can not be expressed in cache.xml version {}",
+          ea.getAlgorithm(), this.version.getVersion());
+      return;
+    }
 
     AttributesImpl atts = new AttributesImpl();
     atts.addAttribute("", "", ACTION, "", eAction.toString());
@@ -2251,6 +2271,18 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
         generate((Declarable) os, false);
       }
       handler.endElement("", LRU_MEMORY_SIZE, LRU_MEMORY_SIZE);
+    } else if (ea.getAlgorithm() == EvictionAlgorithm.LFU_ENTRY) {
+      atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
+      handler.startElement("", LFU_ENTRY_COUNT, LFU_ENTRY_COUNT, atts);
+      handler.endElement("", LFU_ENTRY_COUNT, LFU_ENTRY_COUNT);
+    } else if (ea.getAlgorithm() == EvictionAlgorithm.LFU_MEMORY) {
+      atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
+      handler.startElement("", LFU_MEMORY_SIZE, LFU_MEMORY_SIZE, atts);
+      ObjectSizer os = ea.getObjectSizer();
+      if (os != null && os != ObjectSizer.DEFAULT) {
+        generate((Declarable) os, false);
+      }
+      handler.endElement("", LFU_MEMORY_SIZE, LFU_MEMORY_SIZE);
     } else if (ea.getAlgorithm() == EvictionAlgorithm.LRU_HEAP) {
       handler.startElement("", LRU_HEAP_PERCENTAGE, LRU_HEAP_PERCENTAGE, atts);
       if (this.version.compareTo(CacheXmlVersion.GEMFIRE_6_0) >= 0) {
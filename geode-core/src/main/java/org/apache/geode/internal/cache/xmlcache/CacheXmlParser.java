@@ -979,6 +979,11 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       attrs.setCompactionThreshold(parseInt(compactionThreshold));
     }
 
+    String compactionRateLimit = atts.getValue(COMPACTION_RATE_LIMIT);
+    if (compactionRateLimit != null) {
+      attrs.setCompactionRateLimit(parseInt(compactionRateLimit));
+    }
+
     String allowForceCompaction = atts.getValue(ALLOW_FORCE_COMPACTION);
     if (allowForceCompaction != null) {
       attrs.setAllowForceCompaction(Boolean.valueOf(allowForceCompaction).booleanValue());
@@ -2149,6 +2154,61 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
    * <code>region-attributes</code>
    */
   private void endLRUMemorySize() {
+    endMemorySizeEviction(LRU_MEMORY_SIZE);
+  }
+
+  /**
+   * Create an <code>lfu-entry-count</code> eviction controller, assigning it to the enclosed
+   * <code>region-attributes</code>. Allow any combination of attributes to be provided. Use the
+   * default values for any attribute that is not provided.
+   */
+  private void startLFUEntryCount(Attributes atts) {
+    final String maximum = atts.getValue(MAXIMUM);
+    int max = EvictionAttributes.DEFAULT_ENTRIES_MAXIMUM;
+    if (maximum != null) {
+      max = parseInt(maximum);
+    }
+    final String lfuAction = atts.getValue(ACTION);
+    EvictionAction action = EvictionAction.DEFAULT_EVICTION_ACTION;
+    if (lfuAction != null) {
+      action = EvictionAction.parseAction(lfuAction);
+    }
+    RegionAttributesCreation regAttrs = peekRegionAttributesContext(LFU_ENTRY_COUNT);
+    regAttrs.setEvictionAttributes(EvictionAttributes.createLFUEntryAttributes(max, action));
+  }
+
+  /**
+   * Start the configuration of a <code>lfu-memory-size</code> eviction controller. Allow for any of
+   * the attributes to be missing. Store the attributes on the stack anticipating the declaration of
+   * an {@link ObjectSizer}.
+   */
+  private void startLFUMemorySize(Attributes atts) {
+    String lfuAction = atts.getValue(ACTION);
+    EvictionAction action = EvictionAction.DEFAULT_EVICTION_ACTION;
+    if (lfuAction != null) {
+      action = EvictionAction.parseAction(lfuAction);
+    }
+    String maximum = atts.getValue(MAXIMUM);
+    int max = EvictionAttributes.DEFAULT_MEMORY_MAXIMUM;
+    if (maximum != null) {
+      max = parseInt(maximum);
+    }
+    // Store for later addition of ObjectSizer, if any
+    stack.push(EvictionAttributes.createLFUMemoryAttributes(max, null, action));
+  }
+
+  /**
+   * Complete the configuration of a <code>lfu-memory-size</code> eviction controller.
+   */
+  private void endLFUMemorySize() {
+    endMemorySizeEviction(LFU_MEMORY_SIZE);
+  }
+
+  /**
+   * Check for the declaration of an {@link ObjectSizer} for the memory size eviction controller on
+   * the stack and assign its attributes to the enclosing <code>region-attributes</code>.
+   */
+  private void endMemorySizeEviction(String dependentElement) {
     Object declCheck = stack.peek();
     Declarable d = null;
     if (declCheck instanceof String || declCheck instanceof Parameter) {
@@ -2163,7 +2223,7 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
     if (d != null) {
       eai.setObjectSizer((ObjectSizer) d);
     }
-    RegionAttributesCreation regAttrs = peekRegionAttributesContext(LRU_MEMORY_SIZE);
+    RegionAttributesCreation regAttrs = peekRegionAttributesContext(dependentElement);
     regAttrs.setEvictionAttributes(eai);
   }
 
@@ -2704,6 +2764,10 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       // Visit endLRUMemorySize() to know the completion
       // of lru-memory-size eviction configuration
       startLRUMemorySize(atts);
+    } else if (qName.equals(LFU_ENTRY_COUNT)) {
+      startLFUEntryCount(atts); // internal to eviction-attributes
+    } else if (qName.equals(LFU_MEMORY_SIZE)) {
+      startLFUMemorySize(atts); // internal to eviction-attributes
     } else if (qName.equals(LRU_HEAP_PERCENTAGE)) {
       startLRUHeapPercentage(atts); // internal to eviction-attributes
     } else if (qName.equals(CACHE_LISTENER)) {
@@ -3001,6 +3065,10 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
         // internal to eviction-attributes
       } else if (qName.equals(LRU_MEMORY_SIZE)) {
         endLRUMemorySize(); // internal to eviction-attributes
+      } else if (qName.equals(LFU_ENTRY_COUNT)) {
+        // internal to eviction-attributes
+      } else if (qName.equals(LFU_MEMORY_SIZE)) {
+        endLFUMemorySize(); // internal to eviction-attributes
       } else if (qName.equals(LRU_HEAP_PERCENTAGE)) {
         endLRUHeapPercentage(); // internal to eviction-attributes
       } else if (qName.equals(CACHE_LISTENER)) {
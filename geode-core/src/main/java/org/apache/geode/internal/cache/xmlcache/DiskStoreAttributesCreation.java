@@ -67,6 +67,7 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
 
     setDiskUsageWarningPercentage(attrs.getDiskUsageWarningPercentage());
     setDiskUsageCriticalPercentage(attrs.getDiskUsageCriticalPercentage());
+    setCompactionRateLimit(attrs.getCompactionRateLimit());
 
     if (attrs instanceof UserSpecifiedDiskStoreAttributes) {
       // Selectively set has* fields to true, propagating those non-default
@@ -188,6 +189,11 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
               .toLocalizedString(
                   new Object[] {name, this.compactionThreshold, other.getCompactionThreshold()}));
     }
+    if (getCompactionRateLimit() != other.getCompactionRateLimit()) {
+      throw new RuntimeException("CompactionRateLimit of disk store " + name
+          + " is not the same: this:  " + getCompactionRateLimit() + "  other:  "
+          + other.getCompactionRateLimit());
+    }
     if (this.allowForceCompaction != other.getAllowForceCompaction()) {
       throw new RuntimeException(
           LocalizedStrings.DiskStoreAttributesCreation_ALLOWFORCECOMPACTION_OF_0_IS_NOT_THE_SAME_THIS_1_OTHER_2
@@ -253,6 +259,11 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
     this.setHasCompactionThreshold(true);
   }
 
+  public void setCompactionRateLimit(int compactionRateLimit) {
+    super.setCompactionRateLimit(compactionRateLimit);
+    this.setHasCompactionRateLimit(true);
+  }
+
   public void setAllowForceCompaction(boolean allowForceCompaction) {
     this.allowForceCompaction = allowForceCompaction;
     this.setHasAllowForceCompaction(true);
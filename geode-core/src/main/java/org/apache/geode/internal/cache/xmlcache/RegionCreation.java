@@ -372,7 +372,8 @@ public class RegionCreation implements Region, Extensible<Region<?, ?>> {
       this.attrs.setRefid(getRefid());
     }
     if (attrs.getPartitionAttributes() != null && attrs.getEvictionAttributes() != null
-        && attrs.getEvictionAttributes().getAlgorithm().isLRUMemory()
+        && (attrs.getEvictionAttributes().getAlgorithm().isLRUMemory()
+            || attrs.getEvictionAttributes().getAlgorithm().isLFUMemory())
         && attrs.getPartitionAttributes().getLocalMaxMemory() != 0 && attrs.getEvictionAttributes()
             .getMaximum() != attrs.getPartitionAttributes().getLocalMaxMemory()) {
       getCache().getLoggerI18n().warning(LocalizedStrings.Mem_LRU_Eviction_Attribute_Reset,
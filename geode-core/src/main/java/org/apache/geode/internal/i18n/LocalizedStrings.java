@@ -7713,6 +7713,9 @@ public class LocalizedStrings {
       new StringId(6665, "{0}: Enqueueing synchronization event: {1}");
   public static final StringId PoolImpl_CACHE_MUST_BE_CREATED_BEFORE_CREATING_POOL =
       new StringId(6666, "Cache must be created before creating pool");
+  public static final StringId DiskStoreImpl_COMPACTED_0_OF_1_OPLOGS_OF_DISK_STORE_2 =
+      new StringId(6667,
+          "Compacted {0} of {1} oplogs of disk store {2}: copied {3} live entries of {4} forward in {5} ms");
 
   /** Testing strings, messageId 90000-99999 **/
 
@@ -58,6 +58,136 @@ public class SystemPropertyHelper {
 
   public static final String EVICTION_SEARCH_MAX_ENTRIES = "lru.maxSearchEntries";
 
+  /**
+   * When set to "true" entry LRU eviction uses a segmented CLOCK algorithm instead of a single
+   * sorted list (defaults to false). This takes precedence over {@link #EVICTION_SCAN_ASYNC}. For
+   * more details see {@link org.apache.geode.internal.cache.eviction.ClockEvictionList}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EVICTION_CLOCK = "EvictionClock";
+
+  /**
+   * When set to "true" regions expire their entries with a hierarchical timer wheel instead of
+   * scheduling a timer task per entry (defaults to false). Entries with custom expiration keep
+   * using timer tasks. For more details see
+   * {@link org.apache.geode.internal.cache.ExpirationTimerWheel}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EXPIRATION_TIMER_WHEEL = "ExpirationTimerWheel";
+
+  /**
+   * This property allows the resolution of the expiration timer wheel, in milliseconds, to be
+   * configured. Entries expire up to this much later than their expiration time. It defaults to
+   * 100.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EXPIRATION_TIMER_WHEEL_TICK_MILLIS = "ExpirationTimerWheelTickMillis";
+
+  /**
+   * This property limits the time, in milliseconds, that one tick of an expiration timer wheel
+   * spends expiring entries. Entries that are left over are expired on the following ticks. It
+   * defaults to half of {@link #EXPIRATION_TIMER_WHEEL_TICK_MILLIS}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EXPIRATION_TIMER_WHEEL_SWEEP_MILLIS =
+      "ExpirationTimerWheelSweepMillis";
+
+  /**
+   * When set to "false" the entries that an expiration timer wheel destroys in a replicated region
+   * or bucket during one tick are distributed with a destroy message each, instead of with one
+   * removeAll message (defaults to true).
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EXPIRATION_TIMER_WHEEL_BATCH_DESTROYS =
+      "ExpirationTimerWheelBatchDestroys";
+
+  /**
+   * When set to a number of milliseconds greater than 0, gets record the time they access an entry
+   * rounded down to the start of an access epoch of that length (defaults to 0, meaning exact
+   * times). Reading an entry again within the same epoch then neither writes its last accessed
+   * time nor checks that its idle expiration is scheduled. Idle expiration allows for one more
+   * epoch, so entries expire up to one epoch after their idle timeout, never before it.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String EXPIRATION_ACCESS_EPOCH_MILLIS = "ExpirationAccessEpochMillis";
+
+  /**
+   * This property allows the number of threads that read the drf and krf files of a disk store
+   * ahead of its recovery to be configured. It defaults to
+   * "Math.min(Runtime.getRuntime().availableProcessors(), 4)". Setting it to 0 disables read
+   * ahead. For more details see {@link org.apache.geode.internal.cache.PersistentOplogSet}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String DISK_STORE_RECOVERY_READ_AHEAD_THREADS =
+      "DiskStoreRecoveryReadAheadThreads";
+
+  /**
+   * When set to "true" the oplog files that disk store recovery and compaction scan are mapped into
+   * memory instead of being read through a buffered stream or a random access file (defaults to
+   * true except on Windows). For more details see
+   * {@link org.apache.geode.internal.cache.MappedOplogFile}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String DISK_STORE_MAPPED_READS = "DiskStoreMappedReads";
+
+  /**
+   * When set to "true" the records that synchronous disk writes append to an oplog are written and
+   * synced to disk in groups (defaults to false). Each writer still waits until its own record is
+   * on disk, but one writer writes and syncs the records of all the writers that are waiting at
+   * that time. For more details see {@link org.apache.geode.internal.cache.Oplog}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String DISK_STORE_GROUP_COMMIT = "DiskStoreGroupCommit";
+
+  /**
+   * This property allows the name of a {@link org.apache.geode.compression.Compressor} class to be
+   * configured with which disk stores compress the entry values that they write to their oplogs
+   * (defaults to none). The compressor is recorded in the disk store, which is then always read
+   * with it and can not be opened with a different one configured. For more details see
+   * {@link org.apache.geode.internal.cache.OplogValueCompressor}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String DISK_STORE_VALUE_COMPRESSOR = "DiskStoreValueCompressor";
+
+  /**
+   * This property allows the number of threads with which a member copies its files to the backup
+   * directory to be configured. It defaults to 4. For more details see
+   * {@link org.apache.geode.internal.cache.backup.BackupFileTransfer}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String BACKUP_COPY_THREADS = "BackupCopyThreads";
+
+  /**
+   * This property allows the rate, in megabytes per second, at which a member copies its files to
+   * the backup directory to be limited. The limit is shared by all of the copy threads. It defaults
+   * to 0, meaning that the rate is not limited.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String BACKUP_COPY_RATE_LIMIT = "BackupCopyRateLimit";
+
+  /**
+   * When set to "true" the objects that client/server messages send are serialized into pooled
+   * direct byte buffers instead of heap buffers (defaults to false). A message written to a socket
+   * channel then sends those buffers without copying them to its comm buffer. For more details see
+   * {@link org.apache.geode.internal.DirectBufferDataOutputStream}.
+   *
+   * @since Geode 1.5.0
+   */
+  public static final String MESSAGE_DIRECT_BUFFER_SERIALIZATION =
+      "MessageDirectBufferSerialization";
+
   /**
    * This method will try to look up "geode." and "gemfire." versions of the system property. It
    * will check and prefer "geode." setting first, then try to check "gemfire." setting.
@@ -83,6 +213,10 @@ public class SystemPropertyHelper {
     }
   }
 
+  public static Optional<String> getProductStringProperty(String name) {
+    return Optional.ofNullable(getProperty(name));
+  }
+
   private static String getProperty(String name) {
     String property = getGeodeProperty(name);
     return property != null ? property : getGemfireProperty(name);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+/**
+ * The chunk size ranges, or buckets, of the off-heap allocation and free chunk histogram
+ * statistics. Chunk sizes include the off-heap header. Each bucket covers the sizes above the limit
+ * of the previous bucket up to and including its own limit. The last bucket has no limit.
+ */
+public class ChunkSizeHistogram {
+  private static final int[] SIZE_LIMITS = {64, 256, 1024, 4 * 1024, 16 * 1024, 64 * 1024};
+
+  public static final int BUCKET_COUNT = SIZE_LIMITS.length + 1;
+
+  private ChunkSizeHistogram() {
+    // no instances allowed
+  }
+
+  /**
+   * Returns the bucket that the given chunk size is counted in.
+   */
+  public static int getBucket(int chunkSize) {
+    int bucket = 0;
+    while (bucket < SIZE_LIMITS.length && chunkSize > SIZE_LIMITS[bucket]) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  /**
+   * Returns the largest chunk size of each bucket except the last one, which has no limit.
+   */
+  public static int[] getSizeLimits() {
+    return SIZE_LIMITS.clone();
+  }
+
+  /**
+   * Returns the suffix of the names of the statistics of the given bucket.
+   */
+  static String getStatisticNameSuffix(int bucket) {
+    if (bucket < SIZE_LIMITS.length) {
+      return "UpTo" + SIZE_LIMITS[bucket] + "Bytes";
+    }
+    return "Over" + SIZE_LIMITS[SIZE_LIMITS.length - 1] + "Bytes";
+  }
+
+  /**
+   * Describes the chunk sizes of the given bucket for the descriptions of its statistics.
+   */
+  static String getDescription(int bucket) {
+    if (bucket == 0) {
+      return "of up to " + SIZE_LIMITS[0] + " bytes";
+    } else if (bucket < SIZE_LIMITS.length) {
+      return "of " + (SIZE_LIMITS[bucket - 1] + 1) + " to " + SIZE_LIMITS[bucket] + " bytes";
+    }
+    return "of more than " + SIZE_LIMITS[SIZE_LIMITS.length - 1] + " bytes";
+  }
+}
@@ -24,8 +24,8 @@ import java.util.NavigableSet;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.Logger;
 
@@ -52,7 +52,23 @@ public class FreeListManager {
   // than MAX_TINY.
   private final ConcurrentSkipListSet<OffHeapStoredObject> hugeChunkSet =
       new ConcurrentSkipListSet<OffHeapStoredObject>();
-  private final AtomicLong allocatedSize = new AtomicLong(0L);
+  /**
+   * A LongAdder instead of an AtomicLong because it is changed by every allocate and free.
+   */
+  private final LongAdder allocatedSize = new LongAdder();
+
+  /**
+   * The number of tiny free list sizes, starting with the smallest, that threads cache.
+   */
+  private final int threadCacheSizeCount;
+  private final ThreadLocal<ThreadAllocationCache> threadCache =
+      new ThreadLocal<ThreadAllocationCache>();
+  /**
+   * Every thread cache that has been created and not yet released. Used to find the free chunks
+   * that are cached when defragmenting.
+   */
+  private final CopyOnWriteArrayList<ThreadAllocationCache> threadCaches =
+      new CopyOnWriteArrayList<ThreadAllocationCache>();
 
   private int getNearestTinyMultiple(int size) {
     return (size - 1) / TINY_MULTIPLE;
@@ -97,7 +113,7 @@ public class FreeListManager {
   }
 
   public long getUsedMemory() {
-    return this.allocatedSize.get();
+    return this.allocatedSize.sum();
   }
 
   public long getFreeMemory() {
@@ -123,6 +139,9 @@ public class FreeListManager {
         tinyFree += cl.computeTotalSize();
       }
     }
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      tinyFree += cache.computeTotalSize();
+    }
     return tinyFree;
   }
 
@@ -152,6 +171,12 @@ public class FreeListManager {
     }
     this.fragmentList = new CopyOnWriteArrayList<Fragment>(tmp);
     this.totalSlabSize = total;
+    if (THREAD_CACHE_CHUNK_COUNT > 0) {
+      this.threadCacheSizeCount = Math.min(
+          getNearestTinyMultiple(THREAD_CACHE_MAX_CHUNK_SIZE) + 1, TINY_FREE_LIST_COUNT);
+    } else {
+      this.threadCacheSizeCount = 0;
+    }
 
     fillFragments();
   }
@@ -194,10 +219,14 @@ public class FreeListManager {
   public OffHeapStoredObject allocate(int size) {
     assert size > 0;
 
-    OffHeapStoredObject result = basicAllocate(size, true);
+    OffHeapStoredObject result = allocateFromThreadCache(size + OffHeapStoredObject.HEADER_SIZE);
+    if (result == null) {
+      result = basicAllocate(size, true);
+      this.ma.getStats().incAllocations(ChunkSizeHistogram.getBucket(result.getSize()), 1);
+    }
 
     result.setDataSize(size);
-    this.allocatedSize.addAndGet(result.getSize());
+    this.allocatedSize.add(result.getSize());
     result.initializeUseCount();
 
     return result;
@@ -252,7 +281,7 @@ public class FreeListManager {
   void logOffHeapState(Logger lw, int chunkSize) {
     OffHeapMemoryStats stats = this.ma.getStats();
     lw.info("OutOfOffHeapMemory allocating size of " + chunkSize + ". allocated="
-        + this.allocatedSize.get() + " defragmentations=" + this.defragmentationCount.get()
+        + this.allocatedSize.sum() + " defragmentations=" + this.defragmentationCount.get()
         + " objects=" + stats.getObjects() + " free=" + stats.getFreeMemory() + " fragments="
         + stats.getFragments() + " largestFragment=" + stats.getLargestFragment()
         + " fragmentation=" + stats.getFragmentation());
@@ -274,6 +303,9 @@ public class FreeListManager {
         cl.logSizes(lw, "Free tiny of size ");
       }
     }
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      cache.logSizes(lw, "Free thread cached tiny of size ");
+    }
   }
 
   private void logFragmentState(Logger lw) {
@@ -322,6 +354,28 @@ public class FreeListManager {
     verifyHugeMultiple(HUGE_MULTIPLE);
   }
   public static final int MAX_TINY = TINY_MULTIPLE * TINY_FREE_LIST_COUNT;
+  /**
+   * The maximum number of free chunks of each size a thread keeps in its own allocation cache. Once
+   * a thread has cached this many chunks of one size they are all moved to the shared free list of
+   * that size. Setting this to zero disables the thread allocation caches.
+   */
+  public static final int THREAD_CACHE_CHUNK_COUNT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_CHUNK_COUNT", 32);
+  /**
+   * Threads only cache free chunks up to this size, which includes the off-heap header.
+   */
+  public static final int THREAD_CACHE_MAX_CHUNK_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_MAX_CHUNK_SIZE", 256);
+  /**
+   * How many chunks an empty thread cache takes at once from the shared free list of a size.
+   */
+  private static final int THREAD_CACHE_REFILL_COUNT = Math.max(THREAD_CACHE_CHUNK_COUNT / 2, 1);
+  /**
+   * The background defragmenter defragments once less than this percentage of the free memory is
+   * left in fragments, the rest having been split up into the free lists.
+   */
+  public static final int BACKGROUND_DEFRAGMENTATION_THRESHOLD = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_BACKGROUND_DEFRAGMENTATION_THRESHOLD", 10);
 
   /**
    * Return true if the two chunks have been combined into one. If low and high are adjacent to each
@@ -385,6 +439,27 @@ public class FreeListManager {
     }
   }
 
+  /**
+   * Defragments memory if less than {@link #BACKGROUND_DEFRAGMENTATION_THRESHOLD} percent of the
+   * free memory is left in fragments. This is called periodically by the background defragmenter so
+   * that the defragmentation is done before an allocation runs out of fragments and has to wait for
+   * one.
+   *
+   * @return true if memory was defragmented
+   */
+  boolean defragmentIfFragmented() {
+    long freeMemory = getFreeMemory();
+    if (freeMemory < OffHeapStoredObject.MIN_CHUNK_SIZE) {
+      return false;
+    }
+    if (getFreeFragmentMemory() * 100 >= freeMemory * BACKGROUND_DEFRAGMENTATION_THRESHOLD) {
+      return false;
+    }
+    this.ma.getStats().incBackgroundDefragmentations();
+    defragment(OffHeapStoredObject.MIN_CHUNK_SIZE);
+    return true;
+  }
+
   /**
    * Simple interface the represents a "stack" of primitive longs. Currently this interface only
    * allows supports poll but more could be added if needed in the future. This interface was
@@ -511,6 +586,7 @@ public class FreeListManager {
         tmp.add(f);
       }
     }
+    this.ma.getStats().incFreeFragments(tmp.size());
     this.fragmentList.addAll(tmp);
 
     fillFragments();
@@ -610,6 +686,7 @@ public class FreeListManager {
         // The current fragment is completely allocated so just skip it.
         continue;
       }
+      this.ma.getStats().incFreeFragments(-1);
       long chunkAddr = f.getAddress() + offset;
       OffHeapStoredObject.setSize(chunkAddr, diff);
       result.offer(chunkAddr);
@@ -623,6 +700,13 @@ public class FreeListManager {
   }
 
   private void collectFreeTinyChunks(List<LongStack> l) {
+    int firstTinyStack = l.size();
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      cache.drain(l, this.ma.getStats());
+      if (!cache.isOwnerAlive()) {
+        this.threadCaches.remove(cache);
+      }
+    }
     for (int i = 0; i < this.tinyFreeLists.length(); i++) {
       OffHeapStoredObjectAddressStack cl = this.tinyFreeLists.get(i);
       if (cl != null) {
@@ -632,6 +716,27 @@ public class FreeListManager {
         }
       }
     }
+    removeFromFreeChunkStats(l.subList(firstTinyStack, l.size()));
+  }
+
+  /**
+   * Removes the chunks of the given stacks, which are no longer on a free list, from the free chunk
+   * statistics. The caller must own all the chunks.
+   */
+  private void removeFromFreeChunkStats(List<LongStack> stacks) {
+    long[] removedChunks = new long[ChunkSizeHistogram.BUCKET_COUNT];
+    for (LongStack stack : stacks) {
+      long addr = ((OffHeapStoredObjectAddressStack) stack).getTopAddress();
+      while (addr != 0L) {
+        removedChunks[ChunkSizeHistogram.getBucket(OffHeapStoredObject.getSize(addr))]++;
+        addr = OffHeapStoredObject.getNext(addr);
+      }
+    }
+    for (int bucket = 0; bucket < removedChunks.length; bucket++) {
+      if (removedChunks[bucket] != 0) {
+        this.ma.getStats().incFreeChunks(bucket, -removedChunks[bucket]);
+      }
+    }
   }
 
   private void collectFreeHugeChunks(List<LongStack> l) {
@@ -643,6 +748,7 @@ public class FreeListManager {
         l.add(result);
       }
       result.offer(c.getAddress());
+      removeFromFreeChunkStats(c.getSize());
       c = this.hugeChunkSet.pollFirst();
     }
   }
@@ -678,6 +784,9 @@ public class FreeListManager {
         if (fragment.allocate(oldOffset, newOffset)) {
           // We did the allocate!
           this.lastFragmentAllocation.set(fragIdx);
+          if (newOffset == fragmentSize) {
+            this.ma.getStats().incFreeFragments(-1);
+          }
           OffHeapStoredObject result =
               new OffHeapStoredObject(fragment.getAddress() + oldOffset, chunkSize + extraSize);
           checkDataIntegrity(result);
@@ -699,8 +808,76 @@ public class FreeListManager {
   }
 
   private OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
-    return basicAllocate(getNearestTinyMultiple(size), TINY_MULTIPLE, 0, this.tinyFreeLists,
-        useFragments);
+    int idx = getNearestTinyMultiple(size);
+    return basicAllocate(idx, TINY_MULTIPLE, 0, this.tinyFreeLists, useFragments);
+  }
+
+  /**
+   * Allocates a chunk of the given size, which includes the header, from the cache of the current
+   * thread, first moving a batch of chunks from the shared free list to it if it is empty. Returns
+   * null if the size is not cached by threads or if neither has a free chunk of this size. The
+   * cache counts the allocation in its buffered statistics.
+   */
+  private OffHeapStoredObject allocateFromThreadCache(int size) {
+    if (size > MAX_TINY) {
+      return null;
+    }
+    int idx = getNearestTinyMultiple(size);
+    if (idx >= this.threadCacheSizeCount) {
+      return null;
+    }
+    OffHeapMemoryStats stats = this.ma.getStats();
+    ThreadAllocationCache cache = getThreadAllocationCache();
+    long memAddr = cache.poll(idx, stats);
+    if (memAddr == 0L) {
+      OffHeapStoredObjectAddressStack clq = this.tinyFreeLists.get(idx);
+      if (clq == null) {
+        return null;
+      }
+      long batch = clq.pollBatch(THREAD_CACHE_REFILL_COUNT);
+      if (batch == 0L) {
+        return null;
+      }
+      memAddr = cache.refill(idx, batch, stats);
+      stats.incThreadCacheRefills();
+    }
+    OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
+    checkDataIntegrity(result);
+    result.readyForAllocation();
+    return result;
+  }
+
+  /**
+   * Adds the statistics changes that the thread caches have buffered to the statistics.
+   */
+  void flushThreadCacheStats() {
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      cache.flushStats(this.ma.getStats());
+    }
+  }
+
+  private ThreadAllocationCache getThreadAllocationCache() {
+    ThreadAllocationCache result = this.threadCache.get();
+    if (result == null) {
+      releaseDeadThreadCaches();
+      result = new ThreadAllocationCache(Thread.currentThread(), this.threadCacheSizeCount);
+      this.threadCaches.add(result);
+      this.threadCache.set(result);
+    }
+    return result;
+  }
+
+  /**
+   * Moves the chunks cached by threads that no longer exist to the shared free lists.
+   */
+  private void releaseDeadThreadCaches() {
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      if (!cache.isOwnerAlive() && this.threadCaches.remove(cache)) {
+        for (int idx = 0; idx < this.threadCacheSizeCount; idx++) {
+          cache.flush(idx, getTinyFreeList(idx), this.ma.getStats());
+        }
+      }
+    }
   }
 
   private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
@@ -712,6 +889,7 @@ public class FreeListManager {
         OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
         checkDataIntegrity(result);
         result.readyForAllocation();
+        removeFromFreeChunkStats(result.getSize());
         return result;
       }
     }
@@ -732,6 +910,7 @@ public class FreeListManager {
         // close enough to the requested size; just return it.
         checkDataIntegrity(result);
         result.readyForAllocation();
+        removeFromFreeChunkStats(result.getSize());
         return result;
       } else {
         this.hugeChunkSet.add(result);
@@ -784,7 +963,7 @@ public class FreeListManager {
     if (updateStats) {
       OffHeapMemoryStats stats = this.ma.getStats();
       stats.incObjects(-1);
-      this.allocatedSize.addAndGet(-cSize);
+      this.allocatedSize.add(-cSize);
       stats.incUsedMemory(-cSize);
       stats.incFreeMemory(cSize);
       this.ma.notifyListeners();
@@ -792,12 +971,43 @@ public class FreeListManager {
     if (cSize <= MAX_TINY) {
       freeTiny(addr, cSize);
     } else {
+      addToFreeChunkStats(cSize);
       freeHuge(addr, cSize);
     }
   }
 
+  private void addToFreeChunkStats(int chunkSize) {
+    this.ma.getStats().incFreeChunks(ChunkSizeHistogram.getBucket(chunkSize), 1);
+  }
+
+  private void removeFromFreeChunkStats(int chunkSize) {
+    this.ma.getStats().incFreeChunks(ChunkSizeHistogram.getBucket(chunkSize), -1);
+  }
+
   private void freeTiny(long addr, int cSize) {
-    basicFree(addr, getNearestTinyMultiple(cSize), this.tinyFreeLists);
+    int idx = getNearestTinyMultiple(cSize);
+    if (idx < this.threadCacheSizeCount) {
+      OffHeapMemoryStats stats = this.ma.getStats();
+      ThreadAllocationCache cache = getThreadAllocationCache();
+      if (cache.offer(idx, addr, stats) >= THREAD_CACHE_CHUNK_COUNT) {
+        cache.flush(idx, getTinyFreeList(idx), stats);
+        stats.incThreadCacheFlushes();
+      }
+    } else {
+      addToFreeChunkStats(cSize);
+      basicFree(addr, idx, this.tinyFreeLists);
+    }
+  }
+
+  private OffHeapStoredObjectAddressStack getTinyFreeList(int idx) {
+    OffHeapStoredObjectAddressStack clq = this.tinyFreeLists.get(idx);
+    if (clq == null) {
+      clq = createFreeListForEmptySlot(this.tinyFreeLists, idx);
+      if (!this.tinyFreeLists.compareAndSet(idx, null, clq)) {
+        clq = this.tinyFreeLists.get(idx);
+      }
+    }
+    return clq;
   }
 
   private void basicFree(long addr, int idx,
@@ -872,6 +1082,13 @@ public class FreeListManager {
         addr = OffHeapStoredObject.getNext(addr);
       }
     }
+    List<MemoryBlock> cached = new ArrayList<MemoryBlock>();
+    for (ThreadAllocationCache cache : this.threadCaches) {
+      cache.addFreeBlocks(cached);
+    }
+    for (MemoryBlock block : cached) {
+      value.add(new MemoryBlockNode(sma, block));
+    }
     return value;
   }
 
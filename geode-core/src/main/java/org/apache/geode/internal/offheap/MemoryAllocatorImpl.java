@@ -22,6 +22,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.Logger;
@@ -30,12 +34,14 @@ import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.Region;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.GemfireCacheHelper;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionDataStore;
 import org.apache.geode.internal.cache.RegionEntry;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.offheap.annotations.OffHeapIdentifier;
 import org.apache.geode.internal.offheap.annotations.Unretained;
 
@@ -56,6 +62,15 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   public static final String FREE_OFF_HEAP_MEMORY_PROPERTY =
       DistributionConfig.GEMFIRE_PREFIX + "free-off-heap-memory";
 
+  /**
+   * How often, in milliseconds, the background defragmenter checks if off-heap memory should be
+   * defragmented. The background defragmenter is disabled if this is zero, which is the default.
+   *
+   * @see FreeListManager#defragmentIfFragmented()
+   */
+  public static final long BACKGROUND_DEFRAGMENTATION_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_BACKGROUND_DEFRAGMENTATION_INTERVAL", 0);
+
   private volatile OffHeapMemoryStats stats;
 
   private volatile OutOfOffHeapMemoryListener ooohml;
@@ -68,6 +83,8 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
 
   private MemoryInspector memoryInspector;
 
+  private final ScheduledExecutorService backgroundDefragmenter;
+
   private volatile MemoryUsageListener[] memoryUsageListeners = new MemoryUsageListener[0];
 
   private static MemoryAllocatorImpl singleton = null;
@@ -214,6 +231,7 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
     this.stats = stats;
 
     this.stats.setFragments(slabs.length);
+    this.stats.incFreeFragments(slabs.length);
     this.stats.setLargestFragment(slabs[0].getSize());
 
     this.freeList = new FreeListManager(this, slabs);
@@ -221,6 +239,47 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
 
     this.stats.incMaxMemory(this.freeList.getTotalMemory());
     this.stats.incFreeMemory(this.freeList.getTotalMemory());
+
+    this.backgroundDefragmenter = startBackgroundDefragmenter();
+  }
+
+  private ScheduledExecutorService startBackgroundDefragmenter() {
+    if (BACKGROUND_DEFRAGMENTATION_INTERVAL <= 0) {
+      return null;
+    }
+    final ThreadGroup defragmenterThreadGroup =
+        LoggingThreadGroup.createThreadGroup("Off-Heap Defragmenter Thread Group", logger);
+    final ThreadFactory defragmenterThreadFactory = GemfireCacheHelper
+        .CreateThreadFactory(defragmenterThreadGroup, "Off-Heap Background Defragmenter");
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(defragmenterThreadFactory);
+    executor.scheduleWithFixedDelay(this::defragmentInBackground,
+        BACKGROUND_DEFRAGMENTATION_INTERVAL, BACKGROUND_DEFRAGMENTATION_INTERVAL,
+        TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  private void defragmentInBackground() {
+    try {
+      this.freeList.flushThreadCacheStats();
+      this.freeList.defragmentIfFragmented();
+    } catch (RuntimeException e) {
+      // keep the defragmenter scheduled
+      logger.warn("Background defragmentation of off-heap memory failed", e);
+    }
+  }
+
+  private void stopBackgroundDefragmenter() {
+    if (this.backgroundDefragmenter == null) {
+      return;
+    }
+    this.backgroundDefragmenter.shutdown();
+    try {
+      // the slabs can not be freed while a defragmentation is still using them
+      this.backgroundDefragmenter.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 
   public List<OffHeapStoredObject> getLostChunks(InternalCache cache) {
@@ -385,6 +444,7 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   private void realClose() {
     // Removing this memory immediately can lead to a SEGV. See 47885.
     if (setClosed()) {
+      stopBackgroundDefragmenter();
       this.freeList.freeSlabs();
       this.stats.close();
       singleton = null;
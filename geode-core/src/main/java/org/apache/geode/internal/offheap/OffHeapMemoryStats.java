@@ -43,6 +43,27 @@ public interface OffHeapMemoryStats {
 
   void setFragmentation(int value);
 
+  void incThreadCacheAllocations(long value);
+
+  void incThreadCacheRefills();
+
+  void incThreadCacheFlushes();
+
+  void incBackgroundDefragmentations();
+
+  /**
+   * Counts allocations of chunks in the given {@link ChunkSizeHistogram} bucket.
+   */
+  void incAllocations(int bucket, long value);
+
+  /**
+   * Changes the number of free chunks, that are ready to be reused by allocations of their size, in
+   * the given {@link ChunkSizeHistogram} bucket.
+   */
+  void incFreeChunks(int bucket, long value);
+
+  void incFreeFragments(int value);
+
   long getFreeMemory();
 
   long getMaxMemory();
@@ -65,6 +86,20 @@ public interface OffHeapMemoryStats {
 
   long getDefragmentationTime();
 
+  long getThreadCacheAllocations();
+
+  long getThreadCacheRefills();
+
+  long getThreadCacheFlushes();
+
+  int getBackgroundDefragmentations();
+
+  long getAllocations(int bucket);
+
+  long getFreeChunks(int bucket);
+
+  int getFreeFragments();
+
   Statistics getStats();
 
   void close();
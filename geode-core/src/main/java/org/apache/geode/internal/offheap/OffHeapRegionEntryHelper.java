@@ -14,17 +14,27 @@
  */
 package org.apache.geode.internal.offheap;
 
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.geode.SerializationException;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.ByteArrayDataInput;
 import org.apache.geode.internal.DSCODE;
+import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.cache.CachedDeserializableFactory;
 import org.apache.geode.internal.cache.DiskId;
 import org.apache.geode.internal.cache.EntryEventImpl;
 import org.apache.geode.internal.cache.RegionEntryContext;
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.entries.DiskEntry;
+import org.apache.geode.internal.cache.entries.OffHeapKeyRegionEntry;
 import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
+import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
+import org.apache.geode.internal.util.BlobHelper;
 
 /**
  * The class just has static methods that operate on instances of {@link OffHeapRegionEntry}. It
@@ -35,6 +45,13 @@ import org.apache.geode.internal.offheap.annotations.Unretained;
  */
 public class OffHeapRegionEntryHelper {
 
+  /**
+   * If true then off heap regions also store the keys that can not be inlined off heap. This keeps
+   * large regions with small values from needing a large java heap for their keys.
+   */
+  public static final boolean OFF_HEAP_REGION_KEYS =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_REGION_KEYS");
+
   protected static final long NULL_ADDRESS = 0L << 1;
   protected static final long INVALID_ADDRESS = 1L << 1;
   protected static final long LOCAL_INVALID_ADDRESS = 2L << 1;
@@ -408,6 +425,142 @@ public class OffHeapRegionEntryHelper {
 
 
 
+  /**
+   * Returns the serialized form of the given key, or null if the key can not be serialized and so
+   * must be kept on the heap.
+   */
+  public static byte[] serializeKey(Object key) {
+    try {
+      return BlobHelper.serializeToBlob(key);
+    } catch (IOException ignore) {
+      return null;
+    }
+  }
+
+  /**
+   * Stores a serialized key off heap.
+   *
+   * @return OFF_HEAP_ADDRESS of the key which the caller now owns
+   */
+  @Retained
+  public static long allocateKey(byte[] serializedKey) {
+    return MemoryAllocatorImpl.getAllocator().allocateAndInitialize(serializedKey, true, false)
+        .getAddress();
+  }
+
+  /**
+   * Returns the deserialized key of the given entry. The off heap key is retained while it is read
+   * so that it can not be freed by a concurrent {@link #releaseKey}. A pdx key is always returned as
+   * its domain object, never as a PdxInstance, so that it still equals the key it was created from.
+   */
+  public static Object getKey(@Unretained OffHeapKeyRegionEntry re) {
+    long addr = re.getKeyAddress();
+    while (isOffHeap(addr)) {
+      if (OffHeapStoredObject.retain(addr)) {
+        try {
+          if (re.getKeyAddress() == addr) {
+            return deserializeKey(new OffHeapStoredObject(addr).getSerializedValue());
+          }
+        } finally {
+          OffHeapStoredObject.release(addr);
+        }
+      }
+      // the key was released so spin around and read the released key
+      addr = re.getKeyAddress();
+    }
+    if (addr == NULL_ADDRESS) {
+      return re.getReleasedKey();
+    }
+    return deserializeKey(decodeUncompressedAddressToBytes(addr));
+  }
+
+  /**
+   * Returns true if the key of the given entry equals the given key. Map lookups only call this for
+   * entries whose hash matches, so the given key is serialized at most once for most operations.
+   * Equal serialized forms are compared in place, without reading the stored key onto the heap.
+   * Only if the forms differ is the stored key deserialized and compared with equals.
+   */
+  public static boolean isKeyEqual(@Unretained OffHeapKeyRegionEntry re, Object key) {
+    long addr = re.getKeyAddress();
+    if (addr == NULL_ADDRESS) {
+      return key.equals(re.getReleasedKey());
+    }
+    final byte[] serializedKey = serializeKey(key);
+    while (isOffHeap(addr)) {
+      if (OffHeapStoredObject.retain(addr)) {
+        try {
+          if (re.getKeyAddress() == addr) {
+            OffHeapStoredObject storedKey = new OffHeapStoredObject(addr);
+            if (serializedKey != null && storedKey.checkDataEquals(serializedKey)) {
+              return true;
+            }
+            return key.equals(deserializeKey(storedKey.getSerializedValue()));
+          }
+        } finally {
+          OffHeapStoredObject.release(addr);
+        }
+      }
+      addr = re.getKeyAddress();
+    }
+    if (addr == NULL_ADDRESS) {
+      return key.equals(re.getReleasedKey());
+    }
+    byte[] storedKey = decodeUncompressedAddressToBytes(addr);
+    if (serializedKey != null && Arrays.equals(serializedKey, storedKey)) {
+      return true;
+    }
+    return key.equals(deserializeKey(storedKey));
+  }
+
+  private static Object deserializeKey(byte[] serializedKey) {
+    ByteArrayDataInput in = new ByteArrayDataInput();
+    in.initialize(serializedKey, null);
+    try {
+      return InternalDataSerializer.readNonPdxInstanceObject(in);
+    } catch (IOException e) {
+      throw new SerializationException(
+          LocalizedStrings.EntryEventImpl_AN_IOEXCEPTION_WAS_THROWN_WHILE_DESERIALIZING
+              .toLocalizedString(),
+          e);
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException(
+          LocalizedStrings.EntryEventImpl_A_CLASSNOTFOUNDEXCEPTION_WAS_THROWN_WHILE_TRYING_TO_DESERIALIZE_CACHED_VALUE
+              .toLocalizedString(),
+          e);
+    }
+  }
+
+  /**
+   * Frees the off heap key of an entry that is no longer in its map, for example one dropped by a
+   * clear. No heap copy of the key is made, so the released entry no longer has a key. Keys encoded
+   * in the address use no off heap memory and are kept.
+   */
+  public static void releaseKey(@Released OffHeapKeyRegionEntry re) {
+    long addr = re.getKeyAddress();
+    if (!isOffHeap(addr)) {
+      return;
+    }
+    if (re.setKeyAddress(addr, NULL_ADDRESS)) {
+      releaseAddress(addr);
+    }
+  }
+
+  /**
+   * Frees the off heap key of an entry that has been removed but may still be in its map. A heap
+   * copy of the key is kept in the entry first because the entry still has to be compared to keys
+   * to be removed from its map.
+   */
+  public static void releaseRemovedKey(@Released OffHeapKeyRegionEntry re) {
+    long addr = re.getKeyAddress();
+    if (!isOffHeap(addr)) {
+      return;
+    }
+    re.setReleasedKey(getKey(re));
+    if (re.setKeyAddress(addr, NULL_ADDRESS)) {
+      releaseAddress(addr);
+    }
+  }
+
   public static boolean isSerialized(long address) {
     return (address & SERIALIZED_BIT) != 0;
   }
@@ -15,6 +15,9 @@
 package org.apache.geode.internal.offheap;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.geode.*;
 import org.apache.geode.cache.CacheException;
@@ -56,6 +59,13 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int threadCacheAllocationsId;
+  private static final int threadCacheRefillsId;
+  private static final int threadCacheFlushesId;
+  private static final int backgroundDefragmentationsId;
+  private static final int freeFragmentsId;
+  private static final int[] allocationsIds = new int[ChunkSizeHistogram.BUCKET_COUNT];
+  private static final int[] freeChunksIds = new int[ChunkSizeHistogram.BUCKET_COUNT];
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -82,6 +92,16 @@ public class OffHeapStorage implements OffHeapMemoryStats {
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
+    final String threadCacheAllocationsDesc =
+        "The total number of off-heap allocations that were satisfied from the free chunks cached by the allocating thread.";
+    final String threadCacheRefillsDesc =
+        "The total number of times a thread's empty cache of free off-heap chunks was refilled with a batch of chunks from the shared free lists.";
+    final String threadCacheFlushesDesc =
+        "The total number of times a thread's full cache of free off-heap chunks was moved to the shared free lists.";
+    final String backgroundDefragmentationsDesc =
+        "The total number of times off-heap memory has been defragmented by the background defragmenter. These are also counted by defragmentations.";
+    final String freeFragmentsDesc =
+        "The number of fragments of off-heap memory that still have free memory to allocate from. Unlike fragments this is updated every time a fragment is used up.";
 
     final String usedMemory = "usedMemory";
     final String defragmentations = "defragmentations";
@@ -94,20 +114,43 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String threadCacheAllocations = "threadCacheAllocations";
+    final String threadCacheRefills = "threadCacheRefills";
+    final String threadCacheFlushes = "threadCacheFlushes";
+    final String backgroundDefragmentations = "backgroundDefragmentations";
+    final String freeFragments = "freeFragments";
+    final String allocations = "allocations";
+    final String freeChunks = "freeChunks";
+
+    List<StatisticDescriptor> descriptors = new ArrayList<>(Arrays.asList(
+        f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
+        f.createIntCounter(defragmentations, defragmentationDesc, "operations"),
+        f.createIntGauge(defragmentationsInProgress, defragmentationsInProgressDesc, "operations"),
+        f.createLongCounter(defragmentationTime, defragmentationTimeDesc, "nanoseconds", false),
+        f.createIntGauge(fragmentation, fragmentationDesc, "percentage"),
+        f.createLongGauge(fragments, fragmentsDesc, "fragments"),
+        f.createLongGauge(freeMemory, freeMemoryDesc, "bytes"),
+        f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
+        f.createIntGauge(objects, objectsDesc, "objects"),
+        f.createLongCounter(reads, readsDesc, "operations"),
+        f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+        f.createLongCounter(threadCacheAllocations, threadCacheAllocationsDesc, "operations"),
+        f.createLongCounter(threadCacheRefills, threadCacheRefillsDesc, "operations"),
+        f.createLongCounter(threadCacheFlushes, threadCacheFlushesDesc, "operations"),
+        f.createIntCounter(backgroundDefragmentations, backgroundDefragmentationsDesc,
+            "operations"),
+        f.createIntGauge(freeFragments, freeFragmentsDesc, "fragments")));
+    for (int bucket = 0; bucket < ChunkSizeHistogram.BUCKET_COUNT; bucket++) {
+      String suffix = ChunkSizeHistogram.getStatisticNameSuffix(bucket);
+      String sizes = ChunkSizeHistogram.getDescription(bucket);
+      descriptors.add(f.createLongCounter(allocations + suffix,
+          "The total number of off-heap allocations of chunks " + sizes + ".", "operations"));
+      descriptors.add(f.createLongGauge(freeChunks + suffix, "The number of free off-heap chunks "
+          + sizes + " that can be reused by allocations of the same size.", "chunks"));
+    }
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
-        new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
-            f.createIntCounter(defragmentations, defragmentationDesc, "operations"),
-            f.createIntGauge(defragmentationsInProgress, defragmentationsInProgressDesc,
-                "operations"),
-            f.createLongCounter(defragmentationTime, defragmentationTimeDesc, "nanoseconds", false),
-            f.createIntGauge(fragmentation, fragmentationDesc, "percentage"),
-            f.createLongGauge(fragments, fragmentsDesc, "fragments"),
-            f.createLongGauge(freeMemory, freeMemoryDesc, "bytes"),
-            f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
-            f.createIntGauge(objects, objectsDesc, "objects"),
-            f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+        descriptors.toArray(new StatisticDescriptor[descriptors.size()]));
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -120,6 +163,16 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    threadCacheAllocationsId = statsType.nameToId(threadCacheAllocations);
+    threadCacheRefillsId = statsType.nameToId(threadCacheRefills);
+    threadCacheFlushesId = statsType.nameToId(threadCacheFlushes);
+    backgroundDefragmentationsId = statsType.nameToId(backgroundDefragmentations);
+    freeFragmentsId = statsType.nameToId(freeFragments);
+    for (int bucket = 0; bucket < ChunkSizeHistogram.BUCKET_COUNT; bucket++) {
+      String suffix = ChunkSizeHistogram.getStatisticNameSuffix(bucket);
+      allocationsIds[bucket] = statsType.nameToId(allocations + suffix);
+      freeChunksIds[bucket] = statsType.nameToId(freeChunks + suffix);
+    }
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -370,6 +423,76 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return this.stats.getInt(fragmentationId);
   }
 
+  @Override
+  public void incThreadCacheAllocations(long value) {
+    this.stats.incLong(threadCacheAllocationsId, value);
+  }
+
+  @Override
+  public long getThreadCacheAllocations() {
+    return this.stats.getLong(threadCacheAllocationsId);
+  }
+
+  @Override
+  public void incThreadCacheRefills() {
+    this.stats.incLong(threadCacheRefillsId, 1);
+  }
+
+  @Override
+  public long getThreadCacheRefills() {
+    return this.stats.getLong(threadCacheRefillsId);
+  }
+
+  @Override
+  public void incThreadCacheFlushes() {
+    this.stats.incLong(threadCacheFlushesId, 1);
+  }
+
+  @Override
+  public long getThreadCacheFlushes() {
+    return this.stats.getLong(threadCacheFlushesId);
+  }
+
+  @Override
+  public void incBackgroundDefragmentations() {
+    this.stats.incInt(backgroundDefragmentationsId, 1);
+  }
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return this.stats.getInt(backgroundDefragmentationsId);
+  }
+
+  @Override
+  public void incAllocations(int bucket, long value) {
+    this.stats.incLong(allocationsIds[bucket], value);
+  }
+
+  @Override
+  public long getAllocations(int bucket) {
+    return this.stats.getLong(allocationsIds[bucket]);
+  }
+
+  @Override
+  public void incFreeChunks(int bucket, long value) {
+    this.stats.incLong(freeChunksIds[bucket], value);
+  }
+
+  @Override
+  public long getFreeChunks(int bucket) {
+    return this.stats.getLong(freeChunksIds[bucket]);
+  }
+
+  @Override
+  public void incFreeFragments(int value) {
+    this.stats.incInt(freeFragmentsId, value);
+  }
+
+  @Override
+  public int getFreeFragments() {
+    return this.stats.getInt(freeFragmentsId);
+  }
+
   public Statistics getStats() {
     return this.stats;
   }
@@ -392,6 +515,15 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setThreadCacheAllocations(oldStats.getThreadCacheAllocations());
+    setThreadCacheRefills(oldStats.getThreadCacheRefills());
+    setThreadCacheFlushes(oldStats.getThreadCacheFlushes());
+    setBackgroundDefragmentations(oldStats.getBackgroundDefragmentations());
+    setFreeFragments(oldStats.getFreeFragments());
+    for (int bucket = 0; bucket < ChunkSizeHistogram.BUCKET_COUNT; bucket++) {
+      this.stats.setLong(allocationsIds[bucket], oldStats.getAllocations(bucket));
+      this.stats.setLong(freeChunksIds[bucket], oldStats.getFreeChunks(bucket));
+    }
 
     oldStats.close();
   }
@@ -408,6 +540,26 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     this.stats.setInt(defragmentationsInProgressId, value);
   }
 
+  private void setThreadCacheAllocations(long value) {
+    this.stats.setLong(threadCacheAllocationsId, value);
+  }
+
+  private void setThreadCacheRefills(long value) {
+    this.stats.setLong(threadCacheRefillsId, value);
+  }
+
+  private void setThreadCacheFlushes(long value) {
+    this.stats.setLong(threadCacheFlushesId, value);
+  }
+
+  private void setBackgroundDefragmentations(int value) {
+    this.stats.setInt(backgroundDefragmentationsId, value);
+  }
+
+  private void setFreeFragments(int value) {
+    this.stats.setInt(freeFragmentsId, value);
+  }
+
   private void setReads(long value) {
     this.stats.setLong(readsId, value);
   }
@@ -62,6 +62,42 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
     return result;
   }
 
+  /**
+   * Pushes a list of addresses, already linked to each other from first to last, onto this stack.
+   */
+  public void offerBatch(long first, long last) {
+    assert first != 0 && last != 0;
+    MemoryAllocatorImpl.validateAddress(first);
+    synchronized (this) {
+      OffHeapStoredObject.setNext(last, this.topAddr);
+      this.topAddr = first;
+    }
+  }
+
+  /**
+   * Removes up to maxCount addresses from the top of this stack and returns the first of them, or
+   * {@code 0L} if this stack is empty. The removed addresses stay linked to each other and the last
+   * one links to {@code 0L}. The caller owns all the removed addresses after this call.
+   */
+  public long pollBatch(int maxCount) {
+    assert maxCount > 0;
+    long result;
+    synchronized (this) {
+      result = this.topAddr;
+      if (result != 0L) {
+        long last = result;
+        long next = OffHeapStoredObject.getNext(last);
+        for (int i = 1; i < maxCount && next != 0L; i++) {
+          last = next;
+          next = OffHeapStoredObject.getNext(last);
+        }
+        this.topAddr = next;
+        OffHeapStoredObject.setNext(last, 0L);
+      }
+    }
+    return result;
+  }
+
   /**
    * Returns the address of the "top" item in this stack.
    */
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.offheap.FreeListManager.LongStack;
+import org.apache.geode.internal.offheap.FreeListManager.TinyMemoryBlock;
+
+/**
+ * The free tiny chunks cached by a single thread. Like the tiny free lists of the FreeListManager
+ * there is one list per size and the chunks are linked to each other through their off-heap
+ * memory. A thread frees the chunks of the cached sizes into its own cache and allocates them from
+ * it, so most small allocations do not touch the shared free lists at all. The shared free lists
+ * are only used to move whole batches of chunks in or out of a cache.
+ * <p>
+ * All access is synchronized on the cache. The lock is uncontended because the owning thread is
+ * normally the only one that uses it. Other threads only lock the cache to drain it when
+ * defragmenting or once the owning thread has died.
+ * <p>
+ * The statistics changes of the allocations from and frees to the cache are buffered in the cache
+ * and only added to the shared statistics every {@link #STATS_FLUSH_COUNT} changes, when chunks
+ * are moved out of the cache, or when {@link #flushStats} is called, so that they do not update
+ * the shared statistics on every allocation either.
+ */
+class ThreadAllocationCache {
+  /**
+   * The number of buffered statistics changes after which they are added to the statistics.
+   */
+  static final int STATS_FLUSH_COUNT = 1024;
+
+  private final WeakReference<Thread> owner;
+
+  /**
+   * The first free chunk of each size, or 0L if none are cached.
+   */
+  private final long[] heads;
+
+  /**
+   * The last free chunk of each size. Only valid if the head of the size is not 0L.
+   */
+  private final long[] tails;
+
+  private final int[] counts;
+
+  /**
+   * The allocations from this cache that have not been added to the statistics yet.
+   */
+  private long allocationsToAdd;
+
+  /**
+   * The allocations of each {@link ChunkSizeHistogram} bucket that have not been added to the
+   * statistics yet.
+   */
+  private final long[] bucketAllocationsToAdd = new long[ChunkSizeHistogram.BUCKET_COUNT];
+
+  /**
+   * The changes to the number of free chunks of each {@link ChunkSizeHistogram} bucket that have
+   * not been added to the statistics yet.
+   */
+  private final long[] bucketFreeChunksToAdd = new long[ChunkSizeHistogram.BUCKET_COUNT];
+
+  private int statsChangesToAdd;
+
+  ThreadAllocationCache(Thread owner, int sizeCount) {
+    this.owner = new WeakReference<>(owner);
+    this.heads = new long[sizeCount];
+    this.tails = new long[sizeCount];
+    this.counts = new int[sizeCount];
+  }
+
+  boolean isOwnerAlive() {
+    Thread thread = this.owner.get();
+    return thread != null && thread.isAlive();
+  }
+
+  /**
+   * Removes and returns the address of a free chunk of the given size, or 0L if none are cached.
+   * The removed chunk is counted as allocated.
+   */
+  synchronized long poll(int idx, OffHeapMemoryStats stats) {
+    long result = this.heads[idx];
+    if (result != 0L) {
+      this.heads[idx] = OffHeapStoredObject.getNext(result);
+      this.counts[idx]--;
+      countAllocation(result, stats);
+    }
+    return result;
+  }
+
+  /**
+   * Adds a free chunk of the given size.
+   *
+   * @return the number of chunks of this size now cached
+   */
+  synchronized int offer(int idx, long addr, OffHeapMemoryStats stats) {
+    long head = this.heads[idx];
+    OffHeapStoredObject.setNext(addr, head);
+    if (head == 0L) {
+      this.tails[idx] = addr;
+    }
+    this.heads[idx] = addr;
+    this.bucketFreeChunksToAdd[getBucket(addr)]++;
+    countStatsChange(stats);
+    return ++this.counts[idx];
+  }
+
+  /**
+   * Takes ownership of a batch of linked free chunks of the given size, as returned by
+   * {@link OffHeapStoredObjectAddressStack#pollBatch}. The first chunk of the batch is returned to
+   * the caller, and counted as allocated, and the others are cached.
+   */
+  synchronized long refill(int idx, long batch, OffHeapMemoryStats stats) {
+    long rest = OffHeapStoredObject.getNext(batch);
+    if (rest != 0L) {
+      long last = rest;
+      int count = 1;
+      long next = OffHeapStoredObject.getNext(last);
+      while (next != 0L) {
+        last = next;
+        count++;
+        next = OffHeapStoredObject.getNext(last);
+      }
+      long head = this.heads[idx];
+      OffHeapStoredObject.setNext(last, head);
+      if (head == 0L) {
+        this.tails[idx] = last;
+      }
+      this.heads[idx] = rest;
+      this.counts[idx] += count;
+    }
+    countAllocation(batch, stats);
+    return batch;
+  }
+
+  /**
+   * Moves all the cached chunks of the given size to the given shared free list, and adds the
+   * buffered statistics changes to the statistics.
+   */
+  synchronized void flush(int idx, OffHeapStoredObjectAddressStack freeList,
+      OffHeapMemoryStats stats) {
+    long head = this.heads[idx];
+    if (head != 0L) {
+      freeList.offerBatch(head, this.tails[idx]);
+      this.heads[idx] = 0L;
+      this.counts[idx] = 0;
+    }
+    flushStats(stats);
+  }
+
+  /**
+   * Removes all the cached chunks and adds a stack of them for each size to the given list. The
+   * caller owns all the chunks after this call. The buffered statistics changes are added to the
+   * statistics first.
+   */
+  synchronized void drain(List<LongStack> l, OffHeapMemoryStats stats) {
+    flushStats(stats);
+    for (int idx = 0; idx < this.heads.length; idx++) {
+      long head = this.heads[idx];
+      if (head != 0L) {
+        l.add(new OffHeapStoredObjectAddressStack(head));
+        this.heads[idx] = 0L;
+        this.counts[idx] = 0;
+      }
+    }
+  }
+
+  /**
+   * Adds the buffered statistics changes to the given statistics.
+   */
+  synchronized void flushStats(OffHeapMemoryStats stats) {
+    if (this.statsChangesToAdd == 0) {
+      return;
+    }
+    if (this.allocationsToAdd != 0) {
+      stats.incThreadCacheAllocations(this.allocationsToAdd);
+      this.allocationsToAdd = 0;
+    }
+    for (int bucket = 0; bucket < ChunkSizeHistogram.BUCKET_COUNT; bucket++) {
+      if (this.bucketAllocationsToAdd[bucket] != 0) {
+        stats.incAllocations(bucket, this.bucketAllocationsToAdd[bucket]);
+        this.bucketAllocationsToAdd[bucket] = 0;
+      }
+      if (this.bucketFreeChunksToAdd[bucket] != 0) {
+        stats.incFreeChunks(bucket, this.bucketFreeChunksToAdd[bucket]);
+        this.bucketFreeChunksToAdd[bucket] = 0;
+      }
+    }
+    this.statsChangesToAdd = 0;
+  }
+
+  private void countAllocation(long addr, OffHeapMemoryStats stats) {
+    int bucket = getBucket(addr);
+    this.allocationsToAdd++;
+    this.bucketAllocationsToAdd[bucket]++;
+    this.bucketFreeChunksToAdd[bucket]--;
+    countStatsChange(stats);
+  }
+
+  private void countStatsChange(OffHeapMemoryStats stats) {
+    if (++this.statsChangesToAdd >= STATS_FLUSH_COUNT) {
+      flushStats(stats);
+    }
+  }
+
+  private static int getBucket(long addr) {
+    return ChunkSizeHistogram.getBucket(OffHeapStoredObject.getSize(addr));
+  }
+
+  synchronized long computeTotalSize() {
+    long result = 0;
+    for (long head : this.heads) {
+      for (long addr = head; addr != 0L; addr = OffHeapStoredObject.getNext(addr)) {
+        result += OffHeapStoredObject.getSize(addr);
+      }
+    }
+    return result;
+  }
+
+  synchronized void addFreeBlocks(List<MemoryBlock> result) {
+    for (int idx = 0; idx < this.heads.length; idx++) {
+      for (long addr = this.heads[idx]; addr != 0L; addr = OffHeapStoredObject.getNext(addr)) {
+        result.add(new TinyMemoryBlock(addr, idx));
+      }
+    }
+  }
+
+  synchronized void logSizes(Logger logger, String msg) {
+    for (long head : this.heads) {
+      for (long addr = head; addr != 0L; addr = OffHeapStoredObject.getNext(addr)) {
+        logger.info(msg + OffHeapStoredObject.getSize(addr));
+      }
+    }
+  }
+}
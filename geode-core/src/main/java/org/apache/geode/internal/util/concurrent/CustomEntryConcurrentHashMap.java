@@ -28,8 +28,10 @@
  * away. Also added a "removeConditionally" method that allows for evaluation of an arbitrary
  * condition before removal from the map (unlike the normal "remove" that can only check for
  * equality with a provided object). In addition, the segments are now locked using read-write
- * locks. File has been reformatted to conform to GemStone conventions. GemStone additions have been
- * marked with "GemStone addition". GemStone changes have been marked with "GemStone change(s)".
+ * locks, and a segment's table grows by an incremental rehash that moves a few bins per write
+ * rather than all entries at once. File has been reformatted to conform to GemStone conventions.
+ * GemStone additions have been marked with "GemStone addition". GemStone changes have been marked
+ * with "GemStone change(s)".
  *
  * Original license follows below.
  */
@@ -164,6 +166,15 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    */
   static final int RETRIES_BEFORE_LOCK = 2;
 
+  // GemStone addition
+  /**
+   * The number of bins of the old table that a write operation moves to the new table while a
+   * segment is being resized. Resizing a segment is spread over many writes this way instead of
+   * rehashing every entry of the segment while holding its lock.
+   */
+  static final int REHASH_STRIDE = 64;
+  // End GemStone addition
+
   // GemStone addition
   /**
    * Token object to indicate that {@link #remove(Object)} does not need to compare against provided
@@ -391,6 +402,48 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     int keyHashCode(Object key, boolean compareValues);
   }
 
+  /**
+   * Placed in a bin of a segment's old table once the entries of that bin have been moved to the
+   * new table during an incremental rehash. Lookups that find it continue in {@link #nextTable}.
+   * It is never part of a chain so it has no key, value or next entry.
+   */
+  static final class ForwardingEntry<K, V> implements HashEntry<K, V> {
+
+    final HashEntry<K, V>[] nextTable;
+
+    ForwardingEntry(final HashEntry<K, V>[] nextTable) {
+      this.nextTable = nextTable;
+    }
+
+    public K getKey() {
+      return null;
+    }
+
+    public boolean isKeyEqual(Object k) {
+      return false;
+    }
+
+    public V getMapValue() {
+      return null;
+    }
+
+    public void setMapValue(V newValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    public int getEntryHash() {
+      return 0;
+    }
+
+    public HashEntry<K, V> getNextEntry() {
+      return null;
+    }
+
+    public void setNextEntry(final HashEntry<K, V> n) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
   // End GemStone addition
 
   /**
@@ -454,6 +507,27 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      */
     transient volatile HashEntry<K, V>[] table;
 
+    // GemStone addition
+
+    /**
+     * The table being filled by an incremental rehash, or null if no rehash is in progress. Bins of
+     * {@link #table} below {@link #transferIndex} have been moved here and hold a
+     * {@link ForwardingEntry}.
+     */
+    transient volatile HashEntry<K, V>[] nextTable;
+
+    /**
+     * The {@link ForwardingEntry} for {@link #nextTable}, shared by all moved bins.
+     */
+    transient ForwardingEntry<K, V> forwardingEntry;
+
+    /**
+     * The index of the next bin of {@link #table} to move during an incremental rehash.
+     */
+    transient int transferIndex;
+
+    // End GemStone addition
+
     /**
      * The load factor for the hash table. Even though this value is same for all segments, it is
      * replicated to avoid needing links to outer object.
@@ -510,10 +584,26 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      * Returns properly casted first entry of bin for given hash.
      */
     HashEntry<K, V> getFirst(final int hash) {
-      final HashEntry<K, V>[] tab = this.table;
+      final HashEntry<K, V>[] tab = tableFor(hash);
       return tab[hash & (tab.length - 1)];
     }
 
+    // GemStone added the method below
+    /**
+     * Returns the table that holds the bin for the given hash. This is {@link #table} unless that
+     * bin has already been moved by an incremental rehash. Call only while holding the segment
+     * lock or the read lock of {@link #listUpdateLock}, so that no bin is moved concurrently.
+     */
+    HashEntry<K, V>[] tableFor(final int hash) {
+      HashEntry<K, V>[] tab = this.table;
+      HashEntry<K, V> first = tab[hash & (tab.length - 1)];
+      while (first instanceof ForwardingEntry) {
+        tab = ((ForwardingEntry<K, V>) first).nextTable;
+        first = tab[hash & (tab.length - 1)];
+      }
+      return tab;
+    }
+
     /**
      * Reads value field of an entry under lock. Called if value field ever appears to be null. This
      * is possible only if a compiler happens to reorder a HashEntry initialization with its table
@@ -630,10 +720,18 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         ReentrantReadWriteLock.ReadLock readLock = this.listUpdateLock.readLock();
         RETRYLOOP: for (;;) {
           readLock.lock();
+          // bins of the current table that have been moved hold a ForwardingEntry whose value
+          // never matches; their entries are found when the next table is searched
           final HashEntry<K, V>[] tab = this.table;
+          final HashEntry<K, V>[] nextTab = this.nextTable;
           final int len = tab.length;
-          for (int i = 0; i < len; i++) {
-            for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
+          final int nextLen = nextTab != null ? nextTab.length : 0;
+          for (int i = 0; i < len + nextLen; i++) {
+            final HashEntry<K, V> first = i < len ? tab[i] : nextTab[i - len];
+            if (first instanceof ForwardingEntry) {
+              continue;
+            }
+            for (HashEntry<K, V> e = first; e != null; e = e.getNextEntry()) {
               V v = e.getMapValue();
               if (v == null) {
                 // GemStone changes BEGIN
@@ -706,8 +804,10 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         int c = this.count;
         if (c++ > this.threshold) {
           rehash();
+        } else {
+          helpRehash();
         }
-        final HashEntry<K, V>[] tab = this.table;
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -772,8 +872,10 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         int c = this.count;
         if (c++ > this.threshold) {
           rehash();
+        } else {
+          helpRehash();
         }
-        final HashEntry<K, V>[] tab = this.table;
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -828,103 +930,88 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
 
     // End GemStone additions
 
+    // GemStone changes BEGIN
+    // The original rehash doubled the table and relinked every entry of the segment while holding
+    // the segment lock, cloning entries so that iterators could continue on the old table. A
+    // segment with millions of entries blocked all of its writers for the whole rehash. Now the
+    // rehash only allocates the new table and the entries are moved a few bins at a time by
+    // subsequent writes (like the cooperative transfer of the JDK 8 ConcurrentHashMap). A moved bin
+    // of the old table is replaced by a ForwardingEntry so readers and iterators that still see
+    // the old table find the moved entries in the new one. Entries are relinked in place, so no
+    // wrapper entries are created.
+
+    /**
+     * Starts an incremental rehash that doubles the table. If the previous rehash has not finished
+     * yet it is completed first. Call only while holding the write lock.
+     */
     void rehash() {
+      if (this.nextTable != null) {
+        transfer(Integer.MAX_VALUE);
+      }
       final HashEntry<K, V>[] oldTable = this.table;
       final int oldCapacity = oldTable.length;
       if (oldCapacity >= MAXIMUM_CAPACITY) {
         return;
       }
-
-      /*
-       * Reclassify nodes in each list to new Map. Because we are using power-of-two expansion, the
-       * elements from each bin must either stay at same index, or move with a power of two offset.
-       * We eliminate unnecessary node creation by catching cases where old nodes can be reused
-       * because their next fields won't change. Statistically, at the default threshold, only about
-       * one-sixth of them need cloning when a table doubles. The nodes they replace will be garbage
-       * collectable as soon as they are no longer referenced by any reader thread that may be in
-       * the midst of traversing table right now.
-       */
-
       final HashEntry<K, V>[] newTable = newEntryArray(oldCapacity << 1);
       this.threshold = (int) (newTable.length * this.loadFactor);
-      final int sizeMask = newTable.length - 1;
-      for (int i = 0; i < oldCapacity; i++) {
-        // We need to guarantee that any existing reads of old Map can
-        // proceed. So we cannot yet null out each bin.
-        final HashEntry<K, V> e = oldTable[i];
-
-        if (e != null) {
-          final HashEntry<K, V> next = e.getNextEntry();
-          final int idx = e.getEntryHash() & sizeMask;
+      this.transferIndex = 0;
+      this.forwardingEntry = new ForwardingEntry<K, V>(newTable);
+      this.nextTable = newTable;
+      transfer(REHASH_STRIDE);
+    }
 
-          // Single node on list
-          if (next == null) {
-            newTable[idx] = e;
-          } else {
-            // Reuse trailing consecutive sequence at same slot
-            HashEntry<K, V> lastRun = e;
-            int lastIdx = idx;
-            for (HashEntry<K, V> last = next; last != null; last = last.getNextEntry()) {
-              final int k = last.getEntryHash() & sizeMask;
-              if (k != lastIdx) {
-                lastIdx = k;
-                lastRun = last;
-              }
-            }
-            newTable[lastIdx] = lastRun;
+    /**
+     * Moves the next few bins of an in-progress incremental rehash, if any. Call only while holding
+     * the write lock.
+     */
+    void helpRehash() {
+      if (this.nextTable != null) {
+        transfer(REHASH_STRIDE);
+      }
+    }
 
-            // Clone all remaining nodes
-            // GemStone changes BEGIN
-            // update the next entry instead of cloning the nodes in newTable;
-            // this is primarily because we don't want to change
-            // the underlying RegionEntry that may be used elsewhere;
-            // however we create new wrapper entries for old table so that
-            // iterators can continue on old table without blocking updates
-            // for indefinite periods
-            HashEntryImpl<K, V> newe, newp = null, newFirst = null;
-            HashEntry<K, V> nextp;
-            // Bug 44155 - we need to clone all of the entries, not just
-            // the entries leading up to lastRun, because the entries
-            // in the last run may have their next pointers changed
-            // by a later rehash.
-            for (HashEntry<K, V> p = e; p != null; p = nextp) {
-              newe = new HashEntryImpl<K, V>(p.getKey(), p.getEntryHash(),
-                  (nextp = p.getNextEntry()), p.getMapValue(), p);
-              if (newp != null) {
-                newp.setNextEntry(newe);
-              } else {
-                newFirst = newe;
-              }
-              newp = newe;
-            }
-            // take the listUpdate write lock before updating the next refs
-            final ReentrantReadWriteLock.WriteLock listWriteLock = this.listUpdateLock.writeLock();
-            listWriteLock.lock();
-            try {
-              if (newFirst != null) {
-                this.table[i] = newFirst; // deliberately using volatile write
-              }
-              for (HashEntry<K, V> p = e; p != lastRun; p = nextp) {
-                final int k = p.getEntryHash() & sizeMask;
-                final HashEntry<K, V> n = newTable[k];
-                nextp = p.getNextEntry();
-                p.setNextEntry(n);
-                newTable[k] = p;
-              }
-            } finally {
-              listWriteLock.unlock();
-            }
-            /*
-             * (original code) for (HashEntry<K, V> p = e; p != lastRun; p = p.next) { final int k =
-             * p.hash & sizeMask; final HashEntry<K, V> n = newTable[k]; newTable[k] =
-             * this.entryCreator.newEntry(p.key, p.hash, n, p.value); }
-             */
-            // GemStone changes END
+    /**
+     * Moves up to maxBins bins of the current table to {@link #nextTable}, and installs the new
+     * table once all bins have been moved. Call only while holding the write lock.
+     */
+    private void transfer(final int maxBins) {
+      final HashEntry<K, V>[] oldTable = this.table;
+      final HashEntry<K, V>[] newTable = this.nextTable;
+      final ForwardingEntry<K, V> fwd = this.forwardingEntry;
+      final int oldCapacity = oldTable.length;
+      final int sizeMask = newTable.length - 1;
+      final int start = this.transferIndex;
+      final int end = (int) Math.min((long) start + maxBins, oldCapacity);
+      // Because we are using power-of-two expansion, the elements from each bin must either stay
+      // at same index, or move with a power of two offset. Nothing has been added to either of
+      // those bins of the new table yet since writers only use them once the old bin forwards.
+      // Take the listUpdate write lock before updating the next refs so that no reader is in the
+      // middle of a chain while it is relinked.
+      final ReentrantReadWriteLock.WriteLock listWriteLock = this.listUpdateLock.writeLock();
+      listWriteLock.lock();
+      try {
+        for (int i = start; i < end; i++) {
+          HashEntry<K, V> nextp;
+          for (HashEntry<K, V> p = oldTable[i]; p != null; p = nextp) {
+            nextp = p.getNextEntry();
+            final int k = p.getEntryHash() & sizeMask;
+            p.setNextEntry(newTable[k]);
+            newTable[k] = p;
           }
+          oldTable[i] = fwd;
+        }
+        this.transferIndex = end;
+        if (end == oldCapacity) {
+          this.table = newTable;
+          this.nextTable = null;
+          this.forwardingEntry = null;
         }
+      } finally {
+        listWriteLock.unlock();
       }
-      this.table = newTable;
     }
+    // GemStone changes END
 
     /**
      * Remove; match on key only if value null, else match both.
@@ -937,8 +1024,9 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       final ReentrantReadWriteLock.WriteLock writeLock = super.writeLock();
       writeLock.lock();
       try {
+        helpRehash();
         final int c = this.count - 1;
-        final HashEntry<K, V>[] tab = this.table;
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -1005,6 +1093,10 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         final ReentrantReadWriteLock.WriteLock writeLock = super.writeLock();
         writeLock.lock();
         try {
+          // finish any incremental rehash so that every entry is in the current table
+          if (this.nextTable != null) {
+            transfer(Integer.MAX_VALUE);
+          }
           final HashEntry<K, V>[] tab = this.table;
           // GemStone changes BEGIN
           boolean collectEntries = clearedEntries != null;
@@ -1971,8 +2063,7 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         listLock.lock();
         try {
           do {
-            if ((this.nextEntry = currentTable[this.nextTableIndex--]) != null) {
-              copyEntriesToList();
+            if (copyBinToList(this.currentTable, this.nextTableIndex--)) {
               return;
             }
           } while (this.nextTableIndex >= 0);
@@ -1998,9 +2089,8 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
           listLock.lock();
           try {
             for (int j = currentTable.length - 1; j >= 0; --j) {
-              if ((this.nextEntry = currentTable[j]) != null) {
+              if (copyBinToList(this.currentTable, j)) {
                 this.nextTableIndex = j - 1;
-                copyEntriesToList();
                 return;
               }
             }
@@ -2011,20 +2101,43 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       }
     }
 
-    // GemStone added the method below
+    // GemStone added the methods below
     /**
-     * Copy the tail of list of current matched entry ({@link #nextEntry}) to a temporary list, so
-     * that the read lock can be released after the copy.
+     * Copy the entries of a bin to a temporary list, so that the read lock can be released after
+     * the copy, and make the first of them the {@link #nextEntry}.
      *
      * Read lock on {@link #currentSegmentIndex}'s listUpdateLock should already be acquired.
+     *
+     * @return true if the bin had any entries
      */
-    private void copyEntriesToList() {
+    private boolean copyBinToList(final HashEntry<K, V>[] tab, final int index) {
       assert segments[currentSegmentIndex] != null : "unexpected null currentSegment";
       assert segments[currentSegmentIndex].listUpdateLock.getReadLockCount() > 0;
 
       this.currentList.clear();
       this.currentListIndex = 0;
-      for (HashEntry<K, V> p = this.nextEntry.getNextEntry(); p != null; p = p.getNextEntry()) {
+      addBinEntries(tab, index);
+      if (this.currentList.isEmpty()) {
+        return false;
+      }
+      this.nextEntry = this.currentList.get(this.currentListIndex++);
+      return true;
+    }
+
+    /**
+     * Adds the entries of a bin to {@link #currentList}. If the bin was moved by an incremental
+     * rehash after this iterator read the table, its entries are in one of two bins of the next
+     * table, which may in turn have been moved again.
+     */
+    private void addBinEntries(final HashEntry<K, V>[] tab, final int index) {
+      final HashEntry<K, V> first = tab[index];
+      if (first instanceof ForwardingEntry) {
+        final HashEntry<K, V>[] nextTab = ((ForwardingEntry<K, V>) first).nextTable;
+        addBinEntries(nextTab, index);
+        addBinEntries(nextTab, index + tab.length);
+        return;
+      }
+      for (HashEntry<K, V> p = first; p != null; p = p.getNextEntry()) {
         this.currentList.add(p);
       }
     }
@@ -2386,8 +2499,15 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       readLock.lock();
       try {
         final HashEntry<K, V>[] tab = seg.table;
-        for (int i = 0; i < tab.length; ++i) {
-          for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
+        final HashEntry<K, V>[] nextTab = seg.nextTable;
+        final int len = tab.length;
+        final int nextLen = nextTab != null ? nextTab.length : 0;
+        for (int i = 0; i < len + nextLen; ++i) {
+          final HashEntry<K, V> first = i < len ? tab[i] : nextTab[i - len];
+          if (first instanceof ForwardingEntry) {
+            continue;
+          }
+          for (HashEntry<K, V> e = first; e != null; e = e.getNextEntry()) {
             s.writeObject(e.getKey());
             s.writeObject(e.getMapValue());
           }
@@ -0,0 +1,886 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
+
+/**
+ * A concurrent map whose keys are all {@link Long} or all {@link Integer} instances. Keys are
+ * stored unboxed in open-addressed primitive arrays so that hashing, equality and probing never
+ * allocate or dereference a key object. The {@link #get(long)}, {@link #put(long, Object)},
+ * {@link #putIfAbsent(long, Object)} and {@link #remove(long)} methods give callers that already
+ * hold a primitive key a path that does not box at all; the {@link Map} methods simply unbox their
+ * argument and delegate to them.
+ *
+ * <p>
+ * Like {@link CustomEntryConcurrentHashMap} the map is divided into segments, each guarded by its
+ * own lock for writes. Reads take no lock: a slot's key is written before its value is published
+ * through a volatile array write, and a slot is never reassigned to a different key until the
+ * segment table is rebuilt into a fresh array. Removed mappings leave a marker in their slot that
+ * is reclaimed by the next rehash of the segment.
+ *
+ * <p>
+ * Null values are not supported.
+ *
+ * @param <V> the type of mapped values
+ */
+public class PrimitiveKeyConcurrentHashMap<V> extends AbstractMap<Object, V>
+    implements ConcurrentMapWithReusableEntries<Object, V> {
+
+  /** The default initial capacity for this table. */
+  static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  /** The default load factor for this table. */
+  static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  /** The default concurrency level for this table. */
+  static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  /**
+   * Open addressing degrades quickly as the table fills so the configured load factor is clamped
+   * to this range.
+   */
+  static final float MIN_LOAD_FACTOR = 0.25f;
+  static final float MAX_LOAD_FACTOR = 0.85f;
+
+  /** The maximum capacity of a single segment table. */
+  static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 30;
+
+  /** The maximum number of segments to allow. */
+  static final int MAX_SEGMENTS = 1 << 16;
+
+  /** Value stored in a slot whose mapping has been removed. */
+  private static final Object REMOVED = new Object();
+
+  private final boolean intKeys;
+
+  private final float loadFactor;
+
+  private final int segmentMask;
+
+  private final int segmentShift;
+
+  private final Segment[] segments;
+
+  private transient Set<Object> keySet;
+  private transient Collection<V> values;
+  private transient Set<Map.Entry<Object, V>> entrySet;
+  private transient Set<Map.Entry<Object, V>> reusableEntrySet;
+
+  /**
+   * Creates a new, empty map with the default initial capacity, load factor and concurrency level.
+   *
+   * @param intKeys true if the keys of this map are {@link Integer}s; false for {@link Long}s
+   */
+  public PrimitiveKeyConcurrentHashMap(boolean intKeys) {
+    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, intKeys);
+  }
+
+  /**
+   * Creates a new, empty map with the specified initial capacity, load factor and concurrency
+   * level.
+   *
+   * @param initialCapacity the initial capacity. The implementation performs internal sizing to
+   *        accommodate this many elements.
+   * @param loadFactor the load factor threshold, used to control resizing
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   * @param intKeys true if the keys of this map are {@link Integer}s; false for {@link Long}s
+   * @throws IllegalArgumentException if the initial capacity is negative or the load factor or
+   *         concurrencyLevel are nonpositive.
+   */
+  public PrimitiveKeyConcurrentHashMap(int initialCapacity, float loadFactor, int concurrencyLevel,
+      boolean intKeys) {
+    if (!(loadFactor > 0) || initialCapacity < 0 || concurrencyLevel <= 0) {
+      throw new IllegalArgumentException();
+    }
+    if (concurrencyLevel > MAX_SEGMENTS) {
+      concurrencyLevel = MAX_SEGMENTS;
+    }
+    this.intKeys = intKeys;
+    this.loadFactor = Math.max(MIN_LOAD_FACTOR, Math.min(MAX_LOAD_FACTOR, loadFactor));
+
+    int sshift = 0;
+    int ssize = 1;
+    while (ssize < concurrencyLevel) {
+      ++sshift;
+      ssize <<= 1;
+    }
+    this.segmentShift = 32 - sshift;
+    this.segmentMask = ssize - 1;
+    this.segments = new Segment[ssize];
+
+    int c = initialCapacity / ssize;
+    if (c * ssize < initialCapacity) {
+      ++c;
+    }
+    int cap = 2;
+    while (cap * this.loadFactor < c + 1 && cap < MAXIMUM_SEGMENT_CAPACITY) {
+      cap <<= 1;
+    }
+    for (int i = 0; i < this.segments.length; ++i) {
+      this.segments[i] = new Segment(cap, this.loadFactor);
+    }
+  }
+
+  /**
+   * Mixes all 64 bits of the key into a 32 bit hash. Sequential ids are the common case so the
+   * low bits alone are a poor choice for both segment selection and probing.
+   */
+  static int hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  private Segment segmentFor(int hash) {
+    return this.segments[(hash >>> this.segmentShift) & this.segmentMask];
+  }
+
+  /**
+   * Returns true if the given object is of the key type this map holds.
+   */
+  private boolean isKeyType(Object key) {
+    return this.intKeys ? key instanceof Integer : key instanceof Long;
+  }
+
+  private long toPrimitive(Object key) {
+    if (key == null) {
+      throw new NullPointerException();
+    }
+    if (!isKeyType(key)) {
+      throw new IllegalArgumentException("Expected a key of type "
+          + (this.intKeys ? Integer.class : Long.class).getName() + " but was "
+          + key.getClass().getName());
+    }
+    return ((Number) key).longValue();
+  }
+
+  private Object toObject(long key) {
+    return this.intKeys ? Integer.valueOf((int) key) : Long.valueOf(key);
+  }
+
+  /**
+   * Returns true if this map holds {@link Integer} keys; false if it holds {@link Long} keys.
+   */
+  public boolean hasIntKeys() {
+    return this.intKeys;
+  }
+
+  // primitive key operations
+
+  /**
+   * Returns the value to which the given key is mapped, or null if there is no mapping.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    final int hash = hash(key);
+    return (V) segmentFor(hash).get(key, hash);
+  }
+
+  /**
+   * Returns true if the given key is mapped to a value.
+   */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Maps the given key to the given value.
+   *
+   * @return the previous value for the key, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    final int hash = hash(key);
+    return (V) segmentFor(hash).put(key, hash, value, false);
+  }
+
+  /**
+   * Maps the given key to the given value if it is not already mapped.
+   *
+   * @return the existing value for the key, or null if the given value was added
+   */
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(long key, V value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    final int hash = hash(key);
+    return (V) segmentFor(hash).put(key, hash, value, true);
+  }
+
+  /**
+   * Removes the mapping for the given key.
+   *
+   * @return the removed value, or null if there was no mapping
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    final int hash = hash(key);
+    return (V) segmentFor(hash).remove(key, hash, null);
+  }
+
+  /**
+   * Removes the mapping for the given key only if it is currently mapped to the given value.
+   */
+  public boolean remove(long key, Object value) {
+    if (value == null) {
+      return false;
+    }
+    final int hash = hash(key);
+    return segmentFor(hash).remove(key, hash, value) != null;
+  }
+
+  /**
+   * Replaces the value for the given key only if it is currently mapped to the expected value.
+   */
+  public boolean replace(long key, V oldValue, V newValue) {
+    if (oldValue == null || newValue == null) {
+      throw new NullPointerException();
+    }
+    final int hash = hash(key);
+    return segmentFor(hash).replace(key, hash, oldValue, newValue) != null;
+  }
+
+  /**
+   * Replaces the value for the given key only if it is currently mapped to some value.
+   *
+   * @return the previous value, or null if there was no mapping
+   */
+  @SuppressWarnings("unchecked")
+  public V replace(long key, V value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    final int hash = hash(key);
+    return (V) segmentFor(hash).replace(key, hash, null, value);
+  }
+
+  // Map operations
+
+  @Override
+  public V get(Object key) {
+    if (!isKeyType(key)) {
+      return null;
+    }
+    return get(((Number) key).longValue());
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    for (Segment segment : this.segments) {
+      if (segment.containsValue(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V put(Object key, V value) {
+    return put(toPrimitive(key), value);
+  }
+
+  @Override
+  public V putIfAbsent(Object key, V value) {
+    return putIfAbsent(toPrimitive(key), value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (!isKeyType(key)) {
+      return null;
+    }
+    return remove(((Number) key).longValue());
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    if (!isKeyType(key)) {
+      return false;
+    }
+    return remove(((Number) key).longValue(), value);
+  }
+
+  @Override
+  public boolean replace(Object key, V oldValue, V newValue) {
+    return replace(toPrimitive(key), oldValue, newValue);
+  }
+
+  @Override
+  public V replace(Object key, V value) {
+    return replace(toPrimitive(key), value);
+  }
+
+  @Override
+  public int size() {
+    long sum = 0;
+    for (Segment segment : this.segments) {
+      sum += segment.count;
+    }
+    return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Segment segment : this.segments) {
+      if (segment.count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    clearWithExecutor(null);
+  }
+
+  /**
+   * Removes all of the mappings from this map. Values are never off-heap region entries (those
+   * regions always use {@link CustomEntryConcurrentHashMap}) so there is no asynchronous work and
+   * the executor is ignored.
+   */
+  @Override
+  public void clearWithExecutor(Executor executor) {
+    final boolean checkForGatewaySenderEvent =
+        OffHeapRegionEntryHelper.doesClearNeedToCheckForOffHeap();
+    for (Segment segment : this.segments) {
+      segment.clear(checkForGatewaySenderEvent);
+    }
+  }
+
+  @Override
+  public Set<Object> keySet() {
+    final Set<Object> ks = this.keySet;
+    return (ks != null) ? ks : (this.keySet = new KeySet());
+  }
+
+  @Override
+  public Collection<V> values() {
+    final Collection<V> vs = this.values;
+    return (vs != null) ? vs : (this.values = new Values());
+  }
+
+  @Override
+  public Set<Map.Entry<Object, V>> entrySet() {
+    final Set<Map.Entry<Object, V>> es = this.entrySet;
+    return (es != null) ? es : (this.entrySet = new EntrySet(false));
+  }
+
+  @Override
+  public Set<Map.Entry<Object, V>> entrySetWithReusableEntries() {
+    final Set<Map.Entry<Object, V>> es = this.reusableEntrySet;
+    return (es != null) ? es : (this.reusableEntrySet = new EntrySet(true));
+  }
+
+  /**
+   * An immutable snapshot of a segment's slots. A new table is published whenever the segment
+   * grows or is purged of removed slots.
+   */
+  private static final class Table {
+    final long[] keys;
+    final AtomicReferenceArray<Object> values;
+    final int mask;
+
+    Table(int capacity) {
+      this.keys = new long[capacity];
+      this.values = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity - 1;
+    }
+  }
+
+  /**
+   * A segment of the map. All mutations happen while holding the segment lock; reads only rely on
+   * the volatile {@link #table} reference and the volatile slot values.
+   */
+  @SuppressWarnings("serial")
+  private static final class Segment extends ReentrantLock {
+    private final float loadFactor;
+
+    /** The number of live mappings. */
+    volatile int count;
+
+    /** The number of slots that are live or hold a removed marker. */
+    private int used;
+
+    private int threshold;
+
+    volatile Table table;
+
+    Segment(int capacity, float loadFactor) {
+      this.loadFactor = loadFactor;
+      setTable(new Table(capacity));
+    }
+
+    private void setTable(Table newTable) {
+      this.threshold = (int) (newTable.keys.length * this.loadFactor);
+      this.table = newTable;
+    }
+
+    Object get(long key, int hash) {
+      final Table tab = this.table;
+      final long[] keys = tab.keys;
+      final AtomicReferenceArray<Object> values = tab.values;
+      int index = hash & tab.mask;
+      while (true) {
+        Object value = values.get(index);
+        if (value == null) {
+          return null;
+        }
+        if (keys[index] == key) {
+          return value == REMOVED ? null : value;
+        }
+        index = (index + 1) & tab.mask;
+      }
+    }
+
+    boolean containsValue(Object value) {
+      final AtomicReferenceArray<Object> values = this.table.values;
+      for (int i = 0; i < values.length(); i++) {
+        Object v = values.get(i);
+        if (v != null && v != REMOVED && (v == value || value.equals(v))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns the slot holding the given key, or the first never used slot on its probe sequence
+     * if the key is not present. Must be called with the lock held.
+     */
+    private static int findSlot(Table tab, long key, int hash) {
+      int index = hash & tab.mask;
+      while (true) {
+        Object value = tab.values.get(index);
+        if (value == null || tab.keys[index] == key) {
+          return index;
+        }
+        index = (index + 1) & tab.mask;
+      }
+    }
+
+    Object put(long key, int hash, Object value, boolean onlyIfAbsent) {
+      lock();
+      try {
+        Table tab = this.table;
+        int index = findSlot(tab, key, hash);
+        Object oldValue = tab.values.get(index);
+        if (oldValue != null && oldValue != REMOVED) {
+          if (!onlyIfAbsent) {
+            tab.values.set(index, value);
+          }
+          return oldValue;
+        }
+        if (oldValue == null) {
+          // claiming a never used slot so make sure the table stays open-addressable
+          if (this.used + 1 > this.threshold) {
+            rehash();
+            tab = this.table;
+            index = findSlot(tab, key, hash);
+          }
+          this.used++;
+          tab.keys[index] = key;
+        }
+        // publishing the value makes the key write above visible to readers
+        tab.values.set(index, value);
+        this.count = this.count + 1;
+        return null;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Removes the mapping for the key. If expectedValue is non-null the mapping is only removed if
+     * its value equals it.
+     */
+    Object remove(long key, int hash, Object expectedValue) {
+      lock();
+      try {
+        final Table tab = this.table;
+        final int index = findSlot(tab, key, hash);
+        final Object oldValue = tab.values.get(index);
+        if (oldValue == null || oldValue == REMOVED) {
+          return null;
+        }
+        if (expectedValue != null && oldValue != expectedValue
+            && !expectedValue.equals(oldValue)) {
+          return null;
+        }
+        tab.values.set(index, REMOVED);
+        this.count = this.count - 1;
+        return oldValue;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Replaces the value for the key. If expectedValue is non-null the value is only replaced if
+     * it currently equals it.
+     */
+    Object replace(long key, int hash, Object expectedValue, Object newValue) {
+      lock();
+      try {
+        final Table tab = this.table;
+        final int index = findSlot(tab, key, hash);
+        final Object oldValue = tab.values.get(index);
+        if (oldValue == null || oldValue == REMOVED) {
+          return null;
+        }
+        if (expectedValue != null && oldValue != expectedValue
+            && !expectedValue.equals(oldValue)) {
+          return null;
+        }
+        tab.values.set(index, newValue);
+        return oldValue;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Copies the live mappings into a new table, dropping removed slots. The table only doubles
+     * if the live mappings alone would fill more than half of the threshold; otherwise it is
+     * rebuilt at the same size, which is enough to reclaim removed slots. Must be called with the
+     * lock held.
+     */
+    private void rehash() {
+      final Table oldTable = this.table;
+      int newCapacity = oldTable.keys.length;
+      if (this.count + 1 > this.threshold / 2 && newCapacity < MAXIMUM_SEGMENT_CAPACITY) {
+        newCapacity <<= 1;
+      }
+      final Table newTable = new Table(newCapacity);
+      int newUsed = 0;
+      for (int i = 0; i < oldTable.keys.length; i++) {
+        Object value = oldTable.values.get(i);
+        if (value == null || value == REMOVED) {
+          continue;
+        }
+        long key = oldTable.keys[i];
+        int index = findSlot(newTable, key, hash(key));
+        newTable.keys[index] = key;
+        newTable.values.lazySet(index, value);
+        newUsed++;
+      }
+      this.used = newUsed;
+      // the volatile write of the table publishes all of the slots written above
+      setTable(newTable);
+    }
+
+    void clear(boolean checkForGatewaySenderEvent) {
+      lock();
+      try {
+        if (checkForGatewaySenderEvent) {
+          final AtomicReferenceArray<Object> values = this.table.values;
+          for (int i = 0; i < values.length(); i++) {
+            Object value = values.get(i);
+            if (value instanceof RegionEntry) {
+              // It is ok to call GatewaySenderEventImpl release without being synced
+              // on the region entry. It will not create an orphan.
+              GatewaySenderEventImpl.release(((RegionEntry) value).getValue());
+            }
+          }
+        }
+        this.used = 0;
+        this.count = 0;
+        setTable(new Table(this.table.keys.length));
+      } finally {
+        unlock();
+      }
+    }
+  }
+
+  /**
+   * Iterates over the live slots of all segments. Each segment is traversed using the table that
+   * was current when the iterator reached it so the iteration is weakly consistent.
+   */
+  private abstract class HashIterator {
+    private int nextSegmentIndex = segments.length - 1;
+    private Table currentTable;
+    private int nextSlot = -1;
+
+    private long nextKey;
+    private Object nextValue;
+    private boolean hasNextEntry;
+
+    private long lastKey;
+    private Object lastValue;
+
+    HashIterator() {
+      advance();
+    }
+
+    private void advance() {
+      this.hasNextEntry = false;
+      while (true) {
+        if (this.currentTable != null) {
+          while (++this.nextSlot < this.currentTable.keys.length) {
+            Object value = this.currentTable.values.get(this.nextSlot);
+            if (value != null && value != REMOVED) {
+              this.nextKey = this.currentTable.keys[this.nextSlot];
+              this.nextValue = value;
+              this.hasNextEntry = true;
+              return;
+            }
+          }
+        }
+        if (this.nextSegmentIndex < 0) {
+          return;
+        }
+        this.currentTable = segments[this.nextSegmentIndex--].table;
+        this.nextSlot = -1;
+      }
+    }
+
+    public boolean hasNext() {
+      return this.hasNextEntry;
+    }
+
+    /**
+     * Moves to the next mapping and records it as the last one returned.
+     */
+    void nextEntry() {
+      if (!this.hasNextEntry) {
+        throw new NoSuchElementException();
+      }
+      this.lastKey = this.nextKey;
+      this.lastValue = this.nextValue;
+      advance();
+    }
+
+    long lastKey() {
+      return this.lastKey;
+    }
+
+    Object lastValue() {
+      return this.lastValue;
+    }
+
+    public void remove() {
+      if (this.lastValue == null) {
+        throw new IllegalStateException();
+      }
+      PrimitiveKeyConcurrentHashMap.this.remove(this.lastKey, this.lastValue);
+      this.lastValue = null;
+    }
+  }
+
+  private final class KeyIterator extends HashIterator implements Iterator<Object> {
+    @Override
+    public Object next() {
+      nextEntry();
+      return toObject(lastKey());
+    }
+  }
+
+  private final class ValueIterator extends HashIterator implements Iterator<V> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public V next() {
+      nextEntry();
+      return (V) lastValue();
+    }
+  }
+
+  private final class EntryIterator extends HashIterator implements Iterator<Map.Entry<Object, V>> {
+    private final WriteThroughEntry reusableEntry;
+
+    EntryIterator(boolean reuseEntries) {
+      this.reusableEntry = reuseEntries ? new WriteThroughEntry() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map.Entry<Object, V> next() {
+      nextEntry();
+      WriteThroughEntry entry = this.reusableEntry != null ? this.reusableEntry
+          : new WriteThroughEntry();
+      entry.key = lastKey();
+      entry.value = (V) lastValue();
+      return entry;
+    }
+  }
+
+  /**
+   * An entry whose {@link #setValue} writes through to the map.
+   */
+  private final class WriteThroughEntry implements Map.Entry<Object, V> {
+    long key;
+    V value;
+
+    @Override
+    public Object getKey() {
+      return toObject(this.key);
+    }
+
+    @Override
+    public V getValue() {
+      return this.value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      V oldValue = this.value;
+      this.value = value;
+      put(this.key, value);
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return getKey().equals(e.getKey()) && this.value.equals(e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return this.key + "=" + this.value;
+    }
+  }
+
+  private final class KeySet extends AbstractSet<Object> {
+    @Override
+    public Iterator<Object> iterator() {
+      return new KeyIterator();
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveKeyConcurrentHashMap.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return PrimitiveKeyConcurrentHashMap.this.containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      return PrimitiveKeyConcurrentHashMap.this.remove(o) != null;
+    }
+
+    @Override
+    public void clear() {
+      PrimitiveKeyConcurrentHashMap.this.clear();
+    }
+  }
+
+  private final class Values extends AbstractCollection<V> {
+    @Override
+    public Iterator<V> iterator() {
+      return new ValueIterator();
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveKeyConcurrentHashMap.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return PrimitiveKeyConcurrentHashMap.this.containsValue(o);
+    }
+
+    @Override
+    public void clear() {
+      PrimitiveKeyConcurrentHashMap.this.clear();
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<Object, V>> {
+    private final boolean reuseEntries;
+
+    EntrySet(boolean reuseEntries) {
+      this.reuseEntries = reuseEntries;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Object, V>> iterator() {
+      return new EntryIterator(this.reuseEntries);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      V v = PrimitiveKeyConcurrentHashMap.this.get(e.getKey());
+      return v != null && v.equals(e.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return PrimitiveKeyConcurrentHashMap.this.remove(e.getKey(), e.getValue());
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveKeyConcurrentHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      PrimitiveKeyConcurrentHashMap.this.clear();
+    }
+  }
+}
@@ -208,4 +208,23 @@ public interface DiskStoreMXBean {
   @ResourceOperation(resource = Resource.CLUSTER, operation = Operation.MANAGE,
       target = Target.DISK)
   void setDiskUsageCriticalPercentage(float criticalPercent);
+
+  /**
+   * Returns the rate, in megabytes per second, at which compaction may copy live data forward, or
+   * 0 if compaction is not rate limited.
+   *
+   * @since Geode 1.5.0
+   */
+  int getCompactionRateLimit();
+
+  /**
+   * Sets the rate, in megabytes per second, at which compaction may copy live data forward.
+   *
+   * @param compactionRateLimit the maximum compaction rate in megabytes per second, or 0 to not
+   *        rate limit compaction
+   * @since Geode 1.5.0
+   */
+  @ResourceOperation(resource = Resource.CLUSTER, operation = Operation.MANAGE,
+      target = Target.DISK)
+  void setCompactionRateLimit(int compactionRateLimit);
 }
@@ -875,4 +875,35 @@ public interface MemberMXBean {
    * Returns the total time spent compacting in milliseconds.
    */
   long getOffHeapCompactionTime();
+
+  /**
+   * Returns the number of off-heap memory fragments that still have free memory to allocate from.
+   * Once free memory is no longer left in fragments, allocations of sizes that have no free chunk
+   * must wait for memory to be compacted.
+   */
+  int getOffHeapFreeFragments();
+
+  /**
+   * Returns the largest chunk size, in bytes, of each size range of the off-heap histograms. An
+   * additional last size range of the histograms holds all the larger chunks.
+   *
+   * @see #getOffHeapAllocationHistogram()
+   * @see #getOffHeapFreeChunkHistogram()
+   */
+  int[] getOffHeapHistogramSizeLimits();
+
+  /**
+   * Returns the total number of off-heap allocations of each size range.
+   *
+   * @see #getOffHeapHistogramSizeLimits()
+   */
+  long[] getOffHeapAllocationHistogram();
+
+  /**
+   * Returns the current number of free off-heap chunks of each size range that can be reused by
+   * allocations of the same size without compacting memory.
+   *
+   * @see #getOffHeapHistogramSizeLimits()
+   */
+  long[] getOffHeapFreeChunkHistogram();
 }
@@ -166,6 +166,16 @@ public class DiskStoreMBean extends NotificationBroadcasterSupport implements Di
     bridge.setDiskUsageCriticalPercentage(criticalPercent);
   }
 
+  @Override
+  public int getCompactionRateLimit() {
+    return bridge.getCompactionRateLimit();
+  }
+
+  @Override
+  public void setCompactionRateLimit(int compactionRateLimit) {
+    bridge.setCompactionRateLimit(compactionRateLimit);
+  }
+
   public DiskStoreMBeanBridge getBridge() {
     return bridge;
   }
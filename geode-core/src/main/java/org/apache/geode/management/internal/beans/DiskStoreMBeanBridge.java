@@ -274,4 +274,12 @@ public class DiskStoreMBeanBridge {
   public void setDiskUsageCriticalPercentage(float criticalPercent) {
     diskStore.setDiskUsageCriticalPercentage(criticalPercent);
   }
+
+  public int getCompactionRateLimit() {
+    return diskStore.getCompactionRateLimit();
+  }
+
+  public void setCompactionRateLimit(int compactionRateLimit) {
+    diskStore.setCompactionRateLimit(compactionRateLimit);
+  }
 }
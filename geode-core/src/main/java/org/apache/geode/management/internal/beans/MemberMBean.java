@@ -693,6 +693,26 @@ public class MemberMBean extends NotificationBroadcasterSupport implements Membe
     return bridge.getOffHeapCompactionTime();
   }
 
+  @Override
+  public int getOffHeapFreeFragments() {
+    return bridge.getOffHeapFreeFragments();
+  }
+
+  @Override
+  public int[] getOffHeapHistogramSizeLimits() {
+    return bridge.getOffHeapHistogramSizeLimits();
+  }
+
+  @Override
+  public long[] getOffHeapAllocationHistogram() {
+    return bridge.getOffHeapAllocationHistogram();
+  }
+
+  @Override
+  public long[] getOffHeapFreeChunkHistogram() {
+    return bridge.getOffHeapFreeChunkHistogram();
+  }
+
   @Override
   public long getMaxMemory() {
     return bridge.getMaxMemory();
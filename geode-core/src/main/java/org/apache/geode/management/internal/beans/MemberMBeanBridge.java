@@ -84,6 +84,7 @@ import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.logging.log4j.LogWriterAppender;
 import org.apache.geode.internal.logging.log4j.LogWriterAppenders;
 import org.apache.geode.internal.net.SocketCreator;
+import org.apache.geode.internal.offheap.ChunkSizeHistogram;
 import org.apache.geode.internal.offheap.MemoryAllocator;
 import org.apache.geode.internal.offheap.OffHeapMemoryStats;
 import org.apache.geode.internal.process.PidUnavailableException;
@@ -1719,6 +1720,47 @@ public class MemberMBeanBridge {
     return compactionTime;
   }
 
+  public int getOffHeapFreeFragments() {
+    int freeFragments = 0;
+    OffHeapMemoryStats stats = getOffHeapStats();
+
+    if (null != stats) {
+      freeFragments = stats.getFreeFragments();
+    }
+
+    return freeFragments;
+  }
+
+  public int[] getOffHeapHistogramSizeLimits() {
+    return ChunkSizeHistogram.getSizeLimits();
+  }
+
+  public long[] getOffHeapAllocationHistogram() {
+    long[] histogram = new long[ChunkSizeHistogram.BUCKET_COUNT];
+    OffHeapMemoryStats stats = getOffHeapStats();
+
+    if (null != stats) {
+      for (int bucket = 0; bucket < histogram.length; bucket++) {
+        histogram[bucket] = stats.getAllocations(bucket);
+      }
+    }
+
+    return histogram;
+  }
+
+  public long[] getOffHeapFreeChunkHistogram() {
+    long[] histogram = new long[ChunkSizeHistogram.BUCKET_COUNT];
+    OffHeapMemoryStats stats = getOffHeapStats();
+
+    if (null != stats) {
+      for (int bucket = 0; bucket < histogram.length; bucket++) {
+        histogram[bucket] = stats.getFreeChunks(bucket);
+      }
+    }
+
+    return histogram;
+  }
+
   /**
    * Returns the OffHeapMemoryStats for this VM.
    */
@@ -54,6 +54,9 @@ public class CreateDiskStoreCommand implements GfshCommand {
       @CliOption(key = CliStrings.CREATE_DISK_STORE__COMPACTION_THRESHOLD,
           unspecifiedDefaultValue = "50",
           help = CliStrings.CREATE_DISK_STORE__COMPACTION_THRESHOLD__HELP) int compactionThreshold,
+      @CliOption(key = CliStrings.CREATE_DISK_STORE__COMPACTION_RATE_LIMIT,
+          unspecifiedDefaultValue = "0",
+          help = CliStrings.CREATE_DISK_STORE__COMPACTION_RATE_LIMIT__HELP) int compactionRateLimit,
       @CliOption(key = CliStrings.CREATE_DISK_STORE__MAX_OPLOG_SIZE,
           unspecifiedDefaultValue = "1024",
           help = CliStrings.CREATE_DISK_STORE__MAX_OPLOG_SIZE__HELP) int maxOplogSize,
@@ -104,6 +107,7 @@ public class CreateDiskStoreCommand implements GfshCommand {
 
     diskStoreAttributes.setDiskUsageWarningPercentage(diskUsageWarningPercentage);
     diskStoreAttributes.setDiskUsageCriticalPercentage(diskUsageCriticalPercentage);
+    diskStoreAttributes.setCompactionRateLimit(compactionRateLimit);
 
     Set<DistributedMember> targetMembers = findMembers(groups, null);
 
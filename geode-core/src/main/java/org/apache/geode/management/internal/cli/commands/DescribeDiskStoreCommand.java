@@ -104,6 +104,7 @@ public class DescribeDiskStoreCommand implements GfshCommand {
         diskStoreDetails.isAllowForceCompaction() ? "Yes" : "No");
     diskStoreSection.addData("Auto Compaction", diskStoreDetails.isAutoCompact() ? "Yes" : "No");
     diskStoreSection.addData("Compaction Threshold", diskStoreDetails.getCompactionThreshold());
+    diskStoreSection.addData("Compaction Rate Limit", diskStoreDetails.getCompactionRateLimit());
     diskStoreSection.addData("Max Oplog Size", diskStoreDetails.getMaxOplogSize());
     diskStoreSection.addData("Queue Size", diskStoreDetails.getQueueSize());
     diskStoreSection.addData("Time Interval", diskStoreDetails.getTimeInterval());
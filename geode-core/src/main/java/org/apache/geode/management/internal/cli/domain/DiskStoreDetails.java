@@ -48,6 +48,8 @@ import org.apache.geode.internal.lang.ObjectUtils;
 public class DiskStoreDetails implements Comparable<DiskStoreDetails>, MutableIdentifiable<UUID>,
     Iterable<DiskStoreDetails.DiskDirDetails>, Serializable {
 
+  private static final long serialVersionUID = 2509387987739925127L;
+
   public static final String DEFAULT_DISK_STORE_NAME = DiskStoreFactory.DEFAULT_DISK_STORE_NAME;
 
   protected static final boolean DEFAULT_ALLOW_FORCE_COMPACTION = false;
@@ -66,6 +68,7 @@ public class DiskStoreDetails implements Comparable<DiskStoreDetails>, MutableId
   private Boolean pdxSerializationMetaDataStored;
 
   private Integer compactionThreshold;
+  private Integer compactionRateLimit;
   private Integer queueSize;
   private Integer writeBufferSize;
 
@@ -158,6 +161,14 @@ public class DiskStoreDetails implements Comparable<DiskStoreDetails>, MutableId
     this.compactionThreshold = compactionThreshold;
   }
 
+  public Integer getCompactionRateLimit() {
+    return compactionRateLimit;
+  }
+
+  public void setCompactionRateLimit(final Integer compactionRateLimit) {
+    this.compactionRateLimit = compactionRateLimit;
+  }
+
   public UUID getId() {
     return id;
   }
@@ -353,6 +364,7 @@ public class DiskStoreDetails implements Comparable<DiskStoreDetails>, MutableId
     buffer.append(", allowForceCompaction = ").append(getAllowForceCompaction());
     buffer.append(", autoCompact = ").append(getAutoCompact());
     buffer.append(", compactionThreshold = ").append(getCompactionThreshold());
+    buffer.append(", compactionRateLimit = ").append(getCompactionRateLimit());
     buffer.append(", maxOplogSize = ").append(getMaxOplogSize());
     buffer.append(", memberId = ").append(getMemberId());
     buffer.append(", memberName = ").append(getMemberName());
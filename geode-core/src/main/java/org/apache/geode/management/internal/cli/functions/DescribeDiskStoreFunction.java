@@ -101,6 +101,7 @@ public class DescribeDiskStoreFunction implements InternalFunction {
           diskStoreDetails.setAllowForceCompaction(diskStore.getAllowForceCompaction());
           diskStoreDetails.setAutoCompact(diskStore.getAutoCompact());
           diskStoreDetails.setCompactionThreshold(diskStore.getCompactionThreshold());
+          diskStoreDetails.setCompactionRateLimit(diskStore.getCompactionRateLimit());
           diskStoreDetails.setMaxOplogSize(diskStore.getMaxOplogSize());
           diskStoreDetails.setQueueSize(diskStore.getQueueSize());
           diskStoreDetails.setTimeInterval(diskStore.getTimeInterval());
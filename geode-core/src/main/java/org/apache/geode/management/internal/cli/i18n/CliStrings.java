@@ -696,6 +696,9 @@ public class CliStrings {
   public static final String CREATE_DISK_STORE__COMPACTION_THRESHOLD = "compaction-threshold";
   public static final String CREATE_DISK_STORE__COMPACTION_THRESHOLD__HELP =
       "Percentage of garbage allowed in the file before it is eligible for compaction.";
+  public static final String CREATE_DISK_STORE__COMPACTION_RATE_LIMIT = "compaction-rate-limit";
+  public static final String CREATE_DISK_STORE__COMPACTION_RATE_LIMIT__HELP =
+      "The rate, in megabytes per second, at which compaction may copy live data forward. 0 means compaction is not rate limited.";
   public static final String CREATE_DISK_STORE__MAX_OPLOG_SIZE = "max-oplog-size";
   public static final String CREATE_DISK_STORE__MAX_OPLOG_SIZE__HELP =
       "The largest size, in megabytes, to allow an operation log to become before automatically rolling to a new file.";
@@ -23,7 +23,6 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 
@@ -172,9 +171,9 @@ public class BackwardCompatibilitySerializationDUnitTest extends JUnit4CacheTest
     constdsfids.add(new Short(DataSerializableFixedID.TOKEN_TOMBSTONE).intValue());
 
     for (int i = 0; i < 256; i++) {
-      Constructor<?> cons = DSFIDFactory.getDsfidmap()[i];
+      DSFIDFactory.FixedIDConstructor cons = DSFIDFactory.getDsfidmap()[i];
       if (!constdsfids.contains(i - Byte.MAX_VALUE - 1) && cons != null) {
-        Object ds = cons.newInstance((Object[]) null);
+        Object ds = cons.newInstance();
         checkSupportForRollingUpgrade(ds);
       }
     }
@@ -182,9 +181,9 @@ public class BackwardCompatibilitySerializationDUnitTest extends JUnit4CacheTest
     // some msgs require distributed system
     Cache c = getCache();
     for (Object o : DSFIDFactory.getDsfidmap2().values()) {
-      Constructor<?> cons = (Constructor<?>) o;
+      DSFIDFactory.FixedIDConstructor cons = (DSFIDFactory.FixedIDConstructor) o;
       if (cons != null) {
-        DataSerializableFixedID ds = (DataSerializableFixedID) cons.newInstance((Object[]) null);
+        DataSerializableFixedID ds = (DataSerializableFixedID) cons.newInstance();
         checkSupportForRollingUpgrade(ds);
       }
     }
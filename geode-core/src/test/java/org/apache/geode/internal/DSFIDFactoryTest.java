@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.distributed.internal.ReplyMessage;
+import org.apache.geode.internal.DSFIDFactory.FixedIDConstructor;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class DSFIDFactoryTest {
+
+  @Test
+  public void registeredConstructorCreatesInstances() throws Exception {
+    FixedIDConstructor cons = DSFIDFactory.getConstructor(DataSerializableFixedID.REPLY_MESSAGE);
+
+    assertThat(cons.newInstance()).isInstanceOf(ReplyMessage.class);
+  }
+
+  @Test
+  public void publicClassIsNotInstantiatedReflectively() throws Exception {
+    FixedIDConstructor cons =
+        DSFIDFactory.createConstructor(PublicFixedID.class.getConstructor());
+
+    assertThat(cons.newInstance()).isInstanceOf(PublicFixedID.class);
+    assertThat(cons.getClass().getName()).startsWith(DSFIDFactory.class.getName() + "$$Lambda");
+  }
+
+  @Test
+  public void nonPublicClassIsInstantiatedReflectively() throws Exception {
+    FixedIDConstructor cons =
+        DSFIDFactory.createConstructor(NonPublicFixedID.class.getConstructor());
+
+    assertThat(cons.newInstance()).isInstanceOf(NonPublicFixedID.class);
+  }
+
+  @Test
+  public void readsRegisteredFixedID() throws Exception {
+    EventID eventID = new EventID(new byte[] {1, 2, 3}, 4, 5);
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    DataSerializer.writeObject(eventID, out);
+
+    Object result = DataSerializer.readObject(
+        new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+    assertThat(result).isEqualTo(eventID);
+  }
+
+  public static class PublicFixedID extends TestFixedID {
+    public PublicFixedID() {}
+  }
+
+  static class NonPublicFixedID extends TestFixedID {
+    public NonPublicFixedID() {}
+  }
+
+  abstract static class TestFixedID implements DataSerializableFixedID {
+    @Override
+    public int getDSFID() {
+      return NO_FIXED_ID;
+    }
+
+    @Override
+    public void toData(DataOutput out) throws IOException {}
+
+    @Override
+    public void fromData(DataInput in) throws IOException, ClassNotFoundException {}
+
+    @Override
+    public Version[] getSerializationVersions() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class DirectBufferDataOutputStreamTest {
+
+  @Test
+  public void writesContentsToDirectBuffers() throws IOException {
+    DirectBufferDataOutputStream out = new DirectBufferDataOutputStream(Version.CURRENT);
+    out.writeInt(42);
+    out.writeUTF("value");
+    out.write(new byte[DirectBufferDataOutputStream.BUFFER_SIZE]);
+    out.writeLong(7L);
+
+    ByteBuffer[] buffers = out.getDirectByteBuffers();
+
+    assertThat(buffers).isNotEmpty();
+    assertThat(buffers).allMatch(ByteBuffer::isDirect);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(toBytes(buffers)));
+    assertThat(in.readInt()).isEqualTo(42);
+    assertThat(in.readUTF()).isEqualTo("value");
+    in.readFully(new byte[DirectBufferDataOutputStream.BUFFER_SIZE]);
+    assertThat(in.readLong()).isEqualTo(7L);
+    assertThat(in.available()).isZero();
+    out.close();
+  }
+
+  @Test
+  public void returnsBuffersToPoolWhenClosed() throws IOException {
+    DirectBufferDataOutputStream out = new DirectBufferDataOutputStream(Version.CURRENT);
+    out.write(new byte[DirectBufferDataOutputStream.BUFFER_SIZE * 2]);
+    int pooledBuffers = DirectBufferDataOutputStream.getPooledBufferCount();
+
+    out.close();
+
+    assertThat(DirectBufferDataOutputStream.getPooledBufferCount()).isGreaterThan(pooledBuffers);
+    assertThat(out.size()).isZero();
+  }
+
+  @Test
+  public void streamCanBeWrittenAfterClose() throws IOException {
+    DirectBufferDataOutputStream out = new DirectBufferDataOutputStream(Version.CURRENT);
+    out.writeInt(1);
+    out.close();
+
+    out.writeInt(2);
+
+    assertThat(toBytes(out.getDirectByteBuffers())).isEqualTo(new byte[] {0, 0, 0, 2});
+    out.close();
+  }
+
+  @Test
+  public void heapStreamHasNoDirectBuffers() throws IOException {
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    out.writeInt(42);
+
+    assertThat(out.getDirectByteBuffers()).isNull();
+  }
+
+  @Test
+  public void emptyStreamHasNoDirectBuffers() {
+    DirectBufferDataOutputStream out = new DirectBufferDataOutputStream(Version.CURRENT);
+
+    assertThat(out.getDirectByteBuffers()).isNull();
+    out.close();
+  }
+
+  private static byte[] toBytes(ByteBuffer[] buffers) {
+    int size = 0;
+    for (ByteBuffer bb : buffers) {
+      size += bb.remaining();
+    }
+    ByteBuffer result = ByteBuffer.allocate(size);
+    for (ByteBuffer bb : buffers) {
+      result.put(bb.duplicate());
+    }
+    return result.array();
+  }
+}
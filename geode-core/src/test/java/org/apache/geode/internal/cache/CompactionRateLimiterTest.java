@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CompactionRateLimiterTest {
+
+  private static final long MEGABYTE = 1024 * 1024;
+
+  private long now = TimeUnit.SECONDS.toNanos(100);
+
+  @Test
+  public void doesNotPauseIfNotLimited() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(0, () -> now);
+
+    assertThat(limiter.reserve(100 * MEGABYTE)).isZero();
+    assertThat(limiter.reserve(100 * MEGABYTE)).isZero();
+    assertThat(limiter.getBatchBytes()).isEqualTo(CompactionRateLimiter.MAX_BATCH_BYTES);
+  }
+
+  @Test
+  public void pausesUntilBytesFitWithinRate() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(10, () -> now);
+
+    assertThat(limiter.reserve(MEGABYTE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(limiter.reserve(MEGABYTE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+
+    now += TimeUnit.MILLISECONDS.toNanos(200);
+
+    assertThat(limiter.reserve(MEGABYTE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  public void doesNotSaveUpIdleTime() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(10, () -> now);
+    limiter.reserve(MEGABYTE);
+
+    now += TimeUnit.SECONDS.toNanos(10);
+
+    assertThat(limiter.reserve(MEGABYTE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  public void appliesNewRate() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(10, () -> now);
+
+    limiter.setRate(0);
+    assertThat(limiter.reserve(MEGABYTE)).isZero();
+
+    limiter.setRate(20);
+    assertThat(limiter.getRate()).isEqualTo(20);
+    assertThat(limiter.reserve(MEGABYTE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void sizesBatchesToPauseForBatchMillis() {
+    assertThat(new CompactionRateLimiter(1).getBatchBytes())
+        .isEqualTo(MEGABYTE * CompactionRateLimiter.BATCH_MILLIS / 1000);
+    assertThat(new CompactionRateLimiter(1000).getBatchBytes())
+        .isEqualTo(CompactionRateLimiter.MAX_BATCH_BYTES);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.DiskFaultInBatch.OplogRead;
+import org.apache.geode.internal.cache.DiskFaultInBatch.ValueLocation;
+import org.apache.geode.internal.cache.entries.DiskEntry;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class DiskFaultInBatchTest {
+
+  private final DiskRegion dr = mock(DiskRegion.class);
+
+  @Test
+  public void coalescesValuesCloseToEachOtherInOneRead() {
+    ValueLocation first = location(1, 1000, 100);
+    ValueLocation second = location(1, 1150, 100);
+    ValueLocation third = location(1, 1250 + DiskFaultInBatch.MAX_GAP_BYTES, 100);
+
+    List<OplogRead> reads = DiskFaultInBatch.createReads(list(third, first, second), dr);
+
+    assertThat(reads).hasSize(1);
+    assertThat(reads.get(0).offsetInOplog).isEqualTo(1000);
+    assertThat(reads.get(0).getLength()).isEqualTo(350 + DiskFaultInBatch.MAX_GAP_BYTES);
+    assertThat(reads.get(0).locations).containsExactly(first, second, third);
+  }
+
+  @Test
+  public void splitsReadsAtLargeGaps() {
+    ValueLocation first = location(1, 1000, 100);
+    ValueLocation second = location(1, 1101 + DiskFaultInBatch.MAX_GAP_BYTES, 100);
+
+    List<OplogRead> reads = DiskFaultInBatch.createReads(list(first, second), dr);
+
+    assertThat(reads).hasSize(2);
+    assertThat(reads.get(0).locations).containsExactly(first);
+    assertThat(reads.get(1).locations).containsExactly(second);
+  }
+
+  @Test
+  public void splitsReadsByOplog() {
+    ValueLocation first = location(2, 1000, 100);
+    ValueLocation second = location(1, 1100, 100);
+
+    List<OplogRead> reads = DiskFaultInBatch.createReads(list(first, second), dr);
+
+    assertThat(reads).hasSize(2);
+    assertThat(reads.get(0).oplogId).isEqualTo(1);
+    assertThat(reads.get(1).oplogId).isEqualTo(2);
+  }
+
+  @Test
+  public void limitsBytesOfOneRead() {
+    int valueLength = DiskFaultInBatch.MAX_READ_BYTES / 2;
+    ValueLocation first = location(1, 0, valueLength);
+    ValueLocation second = location(1, valueLength, valueLength);
+    ValueLocation third = location(1, 2 * valueLength, valueLength);
+
+    List<OplogRead> reads = DiskFaultInBatch.createReads(list(first, second, third), dr);
+
+    assertThat(reads).hasSize(2);
+    assertThat(reads.get(0).getLength()).isEqualTo(DiskFaultInBatch.MAX_READ_BYTES);
+    assertThat(reads.get(1).locations).containsExactly(third);
+  }
+
+  private ValueLocation location(long oplogId, long offsetInOplog, int valueLength) {
+    return new ValueLocation(mock(DiskEntry.class), oplogId, offsetInOplog, valueLength,
+        EntryBits.setSerialized((byte) 0, true));
+  }
+
+  private static List<ValueLocation> list(ValueLocation... locations) {
+    return new ArrayList<>(Arrays.asList(locations));
+  }
+}
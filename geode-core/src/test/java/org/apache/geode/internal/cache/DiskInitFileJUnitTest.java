@@ -17,10 +17,14 @@ package org.apache.geode.internal.cache;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import org.jmock.Expectations;
 import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
 import org.jmock.lib.concurrent.Synchroniser;
 import org.jmock.lib.legacy.ClassImposteriser;
 import org.junit.Before;
@@ -176,4 +180,100 @@ public class DiskInitFileJUnitTest {
     dif.destroy();
   }
 
+  @Test
+  public void compactsInDiskStoreTask() {
+    final StatisticsFactory sf = context.mock(StatisticsFactory.class);
+    context.checking(new Expectations() {
+      {
+        ignoring(sf);
+      }
+    });
+    final DiskRegionView drv = context.mock(DiskRegionView.class);
+    context.checking(new Expectations() {
+      {
+        ignoring(drv);
+      }
+    });
+    final List<Runnable> tasks = new ArrayList<>();
+    final DiskStoreImpl parent = context.mock(DiskStoreImpl.class);
+    context.checking(new Expectations() {
+      {
+        allowing(parent).getInfoFileDir();
+        will(returnValue(new DirectoryHolder(sf, testDirectory, 0, 0)));
+        allowing(parent).executeDiskStoreTask(with(any(Runnable.class)));
+        will(new CustomAction("schedule task") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            tasks.add((Runnable) invocation.getParameter(0));
+            return true;
+          }
+        });
+        ignoring(parent);
+      }
+    });
+
+    DiskInitFile dif =
+        new DiskInitFile("testCompaction", parent, false, Collections.<File>emptySet());
+    dif.createRegion(drv);
+    dif.crfCreate(100000);
+    // write enough dead records to make the init file need a compaction
+    for (int i = 0; i < 100000; i++) {
+      dif.crfCreate(i);
+      dif.crfDelete(i);
+    }
+    assertEquals(1, tasks.size());
+    long lengthBeforeCompaction = dif.getIFFile().length();
+
+    tasks.get(0).run();
+    assertTrue(dif.getIFFile().length() < lengthBeforeCompaction);
+    dif.close();
+
+    dif = new DiskInitFile("testCompaction", parent, true, Collections.<File>emptySet());
+    assertTrue(dif.isCRFOplogIdPresent(100000));
+    assertFalse(dif.isCRFOplogIdPresent(5));
+    dif.destroy();
+  }
+
+  @Test
+  public void recoversValueCompressor() {
+    final StatisticsFactory sf = context.mock(StatisticsFactory.class);
+    context.checking(new Expectations() {
+      {
+        ignoring(sf);
+      }
+    });
+    final DiskRegionView drv = context.mock(DiskRegionView.class);
+    context.checking(new Expectations() {
+      {
+        ignoring(drv);
+      }
+    });
+    final DiskStoreImpl parent = context.mock(DiskStoreImpl.class);
+    context.checking(new Expectations() {
+      {
+        allowing(parent).getInfoFileDir();
+        will(returnValue(new DirectoryHolder(sf, testDirectory, 0, 0)));
+        ignoring(parent);
+      }
+    });
+
+    DiskInitFile dif =
+        new DiskInitFile("testValueCompressor", parent, false, Collections.<File>emptySet());
+    assertNull(dif.getValueCompressorClassName());
+    dif.setValueCompressorClassName("org.apache.geode.compression.SnappyCompressor");
+    dif.createRegion(drv);
+    dif.close();
+
+    dif = new DiskInitFile("testValueCompressor", parent, true, Collections.<File>emptySet());
+    assertEquals("org.apache.geode.compression.SnappyCompressor",
+        dif.getValueCompressorClassName());
+    // the record must survive a compaction of the init file
+    dif.forceCompaction();
+    dif.close();
+
+    dif = new DiskInitFile("testValueCompressor", parent, true, Collections.<File>emptySet());
+    assertEquals("org.apache.geode.compression.SnappyCompressor",
+        dif.getValueCompressorClassName());
+    dif.destroy();
+  }
 }
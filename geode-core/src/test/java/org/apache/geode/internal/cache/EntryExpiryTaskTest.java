@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.ExpirationAction;
+import org.apache.geode.cache.ExpirationAttributes;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class EntryExpiryTaskTest {
+
+  private LocalRegion region;
+  private RegionEntry regionEntry;
+
+  @Before
+  public void setup() throws Exception {
+    region = mock(LocalRegion.class);
+    RegionAttributes attributes = mock(RegionAttributes.class);
+    when(region.getAttributes()).thenReturn(attributes);
+    when(attributes.getEntryIdleTimeout())
+        .thenReturn(new ExpirationAttributes(10, ExpirationAction.DESTROY));
+    regionEntry = mock(RegionEntry.class);
+    when(regionEntry.getKey()).thenReturn("key");
+    when(regionEntry.getLastAccessed()).thenReturn(1_000L);
+  }
+
+  @Test
+  public void asksOtherMembersAboutLaterAccesses() throws Exception {
+    when(region.getLatestLastAccessTimeFromOthers("key")).thenReturn(2_000L);
+    EntryExpiryTask task = new EntryExpiryTask(region, regionEntry);
+
+    assertThat(task.isIdleExpiredOnOthers()).isFalse();
+
+    verify(regionEntry).setLastAccessed(2_000L);
+  }
+
+  @Test
+  public void doesNotAskOtherMembersAgainOnceChecked() throws Exception {
+    EntryExpiryTask task = new EntryExpiryTask(region, regionEntry, null, true);
+
+    assertThat(task.isIdleExpiredOnOthers()).isTrue();
+
+    verify(region, never()).getLatestLastAccessTimeFromOthers(any());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.VersionedDataInputStream;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class EvictionAttributesImplTest {
+
+  @Test
+  public void lfuAlgorithmIsSentToCurrentMembers() throws Exception {
+    EvictionAttributesImpl attributes = (EvictionAttributesImpl) EvictionAttributes
+        .createLFUEntryAttributes(100, EvictionAction.LOCAL_DESTROY);
+
+    EvictionAttributesImpl copy = serializeAndDeserialize(attributes, Version.CURRENT);
+
+    assertThat(copy.getAlgorithm()).isSameAs(EvictionAlgorithm.LFU_ENTRY);
+    assertThat(copy.getMaximum()).isEqualTo(100);
+  }
+
+  @Test
+  public void lfuEntryIsSentAsLruEntryToOlderMembers() throws Exception {
+    EvictionAttributesImpl attributes = (EvictionAttributesImpl) EvictionAttributes
+        .createLFUEntryAttributes(100, EvictionAction.LOCAL_DESTROY);
+
+    EvictionAttributesImpl copy = serializeAndDeserialize(attributes, Version.GEODE_140);
+
+    assertThat(copy.getAlgorithm()).isSameAs(EvictionAlgorithm.LRU_ENTRY);
+    assertThat(copy.getAction()).isSameAs(EvictionAction.LOCAL_DESTROY);
+    assertThat(copy.getMaximum()).isEqualTo(100);
+  }
+
+  @Test
+  public void lfuMemoryIsSentAsLruMemoryToOlderMembers() throws Exception {
+    EvictionAttributesImpl attributes = (EvictionAttributesImpl) EvictionAttributes
+        .createLFUMemoryAttributes(10, null, EvictionAction.OVERFLOW_TO_DISK);
+
+    EvictionAttributesImpl copy = serializeAndDeserialize(attributes, Version.GEODE_140);
+
+    assertThat(copy.getAlgorithm()).isSameAs(EvictionAlgorithm.LRU_MEMORY);
+    assertThat(copy.getMaximum()).isEqualTo(10);
+  }
+
+  @Test
+  public void lruAlgorithmOfOtherAlgorithmsIsUnchanged() {
+    assertThat(EvictionAttributesImpl.getLRUAlgorithm(EvictionAlgorithm.LRU_HEAP))
+        .isSameAs(EvictionAlgorithm.LRU_HEAP);
+    assertThat(EvictionAttributesImpl.getLRUAlgorithm(EvictionAlgorithm.NONE))
+        .isSameAs(EvictionAlgorithm.NONE);
+  }
+
+  private EvictionAttributesImpl serializeAndDeserialize(EvictionAttributesImpl attributes,
+      Version version) throws Exception {
+    HeapDataOutputStream out = new HeapDataOutputStream(version);
+    attributes.toData(out);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    EvictionAttributesImpl copy = new EvictionAttributesImpl();
+    copy.fromData(new VersionedDataInputStream(in, version));
+    return copy;
+  }
+}
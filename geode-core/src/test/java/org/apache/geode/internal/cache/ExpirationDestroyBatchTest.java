@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.internal.cache.DistributedRemoveAllOperation.RemoveAllEntryData;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ExpirationDestroyBatchTest {
+
+  private LocalRegion region;
+  private InternalDataView dataView;
+  private EntryEventImpl baseEvent;
+  private DistributedRemoveAllOperation removeAllOperation;
+  private ExpirationDestroyBatch batch;
+
+  @Before
+  public void setup() {
+    region = mock(LocalRegion.class);
+    dataView = mock(InternalDataView.class);
+    when(region.getDataView()).thenReturn(dataView);
+    baseEvent = mock(EntryEventImpl.class);
+    removeAllOperation = mock(DistributedRemoveAllOperation.class);
+    when(removeAllOperation.getBaseEvent()).thenReturn(baseEvent);
+    batch = new ExpirationDestroyBatch(region, removeAllOperation);
+  }
+
+  @Test
+  public void addMakesDestroyPartOfRemoveAll() {
+    EntryEventImpl event = mock(EntryEventImpl.class);
+
+    batch.add(event);
+
+    verify(event).setRemoveAllOperation(removeAllOperation);
+  }
+
+  @Test
+  public void distributePostsDestroyedKeysWithTheirOwnEventIds() {
+    RemoveAllEntryData[] removeAllData =
+        new RemoveAllEntryData[] {createEntryData("key1"), createEntryData("key2"), null};
+    when(removeAllOperation.getRemoveAllEntryData()).thenReturn(removeAllData);
+    removeAllOperation.removeAllDataSize = 2;
+
+    batch.distribute();
+
+    ArgumentCaptor<VersionedObjectList> succeeded =
+        ArgumentCaptor.forClass(VersionedObjectList.class);
+    verify(dataView).postRemoveAll(eq(removeAllOperation), succeeded.capture(), eq(region));
+    assertThat(succeeded.getValue().getKeys()).containsExactly("key1", "key2");
+    verify(removeAllOperation).setUseFakeEventId(true);
+    verify(baseEvent).release();
+    verify(removeAllOperation).freeOffHeapResources();
+  }
+
+  @Test
+  public void distributeReleasesEventsIfPostRemoveAllFails() {
+    when(removeAllOperation.getRemoveAllEntryData()).thenReturn(new RemoveAllEntryData[0]);
+    doThrow(new IllegalStateException()).when(dataView).postRemoveAll(any(), any(), any());
+
+    assertThatThrownBy(() -> batch.distribute()).isInstanceOf(IllegalStateException.class);
+
+    verify(baseEvent).release();
+    verify(removeAllOperation).freeOffHeapResources();
+  }
+
+  private static RemoveAllEntryData createEntryData(Object key) {
+    EntryEventImpl event = mock(EntryEventImpl.class);
+    when(event.getKey()).thenReturn(key);
+    when(event.getOperation()).thenReturn(Operation.EXPIRE_DESTROY);
+    return new RemoveAllEntryData(event);
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.entries.AbstractRegionEntry;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ExpirationTimerWheelTest {
+
+  private static final long TICK_MILLIS = 100;
+
+  private static final long SWEEP_MILLIS = 50;
+
+  private LocalRegion region;
+  private ExpirationTimerWheel wheel;
+
+  @Before
+  public void setup() {
+    region = mock(LocalRegion.class);
+    wheel = new ExpirationTimerWheel(region, TICK_MILLIS, SWEEP_MILLIS, 0);
+  }
+
+  @Test
+  public void expiresEntryAtItsTimeToLive() throws Exception {
+    region.entryTimeToLive = 10;
+    TestEntry entry = new TestEntry(0, 0);
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.size()).isOne();
+    assertThat(wheel.advanceTo(9_999)).isEmpty();
+    assertThat(wheel.advanceTo(10_000)).containsExactly(entry.regionEntry);
+    assertThat(wheel.size()).isZero();
+    assertThat(entry.scheduled.get()).isFalse();
+  }
+
+  @Test
+  public void addsEntryOnlyOnce() throws Exception {
+    region.entryTimeToLive = 10;
+    TestEntry entry = new TestEntry(0, 0);
+
+    wheel.add(entry.regionEntry);
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.size()).isOne();
+    assertThat(wheel.advanceTo(10_000)).containsExactly(entry.regionEntry);
+  }
+
+  @Test
+  public void doesNotAddEntryThatDoesNotExpire() throws Exception {
+    TestEntry entry = new TestEntry(0, 0);
+
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.size()).isZero();
+    assertThat(entry.scheduled.get()).isFalse();
+  }
+
+  @Test
+  public void allowsOneAccessEpochForIdleExpiration() throws Exception {
+    when(region.getAccessEpochMillis()).thenReturn(1_000L);
+    region.entryIdleTimeout = 10;
+    TestEntry entry = new TestEntry(0, 0);
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.advanceTo(10_999)).isEmpty();
+    assertThat(wheel.advanceTo(11_000)).containsExactly(entry.regionEntry);
+  }
+
+  @Test
+  public void movesEntryAccessedSinceItWasAddedToLaterSlot() throws Exception {
+    region.entryIdleTimeout = 10;
+    TestEntry entry = new TestEntry(0, 0);
+    wheel.add(entry.regionEntry);
+
+    entry.lastAccessed.set(5_000);
+
+    assertThat(wheel.advanceTo(10_000)).isEmpty();
+    assertThat(wheel.size()).isOne();
+    assertThat(wheel.advanceTo(14_999)).isEmpty();
+    assertThat(wheel.advanceTo(15_000)).containsExactly(entry.regionEntry);
+  }
+
+  @Test
+  public void expiresAtEarlierOfTimeToLiveAndIdleTimeout() throws Exception {
+    region.entryTimeToLive = 10;
+    region.entryIdleTimeout = 20;
+    TestEntry entry = new TestEntry(0, 5_000);
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.advanceTo(10_000)).containsExactly(entry.regionEntry);
+  }
+
+  @Test
+  public void expiresEntriesInHigherLevelsOfTheWheel() throws Exception {
+    region.entryTimeToLive = (int) TimeUnit.DAYS.toSeconds(1);
+    TestEntry[] entries = new TestEntry[64];
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = new TestEntry(i * 60_000L, 0);
+      wheel.add(entries[i].regionEntry);
+    }
+
+    long oneDay = TimeUnit.DAYS.toMillis(1);
+    assertThat(wheel.advanceTo(oneDay - 1)).isEmpty();
+    for (int i = 0; i < entries.length; i++) {
+      long expirationTime = oneDay + i * 60_000L;
+      assertThat(wheel.advanceTo(expirationTime - 1)).isEmpty();
+      assertThat(wheel.advanceTo(expirationTime)).containsExactly(entries[i].regionEntry);
+    }
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void dropsDestroyedEntry() throws Exception {
+    region.entryTimeToLive = 10;
+    TestEntry entry = new TestEntry(0, 0);
+    wheel.add(entry.regionEntry);
+
+    entry.destroyed.set(true);
+
+    assertThat(wheel.advanceTo(10_000)).isEmpty();
+    assertThat(wheel.size()).isZero();
+    assertThat(entry.scheduled.get()).isFalse();
+  }
+
+  @Test
+  public void addsEntryThatExpiredBeforeItWasAddedToNextTick() throws Exception {
+    region.entryTimeToLive = 10;
+    wheel.advanceTo(20_000);
+    TestEntry entry = new TestEntry(0, 0);
+
+    wheel.add(entry.regionEntry);
+
+    assertThat(wheel.advanceTo(20_000 + TICK_MILLIS)).containsExactly(entry.regionEntry);
+  }
+
+  @Test
+  public void defersEntriesLeftAfterSweepTimeToNextTick() throws Exception {
+    wheel = new ExpirationTimerWheel(region, TICK_MILLIS, 0, 0);
+    region.entryTimeToLive = 10;
+    TestEntry first = new TestEntry(0, 0);
+    TestEntry second = new TestEntry(0, 0);
+    wheel.add(first.regionEntry);
+    wheel.add(second.regionEntry);
+    List<AbstractRegionEntry> dueEntries = wheel.advanceTo(10_000);
+    List<AbstractRegionEntry> expiredEntries = new ArrayList<>();
+
+    assertThat(wheel.expire(dueEntries, expiredEntries::add)).isOne();
+
+    assertThat(expiredEntries).containsExactly(dueEntries.get(0));
+    assertThat(wheel.size()).isOne();
+    assertThat(wheel.advanceTo(10_000 + TICK_MILLIS)).containsExactly(dueEntries.get(1));
+  }
+
+  @Test
+  public void cancelTakesAllEntriesOffTheWheel() throws Exception {
+    region.entryTimeToLive = 10;
+    TestEntry entry = new TestEntry(0, 0);
+    wheel.add(entry.regionEntry);
+
+    wheel.cancel();
+    wheel.add(new TestEntry(0, 0).regionEntry);
+
+    assertThat(wheel.size()).isZero();
+    assertThat(entry.scheduled.get()).isFalse();
+    assertThat(wheel.advanceTo(10_000)).isEmpty();
+  }
+
+  private static class TestEntry {
+    final AbstractRegionEntry regionEntry = mock(AbstractRegionEntry.class);
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    final AtomicBoolean destroyed = new AtomicBoolean();
+    final AtomicLong lastModified = new AtomicLong();
+    final AtomicLong lastAccessed = new AtomicLong();
+
+    TestEntry(long lastModified, long lastAccessed) throws Exception {
+      this.lastModified.set(lastModified);
+      this.lastAccessed.set(lastAccessed);
+      when(regionEntry.setExpirationScheduled())
+          .thenAnswer(invocation -> scheduled.compareAndSet(false, true));
+      doAnswer(invocation -> {
+        scheduled.set(false);
+        return null;
+      }).when(regionEntry).clearExpirationScheduled();
+      when(regionEntry.isDestroyedOrRemoved()).thenAnswer(invocation -> destroyed.get());
+      when(regionEntry.getLastModified()).thenAnswer(invocation -> this.lastModified.get());
+      when(regionEntry.getLastAccessed()).thenAnswer(invocation -> this.lastAccessed.get());
+    }
+  }
+}
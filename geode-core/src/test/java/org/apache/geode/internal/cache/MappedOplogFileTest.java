@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class MappedOplogFileTest {
+
+  private static final int REGION_BYTES = 16;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private byte[] contents;
+  private File file;
+
+  @Before
+  public void setup() throws IOException {
+    contents = new byte[50];
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = (byte) (i * 7);
+    }
+    file = temporaryFolder.newFile("BACKUPds_1.crf");
+    Files.write(file.toPath(), contents);
+  }
+
+  @Test
+  public void getCopiesBytesAcrossRegions() throws IOException {
+    MappedOplogFile mappedFile = MappedOplogFile.map(file, REGION_BYTES);
+    byte[] bytes = new byte[22];
+
+    mappedFile.get(10, bytes, 1, 20);
+
+    assertThat(mappedFile.length()).isEqualTo(contents.length);
+    assertThat(Arrays.copyOfRange(bytes, 1, 21)).isEqualTo(Arrays.copyOfRange(contents, 10, 30));
+  }
+
+  @Test
+  public void getThrowsIfPastEndOfFile() throws IOException {
+    MappedOplogFile mappedFile = MappedOplogFile.map(file, REGION_BYTES);
+
+    assertThatThrownBy(() -> mappedFile.get(40, new byte[20], 0, 20))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void streamReadsWholeFile() throws IOException {
+    InputStream stream = MappedOplogFile.map(file, REGION_BYTES).newInputStream();
+
+    assertThat(IOUtils.toByteArray(stream)).isEqualTo(contents);
+    assertThat(stream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void streamSkipsWithoutReading() throws IOException {
+    DataInputStream stream =
+        new DataInputStream(MappedOplogFile.map(file, REGION_BYTES).newInputStream());
+
+    assertThat(stream.skipBytes(15)).isEqualTo(15);
+    assertThat(stream.readByte()).isEqualTo(contents[15]);
+    assertThat(stream.readInt()).isEqualTo(
+        new DataInputStream(new ByteArrayInputStream(contents, 16, 4)).readInt());
+    assertThat(stream.skipBytes(100)).isEqualTo(30);
+    assertThatThrownBy(stream::readByte).isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  public void closeReleasesFileForDeletion() throws IOException {
+    MappedOplogFile mappedFile = MappedOplogFile.map(file, REGION_BYTES);
+
+    mappedFile.close();
+    mappedFile.close();
+
+    Files.delete(file.toPath());
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  public void readThrowsAfterClose() throws IOException {
+    MappedOplogFile mappedFile = MappedOplogFile.map(file, REGION_BYTES);
+    InputStream stream = mappedFile.newInputStream();
+
+    stream.close();
+
+    assertThatThrownBy(stream::read).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> mappedFile.get(0, new byte[1], 0, 1))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void mapsEmptyFile() throws IOException {
+    File empty = temporaryFolder.newFile("BACKUPds_2.crf");
+
+    MappedOplogFile mappedFile = MappedOplogFile.map(empty, REGION_BYTES);
+
+    assertThat(mappedFile.length()).isZero();
+    assertThat(mappedFile.newInputStream().read()).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.awaitility.Awaitility;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Scope;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+import org.apache.geode.test.junit.rules.ExecutorServiceRule;
+
+/**
+ * Tests synchronous writes to an oplog whose flushes are deferred to group commits.
+ */
+@Category(IntegrationTest.class)
+public class OplogGroupCommitJUnitTest extends DiskRegionTestingBase {
+
+  private static final int WRITERS = 8;
+
+  private static final int PUTS_PER_WRITER = 250;
+
+  private final DiskRegionProperties diskProps = new DiskRegionProperties();
+
+  private CacheObserver oldObserver;
+
+  @Rule
+  public ExecutorServiceRule executorServiceRule = new ExecutorServiceRule(WRITERS);
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Override
+  protected final void preSetUp() throws Exception {
+    // read by each disk store when it is created
+    System.setProperty("geode." + SystemPropertyHelper.DISK_STORE_GROUP_COMMIT, "true");
+  }
+
+  @Override
+  protected final void postSetUp() throws Exception {
+    diskProps.setDiskDirs(dirs);
+    diskProps.setRegionName("groupCommitRegion");
+    oldObserver = CacheObserverHolder.getInstance();
+  }
+
+  @Override
+  protected final void postTearDown() throws Exception {
+    LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER = false;
+    CacheObserverHolder.setInstance(oldObserver);
+  }
+
+  @Test
+  public void recoversAllAcknowledgedConcurrentWrites() throws Exception {
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    DiskStoreStats stats = ((LocalRegion) region).getDiskStore().getStats();
+
+    doConcurrentPuts();
+
+    int puts = WRITERS * PUTS_PER_WRITER;
+    assertThat(stats.getGroupCommitWrites()).isEqualTo(puts);
+    assertThat(stats.getGroupCommits()).isBetween(1L, (long) puts);
+
+    reopenRegion();
+    validateConcurrentPuts();
+  }
+
+  @Test
+  public void recoversAllAcknowledgedWritesAcrossOplogSwitches() throws Exception {
+    diskProps.setMaxOplogSize(4096);
+    diskProps.setRolling(false);
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    DiskRegion dr = ((LocalRegion) region).getDiskRegion();
+    DiskStoreStats stats = ((LocalRegion) region).getDiskStore().getStats();
+
+    doConcurrentPuts();
+
+    assertThat(dr.testHook_getChild().getOplogId()).isGreaterThan(1);
+    // a record that lands in an oplog other than the one the thread has deferred to is flushed
+    // inline instead of by a group commit
+    assertThat(stats.getGroupCommitWrites()).isBetween(1L, (long) WRITERS * PUTS_PER_WRITER);
+
+    reopenRegion();
+    validateConcurrentPuts();
+  }
+
+  @Test
+  public void waitingWriterCommitsWhenLeaderFails() throws Exception {
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    DiskStoreStats stats = ((LocalRegion) region).getDiskStore().getStats();
+
+    CountDownLatch leaderCommitting = new CountDownLatch(1);
+    CountDownLatch failLeader = new CountDownLatch(1);
+    AtomicBoolean leaderFailed = new AtomicBoolean();
+    LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER = true;
+    CacheObserverHolder.setInstance(new CacheObserverAdapter() {
+      @Override
+      public void beforeGroupCommit() {
+        if (leaderFailed.compareAndSet(false, true)) {
+          leaderCommitting.countDown();
+          try {
+            failLeader.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          throw new IllegalStateException("injected group commit failure");
+        }
+      }
+    });
+
+    Future<?> leader = executorServiceRule.submit(() -> region.put("leader", "leaderValue"));
+    assertThat(leaderCommitting.await(30, SECONDS)).isTrue();
+
+    AtomicReference<Thread> waiterThread = new AtomicReference<>();
+    Future<?> waiter = executorServiceRule.submit(() -> {
+      waiterThread.set(Thread.currentThread());
+      region.put("waiter", "waiterValue");
+    });
+    Awaitility.await().atMost(30, SECONDS).until(
+        () -> waiterThread.get() != null && waiterThread.get().getState() == Thread.State.WAITING);
+
+    failLeader.countDown();
+
+    assertThatThrownBy(() -> leader.get(30, SECONDS))
+        .hasStackTraceContaining("injected group commit failure");
+    waiter.get(30, SECONDS);
+    // the failed leader never started its commit so the waiter flushed both records
+    assertThat(stats.getGroupCommits()).isEqualTo(1);
+    assertThat(stats.getGroupCommitWrites()).isEqualTo(2);
+
+    reopenRegion();
+    assertThat(region.get("leader")).isEqualTo("leaderValue");
+    assertThat(region.get("waiter")).isEqualTo("waiterValue");
+  }
+
+  private void doConcurrentPuts() throws Exception {
+    List<Future<?>> writers = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      final int writer = i;
+      writers.add(executorServiceRule.submit(() -> {
+        for (int j = 0; j < PUTS_PER_WRITER; j++) {
+          region.put(key(writer, j), value(writer, j));
+        }
+      }));
+    }
+    for (Future<?> writer : writers) {
+      writer.get(60, SECONDS);
+    }
+  }
+
+  private void validateConcurrentPuts() {
+    assertThat(region.size()).isEqualTo(WRITERS * PUTS_PER_WRITER);
+    for (int i = 0; i < WRITERS; i++) {
+      for (int j = 0; j < PUTS_PER_WRITER; j++) {
+        assertThat(region.get(key(i, j))).isEqualTo(value(i, j));
+      }
+    }
+  }
+
+  private void reopenRegion() {
+    region.close();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+  }
+
+  private static String key(int writer, int put) {
+    return "key-" + writer + "-" + put;
+  }
+
+  private static String value(int writer, int put) {
+    return "value-" + writer + "-" + put + "-0123456789";
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class OplogRecoveryReadAheadTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ExecutorService executor;
+  private DiskStoreStats stats;
+  private File drf;
+  private File krf;
+  private File large;
+
+  @Before
+  public void setup() throws IOException {
+    executor = Executors.newFixedThreadPool(2);
+    stats = mock(DiskStoreStats.class);
+    drf = createFile("BACKUPds_1.drf", 10);
+    krf = createFile("BACKUPds_1.krf", 20);
+    large = createFile("BACKUPds_2.krf", 100);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void opensFilesFromMemoryInOrder() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf, krf), executor, 50, stats);
+
+    assertContents(readAhead.open(drf), drf, true);
+    assertContents(readAhead.open(krf), krf, true);
+    verify(stats).endRecoveryReadAhead(anyLong(), eq(10L));
+    verify(stats).endRecoveryReadAhead(anyLong(), eq(20L));
+    verify(stats, times(2)).endRecoveryReadAheadWait(anyLong());
+  }
+
+  @Test
+  public void opensFileFromDiskIfLargerThanLimit() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(large), executor, 50, stats);
+
+    assertContents(readAhead.open(large), large, false);
+    verify(stats, never()).endRecoveryReadAhead(anyLong(), anyLong());
+  }
+
+  @Test
+  public void opensFileFromDiskIfNotReadAhead() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf), executor, 50, stats);
+
+    assertContents(readAhead.open(krf), krf, false);
+  }
+
+  @Test
+  public void opensFileFromDiskOnceItHasBeenOpened() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf), executor, 50, stats);
+
+    assertContents(readAhead.open(drf), drf, true);
+    assertContents(readAhead.open(drf), drf, false);
+  }
+
+  @Test
+  public void readsAheadOnlyAsManyBytesAsTheWindow() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf, krf), executor, 25, stats);
+
+    verify(stats, timeout(10_000)).endRecoveryReadAhead(anyLong(), eq(10L));
+    verify(stats, never()).endRecoveryReadAhead(anyLong(), eq(20L));
+
+    assertContents(readAhead.open(drf), drf, true);
+    assertContents(readAhead.open(krf), krf, true);
+  }
+
+  @Test
+  public void openingFileDiscardsSkippedFiles() throws IOException {
+    File next = createFile("BACKUPds_3.krf", 20);
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf, krf, next), executor, 30, stats);
+
+    assertContents(readAhead.open(krf), krf, true);
+    assertContents(readAhead.open(next), next, true);
+    assertContents(readAhead.open(drf), drf, false);
+  }
+
+  @Test
+  public void closeStopsReadingAhead() throws IOException {
+    OplogRecoveryReadAhead readAhead =
+        new OplogRecoveryReadAhead(Arrays.asList(drf, krf), executor, 50, stats);
+
+    readAhead.close();
+
+    assertThat(executor.isShutdown()).isTrue();
+    assertContents(readAhead.open(drf), drf, false);
+  }
+
+  private File createFile(String name, int length) throws IOException {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (name.hashCode() + i);
+    }
+    File file = temporaryFolder.newFile(name);
+    Files.write(file.toPath(), bytes);
+    return file;
+  }
+
+  private static void assertContents(InputStream stream, File file, boolean fromMemory)
+      throws IOException {
+    try {
+      if (fromMemory) {
+        assertThat(stream).isInstanceOf(ByteArrayInputStream.class);
+      } else {
+        assertThat(stream).isNotInstanceOf(ByteArrayInputStream.class);
+      }
+      assertThat(IOUtils.toByteArray(stream)).isEqualTo(Files.readAllBytes(file.toPath()));
+    } finally {
+      stream.close();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class OplogValueCompressorTest {
+
+  private static final String COMPRESSOR_PROPERTY =
+      "geode." + SystemPropertyHelper.DISK_STORE_VALUE_COMPRESSOR;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private DiskStoreStats stats;
+  private OplogValueCompressor valueCompressor;
+  private DiskInitFile initFile;
+
+  @Before
+  public void setup() {
+    stats = mock(DiskStoreStats.class);
+    valueCompressor = new OplogValueCompressor(new SnappyCompressor(), stats);
+    initFile = mock(DiskInitFile.class);
+    when(initFile.getNameForError()).thenReturn("diskStore");
+  }
+
+  @Test
+  public void compressesAndDecompressesValue() {
+    byte[] value = new byte[1000];
+    Arrays.fill(value, (byte) 7);
+
+    byte[] compressed = valueCompressor.compress(value, value.length);
+
+    assertThat(compressed.length).isLessThan(value.length);
+    assertThat(valueCompressor.decompress(compressed)).isEqualTo(value);
+    verify(stats).incCompressedValues(value.length - compressed.length);
+  }
+
+  @Test
+  public void compressesOnlyValidLength() {
+    byte[] buffer = new byte[2000];
+    Arrays.fill(buffer, 0, 1000, (byte) 7);
+    Arrays.fill(buffer, 1000, 2000, (byte) 9);
+
+    byte[] compressed = valueCompressor.compress(buffer, 1000);
+
+    assertThat(valueCompressor.decompress(compressed)).isEqualTo(Arrays.copyOf(buffer, 1000));
+  }
+
+  @Test
+  public void doesNotCompressSmallValues() {
+    byte[] value = new byte[OplogValueCompressor.MIN_VALUE_BYTES - 1];
+
+    assertThat(valueCompressor.compress(value, value.length)).isNull();
+  }
+
+  @Test
+  public void doesNotCompressValuesThatDoNotGetSmallerEnough() {
+    byte[] value = new byte[1000];
+    new Random(1).nextBytes(value);
+
+    assertThat(valueCompressor.compress(value, value.length)).isNull();
+    verify(stats, never()).incCompressedValues(anyLong());
+  }
+
+  @Test
+  public void doesNotCompressWithoutCompressor() {
+    OplogValueCompressor disabled = new OplogValueCompressor(null, stats);
+    byte[] value = new byte[1000];
+
+    assertThat(disabled.isEnabled()).isFalse();
+    assertThat(disabled.compress(value, value.length)).isNull();
+    assertThatThrownBy(() -> disabled.decompress(value))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void recordsConfiguredCompressorInInitFile() {
+    System.setProperty(COMPRESSOR_PROPERTY, SnappyCompressor.class.getName());
+
+    OplogValueCompressor created = OplogValueCompressor.create(initFile, false, stats);
+
+    assertThat(created.isEnabled()).isTrue();
+    verify(initFile).setValueCompressorClassName(SnappyCompressor.class.getName());
+  }
+
+  @Test
+  public void decompressesWithRecordedCompressorWithoutSystemProperty() {
+    when(initFile.getValueCompressorClassName()).thenReturn(SnappyCompressor.class.getName());
+    byte[] value = new byte[1000];
+    byte[] compressed = valueCompressor.compress(value, value.length);
+
+    OplogValueCompressor created = OplogValueCompressor.create(initFile, false, stats);
+
+    assertThat(created.isEnabled()).isFalse();
+    assertThat(created.decompress(compressed)).isEqualTo(value);
+    verify(initFile, never()).setValueCompressorClassName(any());
+  }
+
+  @Test
+  public void offlineDiskStoreOnlyDecompressesWithRecordedCompressor() {
+    System.setProperty(COMPRESSOR_PROPERTY, SnappyCompressor.class.getName());
+
+    OplogValueCompressor created = OplogValueCompressor.create(initFile, true, stats);
+
+    assertThat(created.isEnabled()).isFalse();
+    verify(initFile, never()).setValueCompressorClassName(any());
+  }
+
+  @Test
+  public void rejectsCompressorOtherThanRecordedOne() {
+    when(initFile.getValueCompressorClassName()).thenReturn("com.example.OtherCompressor");
+    System.setProperty(COMPRESSOR_PROPERTY, SnappyCompressor.class.getName());
+
+    assertThatThrownBy(() -> OplogValueCompressor.create(initFile, false, stats))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("com.example.OtherCompressor");
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BackupFileTransferTest {
+
+  @Rule
+  public TemporaryFolder tempDir = new TemporaryFolder();
+
+  private Path sourceDir;
+  private Path targetDir;
+
+  @Before
+  public void setup() throws IOException {
+    sourceDir = tempDir.newFolder("source").toPath();
+    targetDir = tempDir.newFolder("target").toPath();
+  }
+
+  @Test
+  public void movesAllFilesInParallel() throws IOException {
+    Map<Path, Path> moves = new LinkedHashMap<>();
+    for (int i = 0; i < 10; i++) {
+      Path file = Files.write(sourceDir.resolve("file" + i), new byte[] {(byte) i});
+      moves.put(file, targetDir.resolve(file.getFileName()));
+    }
+
+    new BackupFileTransfer(4, 0).moveAll(moves);
+
+    for (Map.Entry<Path, Path> move : moves.entrySet()) {
+      assertThat(move.getKey()).doesNotExist();
+      assertThat(move.getValue()).exists();
+    }
+    assertThat(Files.readAllBytes(targetDir.resolve("file7"))).containsExactly(7);
+  }
+
+  @Test
+  public void movesDirectories() throws IOException {
+    Path directory = Files.createDirectory(sourceDir.resolve("directory"));
+    Files.write(directory.resolve("file"), new byte[] {1});
+    Map<Path, Path> moves = new LinkedHashMap<>();
+    moves.put(directory, targetDir.resolve("directory"));
+
+    new BackupFileTransfer(4, 0).moveAll(moves);
+
+    assertThat(directory).doesNotExist();
+    assertThat(targetDir.resolve("directory").resolve("file")).exists();
+  }
+
+  @Test
+  public void copiesFileInChunks() throws IOException {
+    byte[] bytes = new byte[2 * BackupFileTransfer.CHUNK_BYTES + 3];
+    Arrays.fill(bytes, (byte) 5);
+    Path source = Files.write(sourceDir.resolve("oplog.crf"), bytes);
+    BackupFileTransfer fileTransfer = new BackupFileTransfer(1, 0);
+
+    fileTransfer.copy(source, targetDir.resolve("oplog.crf"));
+
+    assertThat(Files.readAllBytes(targetDir.resolve("oplog.crf"))).isEqualTo(bytes);
+    assertThat(fileTransfer.getBytesCopied()).isEqualTo(bytes.length);
+  }
+
+  @Test
+  public void failsIfTargetExists() throws IOException {
+    Path source = Files.write(sourceDir.resolve("file"), new byte[] {1});
+    Path target = Files.write(targetDir.resolve("file"), new byte[] {2});
+
+    assertThatThrownBy(() -> new BackupFileTransfer(1, 0).copy(source, target))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void moveDoesNotReplaceExistingTarget() throws IOException {
+    Path source = Files.write(sourceDir.resolve("file"), new byte[] {1});
+    Path target = Files.write(targetDir.resolve("file"), new byte[] {2});
+
+    assertThatThrownBy(() -> new BackupFileTransfer(1, 0).move(source, target))
+        .isInstanceOf(FileAlreadyExistsException.class);
+    assertThat(Files.readAllBytes(source)).containsExactly(1);
+    assertThat(Files.readAllBytes(target)).containsExactly(2);
+  }
+
+  @Test
+  public void doesNotPauseWithoutRateLimit() {
+    BackupFileTransfer fileTransfer = new BackupFileTransfer(1, 0);
+
+    assertThat(fileTransfer.reserve(1024 * 1024 * 1024)).isEqualTo(0);
+  }
+
+  @Test
+  public void pausesForBytesBeyondRateLimit() {
+    BackupFileTransfer fileTransfer = new BackupFileTransfer(1, 10);
+
+    long pause = fileTransfer.reserve(20 * 1024 * 1024);
+
+    assertThat(pause).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(1900))
+        .isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  public void sharesRateLimitBetweenCopies() {
+    BackupFileTransfer fileTransfer = new BackupFileTransfer(2, 10);
+
+    fileTransfer.reserve(10 * 1024 * 1024);
+    long pause = fileTransfer.reserve(10 * 1024 * 1024);
+
+    assertThat(pause).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(1900));
+  }
+
+  @Test
+  public void usesAtLeastOneThread() {
+    assertThat(new BackupFileTransfer(0, 0).getThreads()).isEqualTo(1);
+  }
+}
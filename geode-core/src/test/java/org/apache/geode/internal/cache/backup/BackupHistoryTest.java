@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BackupHistoryTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final BackupHistory backupHistory = new BackupHistory();
+  private final DiskStoreID diskStoreId = new DiskStoreID(1, 2);
+  private File backups;
+  private File backupDir;
+  private File crf;
+  private File drf;
+
+  @Before
+  public void setUp() throws IOException {
+    backups = temporaryFolder.newFolder("backups");
+    backupDir = new File(backups, "2018-01-01/member");
+    crf = createFile(new File(backupDir, "diskstores/store/dir0/BACKUPstore_1.crf"));
+    drf = createFile(
+        new File(backups, "2017-12-31/member/diskstores/store/dir0/BACKUPstore_1.drf"));
+  }
+
+  @Test
+  public void hasNoOplogFilesOfUnknownBackup() {
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId, backupDir)).isNull();
+  }
+
+  @Test
+  public void returnsOplogFilesOfLastCompletedBackup() {
+    backupHistory.backupCompleted(diskStoreId, backupDir, Arrays.asList(crf, drf));
+
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId, backupDir))
+        .containsExactlyInAnyOrder(crf, drf);
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId,
+        new File(backups, "2018-01-01/../2018-01-01/member"))).containsExactlyInAnyOrder(crf, drf);
+  }
+
+  @Test
+  public void hasNoOplogFilesOfOlderBackup() {
+    backupHistory.backupCompleted(diskStoreId, backupDir, Arrays.asList(crf, drf));
+    File nextBackupDir = new File(backups, "2018-01-02/member");
+    backupHistory.backupCompleted(diskStoreId, nextBackupDir, Arrays.asList(crf));
+
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId, backupDir)).isNull();
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId, nextBackupDir))
+        .containsExactly(crf);
+  }
+
+  @Test
+  public void keepsBackupsOfDiskStoresApart() {
+    backupHistory.backupCompleted(diskStoreId, backupDir, Arrays.asList(crf, drf));
+
+    assertThat(backupHistory.getBackedUpOplogFiles(new DiskStoreID(3, 4), backupDir)).isNull();
+  }
+
+  @Test
+  public void hasNoOplogFilesIfAnyOfThemWasDeleted() {
+    backupHistory.backupCompleted(diskStoreId, backupDir, Arrays.asList(crf, drf));
+
+    assertThat(drf.delete()).isTrue();
+
+    assertThat(backupHistory.getBackedUpOplogFiles(diskStoreId, backupDir)).isNull();
+  }
+
+  private static File createFile(File file) throws IOException {
+    file.getParentFile().mkdirs();
+    file.createNewFile();
+    return file;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.entries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+import org.apache.geode.internal.cache.Token;
+import org.apache.geode.internal.offheap.MemoryAllocatorImpl;
+import org.apache.geode.internal.offheap.OffHeapMemoryStats;
+import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
+import org.apache.geode.internal.offheap.OutOfOffHeapMemoryListener;
+import org.apache.geode.internal.offheap.SlabImpl;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class OffHeapKeyRegionEntryTest {
+
+  private static final String KEY = "a key that is too long to be encoded in an address";
+
+  private final RegionEntryContext context = mock(RegionEntryContext.class);
+
+  private MemoryAllocatorImpl allocator;
+
+  @Before
+  public void setUp() {
+    allocator = MemoryAllocatorImpl.createForUnitTest(mock(OutOfOffHeapMemoryListener.class),
+        mock(OffHeapMemoryStats.class), new SlabImpl[] {new SlabImpl(1024 * 1024)});
+  }
+
+  @After
+  public void tearDown() {
+    MemoryAllocatorImpl.freeOffHeapMemory();
+  }
+
+  private VMThinRegionEntryOffHeapOffHeapKey createEntry(Object key) {
+    return new VMThinRegionEntryOffHeapOffHeapKey(context,
+        OffHeapRegionEntryHelper.serializeKey(key), Token.REMOVED_PHASE1);
+  }
+
+  @Test
+  public void keyIsStoredOffHeap() {
+    long usedBefore = allocator.getUsedMemory();
+
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(KEY);
+
+    assertThat(OffHeapRegionEntryHelper.isOffHeap(entry.getKeyAddress())).isTrue();
+    assertThat(allocator.getUsedMemory()).isGreaterThan(usedBefore);
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(entry.isKeyEqual(KEY)).isTrue();
+    assertThat(entry.getReleasedKey()).isNull();
+  }
+
+  @Test
+  public void smallKeyIsEncodedInItsAddress() {
+    long usedBefore = allocator.getUsedMemory();
+
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(7);
+
+    assertThat(OffHeapRegionEntryHelper.isOffHeap(entry.getKeyAddress())).isFalse();
+    assertThat(allocator.getUsedMemory()).isEqualTo(usedBefore);
+    assertThat(entry.getKey()).isEqualTo(7);
+  }
+
+  @Test
+  public void removedEntryReleasesOffHeapKeyButKeepsHeapCopy() {
+    long usedBefore = allocator.getUsedMemory();
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(KEY);
+
+    entry.removePhase2();
+
+    assertThat(entry.getKeyAddress()).isEqualTo(0L);
+    assertThat(allocator.getUsedMemory()).isEqualTo(usedBefore);
+    assertThat(entry.getKey()).isEqualTo(KEY);
+  }
+
+  @Test
+  public void releaseFreesOffHeapKeyWithoutHeapCopy() {
+    long usedBefore = allocator.getUsedMemory();
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(KEY);
+
+    entry.release();
+    entry.release();
+
+    assertThat(entry.getKeyAddress()).isEqualTo(0L);
+    assertThat(allocator.getUsedMemory()).isEqualTo(usedBefore);
+    assertThat(entry.getReleasedKey()).isNull();
+    assertThat(entry.getKey()).isNull();
+    assertThat(entry.isKeyEqual(KEY)).isFalse();
+  }
+
+  @Test
+  public void releaseKeepsKeyEncodedInItsAddress() {
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(7);
+
+    entry.release();
+
+    assertThat(entry.getKey()).isEqualTo(7);
+    assertThat(entry.getReleasedKey()).isNull();
+  }
+
+  @Test
+  public void keyIsComparedToOtherKeys() {
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(KEY);
+
+    assertThat(entry.isKeyEqual(new String(KEY))).isTrue();
+    assertThat(entry.isKeyEqual(KEY + "!")).isFalse();
+    assertThat(entry.isKeyEqual(7)).isFalse();
+  }
+
+  @Test
+  public void keyEncodedInItsAddressIsComparedToOtherKeys() {
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(7);
+
+    assertThat(entry.isKeyEqual(7)).isTrue();
+    assertThat(entry.isKeyEqual(8)).isFalse();
+    assertThat(entry.isKeyEqual(7L)).isFalse();
+  }
+
+  @Test
+  public void removedEntryIsComparedWithItsHeapCopy() {
+    VMThinRegionEntryOffHeapOffHeapKey entry = createEntry(KEY);
+
+    entry.removePhase2();
+
+    assertThat(entry.isKeyEqual(KEY)).isTrue();
+    assertThat(entry.isKeyEqual(KEY + "!")).isFalse();
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.entries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+import org.apache.geode.internal.cache.RegionEntryFactory;
+import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.internal.cache.region.entry.RegionEntryFactoryBuilder;
+import org.apache.geode.internal.cache.versions.VersionSource;
+import org.apache.geode.internal.cache.versions.VersionTag;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.HashEntry;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class RegionEntryLayoutTest {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final long REPORTED_ENTRY_COUNT = 100_000_000L;
+
+  private final RegionEntryContext context = mock(RegionEntryContext.class);
+
+  private final DiskStoreID memberId = new DiskStoreID(1, 2);
+
+  @Test
+  public void versionedStatsEntryReturnsPackedVersion() {
+    VersionedStatsRegionEntryHeapObjectKey entry =
+        new VersionedStatsRegionEntryHeapObjectKey(context, "key", "value");
+    VersionTag tag = createVersionTag(0xABCDEF, 0x7FFF_1234_5678L, -3, 1_500_000_000_000L);
+
+    entry.setVersions(tag);
+
+    assertThat(entry.getMemberID()).isSameAs(memberId);
+    assertThat(entry.getEntryVersion()).isEqualTo(0xABCDEF);
+    assertThat(entry.getRegionVersion()).isEqualTo(0x7FFF_1234_5678L);
+    assertThat(entry.getRegionVersionHighBytes()).isEqualTo(tag.getRegionVersionHighBytes());
+    assertThat(entry.getRegionVersionLowBytes()).isEqualTo(tag.getRegionVersionLowBytes());
+    assertThat(entry.getDistributedSystemId()).isEqualTo(tag.getDistributedSystemId());
+    assertThat(entry.getVersionTimeStamp()).isEqualTo(1_500_000_000_000L);
+  }
+
+  @Test
+  public void lastAccessedTimeDoesNotDisturbPackedVersion() throws Exception {
+    VersionedStatsRegionEntryHeapObjectKey entry =
+        new VersionedStatsRegionEntryHeapObjectKey(context, "key", "value");
+    entry.setVersions(createVersionTag(0xFF0001, 42L, 7, 1_500_000_000_000L));
+
+    entry.updateStatsForGet(true, 1_600_000_000_000L);
+
+    assertThat(entry.getLastAccessed()).isEqualTo(1_600_000_000_000L);
+    assertThat(entry.getEntryVersion()).isEqualTo(0xFF0001);
+    assertThat(entry.getDistributedSystemId()).isEqualTo(7);
+    assertThat(entry.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void asVersionTagMatchesVersionsThatWereSet() {
+    VersionedStatsRegionEntryHeapObjectKey entry =
+        new VersionedStatsRegionEntryHeapObjectKey(context, "key", "value");
+    VersionTag tag = createVersionTag(12345, 1L << 40, 31, 1_500_000_000_000L);
+    entry.setVersions(tag);
+
+    VersionTag copy = entry.asVersionTag();
+
+    assertThat(copy.getEntryVersion()).isEqualTo(tag.getEntryVersion());
+    assertThat(copy.getRegionVersion()).isEqualTo(tag.getRegionVersion());
+    assertThat(copy.getDistributedSystemId()).isEqualTo(tag.getDistributedSystemId());
+    assertThat(copy.getVersionTimeStamp()).isEqualTo(tag.getVersionTimeStamp());
+  }
+
+  @Test
+  public void versionedStatsEntriesOnlyAddMemberIdAndVersionBits() {
+    RegionEntryFactoryBuilder builder = new RegionEntryFactoryBuilder();
+    for (int bits = 0; bits < 8; bits++) {
+      boolean lru = (bits & 1) != 0;
+      boolean disk = (bits & 2) != 0;
+      boolean offHeap = (bits & 4) != 0;
+      RegionEntryFactory factory = builder.create(true, lru, disk, false, offHeap);
+      Set<String> versionedFields = getInstanceFieldNames(factory.makeVersioned().getEntryClass());
+      versionedFields.removeAll(getInstanceFieldNames(factory.getEntryClass()));
+
+      assertThat(versionedFields).as(factory.makeVersioned().getEntryClass().getSimpleName())
+          .containsExactlyInAnyOrder("memberId", "versionBits");
+    }
+  }
+
+  @Test
+  public void versionedStatsEntryIsSmallerThanUnpackedLayout() {
+    long packedSize =
+        ReflectionSingleObjectSizer.sizeof(VersionedStatsRegionEntryHeapObjectKey.class);
+    long unpackedSize =
+        ReflectionSingleObjectSizer.sizeof(UnpackedVersionedStatsRegionEntryHeapObjectKey.class);
+
+    assertThat(packedSize).isLessThan(unpackedSize);
+  }
+
+  /**
+   * Logs the per entry overhead of every kind of region entry, not counting the key and value, and
+   * what that overhead adds up to for a region with {@link #REPORTED_ENTRY_COUNT} entries.
+   */
+  @Test
+  public void reportPerEntryOverhead() {
+    RegionEntryFactoryBuilder builder = new RegionEntryFactoryBuilder();
+    StringBuilder report = new StringBuilder("Per entry overhead:");
+    for (int bits = 0; bits < 16; bits++) {
+      boolean stats = (bits & 1) != 0;
+      boolean lru = (bits & 2) != 0;
+      boolean disk = (bits & 4) != 0;
+      boolean offHeap = (bits & 8) != 0;
+      RegionEntryFactory factory = builder.create(stats, lru, disk, false, offHeap);
+      appendOverhead(report, factory);
+      appendOverhead(report, factory.makeVersioned());
+    }
+    logger.info(report);
+  }
+
+  private void appendOverhead(StringBuilder report, RegionEntryFactory factory) {
+    long size = ReflectionSingleObjectSizer.sizeof(factory.getEntryClass());
+    assertThat(size).isPositive();
+    report.append(String.format("%n%-45s %4d bytes %,8d MB per %,d entries",
+        factory.getEntryClass().getSimpleName(), size, (size * REPORTED_ENTRY_COUNT) >> 20,
+        REPORTED_ENTRY_COUNT));
+  }
+
+  private Set<String> getInstanceFieldNames(Class<?> entryClass) {
+    return Arrays.stream(entryClass.getDeclaredFields())
+        .filter(field -> !Modifier.isStatic(field.getModifiers())).map(Field::getName)
+        .collect(Collectors.toCollection(HashSet::new));
+  }
+
+  private VersionTag createVersionTag(int entryVersion, long regionVersion,
+      int distributedSystemId, long timeStamp) {
+    VersionTag tag = VersionTag.create(memberId);
+    tag.setEntryVersion(entryVersion);
+    tag.setRegionVersion(regionVersion);
+    tag.setDistributedSystemId(distributedSystemId);
+    tag.setVersionTimeStamp(timeStamp);
+    return tag;
+  }
+
+  /**
+   * The fields of {@link VersionedStatsRegionEntryHeapObjectKey} before its versions were packed
+   * into longs.
+   */
+  @SuppressWarnings("unused")
+  private abstract static class UnpackedVersionedStatsRegionEntryHeapObjectKey
+      extends VersionedStatsRegionEntryHeap {
+    protected int hash;
+    private HashEntry<Object, Object> nextEntry;
+    private volatile long lastModified;
+    private volatile Object value;
+    private volatile long lastAccessed;
+    private volatile int hitCount;
+    private volatile int missCount;
+    private VersionSource memberId;
+    private short entryVersionLowBytes;
+    private short regionVersionHighBytes;
+    private int regionVersionLowBytes;
+    private byte entryVersionHighByte;
+    private byte distributedSystemId;
+    private final Object key = null;
+
+    UnpackedVersionedStatsRegionEntryHeapObjectKey(RegionEntryContext context, Object value) {
+      super(context, value);
+    }
+  }
+}
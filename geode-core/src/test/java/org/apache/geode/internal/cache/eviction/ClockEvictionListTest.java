@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ClockEvictionListTest {
+
+  private BucketRegion bucketRegion;
+  private EvictionCounters stats;
+  private EvictionController controller;
+
+  @Before
+  public void setup() {
+    bucketRegion = mock(BucketRegion.class);
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void segmentCountMustBePowerOfTwo() {
+    assertThatThrownBy(() -> new ClockEvictionList(controller, 3, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void sizeCountsEntriesOfAllSegments() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+    for (int i = 0; i < 20; i++) {
+      list.appendEntry(createEntry(false));
+    }
+
+    assertThat(list.size()).isEqualTo(20);
+  }
+
+  @Test
+  public void appendingEntryTwiceAddsItOnce() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+    EvictableEntry entry = createEntry(false);
+
+    list.appendEntry(entry);
+    list.appendEntry(entry);
+
+    assertThat(list.size()).isOne();
+  }
+
+  @Test
+  public void evictsEveryEntryOnceFromAnySegment() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+    Set<EvictableEntry> entries = new HashSet<>();
+    for (int i = 0; i < 20; i++) {
+      EvictableEntry entry = createEntry(false);
+      entries.add(entry);
+      list.appendEntry(entry);
+    }
+
+    Set<EvictableEntry> evicted = new HashSet<>();
+    for (int i = 0; i < 20; i++) {
+      evicted.add(list.getEvictableEntry());
+    }
+
+    assertThat(evicted).isEqualTo(entries);
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void givesRecentlyUsedEntrySecondChance() {
+    ClockEvictionList list = new ClockEvictionList(controller, 1, 10);
+    EvictableEntry recentlyUsedEntry = createEntry(true);
+    EvictableEntry entry = createEntry(false);
+    list.appendEntry(recentlyUsedEntry);
+    list.appendEntry(entry);
+
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+    assertThat(recentlyUsedEntry.isRecentlyUsed()).isFalse();
+    assertThat(list.size()).isOne();
+    assertThat(list.getEvictableEntry()).isSameAs(recentlyUsedEntry);
+    verify(stats, never()).incGreedyReturns(1);
+  }
+
+  @Test
+  public void greedilyEvictsRecentlyUsedEntryAfterMaxEvictionAttempts() {
+    ClockEvictionList list = new ClockEvictionList(controller, 1, 1);
+    EvictableEntry recentlyUsedEntry1 = createEntry(true);
+    EvictableEntry recentlyUsedEntry2 = createEntry(true);
+    list.appendEntry(recentlyUsedEntry1);
+    list.appendEntry(recentlyUsedEntry2);
+
+    assertThat(list.getEvictableEntry()).isSameAs(recentlyUsedEntry2);
+    assertThat(recentlyUsedEntry1.isRecentlyUsed()).isFalse();
+    assertThat(list.size()).isOne();
+    verify(stats).incGreedyReturns(1);
+  }
+
+  @Test
+  public void doesNotEvictEntryInTransaction() {
+    ClockEvictionList list = new ClockEvictionList(controller, 1, 10);
+    EvictableEntry entryInTransaction = createEntry(false);
+    when(entryInTransaction.isInUseByTransaction()).thenReturn(true);
+    EvictableEntry entry = createEntry(false);
+    list.appendEntry(entryInTransaction);
+    list.appendEntry(entry);
+
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void destroyedEntryIsNotEvicted() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+    EvictableEntry destroyedEntry = createEntry(false);
+    EvictableEntry entry = createEntry(false);
+    list.appendEntry(destroyedEntry);
+    list.appendEntry(entry);
+
+    list.destroyEntry(destroyedEntry);
+
+    verify(stats).incDestroys();
+    assertThat(list.size()).isOne();
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+  }
+
+  @Test
+  public void clearWithBucketRegionDecrementsItsCounterOnce() {
+    ClockEvictionList list = new ClockEvictionList(controller, 4, 10);
+    for (int i = 0; i < 20; i++) {
+      list.appendEntry(createEntry(false));
+    }
+    when(bucketRegion.getCounter()).thenReturn(20L);
+
+    list.clear(null, bucketRegion);
+
+    verify(stats).decrementCounter(20L);
+    verify(bucketRegion).resetCounter();
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  private EvictableEntry createEntry(boolean recentlyUsed) {
+    EvictableEntry entry = mock(EvictableEntry.class);
+    AtomicReference<EvictionNode> next = new AtomicReference<>();
+    AtomicReference<EvictionNode> previous = new AtomicReference<>();
+    AtomicBoolean recentlyUsedBit = new AtomicBoolean(recentlyUsed);
+    doAnswer(invocation -> {
+      next.set(invocation.getArgument(0));
+      return null;
+    }).when(entry).setNext(any());
+    doAnswer(invocation -> {
+      previous.set(invocation.getArgument(0));
+      return null;
+    }).when(entry).setPrevious(any());
+    when(entry.next()).thenAnswer(invocation -> next.get());
+    when(entry.previous()).thenAnswer(invocation -> previous.get());
+    when(entry.isRecentlyUsed()).thenAnswer(invocation -> recentlyUsedBit.get());
+    doAnswer(invocation -> {
+      recentlyUsedBit.set(false);
+      return null;
+    }).when(entry).unsetRecentlyUsed();
+    return entry;
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.apache.geode.internal.cache.eviction;
 
+import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_CLOCK;
 import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_SCAN_ASYNC;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -31,9 +32,11 @@ import org.apache.geode.test.junit.categories.UnitTest;
 @Category(UnitTest.class)
 public class EvictionListBuilderTest {
   private static final String EVICTION_PROPERTY_NAME = "geode." + EVICTION_SCAN_ASYNC;
+  private static final String EVICTION_CLOCK_PROPERTY_NAME = "geode." + EVICTION_CLOCK;
 
   @Rule
-  public ClearSystemProperties clearProperties = new ClearSystemProperties(EVICTION_PROPERTY_NAME);
+  public ClearSystemProperties clearProperties =
+      new ClearSystemProperties(EVICTION_PROPERTY_NAME, EVICTION_CLOCK_PROPERTY_NAME);
 
   private EvictionListBuilder builder;
   private EvictionController controller;
@@ -77,4 +80,28 @@ public class EvictionListBuilderTest {
     assertThat(builder.create()).isInstanceOf(LRUListWithSyncSorting.class);
 
   }
+
+  @Test
+  public void createsWindowTinyLFUListWhenAlgorithmIsLfu() {
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.LFU_MEMORY);
+
+    assertThat(builder.create()).isInstanceOf(WindowTinyLFUList.class);
+  }
+
+  @Test
+  public void createsClockListWhenSystemConfiguredToUseIt() {
+    System.setProperty(EVICTION_CLOCK_PROPERTY_NAME, "true");
+    builder = new EvictionListBuilder(controller);
+
+    assertThat(builder.create()).isInstanceOf(ClockEvictionList.class);
+  }
+
+  @Test
+  public void createsLIFOListWhenAlgorithmIsLifoEvenIfClockIsConfigured() {
+    System.setProperty(EVICTION_CLOCK_PROPERTY_NAME, "true");
+    builder = new EvictionListBuilder(controller);
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.LIFO_ENTRY);
+
+    assertThat(builder.create()).isInstanceOf(LIFOList.class);
+  }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class FrequencySketchTest {
+
+  @Test
+  public void unusedKeyHasFrequencyZero() {
+    FrequencySketch sketch = new FrequencySketch();
+
+    assertThat(sketch.frequency("key".hashCode())).isZero();
+  }
+
+  @Test
+  public void incrementIncreasesFrequency() {
+    FrequencySketch sketch = new FrequencySketch();
+    sketch.ensureCapacity(1024);
+
+    sketch.increment("key".hashCode());
+    sketch.increment("key".hashCode());
+    sketch.increment("key".hashCode());
+
+    assertThat(sketch.frequency("key".hashCode())).isEqualTo(3);
+  }
+
+  @Test
+  public void frequencyNeverExceedsFifteen() {
+    FrequencySketch sketch = new FrequencySketch();
+    sketch.ensureCapacity(1024);
+
+    for (int i = 0; i < 20; i++) {
+      sketch.increment("key".hashCode());
+    }
+
+    assertThat(sketch.frequency("key".hashCode())).isEqualTo(15);
+  }
+
+  @Test
+  public void resetHalvesFrequencies() {
+    FrequencySketch sketch = new FrequencySketch();
+    sketch.ensureCapacity(1024);
+    for (int i = 0; i < 10; i++) {
+      sketch.increment("key".hashCode());
+    }
+
+    sketch.reset();
+
+    assertThat(sketch.frequency("key".hashCode())).isEqualTo(5);
+  }
+
+  @Test
+  public void frequenciesAreHalvedAfterTenIncrementsPerCounter() {
+    FrequencySketch sketch = new FrequencySketch();
+    sketch.ensureCapacity(16);
+    for (int i = 0; i < 15; i++) {
+      sketch.increment(-1);
+    }
+    int frequencyBeforeReset = sketch.frequency(-1);
+
+    for (int i = 0; i < 10 * sketch.getCapacity(); i++) {
+      sketch.increment(i);
+    }
+
+    assertThat(sketch.frequency(-1)).isLessThan(frequencyBeforeReset);
+  }
+
+  @Test
+  public void ensureCapacityGrowsToPowerOfTwo() {
+    FrequencySketch sketch = new FrequencySketch();
+
+    sketch.ensureCapacity(1000);
+
+    assertThat(sketch.getCapacity()).isEqualTo(1024);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.RegionMap;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class RegionEvictorTaskTest {
+
+  private CachePerfStats cachePerfStats;
+  private HeapEvictor evictor;
+  private EvictionCounters counters;
+
+  @Before
+  public void setup() {
+    cachePerfStats = mock(CachePerfStats.class);
+    evictor = mock(HeapEvictor.class);
+    when(evictor.mustEvict()).thenReturn(true);
+    counters = mock(EvictionCounters.class);
+  }
+
+  @Test
+  public void evictsInBatchesUntilBytesToEvictFromRegionAreEvicted() {
+    RegionMap regionMap = mock(RegionMap.class);
+    when(regionMap.centralizedLruUpdateCallback(anyLong()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    LocalRegion region = createRegion(regionMap);
+    Object2LongOpenHashMap<LocalRegion> bytesToEvict = new Object2LongOpenHashMap<>();
+    bytesToEvict.put(region, 250);
+
+    new RegionEvictorTask(cachePerfStats, new ArrayList<>(Arrays.asList(region)), bytesToEvict,
+        evictor, 1000, 100).run();
+
+    verify(regionMap, times(2)).centralizedLruUpdateCallback(100);
+    verify(regionMap).centralizedLruUpdateCallback(50);
+    verify(counters, times(3)).incEvictionBatches();
+    verify(counters).incEvictionLagTime(anyLong());
+    verify(evictor).recordBatch(eq(50L), anyLong());
+  }
+
+  @Test
+  public void visitsRegionsInTurn() {
+    RegionMap regionMap1 = mock(RegionMap.class);
+    when(regionMap1.centralizedLruUpdateCallback(anyLong())).thenReturn(100L);
+    RegionMap regionMap2 = mock(RegionMap.class);
+    when(regionMap2.centralizedLruUpdateCallback(anyLong())).thenReturn(100L);
+    List<LocalRegion> regions =
+        new ArrayList<>(Arrays.asList(createRegion(regionMap1), createRegion(regionMap2)));
+
+    new RegionEvictorTask(cachePerfStats, regions, null, evictor, 400, 100).run();
+
+    verify(regionMap1, times(2)).centralizedLruUpdateCallback(100);
+    verify(regionMap2, times(2)).centralizedLruUpdateCallback(100);
+    verify(counters, times(2)).incEvictionLagTime(anyLong());
+  }
+
+  @Test
+  public void dropsRegionThatEvictsNothing() {
+    RegionMap emptyRegionMap = mock(RegionMap.class);
+    RegionMap regionMap = mock(RegionMap.class);
+    when(regionMap.centralizedLruUpdateCallback(anyLong())).thenReturn(100L);
+    List<LocalRegion> regions =
+        new ArrayList<>(Arrays.asList(createRegion(emptyRegionMap), createRegion(regionMap)));
+
+    new RegionEvictorTask(cachePerfStats, regions, null, evictor, 300, 100).run();
+
+    verify(emptyRegionMap).centralizedLruUpdateCallback(100);
+    verify(regionMap, times(3)).centralizedLruUpdateCallback(100);
+    assertThat(regions).hasSize(1);
+  }
+
+  @Test
+  public void stopsWhenEvictionIsNoLongerNeeded() {
+    when(evictor.mustEvict()).thenReturn(false);
+    RegionMap regionMap = mock(RegionMap.class);
+    when(regionMap.centralizedLruUpdateCallback(anyLong())).thenReturn(100L);
+
+    new RegionEvictorTask(cachePerfStats, new ArrayList<>(Arrays.asList(createRegion(regionMap))),
+        null, evictor, 1000, 100).run();
+
+    verify(regionMap).centralizedLruUpdateCallback(100);
+    verify(cachePerfStats).incEvictorJobsCompleted();
+  }
+
+  private LocalRegion createRegion(RegionMap regionMap) {
+    LocalRegion region = mock(LocalRegion.class);
+    EvictionController controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(counters);
+    when(region.getRegionMap()).thenReturn(regionMap);
+    when(region.getEvictionController()).thenReturn(controller);
+    return region;
+  }
+}
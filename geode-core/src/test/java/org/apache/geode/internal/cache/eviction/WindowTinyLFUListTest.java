@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class WindowTinyLFUListTest {
+
+  private BucketRegion bucketRegion;
+  private EvictionCounters stats;
+  private EvictionController controller;
+
+  @Before
+  public void setup() {
+    bucketRegion = mock(BucketRegion.class);
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void newEntriesAreAddedToWindowAndCounted() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+    EvictableEntry entry = createEntry("key", true);
+
+    list.appendEntry(entry);
+
+    assertThat(list.size()).isOne();
+    assertThat(list.getWindowSize()).isOne();
+    assertThat(list.getFrequency(entry)).isOne();
+    assertThat(entry.isRecentlyUsed()).isFalse();
+  }
+
+  @Test
+  public void appendingEntryTwiceAddsItOnce() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+    EvictableEntry entry = createEntry("key", false);
+
+    list.appendEntry(entry);
+    list.appendEntry(entry);
+
+    assertThat(list.size()).isOne();
+  }
+
+  @Test
+  public void evictsEntryFromWindowWhenMainListIsEmpty() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+    EvictableEntry entry = createEntry("key", false);
+    list.appendEntry(entry);
+
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void candidateUsedLessOftenThanVictimIsEvicted() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller, 1, 10);
+    EvictableEntry hotEntry = createEntry("hot", false);
+    addAndDestroy(list, hotEntry, 2);
+    list.appendEntry(hotEntry);
+    EvictableEntry coldEntry = createEntry("cold", false);
+    list.appendEntry(coldEntry);
+    EvictableEntry scanEntry1 = createEntry("scan1", false);
+    list.appendEntry(scanEntry1);
+
+    assertThat(list.getEvictableEntry()).isSameAs(coldEntry);
+    EvictableEntry scanEntry2 = createEntry("scan2", false);
+    list.appendEntry(scanEntry2);
+    assertThat(list.getEvictableEntry()).isSameAs(scanEntry1);
+
+    assertThat(list.getFrequency(hotEntry)).isGreaterThan(list.getFrequency(scanEntry1));
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(list.getWindowSize()).isOne();
+  }
+
+  @Test
+  public void candidateUsedMoreOftenThanVictimIsAdmitted() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller, 1, 10);
+    EvictableEntry warmEntry = createEntry("warm", false);
+    addAndDestroy(list, warmEntry, 2);
+    EvictableEntry coldEntry = createEntry("cold", false);
+    list.appendEntry(coldEntry);
+    EvictableEntry otherEntry = createEntry("other", false);
+    list.appendEntry(otherEntry);
+    list.appendEntry(warmEntry);
+    assertThat(list.getEvictableEntry()).isSameAs(otherEntry);
+    EvictableEntry newEntry = createEntry("new", false);
+    list.appendEntry(newEntry);
+
+    assertThat(list.getEvictableEntry()).isSameAs(coldEntry);
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(list.getWindowSize()).isOne();
+  }
+
+  @Test
+  public void recentlyUsedCandidateIsCountedWhenItLeavesTheWindow() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller, 1, 10);
+    EvictableEntry entry = createEntry("key", false);
+    list.appendEntry(entry);
+    list.appendEntry(createEntry("other", false));
+    entry.setRecentlyUsed(null);
+
+    list.getEvictableEntry();
+
+    assertThat(list.getFrequency(entry)).isEqualTo(2);
+    assertThat(entry.isRecentlyUsed()).isFalse();
+  }
+
+  @Test
+  public void doesNotEvictEntryInTransaction() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+    EvictableEntry entryInTransaction = createEntry("inTransaction", false);
+    when(entryInTransaction.isInUseByTransaction()).thenReturn(true);
+    EvictableEntry entry = createEntry("key", false);
+    list.appendEntry(entryInTransaction);
+    list.appendEntry(entry);
+
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void destroyRemovesEntryFromWindowOrMainList() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller, 1, 10);
+    List<EvictableEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      EvictableEntry entry = createEntry("key" + i, false);
+      entries.add(entry);
+      list.appendEntry(entry);
+    }
+    entries.remove(list.getEvictableEntry());
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(list.getWindowSize()).isOne();
+
+    for (EvictableEntry entry : entries) {
+      list.destroyEntry(entry);
+    }
+
+    verify(stats, times(2)).incDestroys();
+    assertThat(list.size()).isZero();
+    assertThat(list.getWindowSize()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void clearWithBucketRegionDecrementsItsCounter() {
+    WindowTinyLFUList list = new WindowTinyLFUList(controller);
+    for (int i = 0; i < 20; i++) {
+      list.appendEntry(createEntry("key" + i, false));
+    }
+    when(bucketRegion.getCounter()).thenReturn(20L);
+
+    list.clear(null, bucketRegion);
+
+    verify(stats).decrementCounter(20L);
+    verify(bucketRegion).resetCounter();
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  private void addAndDestroy(WindowTinyLFUList list, EvictableEntry entry, int times) {
+    for (int i = 0; i < times; i++) {
+      list.appendEntry(entry);
+      list.destroyEntry(entry);
+    }
+  }
+
+  private EvictableEntry createEntry(String key, boolean recentlyUsed) {
+    EvictableEntry entry = mock(EvictableEntry.class, key);
+    AtomicReference<EvictionNode> next = new AtomicReference<>();
+    AtomicReference<EvictionNode> previous = new AtomicReference<>();
+    AtomicBoolean recentlyUsedBit = new AtomicBoolean(recentlyUsed);
+    when(entry.getKey()).thenReturn(key);
+    doAnswer(invocation -> {
+      next.set(invocation.getArgument(0));
+      return null;
+    }).when(entry).setNext(any());
+    doAnswer(invocation -> {
+      previous.set(invocation.getArgument(0));
+      return null;
+    }).when(entry).setPrevious(any());
+    when(entry.next()).thenAnswer(invocation -> next.get());
+    when(entry.previous()).thenAnswer(invocation -> previous.get());
+    when(entry.isRecentlyUsed()).thenAnswer(invocation -> recentlyUsedBit.get());
+    doAnswer(invocation -> {
+      recentlyUsedBit.set(true);
+      return null;
+    }).when(entry).setRecentlyUsed(any());
+    doAnswer(invocation -> {
+      recentlyUsedBit.set(false);
+      return null;
+    }).when(entry).unsetRecentlyUsed();
+    return entry;
+  }
+}
@@ -48,6 +48,7 @@ import org.apache.geode.internal.cache.RegionEntryFactory;
 import org.apache.geode.internal.cache.RegionMap.Attributes;
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.VMLRURegionMap;
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
 import org.apache.geode.internal.cache.eviction.EvictableEntry;
 import org.apache.geode.internal.cache.eviction.EvictionController;
 import org.apache.geode.internal.cache.eviction.EvictionCounters;
@@ -338,6 +339,24 @@ public class RegionMapDestroyTest {
     validateInvokedDestroyMethodsOnRegion(false);
   }
 
+  @Test
+  public void destroyWithConcurrentChangeFromNullToValidReleasesUnusedOffHeapEntry()
+      throws RegionClearedException {
+    givenConcurrencyChecks(true);
+    givenEmptyRegionMapWithMockedEntryMap();
+    givenExistingEvictableEntry("value");
+    OffHeapRegionEntry unusedEntry = mock(OffHeapRegionEntry.class);
+    when(factory.createEntry(any(), any(), any())).thenReturn(unusedEntry);
+
+    when(entryMap.get(KEY)).thenReturn(null).thenReturn(evictableEntry);
+
+    assertThat(arm.destroy(event, inTokenMode, duringRI, cacheWrite, isEviction, expectedOldValue,
+        removeRecoveredEntry)).isTrue();
+
+    verify(unusedEntry, times(1)).release();
+    validateInvokedDestroyMethodOnEvictableEntry();
+  }
+
   @Test
   public void destroyInTokenModeWithConcurrentChangeFromNullToRemovePhase2RetriesAndDoesDestroy()
       throws RegionClearedException {
@@ -26,7 +26,9 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.awaitility.Awaitility;
 import org.junit.Before;
@@ -34,6 +36,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.internal.Version;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 import org.apache.geode.test.junit.categories.UnitTest;
 
@@ -121,6 +124,44 @@ public class MessageJUnitTest {
     verify(mockPart1, times(2)).clear();
   }
 
+  @Test
+  public void offHeapPartIsWrittenToSocketChannelWithoutCopying() throws Exception {
+    ByteBuffer offHeapBytes = ByteBuffer.allocateDirect(16 * 1024);
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.hasRefCount()).thenReturn(true);
+    when(storedObject.retain()).thenReturn(true);
+    when(storedObject.getDataSize()).thenReturn(offHeapBytes.capacity());
+    when(storedObject.createDirectByteBuffer()).thenReturn(offHeapBytes);
+
+    AtomicBoolean wroteOffHeapBytes = new AtomicBoolean();
+    SocketChannel channel = mock(SocketChannel.class);
+    when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      ByteBuffer[] buffers = invocation.getArgument(0);
+      long bytesWritten = 0;
+      for (ByteBuffer buffer : buffers) {
+        if (buffer == offHeapBytes) {
+          wroteOffHeapBytes.set(true);
+        }
+        bytesWritten += buffer.remaining();
+        buffer.position(buffer.limit());
+      }
+      return bytesWritten;
+    });
+    Socket socket = mock(Socket.class);
+    when(socket.getChannel()).thenReturn(channel);
+    Message message = new Message(1, Version.CURRENT);
+    message.setComms(mock(ServerConnection.class), socket, ByteBuffer.allocate(1000),
+        mock(MessageStats.class));
+
+    message.addPartInAnyForm(storedObject, false);
+    message.send();
+
+    assertTrue(wroteOffHeapBytes.get());
+    assertEquals(0, offHeapBytes.remaining());
+    verify(storedObject, times(1)).retain();
+    verify(storedObject, times(1)).release();
+  }
+
   /**
    * Client subscription threads establish a timeout when reading a message header in order to avoid
    * hanging should the server's machine fail, or should the network path to the server have
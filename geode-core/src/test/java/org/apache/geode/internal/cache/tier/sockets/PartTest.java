@@ -14,16 +14,23 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.offheap.AddressableMemoryManager;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.test.junit.categories.UnitTest;
 
 @Category(UnitTest.class)
@@ -39,4 +46,72 @@ public class PartTest {
 
     verify(mockPart, times(1)).writeTo(mockOutputStream, mockByteBuffer);
   }
+
+  @Test
+  public void storedObjectIsRetainedUntilPartIsCleared() {
+    StoredObject storedObject = mockStoredObject(0L, 10);
+    Part part = new Part();
+
+    part.setPartState(storedObject, true);
+
+    verify(storedObject, times(1)).retain();
+    verify(storedObject, never()).getValueAsHeapByteArray();
+    part.clear();
+    verify(storedObject, times(1)).release();
+  }
+
+  @Test
+  public void storedObjectThatCanNotBeRetainedIsCopiedToHeap() {
+    StoredObject storedObject = mockStoredObject(0L, 10);
+    when(storedObject.retain()).thenReturn(false);
+    when(storedObject.getValueAsHeapByteArray()).thenReturn(new byte[10]);
+    Part part = new Part();
+
+    part.setPartState(storedObject, true);
+
+    assertThat(part.getLength()).isEqualTo(10);
+    part.clear();
+    verify(storedObject, never()).release();
+  }
+
+  @Test
+  public void writeToCopiesOffHeapBytesThatCanNotBeWrapped() throws Exception {
+    byte[] bytes = new byte[1000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    long addr = AddressableMemoryManager.allocate(bytes.length);
+    try {
+      AddressableMemoryManager.writeBytes(addr, bytes, 0, bytes.length);
+      Part part = new Part();
+      part.setPartState(mockStoredObject(addr, bytes.length), false);
+
+      ByteBuffer heapBuffer = ByteBuffer.allocate(bytes.length);
+      part.writeTo(heapBuffer);
+      ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+      part.writeTo(directBuffer);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteBuffer streamBuffer = ByteBuffer.allocate(64);
+      part.writeTo(out, streamBuffer);
+      HeapDataOutputStream.flushStream(out, streamBuffer);
+
+      assertThat(heapBuffer.array()).isEqualTo(bytes);
+      byte[] directBytes = new byte[bytes.length];
+      directBuffer.flip();
+      directBuffer.get(directBytes);
+      assertThat(directBytes).isEqualTo(bytes);
+      assertThat(out.toByteArray()).isEqualTo(bytes);
+    } finally {
+      AddressableMemoryManager.free(addr);
+    }
+  }
+
+  private StoredObject mockStoredObject(long addr, int size) {
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.hasRefCount()).thenReturn(true);
+    when(storedObject.retain()).thenReturn(true);
+    when(storedObject.getDataSize()).thenReturn(size);
+    when(storedObject.getAddressForReadingData(0, size)).thenReturn(addr);
+    return storedObject;
+  }
 }
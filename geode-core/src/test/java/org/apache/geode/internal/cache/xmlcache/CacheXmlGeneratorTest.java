@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.xmlcache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CacheXmlGeneratorTest {
+
+  @Test
+  public void generatesLruEntryEvictionAttributes() {
+    String xml = generate(EvictionAttributes.createLRUEntryAttributes(100,
+        EvictionAction.LOCAL_DESTROY));
+
+    assertThat(xml).contains("<lru-entry-count").contains("maximum=\"100\"");
+  }
+
+  @Test
+  public void generatesLfuEntryEvictionAttributesThatCanBeParsed() {
+    String xml = generate(EvictionAttributes.createLFUEntryAttributes(100,
+        EvictionAction.LOCAL_DESTROY));
+
+    assertThat(xml).contains("<lfu-entry-count").contains("maximum=\"100\"");
+    EvictionAttributes parsed = parseEvictionAttributes(xml);
+    assertThat(parsed.getAlgorithm()).isEqualTo(EvictionAlgorithm.LFU_ENTRY);
+    assertThat(parsed.getMaximum()).isEqualTo(100);
+    assertThat(parsed.getAction()).isEqualTo(EvictionAction.LOCAL_DESTROY);
+  }
+
+  @Test
+  public void generatesLfuMemoryEvictionAttributesThatCanBeParsed() {
+    String xml = generate(EvictionAttributes.createLFUMemoryAttributes(10, null,
+        EvictionAction.OVERFLOW_TO_DISK));
+
+    assertThat(xml).contains("<lfu-memory-size").contains("maximum=\"10\"");
+    EvictionAttributes parsed = parseEvictionAttributes(xml);
+    assertThat(parsed.getAlgorithm()).isEqualTo(EvictionAlgorithm.LFU_MEMORY);
+    assertThat(parsed.getMaximum()).isEqualTo(10);
+    assertThat(parsed.getAction()).isEqualTo(EvictionAction.OVERFLOW_TO_DISK);
+  }
+
+  @Test
+  public void omitsLfuEvictionAttributesFromOlderVersions() {
+    String xml = generate(EvictionAttributes.createLFUEntryAttributes(100,
+        EvictionAction.LOCAL_DESTROY), CacheXml.VERSION_8_1);
+
+    assertThat(xml).contains("<region name=\"region\"").doesNotContain("eviction-attributes");
+  }
+
+  private EvictionAttributes parseEvictionAttributes(String xml) {
+    CacheCreation cache =
+        CacheXmlParser.parse(new ByteArrayInputStream(xml.getBytes())).getCacheCreation();
+    Region region = cache.getRegion("region");
+    return region.getAttributes().getEvictionAttributes();
+  }
+
+  private String generate(EvictionAttributes evictionAttributes) {
+    return generate(evictionAttributes, CacheXml.VERSION_LATEST);
+  }
+
+  private String generate(EvictionAttributes evictionAttributes, String version) {
+    CacheCreation cache = new CacheCreation();
+    RegionAttributesCreation attributes = new RegionAttributesCreation(cache);
+    attributes.setEvictionAttributes(evictionAttributes);
+    RegionCreation region = new RegionCreation(cache, "region");
+    region.setAttributes(attributes);
+    cache.addRootRegion(region);
+
+    StringWriter xml = new StringWriter();
+    CacheXmlGenerator.generate(cache, new PrintWriter(xml), true, version);
+    return xml.toString();
+  }
+}
@@ -29,6 +29,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
 
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.test.junit.categories.UnitTest;
@@ -249,6 +250,136 @@ public class FreeListManagerTest {
     return ((dataSize + OffHeapStoredObject.HEADER_SIZE + 7) / 8) * 8;
   }
 
+  @Test
+  public void freedTinyChunkIsReallocatedFromThreadCache() {
+    setUpSingleSlabManager();
+
+    OffHeapStoredObject c = this.freeListManager.allocate(10);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(10);
+
+    assertThat(c2.getAddress()).isEqualTo(c.getAddress());
+    verify(this.stats, never()).incThreadCacheAllocations(anyLong());
+    this.freeListManager.flushThreadCacheStats();
+    verify(this.stats).incThreadCacheAllocations(1);
+  }
+
+  @Test
+  public void threadCacheStatsAreAddedInBatches() {
+    setUpSingleSlabManager();
+    int bucket = ChunkSizeHistogram.getBucket(computeExpectedSize(10));
+    OffHeapStoredObject c = this.freeListManager.allocate(10);
+    verify(this.stats).incAllocations(bucket, 1);
+
+    for (int i = 0; i < ThreadAllocationCache.STATS_FLUSH_COUNT / 2; i++) {
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+      c = this.freeListManager.allocate(10);
+    }
+
+    verify(this.stats).incThreadCacheAllocations(ThreadAllocationCache.STATS_FLUSH_COUNT / 2);
+    verify(this.stats).incAllocations(bucket, ThreadAllocationCache.STATS_FLUSH_COUNT / 2);
+    verify(this.stats, never()).incFreeChunks(eq(bucket), anyLong());
+  }
+
+  @Test
+  public void fullThreadCacheIsFlushedAndRefillsOtherThreads() throws Exception {
+    setUpSingleSlabManager();
+    List<OffHeapStoredObject> chunks = new ArrayList<>();
+    for (int i = 0; i < FreeListManager.THREAD_CACHE_CHUNK_COUNT; i++) {
+      chunks.add(this.freeListManager.allocate(10));
+    }
+    for (OffHeapStoredObject c : chunks) {
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    }
+    verify(this.stats).incThreadCacheFlushes();
+    long usedBefore = this.freeListManager.getUsedMemory();
+
+    Thread thread = new Thread(() -> this.freeListManager.allocate(10));
+    thread.start();
+    thread.join();
+
+    verify(this.stats).incThreadCacheRefills();
+    assertThat(this.freeListManager.getUsedMemory())
+        .isEqualTo(usedBefore + computeExpectedSize(10));
+    assertThat(this.freeListManager.getFreeTinyMemory())
+        .isEqualTo((chunks.size() - 1) * computeExpectedSize(10));
+  }
+
+  @Test
+  public void defragmentCollectsChunksCachedByOtherThreads() throws Exception {
+    setUpSingleSlabManager();
+    Fragment originalFragment = this.freeListManager.getFragmentList().get(0);
+    Thread thread = new Thread(() -> {
+      OffHeapStoredObject c = this.freeListManager.allocate(10);
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    });
+    thread.start();
+    thread.join();
+    assertThat(this.freeListManager.getFreeTinyMemory()).isEqualTo(computeExpectedSize(10));
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(DEFAULT_SLAB_SIZE)).isTrue();
+
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+    assertThat(this.freeListManager.getFragmentList()).hasSize(1);
+    assertThat(this.freeListManager.getFragmentList().get(0).getSize())
+        .isEqualTo(originalFragment.getSize());
+  }
+
+  @Test
+  public void defragmentIfFragmentedDoesNothingWhenFreeMemoryIsInFragments() {
+    setUpSingleSlabManager();
+
+    assertThat(this.freeListManager.defragmentIfFragmented()).isFalse();
+    verify(this.stats, never()).incBackgroundDefragmentations();
+  }
+
+  @Test
+  public void defragmentIfFragmentedDefragmentsWhenFreeMemoryIsInFreeLists() {
+    int slabSize = 1024;
+    setUpSingleSlabManager(slabSize);
+    List<OffHeapStoredObject> chunks = new ArrayList<>();
+    for (int i = 0; i < slabSize / 32; i++) {
+      chunks.add(this.freeListManager.allocate(24));
+    }
+    for (OffHeapStoredObject c : chunks) {
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    }
+    this.freeListManager.firstDefragmentation = false;
+
+    assertThat(this.freeListManager.defragmentIfFragmented()).isTrue();
+
+    verify(this.stats).incBackgroundDefragmentations();
+    assertThat(this.freeListManager.getFragmentList()).hasSize(1);
+    assertThat(this.freeListManager.getFreeFragmentMemory()).isEqualTo(slabSize);
+  }
+
+  @Test
+  public void histogramStatsFollowChunksThroughDefragmentation() {
+    int slabSize = 1024;
+    int chunkCount = slabSize / 32;
+    int bucket = ChunkSizeHistogram.getBucket(32);
+    setUpSingleSlabManager(slabSize);
+    List<OffHeapStoredObject> chunks = new ArrayList<>();
+    for (int i = 0; i < chunkCount; i++) {
+      chunks.add(this.freeListManager.allocate(24));
+    }
+    verify(this.stats).incFreeFragments(-1);
+    for (OffHeapStoredObject c : chunks) {
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    }
+    this.freeListManager.firstDefragmentation = false;
+
+    assertThat(this.freeListManager.defragment(slabSize)).isTrue();
+
+    ArgumentCaptor<Long> freeChunkChanges = ArgumentCaptor.forClass(Long.class);
+    verify(this.stats, atLeastOnce()).incFreeChunks(eq(bucket), freeChunkChanges.capture());
+    assertThat(freeChunkChanges.getAllValues().stream().mapToLong(Long::longValue).sum())
+        .isZero();
+    verify(this.stats).incFreeChunks(bucket, -chunkCount);
+    verify(this.stats).incFreeFragments(1);
+  }
+
   @Test(expected = AssertionError.class)
   public void allocateZeroThrowsAssertion() {
     setUpSingleSlabManager();
@@ -103,6 +103,62 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public void incThreadCacheAllocations(long value) {}
+
+  @Override
+  public long getThreadCacheAllocations() {
+    return 0;
+  }
+
+  @Override
+  public void incThreadCacheRefills() {}
+
+  @Override
+  public long getThreadCacheRefills() {
+    return 0;
+  }
+
+  @Override
+  public void incThreadCacheFlushes() {}
+
+  @Override
+  public long getThreadCacheFlushes() {
+    return 0;
+  }
+
+  @Override
+  public void incBackgroundDefragmentations() {}
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return 0;
+  }
+
+  @Override
+  public void incAllocations(int bucket, long value) {}
+
+  @Override
+  public long getAllocations(int bucket) {
+    return 0;
+  }
+
+  @Override
+  public void incFreeChunks(int bucket, long value) {}
+
+  @Override
+  public long getFreeChunks(int bucket) {
+    return 0;
+  }
+
+  @Override
+  public void incFreeFragments(int value) {}
+
+  @Override
+  public int getFreeFragments() {
+    return 0;
+  }
+
   @Override
   public Statistics getStats() {
     return null;
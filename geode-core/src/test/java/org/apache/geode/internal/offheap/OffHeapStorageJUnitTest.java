@@ -281,6 +281,49 @@ public class OffHeapStorageJUnitTest {
     }
   }
 
+  @Test
+  public void histogramStatsCountAllocationsAndFreeChunksBySize() {
+    StatisticsFactory localStatsFactory = new LocalStatisticsFactory(null);
+    OutOfOffHeapMemoryListener ooohml = mock(OutOfOffHeapMemoryListener.class);
+    MemoryAllocator ma =
+        OffHeapStorage.basicCreateOffHeapStorage(localStatsFactory, 1024 * 1024, ooohml);
+    try {
+      OffHeapMemoryStats stats = ma.getStats();
+      assertEquals(1, stats.getFreeFragments());
+      int smallBucket = ChunkSizeHistogram.getBucket(128);
+      int hugeBucket = ChunkSizeHistogram.BUCKET_COUNT - 1;
+
+      FreeListManager freeList = ((MemoryAllocatorImpl) ma).getFreeListManager();
+
+      StoredObject small = ma.allocate(100);
+      assertEquals(1, stats.getAllocations(smallBucket));
+      small.release();
+      freeList.flushThreadCacheStats();
+      assertEquals(1, stats.getFreeChunks(smallBucket));
+      small = ma.allocate(100);
+      freeList.flushThreadCacheStats();
+      assertEquals(2, stats.getAllocations(smallBucket));
+      assertEquals(0, stats.getFreeChunks(smallBucket));
+
+      int remainingSize = (int) ma.getFreeMemory();
+      StoredObject huge = ma.allocate(remainingSize - OffHeapStoredObject.HEADER_SIZE);
+      assertEquals(1, stats.getAllocations(hugeBucket));
+      assertEquals(0, stats.getFreeFragments());
+      huge.release();
+      assertEquals(1, stats.getFreeChunks(hugeBucket));
+      small.release();
+      freeList.flushThreadCacheStats();
+      assertEquals(1, stats.getFreeChunks(smallBucket));
+    } finally {
+      System.setProperty(MemoryAllocatorImpl.FREE_OFF_HEAP_MEMORY_PROPERTY, "true");
+      try {
+        ma.close();
+      } finally {
+        System.clearProperty(MemoryAllocatorImpl.FREE_OFF_HEAP_MEMORY_PROPERTY);
+      }
+    }
+  }
+
   @Test
   public void testCalcSlabCount() {
     final long MSS = OffHeapStorage.MIN_SLAB_SIZE;
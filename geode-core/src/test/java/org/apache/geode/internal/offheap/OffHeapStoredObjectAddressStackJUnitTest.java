@@ -111,6 +111,60 @@ public class OffHeapStoredObjectAddressStackJUnitTest {
     }
   }
 
+  @Test
+  public void pollBatchRemovesUpToMaxCountLinkedAddresses() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long addr1 = ma.allocate(64).getAddress();
+      long addr2 = ma.allocate(64).getAddress();
+      long addr3 = ma.allocate(64).getAddress();
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      stack.offer(addr1);
+      stack.offer(addr2);
+      stack.offer(addr3);
+
+      long batch = stack.pollBatch(2);
+
+      assertEquals(addr3, batch);
+      assertEquals(addr2, OffHeapStoredObject.getNext(batch));
+      assertEquals(0L, OffHeapStoredObject.getNext(addr2));
+      assertEquals(addr1, stack.getTopAddress());
+      assertEquals(addr1, stack.pollBatch(2));
+      assertEquals(true, stack.isEmpty());
+      assertEquals(0L, stack.pollBatch(2));
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
+  @Test
+  public void offerBatchPushesLinkedAddresses() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long addr1 = ma.allocate(64).getAddress();
+      long addr2 = ma.allocate(64).getAddress();
+      long addr3 = ma.allocate(64).getAddress();
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      stack.offer(addr1);
+      OffHeapStoredObject.setNext(addr3, addr2);
+
+      stack.offerBatch(addr3, addr2);
+
+      assertEquals(addr3, stack.poll());
+      assertEquals(addr2, stack.poll());
+      assertEquals(addr1, stack.poll());
+      assertEquals(true, stack.isEmpty());
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
   @Test
   public void stackWithChunkTopEqualsAddress() {
     SlabImpl slab = new SlabImpl(1024);
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CustomEntryConcurrentHashMapRehashTest {
+
+  private final CustomEntryConcurrentHashMap<Integer, String> map =
+      new CustomEntryConcurrentHashMap<>(16, 0.75f, 1);
+
+  /**
+   * Puts new keys until the single segment of the map is in the middle of an incremental rehash.
+   *
+   * @return the number of keys put
+   */
+  private int putUntilRehashInProgress() {
+    CustomEntryConcurrentHashMap.Segment<Integer, String> segment = map.segments[0];
+    int minimumTableLength = 4 * CustomEntryConcurrentHashMap.REHASH_STRIDE;
+    int key = 0;
+    while (segment.nextTable == null || segment.table.length < minimumTableLength) {
+      map.put(key, "value" + key);
+      key++;
+    }
+    return key;
+  }
+
+  @Test
+  public void rehashMovesBinsIncrementally() {
+    putUntilRehashInProgress();
+    CustomEntryConcurrentHashMap.Segment<Integer, String> segment = map.segments[0];
+
+    assertThat(segment.nextTable).isNotNull();
+    assertThat(segment.transferIndex).isLessThan(segment.table.length);
+  }
+
+  @Test
+  public void getFindsEveryKeyDuringRehash() {
+    int keys = putUntilRehashInProgress();
+
+    for (int key = 0; key < keys; key++) {
+      assertThat(map.get(key)).isEqualTo("value" + key);
+    }
+    assertThat(map.size()).isEqualTo(keys);
+  }
+
+  @Test
+  public void iteratorReturnsEveryKeyOnceDuringRehash() {
+    int keys = putUntilRehashInProgress();
+
+    List<Integer> iterated = new ArrayList<>();
+    for (Integer key : map.keySet()) {
+      iterated.add(key);
+    }
+
+    assertThat(iterated).hasSize(keys).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void iteratorStartedBeforeRehashSeesMovedEntries() {
+    int keys = putUntilRehashInProgress();
+    Iterator<Integer> iterator = map.keySet().iterator();
+    List<Integer> iterated = new ArrayList<>();
+    iterated.add(iterator.next());
+
+    // moves the remaining bins of the old table while the iterator still refers to it
+    for (int key = 0; key < keys; key++) {
+      map.put(key, "updated" + key);
+    }
+    assertThat(map.segments[0].nextTable).isNull();
+
+    while (iterator.hasNext()) {
+      iterated.add(iterator.next());
+    }
+    assertThat(iterated).hasSize(keys).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void removeAndClearWorkDuringRehash() {
+    int keys = putUntilRehashInProgress();
+
+    for (int key = 0; key < keys; key += 2) {
+      assertThat(map.remove(key)).isEqualTo("value" + key);
+    }
+    assertThat(map.size()).isEqualTo(keys / 2);
+    assertThat(map.containsValue("value1")).isTrue();
+    assertThat(map.containsValue("value0")).isFalse();
+
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.segments[0].nextTable).isNull();
+  }
+}
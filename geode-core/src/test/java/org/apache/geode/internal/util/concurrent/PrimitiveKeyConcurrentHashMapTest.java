@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class PrimitiveKeyConcurrentHashMapTest {
+
+  @Test
+  public void primitiveAndBoxedOperationsSeeTheSameMappings() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+
+    assertThat(map.put(1L, "one")).isNull();
+    assertThat(map.put(Long.valueOf(2), "two")).isNull();
+
+    assertThat(map.get(1L)).isEqualTo("one");
+    assertThat(map.get(Long.valueOf(1))).isEqualTo("one");
+    assertThat(map.get(2L)).isEqualTo("two");
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void keysOfTheWrongTypeAreNeverFound() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+    map.put(1L, "one");
+
+    assertThat(map.get(Integer.valueOf(1))).isNull();
+    assertThat(map.get("1")).isNull();
+    assertThat(map.remove(Integer.valueOf(1))).isNull();
+    assertThatThrownBy(() -> map.put(Integer.valueOf(1), "one"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void intKeyedMapReturnsIntegerKeys() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(true);
+    map.put(Integer.valueOf(7), "seven");
+
+    assertThat(map.hasIntKeys()).isTrue();
+    assertThat(map.keySet()).containsExactly(Integer.valueOf(7));
+    assertThat(map.get(Long.valueOf(7))).isNull();
+  }
+
+  @Test
+  public void putIfAbsentDoesNotReplaceExistingValue() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+
+    assertThat(map.putIfAbsent(1L, "one")).isNull();
+    assertThat(map.putIfAbsent(1L, "uno")).isEqualTo("one");
+    assertThat(map.get(1L)).isEqualTo("one");
+  }
+
+  @Test
+  public void removedKeysCanBeAddedAgain() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+    map.put(1L, "one");
+
+    assertThat(map.remove(1L, "uno")).isFalse();
+    assertThat(map.remove(1L)).isEqualTo("one");
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.isEmpty()).isTrue();
+
+    map.put(1L, "uno");
+    assertThat(map.get(1L)).isEqualTo("uno");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void replaceOnlyUpdatesExistingMappings() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+
+    assertThat(map.replace(1L, "one")).isNull();
+    assertThat(map.containsKey(1L)).isFalse();
+
+    map.put(1L, "one");
+    assertThat(map.replace(1L, "two", "three")).isFalse();
+    assertThat(map.replace(1L, "one", "uno")).isTrue();
+    assertThat(map.get(1L)).isEqualTo("uno");
+  }
+
+  @Test
+  public void behavesLikeHashMapUnderRandomOperations() {
+    PrimitiveKeyConcurrentHashMap<Object> map = new PrimitiveKeyConcurrentHashMap<>(4, 0.75f, 4,
+        false);
+    Map<Object, Object> expected = new HashMap<>();
+    Random random = new Random(0);
+
+    for (int i = 0; i < 200_000; i++) {
+      Long key = (long) random.nextInt(2_000);
+      Integer value = i;
+      switch (random.nextInt(3)) {
+        case 0:
+          assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+          break;
+        case 1:
+          assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+          break;
+        default:
+          assertThat(map.get(key)).isEqualTo(expected.get(key));
+      }
+    }
+
+    assertThat(map).isEqualTo(expected);
+    assertThat(map.keySet()).isEqualTo(expected.keySet());
+  }
+
+  @Test
+  public void iteratorRemoveRemovesFromMap() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+    for (long i = 0; i < 100; i++) {
+      map.put(i, "value");
+    }
+
+    Iterator<Map.Entry<Object, String>> iterator = map.entrySetWithReusableEntries().iterator();
+    while (iterator.hasNext()) {
+      if (((Long) iterator.next().getKey()) % 2 == 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(map.size()).isEqualTo(50);
+    assertThat(map.get(2L)).isNull();
+    assertThat(map.get(3L)).isEqualTo("value");
+  }
+
+  @Test
+  public void clearRemovesAllMappings() {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+    for (long i = 0; i < 1000; i++) {
+      map.put(i, "value");
+    }
+
+    map.clearWithExecutor(null);
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(10L)).isNull();
+  }
+
+  @Test
+  public void concurrentPutsAreAllVisible() throws Exception {
+    PrimitiveKeyConcurrentHashMap<String> map = new PrimitiveKeyConcurrentHashMap<>(false);
+    int threads = 8;
+    int keysPerThread = 50_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Future<?>[] futures = new Future<?>[threads];
+      for (int t = 0; t < threads; t++) {
+        final long first = (long) t * keysPerThread;
+        futures[t] = executor.submit(() -> {
+          for (long key = first; key < first + keysPerThread; key++) {
+            map.put(key, "value");
+            assertThat(map.get(key)).isEqualTo("value");
+          }
+        });
+      }
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(map.size()).isEqualTo(threads * keysPerThread);
+  }
+}
@@ -37,9 +37,10 @@ public class DescribeDiskStoreCommandIntegrationTest {
 
   private static final List<String> expectedData = Arrays.asList("Disk Store ID", "Disk Store Name",
       "Member ID", "Member Name", "Allow Force Compaction", "Auto Compaction",
-      "Compaction Threshold", "Max Oplog Size", "Queue Size", "Time Interval", "Write Buffer Size",
-      "Disk Usage Warning Percentage", "Disk Usage Critical Percentage ",
-      "PDX Serialization Meta-Data Stored", "Disk Directory", "Size");
+      "Compaction Threshold", "Compaction Rate Limit", "Max Oplog Size", "Queue Size",
+      "Time Interval", "Write Buffer Size", "Disk Usage Warning Percentage",
+      "Disk Usage Critical Percentage ", "PDX Serialization Meta-Data Stored", "Disk Directory",
+      "Size");
 
   @ClassRule
   public static ServerStarterRule server =